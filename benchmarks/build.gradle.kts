@@ -0,0 +1,42 @@
+plugins {
+	id("me.champeau.jmh") version("0.6.8")
+	java
+}
+
+repositories {
+	maven("https://hub.spigotmc.org/nexus/content/repositories/snapshots/")
+	maven("https://oss.sonatype.org/content/groups/public/")
+	mavenCentral()
+}
+
+dependencies {
+	jmh(project(":bukkit"))
+	jmh(project(":bungee"))
+	jmh("org.spigotmc:spigot-api:1.19.2-R0.1-SNAPSHOT")
+	jmh("net.md-5:bungeecord-api:1.19-R0.1-SNAPSHOT")
+	jmh("org.mockito:mockito-core:4.11.0")
+}
+
+jmh {
+	jmhVersion.set("1.36")
+	fork.set(1)
+	warmupIterations.set(3)
+	iterations.set(5)
+	profilers.add("gc")
+	resultFormat.set("JSON")
+	
+	val include = findProperty("jmh.include") as String?
+	if (include != null) includes.add(include)
+}
+
+tasks.register<JavaExec>("loadHarness") {
+	group = "verification"
+	description = "Runs the load harness over a synthetic corpus and compares the results with the baseline."
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass.set("net.xconfig.benchmarks.harness.LoadHarness")
+	workingDir = projectDir
+	maxHeapSize = "4g"
+	
+	val harnessArgs = findProperty("harness.args") as String?
+	if (harnessArgs != null) args(harnessArgs.split(" "))
+}
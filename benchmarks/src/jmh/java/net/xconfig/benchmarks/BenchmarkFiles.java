@@ -0,0 +1,120 @@
+package net.xconfig.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Generates the YAML files read by the benchmarks.
+ * <p>
+ * Every entry is a key inside of a section of ten keys, and the type of its value depends on its index:
+ * <ul>
+ *   <li>{@code section-N.text-I} if {@code I % 5 == 0}, a text with legacy color codes.</li>
+ *   <li>{@code section-N.number-I} if {@code I % 5 == 1}, an integer.</li>
+ *   <li>{@code section-N.decimal-I} if {@code I % 5 == 2}, a double.</li>
+ *   <li>{@code section-N.enabled-I} if {@code I % 5 == 3}, a boolean.</li>
+ *   <li>{@code section-N.list-I} if {@code I % 5 == 4}, a list of two texts.</li>
+ * </ul>
+ * Where {@code N} is {@code I / 10}.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class BenchmarkFiles {
+	private BenchmarkFiles() {}
+	
+	/**
+	 * Returns the path of the entry given.
+	 *
+	 * @param index The index of the entry.
+	 * @return The path of the entry.
+	 */
+	public static String path(int index) {
+		return "section-" + index / 10 + '.' + key(index);
+	}
+	
+	/**
+	 * Returns the content of a file with the number of entries given.
+	 *
+	 * @param entries The number of entries.
+	 * @return The YAML content.
+	 */
+	public static String yaml(int entries) {
+		final StringBuilder builder = new StringBuilder(entries * 40);
+		for (int i = 0 ; i < entries ; i++) {
+			if (i % 10 == 0) builder.append("section-").append(i / 10).append(":\n");
+			
+			builder.append("  ").append(key(i)).append(':');
+			switch (i % 5) {
+				case 0:
+					builder.append(" '&aThe text number &l").append(i).append(" &7of the file'\n");
+					break;
+				case 1:
+					builder.append(' ').append(i).append('\n');
+					break;
+				case 2:
+					builder.append(' ').append(i).append(".5\n");
+					break;
+				case 3:
+					builder.append(' ').append(i % 2 == 0).append('\n');
+					break;
+				default:
+					builder.append("\n  - '&7first ").append(i)
+						 .append("'\n  - '&7second ").append(i).append("'\n");
+			}
+		}
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * Writes a file with the number of entries given.
+	 *
+	 * @param folder The folder of the file.
+	 * @param fileName The file name.
+	 * @param entries The number of entries.
+	 * @return The file written.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static File write(File folder, String fileName, int entries) throws IOException {
+		if (!folder.exists()) folder.mkdirs();
+		
+		final File file = new File(folder, fileName);
+		Files.write(file.toPath(), yaml(entries).getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+	
+	/**
+	 * Creates a temporary folder that is deleted with its files when the benchmark ends.
+	 *
+	 * @param prefix The prefix of the folder name.
+	 * @return The folder created.
+	 * @throws IOException If the folder cannot be created.
+	 */
+	public static File temporaryFolder(String prefix) throws IOException {
+		final File folder = Files.createTempDirectory(prefix).toFile();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> delete(folder)));
+		return folder;
+	}
+	
+	private static void delete(File file) {
+		final File[] files = file.listFiles();
+		if (files != null) {
+			for (File child : files) delete(child);
+		}
+		
+		file.delete();
+	}
+	
+	private static String key(int index) {
+		switch (index % 5) {
+			case 0: return "text-" + index;
+			case 1: return "number-" + index;
+			case 2: return "decimal-" + index;
+			case 3: return "enabled-" + index;
+			default: return "list-" + index;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package net.xconfig.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Counter of the peak heap used by an operation of a benchmark, reported by JMH next to the time of the
+ * operation.
+ * <p>
+ * The heap is collected and the peaks of the heap pools are reset before every operation, so the counter is
+ * the greatest heap used by an operation of the iteration, including the data kept by the benchmark. Must
+ * be used with operations that take milliseconds, because the collection before every operation is slow.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class PeakHeap {
+	public long peakHeapMegabytes;
+	
+	@Setup(Level.Iteration)
+	public void clear() {
+		peakHeapMegabytes = 0;
+	}
+	
+	@Setup(Level.Invocation)
+	public void reset() {
+		System.gc();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+		}
+	}
+	
+	@TearDown(Level.Invocation)
+	public void record() {
+		long used = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) used += pool.getPeakUsage().getUsed();
+		}
+		
+		peakHeapMegabytes = Math.max(peakHeapMegabytes, used / (1024 * 1024));
+	}
+}
@@ -0,0 +1,62 @@
+package net.xconfig.benchmarks.bukkit;
+
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.bukkit.model.objects.CompiledCache;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the load of a file parsing its YAML content and reading its compiled cache, with the
+ * validation of the cache against the source included.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BukkitCacheBenchmark {
+	@Param({"10", "1000", "20000"})
+	private int entries;
+	
+	private File file;
+	
+	@Setup
+	public void setup() throws IOException, InvalidConfigurationException {
+		file = BenchmarkFiles.write(BenchmarkFiles.temporaryFolder("xconfig-cache"), "cached.yml", entries);
+		
+		final YamlConfiguration content = new YamlConfiguration();
+		final CompiledCache cache = new CompiledCache(file);
+		cache.read(content);
+		content.load(file);
+		cache.write(content);
+	}
+	
+	@Benchmark
+	public YamlConfiguration yaml() throws IOException, InvalidConfigurationException {
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.load(file);
+		return configuration;
+	}
+	
+	@Benchmark
+	public YamlConfiguration cache() {
+		final YamlConfiguration configuration = new YamlConfiguration();
+		if (!new CompiledCache(file).read(configuration)) throw new IllegalStateException("The cache isn't valid.");
+		
+		return configuration;
+	}
+}
@@ -0,0 +1,52 @@
+package net.xconfig.benchmarks.bukkit;
+
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.bukkit.model.objects.YamlEmitter;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the write of the same configuration as YAML text with the standard dumper and with the
+ * {@link YamlEmitter}.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BukkitEmitterBenchmark {
+	@Param({"1000", "20000"})
+	private int entries;
+	
+	private YamlConfiguration configuration;
+	private YamlEmitter emitter;
+	
+	@Setup
+	public void setup() throws InvalidConfigurationException {
+		configuration = new YamlConfiguration();
+		configuration.loadFromString(BenchmarkFiles.yaml(entries));
+		emitter = new YamlEmitter();
+	}
+	
+	@Benchmark
+	public String dumper() {
+		return configuration.saveToString();
+	}
+	
+	@Benchmark
+	public String emitter() {
+		return emitter.emit(configuration);
+	}
+}
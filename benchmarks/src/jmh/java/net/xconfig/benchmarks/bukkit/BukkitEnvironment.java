@@ -0,0 +1,57 @@
+package net.xconfig.benchmarks.bukkit;
+
+import net.xconfig.benchmarks.BenchmarkFiles;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stubbed Bukkit server and plugin for the benchmarks, the data folder of the plugin is a temporary folder.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+final class BukkitEnvironment {
+	private static JavaPlugin plugin;
+	
+	private BukkitEnvironment() {}
+	
+	/**
+	 * Returns the plugin, the server is stubbed the first time.
+	 *
+	 * @return The JavaPlugin instance.
+	 * @throws IOException If the data folder cannot be created.
+	 */
+	@SuppressWarnings("deprecation")
+	static synchronized JavaPlugin plugin() throws IOException {
+		if (plugin != null) return plugin;
+		
+		final Server server = mock(Server.class);
+		when(server.getLogger()).thenReturn(Logger.getLogger("XConfig-Benchmarks"));
+		when(server.getBukkitVersion()).thenReturn("1.19.2-R0.1-SNAPSHOT");
+		Bukkit.setServer(server);
+		
+		final File dataFolder = BenchmarkFiles.temporaryFolder("xconfig-bukkit");
+		plugin = new BenchmarkPlugin(new JavaPluginLoader(server),
+			 new PluginDescriptionFile("XConfigBenchmarks", "1.1.7", BenchmarkPlugin.class.getName()),
+			 dataFolder,
+			 new File(dataFolder, "XConfigBenchmarks.jar"));
+		return plugin;
+	}
+	
+	static final class BenchmarkPlugin extends JavaPlugin {
+		BenchmarkPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+			super(loader, description, dataFolder, file);
+		}
+	}
+}
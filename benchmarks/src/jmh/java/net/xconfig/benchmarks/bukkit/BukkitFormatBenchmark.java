@@ -0,0 +1,68 @@
+package net.xconfig.benchmarks.bukkit;
+
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.bukkit.model.objects.FileFormat;
+import net.xconfig.bukkit.model.objects.JsonFormat;
+import net.xconfig.bukkit.model.objects.YamlFormat;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the parse and write of the same content with every file format, so the formats can be
+ * compared for the data files written by the plugins.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BukkitFormatBenchmark {
+	@Param({"1000", "20000"})
+	private int entries;
+	@Param({"yml", "json"})
+	private String format;
+	
+	private FileFormat fileFormat;
+	private FileConfiguration loaded;
+	private String content;
+	
+	@Setup
+	public void setup() throws InvalidConfigurationException {
+		fileFormat = format.equals("json") ? new JsonFormat() : new YamlFormat();
+		
+		final YamlConfiguration source = new YamlConfiguration();
+		source.loadFromString(BenchmarkFiles.yaml(entries));
+		
+		loaded = fileFormat.create();
+		for (Map.Entry<String, Object> entry : source.getValues(true).entrySet()) {
+			if (!source.isConfigurationSection(entry.getKey())) loaded.set(entry.getKey(), entry.getValue());
+		}
+		content = loaded.saveToString();
+	}
+	
+	@Benchmark
+	public FileConfiguration parse() throws InvalidConfigurationException {
+		final FileConfiguration configuration = fileFormat.create();
+		configuration.loadFromString(content);
+		return configuration;
+	}
+	
+	@Benchmark
+	public String write() {
+		return loaded.saveToString();
+	}
+}
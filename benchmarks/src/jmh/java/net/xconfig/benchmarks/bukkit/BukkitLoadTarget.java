@@ -0,0 +1,63 @@
+package net.xconfig.benchmarks.bukkit;
+
+import net.xconfig.benchmarks.harness.LoadTarget;
+import net.xconfig.bukkit.model.SimpleConfigurationHandler;
+import net.xconfig.bukkit.model.SimpleConfigurationManager;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Load harness target of the Bukkit manager and handler, over the stubbed server.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class BukkitLoadTarget implements LoadTarget {
+	private SimpleConfigurationManager manager;
+	private SimpleConfigurationHandler handler;
+	
+	@Override
+	public File open(boolean deduplicate) throws IOException {
+		final JavaPlugin plugin = BukkitEnvironment.plugin();
+		SimpleConfigurationManager.register(plugin);
+		manager = SimpleConfigurationManager.get();
+		manager.deduplicate(deduplicate);
+		SimpleConfigurationHandler.register(manager);
+		handler = SimpleConfigurationHandler.get();
+		return plugin.getDataFolder();
+	}
+	
+	@Override
+	public void build(String fileName) {
+		manager.build("", fileName, true);
+	}
+	
+	@Override
+	public Object read(String fileName, String path, Object defaultObject) {
+		return handler.any(fileName, path, defaultObject);
+	}
+	
+	@Override
+	public void write(String fileName, String path, Object value) {
+		handler.write(fileName, path, value);
+	}
+	
+	@Override
+	public void reload(String fileName) {
+		manager.reload(fileName);
+	}
+	
+	@Override
+	public void save(String fileName) {
+		manager.save(fileName);
+	}
+	
+	@Override
+	public void close() {
+		SimpleConfigurationHandler.unregister();
+		SimpleConfigurationManager.unregister();
+	}
+}
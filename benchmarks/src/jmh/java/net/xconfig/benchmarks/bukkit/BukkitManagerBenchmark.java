@@ -0,0 +1,75 @@
+package net.xconfig.benchmarks.bukkit;
+
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.bukkit.model.SimpleConfigurationManager;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the build, reload and save of files of several sizes with the SimpleConfigurationManager,
+ * with the default parser and dumper and with the fast ones.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BukkitManagerBenchmark {
+	@Param({"10", "1000", "20000"})
+	private int entries;
+	@Param({"false", "true"})
+	private boolean fast;
+	
+	private SimpleConfigurationManager manager;
+	private String fileName;
+	
+	@Setup
+	public void setup() throws IOException {
+		final JavaPlugin plugin = BukkitEnvironment.plugin();
+		fileName = "manager-" + entries + ".yml";
+		BenchmarkFiles.write(plugin.getDataFolder(), fileName, entries);
+		
+		SimpleConfigurationManager.register(plugin);
+		manager = SimpleConfigurationManager.get();
+		manager.fastParser(fast);
+		manager.fastEmitter(fast);
+		manager.build("", fileName, true);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		SimpleConfigurationManager.unregister();
+	}
+	
+	@Benchmark
+	public FileConfiguration build() {
+		manager.build("", fileName, true);
+		return manager.get(fileName);
+	}
+	
+	@Benchmark
+	public FileConfiguration reload() {
+		manager.reload(fileName);
+		return manager.get(fileName);
+	}
+	
+	@Benchmark
+	public FileConfiguration save() {
+		manager.save(fileName);
+		return manager.get(fileName);
+	}
+}
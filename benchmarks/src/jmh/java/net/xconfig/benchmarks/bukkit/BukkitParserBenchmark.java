@@ -0,0 +1,72 @@
+package net.xconfig.benchmarks.bukkit;
+
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.benchmarks.harness.Corpus;
+import net.xconfig.bukkit.model.objects.YamlParser;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the load of every file of a synthetic corpus, with many small files with deep nesting and a
+ * data file, with the standard loader and with the {@link YamlParser}. The contents are read from the disk
+ * before the benchmark, so only the parse is measured.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BukkitParserBenchmark {
+	@Param({"standard", "fast"})
+	private String parser;
+	
+	private byte[][] contents;
+	
+	@Setup
+	public void setup() throws IOException {
+		final File folder = BenchmarkFiles.temporaryFolder("xconfig-parser");
+		final Corpus corpus = Corpus.generate(folder, 1000, 4, 1, 1, 42L);
+		
+		final List<String> fileNames = new ArrayList<>(corpus.smallFiles());
+		fileNames.addAll(corpus.dataFiles());
+		contents = new byte[fileNames.size()][];
+		for (int i = 0 ; i < contents.length ; i++) {
+			contents[i] = Files.readAllBytes(new File(folder, fileNames.get(i)).toPath());
+		}
+	}
+	
+	@Benchmark
+	public int load() throws InvalidConfigurationException {
+		final boolean fast = parser.equals("fast");
+		int keys = 0;
+		for (byte[] content : contents) {
+			final YamlConfiguration configuration = new YamlConfiguration();
+			// The files that the parser doesn't support are loaded with the standard loader, like YamlFile does.
+			if (!fast || !YamlParser.load(content, configuration)) {
+				configuration.loadFromString(new String(content, StandardCharsets.UTF_8));
+			}
+			
+			keys += configuration.getKeys(false).size();
+		}
+		
+		return keys;
+	}
+}
@@ -0,0 +1,65 @@
+package net.xconfig.benchmarks.bukkit;
+
+import net.xconfig.bukkit.TextUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the colorization and search of texts of the TextUtils class.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BukkitTextBenchmark {
+	private String legacy;
+	private String hex;
+	private String hexPattern;
+	private String target;
+	
+	@Setup
+	public void setup() throws IOException {
+		// The server must be stubbed before TextUtils reads its version.
+		BukkitEnvironment.plugin();
+		legacy = "&aWelcome to the &lserver&r&7, use &e/help &7to see the commands.";
+		hex = "&#FF5555Welcome to the &#55FF55server&7, use &e/help &7to see the commands.";
+		hexPattern = "#FF5555}Welcome to the #55FF55}server, use /help to see the commands.";
+		target = "Welcome to the server, use /help to see the commands and /rules to see the Rules.";
+	}
+	
+	@Benchmark
+	public String colorizeLegacy() {
+		return TextUtils.colorize(legacy);
+	}
+	
+	@Benchmark
+	public String colorizeHex() {
+		return TextUtils.colorize(hex);
+	}
+	
+	@Benchmark
+	public String colorizeHexPattern() {
+		return TextUtils.colorize(hexPattern);
+	}
+	
+	@Benchmark
+	public boolean containsIgnoreCaseFound() {
+		return TextUtils.containsIgnoreCase(target, "RULES");
+	}
+	
+	@Benchmark
+	public boolean containsIgnoreCaseMissing() {
+		return TextUtils.containsIgnoreCase(target, "discord");
+	}
+}
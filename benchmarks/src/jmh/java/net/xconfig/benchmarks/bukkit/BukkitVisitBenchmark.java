@@ -0,0 +1,76 @@
+package net.xconfig.benchmarks.bukkit;
+
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.benchmarks.PeakHeap;
+import net.xconfig.bukkit.model.objects.StreamVisitor;
+import net.xconfig.bukkit.model.objects.YamlStream;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the read of a large data file with a full load and with the streaming visitor, that walks
+ * every value or stops at the first value. The peak heap of every operation is reported by {@link PeakHeap}.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BukkitVisitBenchmark {
+	@Param({"100000", "400000"})
+	private int entries;
+	
+	private File file;
+	
+	@Setup
+	public void setup() throws IOException {
+		file = BenchmarkFiles.write(BenchmarkFiles.temporaryFolder("xconfig-visit"), "data.yml", entries);
+	}
+	
+	@Benchmark
+	public YamlConfiguration load(PeakHeap heap) {
+		return YamlConfiguration.loadConfiguration(file);
+	}
+	
+	@Benchmark
+	public long visit(PeakHeap heap) throws IOException {
+		final long[] values = new long[1];
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			YamlStream.visit(reader, '.', (path, value) -> {
+				values[0]++;
+				return StreamVisitor.Action.CONTINUE;
+			});
+		}
+		
+		return values[0];
+	}
+	
+	@Benchmark
+	public Object first(PeakHeap heap) throws IOException {
+		final Object[] first = new Object[1];
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			YamlStream.visit(reader, '.', (path, value) -> {
+				first[0] = value;
+				return StreamVisitor.Action.STOP;
+			});
+		}
+		
+		return first[0];
+	}
+}
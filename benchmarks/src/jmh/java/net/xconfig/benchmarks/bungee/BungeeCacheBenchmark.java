@@ -0,0 +1,59 @@
+package net.xconfig.benchmarks.bungee;
+
+import net.md_5.bungee.config.Configuration;
+import net.md_5.bungee.config.ConfigurationProvider;
+import net.md_5.bungee.config.YamlConfiguration;
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.bungee.model.objects.CompiledCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the load of a file parsing its YAML content and reading its compiled cache, with the
+ * validation of the cache against the source included.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BungeeCacheBenchmark {
+	@Param({"10", "1000", "20000"})
+	private int entries;
+	
+	private File file;
+	
+	@Setup
+	public void setup() throws IOException {
+		file = BenchmarkFiles.write(BenchmarkFiles.temporaryFolder("xconfig-cache"), "cached.yml", entries);
+		
+		final CompiledCache cache = new CompiledCache(file);
+		cache.read();
+		cache.write(yaml());
+	}
+	
+	@Benchmark
+	public Configuration yaml() throws IOException {
+		return ConfigurationProvider.getProvider(YamlConfiguration.class).load(file);
+	}
+	
+	@Benchmark
+	public Configuration cache() {
+		final Configuration configuration = new CompiledCache(file).read();
+		if (configuration == null) throw new IllegalStateException("The cache isn't valid.");
+		
+		return configuration;
+	}
+}
@@ -0,0 +1,57 @@
+package net.xconfig.benchmarks.bungee;
+
+import net.md_5.bungee.config.Configuration;
+import net.md_5.bungee.config.ConfigurationProvider;
+import net.md_5.bungee.config.YamlConfiguration;
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.bungee.model.objects.YamlEmitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the write of the same configuration as YAML text with the YamlConfiguration provider and with
+ * the {@link YamlEmitter}.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BungeeEmitterBenchmark {
+	@Param({"1000", "20000"})
+	private int entries;
+	
+	private ConfigurationProvider provider;
+	private Configuration configuration;
+	private YamlEmitter emitter;
+	
+	@Setup
+	public void setup() {
+		provider = ConfigurationProvider.getProvider(YamlConfiguration.class);
+		configuration = provider.load(BenchmarkFiles.yaml(entries));
+		emitter = new YamlEmitter();
+	}
+	
+	@Benchmark
+	public String provider() {
+		final StringWriter writer = new StringWriter();
+		provider.save(configuration, writer);
+		return writer.toString();
+	}
+	
+	@Benchmark
+	public String emitter() {
+		return emitter.emit(configuration);
+	}
+}
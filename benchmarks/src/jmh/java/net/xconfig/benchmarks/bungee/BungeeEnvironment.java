@@ -0,0 +1,56 @@
+package net.xconfig.benchmarks.bungee;
+
+import net.md_5.bungee.api.ProxyServer;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.api.plugin.PluginDescription;
+import net.xconfig.benchmarks.BenchmarkFiles;
+
+import java.io.IOException;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stubbed BungeeCord proxy and plugin for the benchmarks, the plugins folder of the proxy is a temporary
+ * folder.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+final class BungeeEnvironment {
+	private static Plugin plugin;
+	
+	private BungeeEnvironment() {}
+	
+	/**
+	 * Returns the plugin, the proxy is stubbed the first time.
+	 *
+	 * @return The Plugin instance.
+	 * @throws IOException If the plugins folder cannot be created.
+	 */
+	@SuppressWarnings("deprecation")
+	static synchronized Plugin plugin() throws IOException {
+		if (plugin != null) return plugin;
+		
+		final ProxyServer proxy = mock(ProxyServer.class);
+		when(proxy.getLogger()).thenReturn(Logger.getLogger("XConfig-Benchmarks"));
+		when(proxy.getProtocolVersion()).thenReturn(760);
+		when(proxy.getPluginsFolder()).thenReturn(BenchmarkFiles.temporaryFolder("xconfig-bungee"));
+		ProxyServer.setInstance(proxy);
+		
+		final PluginDescription description = new PluginDescription();
+		description.setName("XConfigBenchmarks");
+		description.setVersion("1.1.7");
+		description.setMain(BenchmarkPlugin.class.getName());
+		plugin = new BenchmarkPlugin(proxy, description);
+		return plugin;
+	}
+	
+	static final class BenchmarkPlugin extends Plugin {
+		BenchmarkPlugin(ProxyServer proxy, PluginDescription description) {
+			super(proxy, description);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package net.xconfig.benchmarks.bungee;
+
+import net.md_5.bungee.config.Configuration;
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.bungee.model.objects.FileFormat;
+import net.xconfig.bungee.model.objects.JsonFormat;
+import net.xconfig.bungee.model.objects.YamlFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the load and save of the same content with every file format, so the formats can be compared
+ * for the data files written by the plugins.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BungeeFormatBenchmark {
+	@Param({"1000", "20000"})
+	private int entries;
+	@Param({"yml", "json"})
+	private String format;
+	
+	private FileFormat fileFormat;
+	private Configuration loaded;
+	private File file;
+	private File output;
+	
+	@Setup
+	public void setup() throws IOException {
+		fileFormat = format.equals("json") ? new JsonFormat() : new YamlFormat();
+		
+		final File folder = BenchmarkFiles.temporaryFolder("xconfig-format");
+		loaded = new YamlFormat().load(BenchmarkFiles.write(folder, "source.yml", entries));
+		file = new File(folder, "content." + format);
+		fileFormat.save(loaded, file);
+		output = new File(folder, "output." + format);
+	}
+	
+	@Benchmark
+	public Configuration load() throws IOException {
+		return fileFormat.load(file);
+	}
+	
+	@Benchmark
+	public File save() throws IOException {
+		fileFormat.save(loaded, output);
+		return output;
+	}
+}
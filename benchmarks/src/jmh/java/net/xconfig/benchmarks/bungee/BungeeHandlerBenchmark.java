@@ -0,0 +1,98 @@
+package net.xconfig.benchmarks.bungee;
+
+import net.md_5.bungee.api.plugin.Plugin;
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.bungee.model.SimpleConfigurationHandler;
+import net.xconfig.bungee.model.SimpleConfigurationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the getters of the SimpleConfigurationHandler, over a file of 1000 entries.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BungeeHandlerBenchmark {
+	private static final String FILE_NAME = "handler.yml";
+	private static final String TEXT = BenchmarkFiles.path(500);
+	private static final String NUMBER = BenchmarkFiles.path(501);
+	private static final String DECIMAL = BenchmarkFiles.path(502);
+	private static final String CONDITION = BenchmarkFiles.path(503);
+	private static final String LIST = BenchmarkFiles.path(504);
+	private static final String MISSING = "section-500.missing";
+	
+	private SimpleConfigurationHandler handler;
+	
+	@Setup
+	public void setup() throws IOException {
+		final Plugin plugin = BungeeEnvironment.plugin();
+		BenchmarkFiles.write(plugin.getDataFolder(), FILE_NAME, 1000);
+		
+		SimpleConfigurationManager.register(plugin);
+		final SimpleConfigurationManager manager = SimpleConfigurationManager.get();
+		manager.build("", FILE_NAME, true);
+		SimpleConfigurationHandler.register(manager);
+		handler = SimpleConfigurationHandler.get();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		SimpleConfigurationHandler.unregister();
+		SimpleConfigurationManager.unregister();
+	}
+	
+	@Benchmark
+	public String text() {
+		return handler.text(FILE_NAME, TEXT, false);
+	}
+	
+	@Benchmark
+	public String textColorized() {
+		return handler.text(FILE_NAME, TEXT, true);
+	}
+	
+	@Benchmark
+	public String textDefault() {
+		return handler.text(FILE_NAME, MISSING, "default", false);
+	}
+	
+	@Benchmark
+	public int number() {
+		return handler.number(FILE_NAME, NUMBER);
+	}
+	
+	@Benchmark
+	public double doubleNumber() {
+		return handler.doubleNumber(FILE_NAME, DECIMAL);
+	}
+	
+	@Benchmark
+	public boolean condition() {
+		return handler.condition(FILE_NAME, CONDITION);
+	}
+	
+	@Benchmark
+	public List<String> textList() {
+		return handler.textList(FILE_NAME, LIST, false);
+	}
+	
+	@Benchmark
+	public boolean contains() {
+		return handler.contains(FILE_NAME, TEXT);
+	}
+}
@@ -0,0 +1,63 @@
+package net.xconfig.benchmarks.bungee;
+
+import net.md_5.bungee.api.plugin.Plugin;
+import net.xconfig.benchmarks.harness.LoadTarget;
+import net.xconfig.bungee.model.SimpleConfigurationHandler;
+import net.xconfig.bungee.model.SimpleConfigurationManager;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Load harness target of the BungeeCord manager and handler, over the stubbed proxy.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class BungeeLoadTarget implements LoadTarget {
+	private SimpleConfigurationManager manager;
+	private SimpleConfigurationHandler handler;
+	
+	@Override
+	public File open(boolean deduplicate) throws IOException {
+		final Plugin plugin = BungeeEnvironment.plugin();
+		SimpleConfigurationManager.register(plugin);
+		manager = SimpleConfigurationManager.get();
+		manager.deduplicate(deduplicate);
+		SimpleConfigurationHandler.register(manager);
+		handler = SimpleConfigurationHandler.get();
+		return plugin.getDataFolder();
+	}
+	
+	@Override
+	public void build(String fileName) {
+		manager.build("", fileName, true);
+	}
+	
+	@Override
+	public Object read(String fileName, String path, Object defaultObject) {
+		return handler.any(fileName, path, defaultObject);
+	}
+	
+	@Override
+	public void write(String fileName, String path, Object value) {
+		handler.write(fileName, path, value);
+	}
+	
+	@Override
+	public void reload(String fileName) {
+		manager.reload(fileName);
+	}
+	
+	@Override
+	public void save(String fileName) {
+		manager.save(fileName);
+	}
+	
+	@Override
+	public void close() {
+		SimpleConfigurationHandler.unregister();
+		SimpleConfigurationManager.unregister();
+	}
+}
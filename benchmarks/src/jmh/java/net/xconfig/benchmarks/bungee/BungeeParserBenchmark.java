@@ -0,0 +1,74 @@
+package net.xconfig.benchmarks.bungee;
+
+import net.md_5.bungee.config.Configuration;
+import net.md_5.bungee.config.ConfigurationProvider;
+import net.md_5.bungee.config.YamlConfiguration;
+import net.xconfig.benchmarks.BenchmarkFiles;
+import net.xconfig.benchmarks.harness.Corpus;
+import net.xconfig.bungee.model.objects.YamlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the load of every file of a synthetic corpus, with many small files with deep nesting and a
+ * data file, with the YamlConfiguration provider and with the {@link YamlParser}. The contents are read from
+ * the disk before the benchmark, so only the parse is measured.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BungeeParserBenchmark {
+	@Param({"standard", "fast"})
+	private String parser;
+	
+	private ConfigurationProvider provider;
+	private byte[][] contents;
+	
+	@Setup
+	public void setup() throws IOException {
+		provider = ConfigurationProvider.getProvider(YamlConfiguration.class);
+		
+		final File folder = BenchmarkFiles.temporaryFolder("xconfig-parser");
+		final Corpus corpus = Corpus.generate(folder, 1000, 4, 1, 1, 42L);
+		
+		final List<String> fileNames = new ArrayList<>(corpus.smallFiles());
+		fileNames.addAll(corpus.dataFiles());
+		contents = new byte[fileNames.size()][];
+		for (int i = 0 ; i < contents.length ; i++) {
+			contents[i] = Files.readAllBytes(new File(folder, fileNames.get(i)).toPath());
+		}
+	}
+	
+	@Benchmark
+	public int load() {
+		final boolean fast = parser.equals("fast");
+		int keys = 0;
+		for (byte[] content : contents) {
+			Configuration configuration = fast ? YamlParser.load(content) : null;
+			// The files that the parser doesn't support are loaded with the standard provider, like YamlFile does.
+			if (configuration == null) configuration = provider.load(new ByteArrayInputStream(content));
+			
+			keys += configuration.getKeys().size();
+		}
+		
+		return keys;
+	}
+}
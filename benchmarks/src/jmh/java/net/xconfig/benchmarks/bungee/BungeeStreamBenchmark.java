@@ -0,0 +1,111 @@
+package net.xconfig.benchmarks.bungee;
+
+import net.md_5.bungee.config.Configuration;
+import net.xconfig.bungee.TextUtils;
+import net.xconfig.bungee.model.objects.CompactNode;
+import net.xconfig.bungee.model.objects.ReadOnlyConfiguration;
+import net.xconfig.bungee.model.objects.Sections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks of the processing of the children of a large section with sequential and parallel streams, like
+ * a shop with thousands of items processed at the load. Every item colorizes its name and lore and reads its
+ * price.
+ * <p>
+ * The parallel streams run at a pool of {@code threads} threads, so the speedup of every number of cores is
+ * shown, one thread uses a sequential stream. The read-only section is streamed without copy, the mutable
+ * section is copied to a snapshot at every operation.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BungeeStreamBenchmark {
+	@Param({"10000", "50000"})
+	public int entries;
+	
+	@Param({"1", "2", "4", "8"})
+	public int threads;
+	
+	private ReadOnlyConfiguration readOnly;
+	private Configuration mutable;
+	private ForkJoinPool pool;
+	
+	@Setup
+	public void setup() throws IOException {
+		// The proxy must be stubbed before TextUtils reads its protocol version.
+		BungeeEnvironment.plugin();
+		
+		final Map<String, Object> items = new LinkedHashMap<>();
+		mutable = new Configuration();
+		for (int i = 0 ; i < entries ; i++) {
+			final Map<String, Object> item = new LinkedHashMap<>();
+			item.put("name", "&#FF5555Item &l" + i + " &7(&e#" + i + "&7)");
+			item.put("price", i * 1.5);
+			item.put("lore", Arrays.asList("&7The item &a" + i, "&7Price: &e" + i * 1.5, "&8Click to buy"));
+			items.put("item-" + i, item);
+			
+			mutable.set("item-" + i + ".name", item.get("name"));
+			mutable.set("item-" + i + ".price", item.get("price"));
+			mutable.set("item-" + i + ".lore", item.get("lore"));
+		}
+		readOnly = new ReadOnlyConfiguration(CompactNode.compile(items, null));
+		pool = new ForkJoinPool(threads);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+	
+	@Benchmark
+	public double readOnly() throws ExecutionException, InterruptedException {
+		return process(() -> readOnly.stream(threads > 1));
+	}
+	
+	@Benchmark
+	public double snapshot() throws ExecutionException, InterruptedException {
+		return process(() -> Sections.stream(mutable, threads > 1));
+	}
+	
+	private double process(StreamSource source) throws ExecutionException, InterruptedException {
+		if (threads == 1) return items(source.stream());
+		
+		return pool.submit(() -> items(source.stream())).get();
+	}
+	
+	private static double items(Stream<Map.Entry<String, Object>> stream) {
+		return stream.mapToDouble(entry -> {
+			final ReadOnlyConfiguration item = (ReadOnlyConfiguration) entry.getValue();
+			final List<String> lore = item.getStringList("lore");
+			for (String line : lore) TextUtils.colorize(line);
+			
+			return TextUtils.colorize(item.getString("name")).length() + item.getDouble("price");
+		}).sum();
+	}
+	
+	private interface StreamSource {
+		Stream<Map.Entry<String, Object>> stream();
+	}
+}
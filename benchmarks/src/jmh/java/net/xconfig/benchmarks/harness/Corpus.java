@@ -0,0 +1,204 @@
+package net.xconfig.benchmarks.harness;
+
+import net.xconfig.benchmarks.BenchmarkFiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic files of a large deployment: many small files with deep nesting, and some data files of
+ * megabytes.
+ * <p>
+ * Every section of the small files has {@value #LEAVES} values and {@value #BRANCHES} child sections until
+ * the depth given, so their paths are like {@code node-0.node-1.value-2}. The data files are written with
+ * {@link BenchmarkFiles#yaml(int)}.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class Corpus {
+	private static final int LEAVES = 3;
+	private static final int BRANCHES = 2;
+	private static final int SAMPLES = 8192;
+	
+	private final List<String> smallFiles;
+	private final List<String> dataFiles;
+	private final String[] sampleFiles;
+	private final String[] samplePaths;
+	private final long bytes;
+	
+	private Corpus(List<String> smallFiles, List<String> dataFiles, String[] sampleFiles, String[] samplePaths,
+		 long bytes) {
+		this.smallFiles = smallFiles;
+		this.dataFiles = dataFiles;
+		this.sampleFiles = sampleFiles;
+		this.samplePaths = samplePaths;
+		this.bytes = bytes;
+	}
+	
+	/**
+	 * Writes the files of the corpus and takes a sample of their paths, the same seed always generates the
+	 * same corpus.
+	 *
+	 * @param folder The folder of the files.
+	 * @param files The number of small files.
+	 * @param depth The depth of the sections of the small files.
+	 * @param dataFiles The number of data files.
+	 * @param dataMegabytes The size of every data file, in megabytes.
+	 * @param seed The seed of the generation.
+	 * @return The Corpus object.
+	 * @throws IOException If a file cannot be written.
+	 */
+	public static Corpus generate(File folder, int files, int depth, int dataFiles, int dataMegabytes, long seed)
+		 throws IOException {
+		if (!folder.exists()) folder.mkdirs();
+		
+		final Random random = new Random(seed);
+		long bytes = 0;
+		
+		final List<String> smallNames = new ArrayList<>(files);
+		for (int i = 0 ; i < files ; i++) {
+			final String fileName = String.format("corpus-%05d.yml", i);
+			final StringBuilder builder = new StringBuilder(4096);
+			section(builder, 0, depth, random);
+			bytes += write(folder, fileName, builder.toString());
+			smallNames.add(fileName);
+		}
+		
+		final int entriesPerMegabyte = 1024 * 1024 * 1000 / BenchmarkFiles.yaml(1000).length();
+		final List<String> dataNames = new ArrayList<>(dataFiles);
+		for (int i = 0 ; i < dataFiles ; i++) {
+			final String fileName = String.format("data-%02d.yml", i);
+			bytes += write(folder, fileName, BenchmarkFiles.yaml(entriesPerMegabyte * dataMegabytes));
+			dataNames.add(fileName);
+		}
+		
+		// The reads go to the small files nine of every ten times.
+		final String[] sampleFiles = new String[SAMPLES];
+		final String[] samplePaths = new String[SAMPLES];
+		for (int i = 0 ; i < SAMPLES ; i++) {
+			if (dataNames.isEmpty() || (!smallNames.isEmpty() && random.nextInt(10) != 0)) {
+				sampleFiles[i] = smallNames.get(random.nextInt(smallNames.size()));
+				samplePaths[i] = path(random, depth);
+			} else {
+				sampleFiles[i] = dataNames.get(random.nextInt(dataNames.size()));
+				samplePaths[i] = BenchmarkFiles.path(random.nextInt(entriesPerMegabyte * dataMegabytes));
+			}
+		}
+		
+		return new Corpus(Collections.unmodifiableList(smallNames), Collections.unmodifiableList(dataNames),
+			 sampleFiles, samplePaths, bytes);
+	}
+	
+	/**
+	 * Returns the names of the small files.
+	 *
+	 * @return An unmodifiable list with the file names.
+	 */
+	public List<String> smallFiles() {
+		return smallFiles;
+	}
+	
+	/**
+	 * Returns the names of the data files.
+	 *
+	 * @return An unmodifiable list with the file names.
+	 */
+	public List<String> dataFiles() {
+		return dataFiles;
+	}
+	
+	/**
+	 * Returns the number of paths sampled.
+	 *
+	 * @return The number of samples.
+	 */
+	public int samples() {
+		return SAMPLES;
+	}
+	
+	/**
+	 * Returns the file name of a sample.
+	 *
+	 * @param sample The index of the sample.
+	 * @return The file name.
+	 */
+	public String sampleFile(int sample) {
+		return sampleFiles[sample];
+	}
+	
+	/**
+	 * Returns the path of a sample.
+	 *
+	 * @param sample The index of the sample.
+	 * @return The path, that exists at the file of the sample.
+	 */
+	public String samplePath(int sample) {
+		return samplePaths[sample];
+	}
+	
+	/**
+	 * Returns the size of all the files.
+	 *
+	 * @return The size in bytes.
+	 */
+	public long bytes() {
+		return bytes;
+	}
+	
+	private static void section(StringBuilder builder, int indent, int depth, Random random) {
+		for (int i = 0 ; i < LEAVES ; i++) {
+			indent(builder, indent).append("value-").append(i).append(':');
+			switch (random.nextInt(5)) {
+				case 0:
+					builder.append(" '&7The text &a").append(random.nextInt(100000)).append("'\n");
+					break;
+				case 1:
+					builder.append(' ').append(random.nextInt()).append('\n');
+					break;
+				case 2:
+					builder.append(' ').append(random.nextInt(1000)).append('.').append(random.nextInt(100))
+						 .append('\n');
+					break;
+				case 3:
+					builder.append(' ').append(random.nextBoolean()).append('\n');
+					break;
+				default:
+					builder.append('\n');
+					indent(builder, indent).append("- '&eFirst line'\n");
+					indent(builder, indent).append("- '&eSecond line'\n");
+			}
+		}
+		if (depth == 0) return;
+		
+		for (int i = 0 ; i < BRANCHES ; i++) {
+			indent(builder, indent).append("node-").append(i).append(":\n");
+			section(builder, indent + 2, depth - 1, random);
+		}
+	}
+	
+	private static StringBuilder indent(StringBuilder builder, int indent) {
+		for (int i = 0 ; i < indent ; i++) builder.append(' ');
+		return builder;
+	}
+	
+	private static String path(Random random, int depth) {
+		final StringBuilder builder = new StringBuilder();
+		final int level = random.nextInt(depth + 1);
+		for (int i = 0 ; i < level ; i++) builder.append("node-").append(random.nextInt(BRANCHES)).append('.');
+		return builder.append("value-").append(random.nextInt(LEAVES)).toString();
+	}
+	
+	private static long write(File folder, String fileName, String content) throws IOException {
+		final byte[] data = content.getBytes(StandardCharsets.UTF_8);
+		Files.write(new File(folder, fileName).toPath(), data);
+		return data.length;
+	}
+}
@@ -0,0 +1,380 @@
+package net.xconfig.benchmarks.harness;
+
+import net.xconfig.benchmarks.bukkit.BukkitLoadTarget;
+import net.xconfig.benchmarks.bungee.BungeeLoadTarget;
+import net.xconfig.bukkit.model.metrics.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Headless load harness that runs a mixed workload over a synthetic corpus of a large deployment, and fails
+ * if the results are worse than the baseline stored.
+ * <p>
+ * The corpus is built with the manager, then the reader threads read values with the handler while a writer
+ * thread writes values and saves and reloads the files periodically. The results are the build time, the
+ * heap retained by the files, the throughput and latencies of the reads and the latencies of the writes,
+ * saves and reloads.
+ * <p>
+ * The options are given as {@code --name=value}:
+ * <ul>
+ *   <li>{@code platform}: {@code bukkit} or {@code bungee}, by default {@code bukkit}.</li>
+ *   <li>{@code files}: Number of small files, by default 2000.</li>
+ *   <li>{@code depth}: Depth of the sections of the small files, by default 5.</li>
+ *   <li>{@code data-files}: Number of data files, by default 4.</li>
+ *   <li>{@code data-size}: Size of every data file in megabytes, by default 4.</li>
+ *   <li>{@code threads}: Number of reader threads, by default 4.</li>
+ *   <li>{@code warmup}: Seconds of workload before measure, by default 10.</li>
+ *   <li>{@code duration}: Seconds of workload measured, by default 30.</li>
+ *   <li>{@code write-interval}: Milliseconds between every write, by default 20.</li>
+ *   <li>{@code seed}: Seed of the corpus and the workload, by default 1.</li>
+ *   <li>{@code deduplicate}: If the strings of the files are deduplicated with the pool of the manager, by
+ *   default false. Compare the {@code heap.retained.mb} of the runs with and without it to know the heap saved
+ *   by the pool, with a different baseline for each one.</li>
+ *   <li>{@code baseline}: Baseline file, by default {@code baselines/load-<platform>.properties}.</li>
+ *   <li>{@code tolerance}: Fraction that a result can be worse than the baseline, by default 0.25.</li>
+ *   <li>{@code update-baseline}: If the baseline must be replaced by the results, by default false.</li>
+ * </ul>
+ * The baselines depend on the machine, so they aren't stored at the repository. If the baseline doesn't exist,
+ * the harness fails unless {@code --update-baseline} is given, so a missing baseline isn't taken as a pass.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class LoadHarness {
+	private static final Object MISSING = new Object();
+	/** The results where a greater value is better, the rest are better while lower. */
+	private static final List<String> GREATER_IS_BETTER = Arrays.asList("read.throughput");
+	/** The results shown that aren't compared with the baseline, because depend on the garbage collector. */
+	private static final List<String> INFORMATIVE = Arrays.asList("heap.peak.mb", "read.misses");
+	
+	private final Map<String, String> options;
+	private final LoadTarget target;
+	private final LatencyHistogram reads;
+	private final LatencyHistogram writes;
+	private final LatencyHistogram saves;
+	private final LatencyHistogram reloads;
+	private final LatencyHistogram dataReloads;
+	private final LongAdder misses;
+	private final LongAdder errors;
+	private final AtomicLong peakHeap;
+	
+	private volatile boolean running;
+	
+	private LoadHarness(Map<String, String> options, LoadTarget target) {
+		this.options = options;
+		this.target = target;
+		reads = new LatencyHistogram();
+		writes = new LatencyHistogram();
+		saves = new LatencyHistogram();
+		reloads = new LatencyHistogram();
+		dataReloads = new LatencyHistogram();
+		misses = new LongAdder();
+		errors = new LongAdder();
+		peakHeap = new AtomicLong();
+	}
+	
+	public static void main(String[] args) throws Exception {
+		final Map<String, String> options = new HashMap<>();
+		for (String argument : args) {
+			if (!argument.startsWith("--")) throw new IllegalArgumentException("Unknown argument: " + argument);
+			
+			final int separator = argument.indexOf('=');
+			if (separator == -1) options.put(argument.substring(2), "true");
+			else options.put(argument.substring(2, separator), argument.substring(separator + 1));
+		}
+		
+		final String platform = options.getOrDefault("platform", "bukkit");
+		final LoadTarget target;
+		if (platform.equals("bukkit")) target = new BukkitLoadTarget();
+		else if (platform.equals("bungee")) target = new BungeeLoadTarget();
+		else throw new IllegalArgumentException("Unknown platform: " + platform);
+		
+		final LoadHarness harness = new LoadHarness(options, target);
+		final Map<String, Double> results;
+		try { results = harness.run(); }
+		finally {
+			target.close();
+		}
+		
+		System.out.println();
+		System.out.println("Results:");
+		for (Map.Entry<String, Double> result : results.entrySet()) {
+			System.out.printf(Locale.ROOT, "  %-22s %14.2f%n", result.getKey(), result.getValue());
+		}
+		
+		final File baseline = new File(options.getOrDefault("baseline",
+			 "baselines/load-" + platform + ".properties"));
+		if (Boolean.parseBoolean(options.getOrDefault("update-baseline", "false"))) {
+			store(baseline, results);
+			System.out.println();
+			System.out.println("The baseline was written at " + baseline.getPath() + ".");
+			return;
+		}
+		
+		if (!baseline.exists()) {
+			System.out.println();
+			System.out.println("The baseline " + baseline.getPath() + " doesn't exist, run the harness with"
+				 + " --update-baseline to write it.");
+			System.exit(1);
+		}
+		
+		final double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.25"));
+		if (!compare(load(baseline), results, tolerance)) System.exit(1);
+	}
+	
+	private Map<String, Double> run() throws Exception {
+		final Map<String, Double> results = new LinkedHashMap<>();
+		final int files = option("files", 2000);
+		final int depth = option("depth", 5);
+		final int dataFiles = option("data-files", 4);
+		final int dataSize = option("data-size", 4);
+		final long seed = option("seed", 1);
+		
+		final Logger logger = Logger.getLogger("XConfig-Benchmarks");
+		final File folder = target.open(Boolean.parseBoolean(options.getOrDefault("deduplicate", "false")));
+		// The errors logged by the library are counted instead of printed.
+		final LongAdder severe = new LongAdder();
+		logger.setUseParentHandlers(false);
+		logger.addHandler(new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				if (record.getLevel().intValue() >= Level.SEVERE.intValue()) severe.increment();
+			}
+			
+			@Override
+			public void flush() {}
+			
+			@Override
+			public void close() {}
+		});
+		
+		System.out.printf(Locale.ROOT, "Generating %d files of depth %d and %d data files of %d MB...%n",
+			 files, depth, dataFiles, dataSize);
+		final Corpus corpus = Corpus.generate(folder, files, depth, dataFiles, dataSize, seed);
+		results.put("corpus.mb", corpus.bytes() / (1024.0 * 1024.0));
+		
+		final long heapBefore = usedHeap();
+		long start = System.nanoTime();
+		for (String fileName : corpus.smallFiles()) target.build(fileName);
+		for (String fileName : corpus.dataFiles()) target.build(fileName);
+		results.put("build.millis", (System.nanoTime() - start) / 1_000_000.0);
+		results.put("heap.retained.mb", (usedHeap() - heapBefore) / (1024.0 * 1024.0));
+		
+		System.out.println("Warming up...");
+		workload(corpus, option("warmup", 10), seed);
+		reads.reset();
+		writes.reset();
+		saves.reset();
+		reloads.reset();
+		dataReloads.reset();
+		misses.reset();
+		errors.reset();
+		severe.reset();
+		peakHeap.set(0);
+		
+		System.out.println("Measuring...");
+		start = System.nanoTime();
+		workload(corpus, option("duration", 30), seed + 1);
+		final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+		
+		results.put("read.throughput", reads.count() / seconds);
+		results.put("read.p50.us", micros(reads.percentileNanos(50)));
+		results.put("read.p99.us", micros(reads.percentileNanos(99)));
+		results.put("read.p999.us", micros(reads.percentileNanos(99.9)));
+		results.put("read.misses", (double) misses.sum());
+		results.put("write.p99.us", micros(writes.percentileNanos(99)));
+		results.put("save.p99.us", micros(saves.percentileNanos(99)));
+		results.put("reload.p99.us", micros(reloads.percentileNanos(99)));
+		results.put("reload.data.p99.us", micros(dataReloads.percentileNanos(99)));
+		results.put("heap.peak.mb", peakHeap.get() / (1024.0 * 1024.0));
+		results.put("errors", (double) (errors.sum() + severe.sum()));
+		return results;
+	}
+	
+	/**
+	 * Runs the readers and the writer for the seconds given.
+	 */
+	private void workload(Corpus corpus, int seconds, long seed) throws InterruptedException {
+		running = true;
+		final List<Thread> threads = new ArrayList<>();
+		for (int i = 0 ; i < option("threads", 4) ; i++) {
+			final Thread reader = new Thread(() -> read(corpus), "XConfig-LoadReader-" + i);
+			reader.start();
+			threads.add(reader);
+		}
+		final Thread writer = new Thread(() -> write(corpus, new Random(seed)), "XConfig-LoadWriter");
+		writer.start();
+		threads.add(writer);
+		
+		Thread.sleep(seconds * 1000L);
+		running = false;
+		for (Thread thread : threads) thread.join();
+	}
+	
+	private void read(Corpus corpus) {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (running) {
+			final int sample = random.nextInt(corpus.samples());
+			final long start = System.nanoTime();
+			try {
+				final Object value = target.read(corpus.sampleFile(sample), corpus.samplePath(sample), MISSING);
+				reads.record(System.nanoTime() - start);
+				if (value == MISSING) misses.increment();
+			} catch (RuntimeException exception) {
+				errors.increment();
+			}
+		}
+	}
+	
+	private void write(Corpus corpus, Random random) {
+		final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		final List<String> smallFiles = corpus.smallFiles();
+		final List<String> dataFiles = corpus.dataFiles();
+		final int interval = option("write-interval", 20);
+		long tick = 0;
+		while (running) {
+			tick++;
+			try {
+				final int sample = random.nextInt(corpus.samples());
+				long start = System.nanoTime();
+				target.write(corpus.sampleFile(sample), corpus.samplePath(sample), (int) tick);
+				writes.record(System.nanoTime() - start);
+				
+				if (tick % 10 == 0) {
+					start = System.nanoTime();
+					target.save(corpus.sampleFile(sample));
+					saves.record(System.nanoTime() - start);
+				}
+				if (tick % 20 == 0 && !smallFiles.isEmpty()) {
+					start = System.nanoTime();
+					target.reload(smallFiles.get(random.nextInt(smallFiles.size())));
+					reloads.record(System.nanoTime() - start);
+				}
+				if (tick % 100 == 0 && !dataFiles.isEmpty()) {
+					start = System.nanoTime();
+					target.reload(dataFiles.get(random.nextInt(dataFiles.size())));
+					dataReloads.record(System.nanoTime() - start);
+				}
+			} catch (RuntimeException exception) {
+				errors.increment();
+			}
+			
+			final long heap = memory.getHeapMemoryUsage().getUsed();
+			if (heap > peakHeap.get()) peakHeap.set(heap);
+			try { Thread.sleep(interval); }
+			catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Compares the results with the baseline, and prints every result compared.
+	 *
+	 * @return True if no result is worse than the baseline beyond the tolerance.
+	 */
+	private static boolean compare(Map<String, Double> baseline, Map<String, Double> results, double tolerance) {
+		System.out.println();
+		System.out.printf(Locale.ROOT, "Comparison with the baseline (tolerance %.0f%%):%n", tolerance * 100);
+		
+		final Double corpus = baseline.get("corpus.mb");
+		if (corpus == null || Math.abs(corpus - results.get("corpus.mb")) > 0.01) {
+			System.out.println("  The corpus isn't the same of the baseline, run the harness with the same options"
+				 + " or update the baseline.");
+			return false;
+		}
+		
+		boolean passed = true;
+		for (Map.Entry<String, Double> result : results.entrySet()) {
+			final String name = result.getKey();
+			final Double expected = baseline.get(name);
+			if (expected == null || INFORMATIVE.contains(name) || name.equals("corpus.mb")) continue;
+			
+			final double value = result.getValue();
+			final boolean worse;
+			// A difference of one unit is ignored, so the results near to zero don't fail for noise.
+			if (name.equals("errors")) worse = value > expected;
+			else if (GREATER_IS_BETTER.contains(name)) {
+				worse = value < expected * (1 - tolerance) && expected - value > 1;
+			} else worse = value > expected * (1 + tolerance) && value - expected > 1;
+			
+			System.out.printf(Locale.ROOT, "  %-22s %14.2f %14.2f  %s%n", name, expected, value,
+				 worse ? "REGRESSION" : "ok");
+			if (worse) passed = false;
+		}
+		
+		return passed;
+	}
+	
+	private static Map<String, Double> load(File baseline) throws IOException {
+		final Properties properties = new Properties();
+		try (InputStream input = new FileInputStream(baseline)) {
+			properties.load(input);
+		}
+		
+		final Map<String, Double> values = new HashMap<>();
+		for (String name : properties.stringPropertyNames()) {
+			values.put(name, Double.parseDouble(properties.getProperty(name)));
+		}
+		return values;
+	}
+	
+	private static void store(File baseline, Map<String, Double> results) throws IOException {
+		final File folder = baseline.getAbsoluteFile().getParentFile();
+		if (!folder.exists()) folder.mkdirs();
+		
+		final Properties properties = new Properties();
+		for (Map.Entry<String, Double> result : results.entrySet()) {
+			properties.setProperty(result.getKey(), String.format(Locale.ROOT, "%.2f", result.getValue()));
+		}
+		try (OutputStream output = new FileOutputStream(baseline)) {
+			properties.store(output, "XConfig load harness baseline");
+		}
+	}
+	
+	/**
+	 * Returns the heap used after a garbage collection.
+	 */
+	private static long usedHeap() throws InterruptedException {
+		final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0 ; i < 3 ; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+	
+	private int option(String name, int defaultValue) {
+		final String value = options.get(name);
+		return value == null ? defaultValue : Integer.parseInt(value);
+	}
+	
+	private static double micros(long nanos) {
+		return nanos / 1000.0;
+	}
+}
@@ -0,0 +1,68 @@
+package net.xconfig.benchmarks.harness;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The configuration manager and handler of a platform, over which the load harness runs its workload.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see LoadHarness
+ */
+public interface LoadTarget {
+	/**
+	 * Stubs the platform and registers the manager and handler.
+	 *
+	 * @param deduplicate Do you want to deduplicate the strings of the files with the pool of the manager?
+	 * @return The folder where the files of the corpus must be written.
+	 * @throws IOException If the folder cannot be created.
+	 */
+	File open(boolean deduplicate) throws IOException;
+	
+	/**
+	 * Builds a file of the corpus as a custom file.
+	 *
+	 * @param fileName The file name.
+	 */
+	void build(String fileName);
+	
+	/**
+	 * Reads a value with the handler.
+	 *
+	 * @param fileName The file name.
+	 * @param path The path of the value.
+	 * @param defaultObject The object to return if the value doesn't exist.
+	 * @return The value, or the default object.
+	 */
+	Object read(String fileName, String path, Object defaultObject);
+	
+	/**
+	 * Writes a value with the handler.
+	 *
+	 * @param fileName The file name.
+	 * @param path The path of the value.
+	 * @param value The value.
+	 */
+	void write(String fileName, String path, Object value);
+	
+	/**
+	 * Reloads a file with the manager.
+	 *
+	 * @param fileName The file name.
+	 */
+	void reload(String fileName);
+	
+	/**
+	 * Saves a file with the manager.
+	 *
+	 * @param fileName The file name.
+	 */
+	void save(String fileName);
+	
+	/**
+	 * Unregisters the manager and handler.
+	 */
+	void close();
+}
@@ -13,6 +13,9 @@ repositories {
 
 dependencies {
 	compileOnly("org.spigotmc:spigot-api:1.19.2-R0.1-SNAPSHOT")
+	
+	testImplementation("org.spigotmc:spigot-api:1.19.2-R0.1-SNAPSHOT")
+	testImplementation("org.junit.jupiter:junit-jupiter:5.9.1")
 }
 
 publishing {
@@ -36,4 +39,8 @@ tasks {
 	clean {
 		delete("$rootDir/bin/")
 	}
+	
+	test {
+		useJUnitPlatform()
+	}
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package net.xconfig.bukkit;
 
 import net.md_5.bungee.api.ChatColor;
+import net.xconfig.bukkit.model.metrics.FlightEvents;
 import org.bukkit.Bukkit;
 
 import java.util.List;
@@ -17,7 +18,6 @@ import java.util.stream.Collectors;
  */
 public class TextUtils {
 	private static final Pattern HEX_PATTERN = Pattern.compile("#[a-fA-F0-9]{6}}");
-	private static final StringBuilder BUILDER = new StringBuilder();
 	private static final int VERSION = Integer.parseInt(Bukkit.getBukkitVersion()
 		 .split("-")[0]
 		 .split("\\.")[1]);
@@ -68,8 +68,17 @@ public class TextUtils {
 	 * @return The text colorized.
 	 */
 	public static String colorize(String text) {
+		final Object event = FlightEvents.beginColorize();
+		try { return colorizeText(text); }
+		finally {
+			FlightEvents.commitColorize(event, text.length());
+		}
+	}
+	
+	private static String colorizeText(String text) {
 		if (VERSION < 16) return ChatColor.translateAlternateColorCodes('&', text);
 		
+		final StringBuilder builder = new StringBuilder(text.length());
 		final String[] parts = text.split(String.format("((?<=%1$s)|(?=%1$s))", "&"));
 		Matcher matcher = HEX_PATTERN.matcher(text);
 		
@@ -82,15 +91,15 @@ public class TextUtils {
 				matcher = HEX_PATTERN.matcher(text);
 			}
 			
-			BUILDER.append(text);
-			return BUILDER.toString();
+			builder.append(text);
+			return builder.toString();
 		}
 
 		for (int i = 0 ; i < parts.length ; i++) {
 			if (parts[i].equals("&")) {
 				i++;
-				if (parts[i].charAt(0) == '#') BUILDER.append(ChatColor.of(parts[i].substring(0, 7)));
-				else BUILDER.append(ChatColor.translateAlternateColorCodes('&', "&" + parts[i]));
+				if (parts[i].charAt(0) == '#') builder.append(ChatColor.of(parts[i].substring(0, 7)));
+				else builder.append(ChatColor.translateAlternateColorCodes('&', "&" + parts[i]));
 			} else {
 				while (matcher.find()) {
 					parts[i] = parts[i].replace(
@@ -100,10 +109,10 @@ public class TextUtils {
 					matcher = HEX_PATTERN.matcher(text);
 				}
 				
-				BUILDER.append(parts[i]);
+				builder.append(parts[i]);
 			}
 		}
 		
-		return BUILDER.toString();
+		return builder.toString();
 	}
 }
@@ -0,0 +1,433 @@
+package net.xconfig.bukkit.model;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.xconfig.bukkit.TextUtils;
+import net.xconfig.bukkit.model.config.ConfigurationManager;
+import net.xconfig.bukkit.model.metrics.AccessSampler;
+import net.xconfig.bukkit.model.metrics.AccessSampler.Getter;
+import net.xconfig.bukkit.model.metrics.ConfigurationMetrics;
+import net.xconfig.bukkit.model.metrics.MissingReporter;
+import net.xconfig.bukkit.model.objects.PathSet;
+import net.xconfig.bukkit.model.objects.SectionVisitor;
+import net.xconfig.bukkit.model.objects.Sections;
+import net.xconfig.bukkit.model.objects.YamlFile;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.bukkit.Bukkit.getLogger;
+
+/**
+ * View of a file, with the same getters of the handler but bound to the file, so the reads doesn't look for the
+ * file at the manager or check if the file exists every time.
+ * <p>
+ * The view keeps the file loaded and reads its current content, so the changes of a reload are seen
+ * automatically. If the file is built again or deleted through the manager the view looks for the file again
+ * at the next read. The files deleted from the disk without the manager are still read from the memory.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see SimpleConfigurationHandler#view(String)
+ */
+public final class ConfigurationView {
+	private final SimpleConfigurationHandler handler;
+	private final ConfigurationManager configuration;
+	private final String fileName;
+	
+	private YamlFile file;
+	
+	ConfigurationView(SimpleConfigurationHandler handler, ConfigurationManager configuration, String fileName) {
+		this.handler = handler;
+		this.configuration = configuration;
+		this.fileName = fileName;
+	}
+	
+	/**
+	 * Returns the name of the file of this view.
+	 *
+	 * @return The file name.
+	 */
+	public String fileName() {
+		return fileName;
+	}
+	
+	/**
+	 * Set an object inside of the file at the specified path.
+	 *
+	 * @param path Path for the value.
+	 * @param value Value to set.
+	 */
+	public void write(String path, Object value) {
+		checkArgument(!path.isEmpty(), "The path for the value is empty.");
+		checkNotNull(value, "The value to set can't be null.");
+		
+		file().write(path, value);
+	}
+	
+	/**
+	 * Returns a String from path requested.
+	 *
+	 * @param path Path required.
+	 * @param colorize Do you want to apply the colors to text content?
+	 * @return A string.
+	 */
+	public String text(String path, boolean colorize) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.TEXT, colorize);
+		
+		final String text = configuration().getString(path);
+		if (text == null) {
+			handler.missing(fileName, path, "String");
+			return null;
+		}
+		
+		return colorize ? TextUtils.colorize(text) : text;
+	}
+	
+	/**
+	 * Returns a String from path requested that can return a default value.
+	 *
+	 * @param path Path required.
+	 * @param defaultText Default text if the path not exist.
+	 * @param colorize Do you want to apply the colors to text content?
+	 * @return A text string.
+	 */
+	public String text(String path, String defaultText, boolean colorize) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.TEXT, colorize);
+		
+		final String text = configuration().getString(path, defaultText);
+		return colorize ? TextUtils.colorize(text) : text;
+	}
+	
+	/**
+	 * Returns a number.
+	 *
+	 * @param path Path required.
+	 * @return A number
+	 */
+	public int number(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.NUMBER, false);
+		
+		return configuration().getInt(path);
+	}
+	
+	/**
+	 * Returns an int number or a default value.
+	 *
+	 * @param path Path required.
+	 * @param defaultNumber Default number if the path not exist.
+	 * @return A number
+	 */
+	public int number(String path, int defaultNumber) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.NUMBER, false);
+		
+		return configuration().getInt(path, defaultNumber);
+	}
+	
+	/**
+	 * Returns an object from the path.
+	 *
+	 * @param path Path required.
+	 * @return An object.
+	 */
+	public Object any(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.ANY, false);
+		
+		final Object object = configuration().get(path);
+		if (object == null) {
+			handler.missing(fileName, path, "Object");
+			return null;
+		}
+		
+		return object;
+	}
+	
+	/**
+	 * Returns an object from the path or a default value.
+	 *
+	 * @param path Path required.
+	 * @param defaultObject Default object if the path not exist.
+	 * @return An object.
+	 */
+	public Object any(String path, Object defaultObject) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		checkNotNull(defaultObject, "The default object to return can't be null.");
+		sample(path, Getter.ANY, false);
+		
+		return configuration().get(path, defaultObject);
+	}
+	
+	/**
+	 * Returns a list.
+	 *
+	 * @param path Path required.
+	 * @return A list.
+	 */
+	public List<?> list(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.LIST, false);
+		
+		final List<?> list = configuration().getList(path);
+		if (list == null) {
+			handler.missing(fileName, path, "List");
+			return null;
+		}
+		
+		return list;
+	}
+	
+	/**
+	 * Returns a list from the path requested, or a default value if doesn't exist.
+	 *
+	 * @param path Path required.
+	 * @param defaultList Default list if the path not exist.
+	 * @return A list.
+	 */
+	public List<?> list(String path, List<?> defaultList) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		checkNotNull(defaultList, "The default List object to return can't be null.");
+		sample(path, Getter.LIST, false);
+		
+		return configuration().getList(path, defaultList);
+	}
+	
+	/**
+	 * Returns a text list.
+	 *
+	 * @param path Path required.
+	 * @param colorize Do you want to apply the colors to text content?
+	 * @return A string list.
+	 */
+	public List<String> textList(String path, boolean colorize) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.TEXT_LIST, colorize);
+		
+		final List<String> stringList = configuration().getStringList(path);
+		return colorize ? TextUtils.colorize(stringList) : stringList;
+	}
+	
+	/**
+	 * Returns a boolean.
+	 *
+	 * @param path Path required.
+	 * @return A boolean value.
+	 */
+	public boolean condition(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.CONDITION, false);
+		
+		return configuration().getBoolean(path);
+	}
+	
+	/**
+	 * Returns a boolean or a default value if the path doesn't exist.
+	 *
+	 * @param path Path required.
+	 * @param defaultBoolean Default boolean value if the path not exist.
+	 * @return A boolean value.
+	 */
+	public boolean condition(String path, boolean defaultBoolean) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.CONDITION, false);
+		
+		return configuration().getBoolean(path, defaultBoolean);
+	}
+	
+	/**
+	 * Checks if the file contains the path.
+	 *
+	 * @param path Path required.
+	 * @return A boolean
+	 */
+	public boolean contains(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.CONTAINS, false);
+		
+		return configuration().contains(path);
+	}
+	
+	/**
+	 * Returns a double number.
+	 *
+	 * @param path Path required.
+	 * @return A double.
+	 */
+	public double doubleNumber(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.DOUBLE_NUMBER, false);
+		
+		return configuration().getDouble(path);
+	}
+	
+	/**
+	 * Returns a double number or a default value if the path doesn't exist.
+	 *
+	 * @param path Path required.
+	 * @param defaultDoubleNumber Default double value if the path not exist.
+	 * @return A double.
+	 */
+	public double doubleNumber(String path, double defaultDoubleNumber) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.DOUBLE_NUMBER, false);
+		
+		return configuration().getDouble(path, defaultDoubleNumber);
+	}
+	
+	/**
+	 * Returns a ConfigurationSection object.
+	 *
+	 * @param path Path required.
+	 * @return A ConfigurationSection
+	 */
+	public ConfigurationSection configSection(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.CONFIG_SECTION, false);
+		
+		final ConfigurationSection section = configuration().getConfigurationSection(path);
+		if (section == null) {
+			handler.missing(fileName, path, "ConfigurationSection");
+			return null;
+		}
+		
+		return section;
+	}
+	
+	/**
+	 * Visits the keys and values of the children of a section, without create the set of keys and their full
+	 * paths like {@link ConfigurationSection#getKeys(boolean)}.
+	 *
+	 * @param path Path of the section.
+	 * @param visitor The visitor of the children, that can stop the visit.
+	 * @return False if the visitor stopped the visit, else true.
+	 */
+	public boolean visit(String path, SectionVisitor visitor) {
+		checkNotNull(visitor, "The section visitor cannot be null.");
+		
+		final ConfigurationSection section = configSection(path);
+		return section == null || Sections.visit(section, visitor);
+	}
+	
+	/**
+	 * Returns a stream of the children of a section, over an immutable snapshot of the section that can be
+	 * processed in parallel. The read-only files are streamed without copy.
+	 *
+	 * @param path Path of the section.
+	 * @return A sequential Stream of the entries of the children, or an empty stream if the section doesn't exist.
+	 */
+	public Stream<Map.Entry<String, Object>> stream(String path) {
+		final ConfigurationSection section = configSection(path);
+		return section == null ? Stream.empty() : Sections.stream(section, false);
+	}
+	
+	/**
+	 * Returns the chat components of the colorized message at the path, that are converted once and again only
+	 * after the file is reloaded.
+	 *
+	 * @param path Path of the message.
+	 * @return The cached array of components, that shouldn't be modified, or null if the message doesn't exist.
+	 */
+	public BaseComponent[] components(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.TEXT, true);
+		
+		final YamlFile file = file();
+		if (file == null) return null;
+		
+		final BaseComponent[] components = file.components().get(path);
+		if (components == null) {
+			handler.missing(fileName, path, "String");
+			return null;
+		}
+		
+		return components;
+	}
+	
+	/**
+	 * Returns a template of the message at the path, whose colors and placeholders are parsed once and again
+	 * only after the file is reloaded.
+	 *
+	 * @param path Path of the message.
+	 * @param colorize Do you want to apply the colors to the message?
+	 * @return The MessageTemplate object, that reads the message the first time that is rendered.
+	 */
+	public MessageTemplate template(String path, boolean colorize) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		
+		return new MessageTemplate(this, configuration, path, colorize);
+	}
+	
+	/**
+	 * Returns the values of a set of paths, reading the common sections of the paths only once.
+	 *
+	 * @param paths The paths required.
+	 * @return An array with the values at the same positions of the paths, null for the paths that doesn't exist.
+	 */
+	public Object[] values(PathSet paths) {
+		checkNotNull(paths, "The paths cannot be null.");
+		
+		final Object[] values = new Object[paths.size()];
+		values(paths, values);
+		return values;
+	}
+	
+	/**
+	 * Reads the values of a set of paths into the array given, that can be reused between reads to not allocate
+	 * a new array every time.
+	 *
+	 * @param paths The paths required.
+	 * @param values The array to fill at the same positions of the paths, null for the paths that doesn't exist.
+	 * @throws IllegalArgumentException If the array is smaller than the set.
+	 */
+	public void values(PathSet paths, Object[] values) {
+		checkNotNull(paths, "The paths cannot be null.");
+		checkNotNull(values, "The array of values cannot be null.");
+		
+		final FileConfiguration configuration = configuration();
+		paths.read(configuration, values);
+		if (configuration != null) handler.bulk(fileName, paths, values);
+	}
+	
+	/**
+	 * Returns the FileConfiguration of the file, looking for the file at the manager only if wasn't found before
+	 * or was discarded.
+	 *
+	 * @return The FileConfiguration object, or null if the file isn't loaded.
+	 */
+	private FileConfiguration configuration() {
+		final YamlFile current = file();
+		return current == null ? null : current.get();
+	}
+	
+	private YamlFile file() {
+		YamlFile current = file;
+		if (current == null || current.discarded()) {
+			current = configuration.file(fileName);
+			file = current;
+		}
+		
+		final ConfigurationMetrics metrics = configuration.metrics();
+		if (metrics != null) metrics.file(fileName).read(current != null);
+		if (current == null) {
+			final MissingReporter reporter = configuration.missing();
+			if (reporter != null) reporter.file(fileName);
+			else getLogger().severe("Cannot get the file '" + fileName + "' because doesn't exist.");
+		}
+		
+		return current;
+	}
+	
+	private void sample(String path, Getter getter, boolean colorized) {
+		final AccessSampler sampler = handler.sampler();
+		if (sampler != null) sampler.sample(fileName, path, getter, colorized);
+	}
+}
@@ -0,0 +1,112 @@
+package net.xconfig.bukkit.model;
+
+import net.xconfig.bukkit.model.config.ConfigurationManager;
+import net.xconfig.bukkit.model.metrics.MissingReporter;
+import net.xconfig.bukkit.model.objects.TextTemplate;
+import net.xconfig.bukkit.model.objects.YamlFile;
+
+import java.util.Map;
+
+import static org.bukkit.Bukkit.getLogger;
+
+/**
+ * Message of a file with placeholders like {@code {player}}, whose colors and placeholders are parsed once
+ * into a {@link TextTemplate}.
+ * <p>
+ * The message is read and parsed again only when the file is reloaded, built again or deleted, so a render
+ * only checks if the file changed and appends the parts of the message and the arguments in one pass.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see ConfigurationView#template(String, boolean)
+ */
+public final class MessageTemplate {
+	private final ConfigurationView view;
+	private final ConfigurationManager configuration;
+	private final String path;
+	private final boolean colorize;
+	
+	private volatile Compiled compiled;
+	
+	MessageTemplate(ConfigurationView view, ConfigurationManager configuration, String path, boolean colorize) {
+		this.view = view;
+		this.configuration = configuration;
+		this.path = path;
+		this.colorize = colorize;
+	}
+	
+	/**
+	 * Returns the path of the message.
+	 *
+	 * @return The path.
+	 */
+	public String path() {
+		return path;
+	}
+	
+	/**
+	 * Renders the message with positional arguments, that replace the placeholders in the order that appear
+	 * for the first time at the message.
+	 *
+	 * @param arguments The values of the placeholders.
+	 * @return The rendered message, or null if the message doesn't exist.
+	 */
+	public String render(Object... arguments) {
+		final TextTemplate template = template();
+		return template == null ? null : template.render(arguments);
+	}
+	
+	/**
+	 * Renders the message with named arguments.
+	 *
+	 * @param arguments The values of the placeholders by their names, without braces.
+	 * @return The rendered message, or null if the message doesn't exist.
+	 */
+	public String render(Map<String, ?> arguments) {
+		final TextTemplate template = template();
+		return template == null ? null : template.render(arguments);
+	}
+	
+	/**
+	 * Returns the parsed message, parsing it again if the file changed since was parsed.
+	 *
+	 * @return The TextTemplate object, or null if the file or the message doesn't exist.
+	 */
+	public TextTemplate template() {
+		final Compiled current = compiled;
+		if (current != null && !current.file.discarded() && current.file.revision() == current.revision) {
+			return current.template;
+		}
+		
+		final String fileName = view.fileName();
+		final YamlFile file = configuration.file(fileName);
+		if (file == null) {
+			final MissingReporter reporter = configuration.missing();
+			if (reporter != null) reporter.file(fileName);
+			else getLogger().severe("Cannot get the file '" + fileName + "' because doesn't exist.");
+			return null;
+		}
+		
+		// The revision is read before the message, so a reload while is read parses the message again later.
+		final int revision = file.revision();
+		final String text = view.text(path, colorize);
+		if (text == null) return null;
+		
+		final TextTemplate template = TextTemplate.compile(text);
+		compiled = new Compiled(file, revision, template);
+		return template;
+	}
+	
+	private static final class Compiled {
+		private final YamlFile file;
+		private final int revision;
+		private final TextTemplate template;
+		
+		private Compiled(YamlFile file, int revision, TextTemplate template) {
+			this.file = file;
+			this.revision = revision;
+			this.template = template;
+		}
+	}
+}
@@ -1,11 +1,23 @@
 package net.xconfig.bukkit.model;
 
+import net.md_5.bungee.api.chat.BaseComponent;
 import net.xconfig.bukkit.TextUtils;
 import net.xconfig.bukkit.model.config.ConfigurationHandler;
 import net.xconfig.bukkit.model.config.ConfigurationManager;
+import net.xconfig.bukkit.model.metrics.AccessSampler;
+import net.xconfig.bukkit.model.metrics.AccessSampler.Getter;
+import net.xconfig.bukkit.model.metrics.ConfigurationMetrics;
+import net.xconfig.bukkit.model.metrics.MissingReporter;
+import net.xconfig.bukkit.model.objects.PathSet;
+import net.xconfig.bukkit.model.objects.SectionVisitor;
+import net.xconfig.bukkit.model.objects.Sections;
+import net.xconfig.bukkit.model.objects.YamlFile;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -24,6 +36,8 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	
 	private final ConfigurationManager configuration;
 	
+	private volatile AccessSampler sampler;
+	
 	private SimpleConfigurationHandler(ConfigurationManager configuration) {
 		this.configuration = configuration;
 	}
@@ -55,23 +69,90 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 		instance = null;
 	}
 	
+	/**
+	 * Enables or disables the sampling of the reads, that counts which values are read more times.
+	 * <p>
+	 * One of every 16 reads is sampled, and up to 1024 values are counted. When is disabled the values counted
+	 * are discarded.
+	 *
+	 * @param enabled Do you want to sample the reads?
+	 * @see AccessSampler
+	 */
+	public synchronized void sampling(boolean enabled) {
+		if (!enabled) sampler = null;
+		else if (sampler == null) sampler = new AccessSampler(16, 1024);
+	}
+	
+	/**
+	 * Enables the sampling of the reads with the rate and capacity given, discarding the values counted before.
+	 *
+	 * @param rate Number of reads for every read sampled.
+	 * @param capacity Number of values that can be counted.
+	 */
+	public synchronized void sampling(int rate, int capacity) {
+		sampler = new AccessSampler(rate, capacity);
+	}
+	
+	/**
+	 * Returns the sampler of the reads.
+	 *
+	 * @return The AccessSampler object, or null if the sampling is disabled.
+	 */
+	public AccessSampler sampler() {
+		return sampler;
+	}
+	
+	@Override
+	public ConfigurationView view(String fileName) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		
+		return new ConfigurationView(this, configuration, fileName);
+	}
+	
+	@Override
+	public BaseComponent[] components(String fileName, String path) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.TEXT, true);
+		
+		final YamlFile file = configuration.file(fileName);
+		if (file == null) {
+			missing(fileName);
+			return null;
+		}
+		
+		final BaseComponent[] components = file.components().get(path);
+		if (components == null) {
+			missing(fileName, path, "String");
+			return null;
+		}
+		
+		return components;
+	}
+	
+	@Override
+	public MessageTemplate template(String fileName, String path, boolean colorize) {
+		return view(fileName).template(path, colorize);
+	}
+	
 	@Override
 	public void write(String fileName, String path, Object value) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path for the value is empty.");
 		checkNotNull(value, "The value to set can't be null.");
 		
-		configuration.get(fileName).set(path, value);
+		configuration.file(fileName).write(path, value);
 	}
 	
 	@Override
 	public String text(String fileName, String path, boolean colorize) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.TEXT, colorize);
 		
 		final String text = configuration.get(fileName).getString(path);
 		if (text == null) {
-			getLogger().severe("Cannot get the String value because that path doesn't exist!");
+			missing(fileName, path, "String");
 			return null;
 		}
 		
@@ -82,6 +163,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public String text(String fileName, String path, String defaultText, boolean colorize) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.TEXT, colorize);
 		
 		final String text = configuration.get(fileName).getString(path, defaultText);
 		return colorize ? TextUtils.colorize(text) : text;
@@ -91,6 +173,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public int number(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.NUMBER, false);
 		
 		return configuration.get(fileName).getInt(path);
 	}
@@ -99,6 +182,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public int number(String fileName, String path, int defaultNumber) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.NUMBER, false);
 		
 		return configuration.get(fileName).getInt(path, defaultNumber);
 	}
@@ -107,10 +191,11 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public Object any(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.ANY, false);
 		
 		final Object object = configuration.get(fileName).get(path);
 		if (object == null) {
-			getLogger().severe("Cannot get the Object value because that path doesn't exist!");
+			missing(fileName, path, "Object");
 			return null;
 		}
 		
@@ -122,6 +207,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
 		checkNotNull(defaultObject, "The default object to return can't be null.");
+		sample(fileName, path, Getter.ANY, false);
 		
 		return configuration.get(fileName).get(path, defaultObject);
 	}
@@ -130,10 +216,11 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public List<?> list(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.LIST, false);
 		
 		final List<?> list = configuration.get(fileName).getList(path);
 		if (list == null) {
-			getLogger().severe("Cannot get the List value because that path doesn't exist!");
+			missing(fileName, path, "List");
 			return null;
 		}
 		
@@ -145,6 +232,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
 		checkNotNull(defaultList, "The default List object to return can't be null.");
+		sample(fileName, path, Getter.LIST, false);
 		
 		return configuration.get(fileName).getList(path, defaultList);
 	}
@@ -153,6 +241,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public List<String> textList(String fileName, String path, boolean colorize) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.TEXT_LIST, colorize);
 		
 		final List<String> stringList = configuration.get(fileName).getStringList(path);
 		return colorize ? TextUtils.colorize(stringList) : stringList;
@@ -162,6 +251,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public boolean condition(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.CONDITION, false);
 		
 		return configuration.get(fileName).getBoolean(path);
 	}
@@ -170,6 +260,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public boolean condition(String fileName, String path, boolean defaultBoolean) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.CONDITION, false);
 		
 		return configuration.get(fileName).getBoolean(path, defaultBoolean);
 	}
@@ -178,6 +269,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public boolean contains(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.CONTAINS, false);
 		
 		return configuration.get(fileName).contains(path);
 	}
@@ -186,6 +278,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public double doubleNumber(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.DOUBLE_NUMBER, false);
 		
 		return configuration.get(fileName).getDouble(path);
 	}
@@ -194,6 +287,7 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public double doubleNumber(String fileName, String path, double defaultDoubleNumber) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.DOUBLE_NUMBER, false);
 		
 		return configuration.get(fileName).getDouble(path, defaultDoubleNumber);
 	}
@@ -202,13 +296,85 @@ public class SimpleConfigurationHandler implements ConfigurationHandler {
 	public ConfigurationSection configSection(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.CONFIG_SECTION, false);
 		
 		final ConfigurationSection section = configuration.get(fileName).getConfigurationSection(path);
 		if (section == null) {
-			getLogger().severe("Cannot get the ConfigurationSection value because that path doesn't exist!");
+			missing(fileName, path, "ConfigurationSection");
 			return null;
 		}
 		
 		return section;
 	}
+	
+	@Override
+	public boolean visit(String fileName, String path, SectionVisitor visitor) {
+		checkNotNull(visitor, "The section visitor cannot be null.");
+		
+		final ConfigurationSection section = configSection(fileName, path);
+		return section == null || Sections.visit(section, visitor);
+	}
+	
+	@Override
+	public Stream<Map.Entry<String, Object>> stream(String fileName, String path) {
+		final ConfigurationSection section = configSection(fileName, path);
+		return section == null ? Stream.empty() : Sections.stream(section, false);
+	}
+	
+	@Override
+	public Object[] values(String fileName, PathSet paths) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkNotNull(paths, "The paths cannot be null.");
+		
+		final Object[] values = new Object[paths.size()];
+		final FileConfiguration file = configuration.get(fileName);
+		paths.read(file, values);
+		if (file != null) bulk(fileName, paths, values);
+		return values;
+	}
+	
+	/**
+	 * Samples a read if the sampling is enabled.
+	 */
+	private void sample(String fileName, String path, Getter getter, boolean colorized) {
+		final AccessSampler current = sampler;
+		if (current != null) current.sample(fileName, path, getter, colorized);
+	}
+	
+	/**
+	 * Samples the paths read in bulk if the sampling is enabled, and reports the paths that doesn't exist.
+	 */
+	void bulk(String fileName, PathSet paths, Object[] values) {
+		for (int i = 0 ; i < paths.size() ; i++) {
+			sample(fileName, paths.path(i), Getter.ANY, false);
+			if (values[i] == null) missing(fileName, paths.path(i), "Object");
+		}
+	}
+	
+	/**
+	 * Records a read of a file that doesn't exist at the metrics if are enabled, and reports it.
+	 */
+	private void missing(String fileName) {
+		final ConfigurationMetrics metrics = configuration.metrics();
+		if (metrics != null) metrics.file(fileName).read(false);
+		
+		final MissingReporter reporter = configuration.missing();
+		if (reporter != null) reporter.file(fileName);
+		else getLogger().severe("Cannot get the file '" + fileName + "' because doesn't exist.");
+	}
+	
+	/**
+	 * Records a read that didn't find the value at the metrics of the file if are enabled, and reports it.
+	 */
+	void missing(String fileName, String path, String type) {
+		final ConfigurationMetrics metrics = configuration.metrics();
+		if (metrics != null) metrics.file(fileName).miss();
+		
+		final MissingReporter reporter = configuration.missing();
+		if (reporter != null) reporter.path(fileName, path, type);
+		else {
+			getLogger().severe("Cannot get the " + type + " value of the path '" + path + "' at the file '"
+				 + fileName + "' because doesn't exist.");
+		}
+	}
 }
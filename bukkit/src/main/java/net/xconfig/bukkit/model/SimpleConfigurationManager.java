@@ -1,13 +1,37 @@
 package net.xconfig.bukkit.model;
 
 import net.xconfig.bukkit.model.config.ConfigurationManager;
+import net.xconfig.bukkit.model.metrics.ConfigurationMetrics;
+import net.xconfig.bukkit.model.metrics.FileMetrics;
+import net.xconfig.bukkit.model.metrics.FileMetrics.Operation;
+import net.xconfig.bukkit.model.metrics.FlightEvents;
+import net.xconfig.bukkit.model.metrics.MissingReporter;
+import net.xconfig.bukkit.model.objects.CompiledCache;
+import net.xconfig.bukkit.model.objects.ConfigurationOverlay;
+import net.xconfig.bukkit.model.objects.FileFormat;
+import net.xconfig.bukkit.model.objects.JsonFormat;
+import net.xconfig.bukkit.model.objects.LocaleBundle;
+import net.xconfig.bukkit.model.objects.ReferenceResolver;
+import net.xconfig.bukkit.model.objects.StringPool;
+import net.xconfig.bukkit.model.objects.YamlEmitter;
 import net.xconfig.bukkit.model.objects.YamlFile;
+import net.xconfig.bukkit.model.objects.YamlFormat;
+import net.xconfig.bukkit.model.objects.YamlParser;
+import net.xconfig.bukkit.model.schema.ConfigurationSchema;
+import net.xconfig.bukkit.model.schema.ValidatedConfiguration;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -27,10 +51,30 @@ public class SimpleConfigurationManager implements ConfigurationManager {
 	
 	private final JavaPlugin plugin;
 	private final Map<String, YamlFile> cachedFiles;
+	private final FileFormat defaultFormat;
+	private final List<FileFormat> formats;
+	private final Map<String, ValidatedConfiguration> schemas;
+	private final Map<String, ConfigurationOverlay> overlays;
+	private final Map<String, LocaleBundle> bundles;
+	
+	private StringPool pool;
+	private boolean cache;
+	private boolean fastParser;
+	private YamlEmitter emitter;
+	private ReferenceResolver references;
+	private ConfigurationMetrics metrics;
+	private MissingReporter missing;
 	
 	private SimpleConfigurationManager(JavaPlugin plugin) {
 		this.plugin = plugin;
 		cachedFiles = new HashMap<>();
+		defaultFormat = new YamlFormat();
+		formats = new ArrayList<>();
+		formats.add(new JsonFormat());
+		formats.add(defaultFormat);
+		schemas = new HashMap<>();
+		overlays = new LinkedHashMap<>();
+		bundles = new LinkedHashMap<>();
 	}
 	
 	/**
@@ -41,6 +85,7 @@ public class SimpleConfigurationManager implements ConfigurationManager {
 	public static void register(JavaPlugin plugin) {
 		checkNotNull(plugin, "The JavaPlugin instance cannot be null.");
 		
+		unregister();
 		instance = new SimpleConfigurationManager(plugin);
 	}
 	
@@ -55,18 +100,320 @@ public class SimpleConfigurationManager implements ConfigurationManager {
 	
 	/**
 	 * Unregister the provider for these instance.
+	 * <p>
+	 * Must be called when the plugin is disabled, so the threads of the metrics and of the summaries of the
+	 * missing values are stopped.
 	 */
 	public static void unregister() {
+		if (instance != null) {
+			instance.metrics(false);
+			instance.missing(false);
+		}
 		instance = null;
 	}
 	
+	/**
+	 * Enables or disables the keys and values deduplication for the files built from now on.
+	 * <p>
+	 * All the files of this manager share the same pool, so the keys and texts repeated between files are
+	 * stored only once.
+	 *
+	 * @param deduplicate Do you want to deduplicate the strings of the files?
+	 */
+	public void deduplicate(boolean deduplicate) {
+		if (!deduplicate) {
+			if (pool != null) pool.clear();
+			pool = null;
+			return;
+		}
+		
+		if (pool == null) pool = new StringPool();
+	}
+	
+	/**
+	 * Returns the StringPool shared by the files of this manager.
+	 *
+	 * @return The StringPool object or null if the deduplication is disabled.
+	 */
+	public StringPool pool() {
+		return pool;
+	}
+	
+	/**
+	 * Enables or disables the compiled cache for the files built from now on.
+	 * <p>
+	 * The parsed content of every file is stored in binary form next to the file, and is loaded instead of
+	 * parse the file again while the file isn't modified.
+	 *
+	 * @param cache Do you want to use the compiled cache?
+	 * @see CompiledCache
+	 */
+	public void cache(boolean cache) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * Enables or disables the fast YAML parser for the YAML files built from now on.
+	 * <p>
+	 * The parser reads the common subset of YAML without the SnakeYAML loader, the files with syntax that it
+	 * doesn't support are loaded with the standard loader.
+	 *
+	 * @param fastParser Do you want to load the YAML files with the fast parser?
+	 * @see YamlParser
+	 */
+	public void fastParser(boolean fastParser) {
+		this.fastParser = fastParser;
+	}
+	
+	/**
+	 * Enables or disables the fast YAML emitter for the saves of the YAML files.
+	 * <p>
+	 * The emitter writes the common subset of YAML without the SnakeYAML dumper, the files with values that
+	 * it doesn't support are saved with the standard dumper.
+	 *
+	 * @param fastEmitter Do you want to save the YAML files with the fast emitter?
+	 * @see YamlEmitter
+	 */
+	public void fastEmitter(boolean fastEmitter) {
+		if (!fastEmitter) {
+			emitter = null;
+			return;
+		}
+		
+		if (emitter == null) emitter = new YamlEmitter();
+	}
+	
+	/**
+	 * Enables or disables the resolution of the references to other values inside of the texts of the files
+	 * built from now on, like {@code ${settings.prefix}} or {@code ${other.yml:settings.prefix}}.
+	 * <p>
+	 * The references are resolved once when a file is loaded, and are resolved again only at the files that
+	 * depend on a file when it's built, reloaded or deleted through this manager. The files are saved with the
+	 * references as are written.
+	 *
+	 * @param enabled Do you want to resolve the references?
+	 * @see ReferenceResolver
+	 */
+	public void references(boolean enabled) {
+		if (!enabled) {
+			references = null;
+			return;
+		}
+		
+		if (references == null) references = new ReferenceResolver(this::value);
+	}
+	
+	/**
+	 * Returns the resolver of the references of the files.
+	 *
+	 * @return The ReferenceResolver object, or null if the references are disabled.
+	 */
+	public ReferenceResolver references() {
+		return references;
+	}
+	
+	/**
+	 * Enables or disables the metrics of the files of this manager.
+	 * <p>
+	 * While are disabled the operations aren't measured, and when are disabled the metrics recorded are
+	 * discarded.
+	 *
+	 * @param enabled Do you want to record the metrics of the files?
+	 * @see ConfigurationMetrics
+	 */
+	public void metrics(boolean enabled) {
+		if (!enabled) {
+			if (metrics != null) metrics.close();
+			metrics = null;
+			return;
+		}
+		
+		if (metrics == null) metrics = new ConfigurationMetrics();
+	}
+	
+	@Override
+	public ConfigurationMetrics metrics() {
+		return metrics;
+	}
+	
+	/**
+	 * Enables or disables the summaries of the missing files and paths, logged every minute.
+	 * <p>
+	 * While are disabled every missing file is logged every time that is requested. The summaries use a daemon
+	 * thread that is stopped when are disabled or when the manager is unregistered.
+	 *
+	 * @param enabled Do you want to summarize the missing values?
+	 * @see MissingReporter
+	 */
+	public void missing(boolean enabled) {
+		if (!enabled) {
+			if (missing != null) missing.close();
+			missing = null;
+			return;
+		}
+		
+		if (missing == null) missing = new MissingReporter(60_000L);
+	}
+	
+	/**
+	 * Enables the summaries of the missing files and paths with the period given, replacing the current
+	 * reporter.
+	 *
+	 * @param periodMillis Milliseconds between every summary.
+	 * @see #missing(boolean)
+	 */
+	public void missing(long periodMillis) {
+		final MissingReporter reporter = new MissingReporter(periodMillis);
+		if (missing != null) missing.close();
+		missing = reporter;
+	}
+	
+	@Override
+	public MissingReporter missing() {
+		return missing;
+	}
+	
+	/**
+	 * Registers the schema of a file, that is checked every time the file is built or reloaded.
+	 * <p>
+	 * The values of the file are read through the ValidatedConfiguration returned, that is the same object
+	 * after every build or reload of the file. The reloads whose content doesn't follow the schema are rejected
+	 * and the current content is kept. If the file is already built, its current content is validated now.
+	 * <p>
+	 * A build whose content doesn't follow the schema only logs the problems, and the getters of the
+	 * ValidatedConfiguration throw an IllegalStateException until a reload follows the schema, see
+	 * {@link ValidatedConfiguration#loaded()}.
+	 *
+	 * @param fileName The file name.
+	 * @param schema The schema of the file.
+	 * @return The ValidatedConfiguration object of the file.
+	 * @see ConfigurationSchema
+	 */
+	public ValidatedConfiguration schema(String fileName, ConfigurationSchema schema) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkNotNull(schema, "The schema cannot be null.");
+		
+		final ValidatedConfiguration validated = new ValidatedConfiguration(fileName, schema);
+		schemas.put(fileName, validated);
+		
+		final YamlFile file = cachedFiles.get(fileName);
+		if (file != null) {
+			file.validated(validated);
+			file.validate();
+		}
+		
+		return validated;
+	}
+	
+	@Override
+	public ValidatedConfiguration validated(String fileName) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		
+		return schemas.get(fileName);
+	}
+	
+	/**
+	 * Declares an overlay of files, that merges their values into a single effective configuration where the
+	 * values of the later files replace the values of the previous files.
+	 * <p>
+	 * The files can be built before or after the overlay is declared. Every time a file of the overlay is built,
+	 * reloaded or deleted through this manager, only its values are merged again.
+	 *
+	 * @param name The overlay name.
+	 * @param fileNames The names of the files, from the lowest to the highest priority, such as the defaults file
+	 * first and the file of the server last.
+	 * @return The ConfigurationOverlay object.
+	 * @see ConfigurationOverlay
+	 */
+	public ConfigurationOverlay overlay(String name, String... fileNames) {
+		checkArgument(!name.isEmpty(), "The overlay name is empty.");
+		
+		final ConfigurationOverlay overlay = new ConfigurationOverlay(name, fileNames);
+		for (String fileName : fileNames) overlay.update(fileName, cachedFiles.get(fileName));
+		overlays.put(name, overlay);
+		return overlay;
+	}
+	
+	@Override
+	public ConfigurationOverlay overlay(String name) {
+		checkArgument(!name.isEmpty(), "The overlay name is empty.");
+		
+		return overlays.get(name);
+	}
+	
+	/**
+	 * Declares a bundle of messages translated to several locales, with a file for every locale named like
+	 * {@code <baseName>_<locale>.yml}, such as {@code messages_pt_BR.yml}.
+	 * <p>
+	 * The files of a locale are built through this manager the first time that the locale is requested, only if
+	 * the file exists at the plugin folder or inside of the plugin jar, so the locales that aren't used by the
+	 * server aren't loaded. The first request of a locale should be done at the main thread, because can build
+	 * files. The files can be reloaded with {@link #reload(String)} like the other files.
+	 *
+	 * @param folderName The folder of the files, or an empty string if are at the plugin folder.
+	 * @param baseName The name of the files without the locale, such as {@code messages}.
+	 * @param defaultLocale The locale used when a message doesn't exist at the locale requested.
+	 * @param colorize Do you want to colorize the texts once when the files are merged?
+	 * @return The LocaleBundle object.
+	 * @see LocaleBundle
+	 */
+	public LocaleBundle bundle(String folderName, String baseName, String defaultLocale, boolean colorize) {
+		checkNotNull(folderName, "The folder name cannot be null.");
+		checkArgument(!baseName.isEmpty(), "The base name is empty.");
+		
+		final LocaleBundle bundle = new LocaleBundle(baseName, defaultLocale, colorize,
+			 fileName -> localeFile(folderName, fileName));
+		bundles.put(baseName, bundle);
+		return bundle;
+	}
+	
+	@Override
+	public LocaleBundle bundle(String baseName) {
+		checkArgument(!baseName.isEmpty(), "The base name is empty.");
+		
+		return bundles.get(baseName);
+	}
+	
+	/**
+	 * Registers a format for the files built from now on.
+	 * <p>
+	 * The formats registered later are checked first, so a format can replace the handling of an extension
+	 * supported by a previous format.
+	 *
+	 * @param format The FileFormat to register.
+	 */
+	public void registerFormat(FileFormat format) {
+		checkNotNull(format, "The file format cannot be null.");
+		
+		formats.add(0, format);
+	}
+	
+	/**
+	 * Returns the format that handles the file given.
+	 *
+	 * @param fileName The file name.
+	 * @return The FileFormat for the file, YAML if no format supports it.
+	 */
+	public FileFormat format(String fileName) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		
+		for (FileFormat format : formats) {
+			if (format.supports(fileName)) return format;
+		}
+		
+		return defaultFormat;
+	}
+	
 	@Override
 	public FileConfiguration get(String fileName) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		
 		final YamlFile file = cachedFiles.get(fileName);
-		if (file == null || !file.file().exists()) {
-			getLogger().severe("Cannot get the file " + fileName + " because doesn't exist.");
+		final boolean found = file != null && file.file().exists();
+		if (metrics != null) metrics.file(fileName).read(found);
+		if (!found) {
+			if (missing != null) missing.file(fileName);
+			else getLogger().severe("Cannot get the file " + fileName + " because doesn't exist.");
 			return null;
 		}
 		
@@ -82,17 +429,68 @@ public class SimpleConfigurationManager implements ConfigurationManager {
 	
 	@Override
 	public void build(String folderName, String fileName, boolean custom) {
+		build(folderName, fileName, custom, false);
+	}
+	
+	@Override
+	public void build(String folderName, String fileName, boolean custom, boolean readOnly) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		
-		final YamlFile file = new YamlFile(plugin, folderName, fileName);
-		cachedFiles.put(fileName, file);
-
-		if (custom) {
-			file.createAsCustom();
+		final long start = metrics == null ? 0 : System.nanoTime();
+		final YamlFile file = new YamlFile(plugin, folderName, fileName, pool, readOnly, format(fileName));
+		file.cache(cache);
+		file.fastParser(fastParser);
+		file.validated(schemas.get(fileName));
+		file.references(references);
+		final YamlFile previous = cachedFiles.put(fileName, file);
+		if (previous != null) previous.discard();
+		if (missing != null) missing.forget(fileName);
+		
+		if (custom) file.createAsCustom();
+		else file.create();
+		
+		updateOverlays(fileName);
+		updateBundles(fileName);
+		updateReferences(fileName);
+		if (metrics != null) record(file, Operation.BUILD, start, file.get() != null);
+	}
+	
+	@Override
+	public void buildSnapshot(String fileName, File snapshotFile) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkNotNull(snapshotFile, "The snapshot file cannot be null.");
+		
+		final long start = metrics == null ? 0 : System.nanoTime();
+		final YamlFile file = new YamlFile(plugin, "", fileName, pool, true, format(fileName));
+		file.validated(schemas.get(fileName));
+		file.references(references);
+		final YamlFile previous = cachedFiles.put(fileName, file);
+		if (previous != null) previous.discard();
+		if (missing != null) missing.forget(fileName);
+		
+		file.createFromSnapshot(snapshotFile);
+		updateOverlays(fileName);
+		updateBundles(fileName);
+		updateReferences(fileName);
+		if (metrics != null) record(file, Operation.BUILD, start, file.get() != null);
+	}
+	
+	@Override
+	public void snapshot(String fileName, File snapshotFile) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkNotNull(snapshotFile, "The snapshot file cannot be null.");
+		
+		final YamlFile file = cachedFiles.get(fileName);
+		if (file == null || !file.file().exists()) {
+			getLogger().severe("Cannot write the snapshot of the file " + fileName + " because doesn't exist.");
 			return;
 		}
 		
-		file.create();
+		try { file.snapshot(snapshotFile); }
+		catch (IOException | IllegalArgumentException exception) {
+			getLogger().severe("Failed to write the snapshot of the file " + fileName + ".");
+			exception.printStackTrace();
+		}
 	}
 	
 	@Override
@@ -105,13 +503,27 @@ public class SimpleConfigurationManager implements ConfigurationManager {
 			return;
 		}
 		
-		try { file.file().delete(); }
-		catch (SecurityException exception) {
+		final Object event = FlightEvents.beginFileOperation();
+		final long bytes = event == null ? 0 : file.file().length();
+		try {
+			file.file().delete();
+			CompiledCache.cacheFile(file.file()).delete();
+		} catch (SecurityException exception) {
 			getLogger().severe("Cannot delete the file '" + fileName + "'.");
 			exception.printStackTrace();
 		}
+		FlightEvents.commitFileOperation(event, fileName, "delete", bytes);
 		
 		cachedFiles.remove(file.fileName());
+		file.discard();
+		if (missing != null) missing.forget(file.fileName());
+		if (metrics != null) metrics.remove(file.fileName());
+		updateOverlays(file.fileName());
+		updateBundles(file.fileName());
+		if (references != null) {
+			references.remove(file.fileName());
+			updateReferences(file.fileName());
+		}
 		file = null;
 	}
 	
@@ -125,11 +537,40 @@ public class SimpleConfigurationManager implements ConfigurationManager {
 			return;
 		}
 		
-		try { file.get().load(file.file()); }
-		catch (InvalidConfigurationException | IOException exception) {
+		if (missing != null) missing.forget(fileName);
+		final long start = metrics == null ? 0 : System.nanoTime();
+		boolean success = false;
+		try {
+			file.reload();
+			success = true;
+		} catch (InvalidConfigurationException | IOException exception) {
 			getLogger().severe("Failed to load the file" + fileName + ".");
 			exception.printStackTrace();
 		}
+		
+		if (success) {
+			updateOverlays(fileName);
+			updateBundles(fileName);
+			updateReferences(fileName);
+		}
+		if (metrics != null) record(file, Operation.RELOAD, start, success);
+	}
+	
+	@Override
+	public void update(String fileName, Map<String, Object> changes) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkNotNull(changes, "The changes cannot be null.");
+		
+		final YamlFile file = cachedFiles.get(fileName);
+		if (file == null || file.get() == null) {
+			getLogger().severe("Cannot update the file " + fileName + " because isn't loaded.");
+			return;
+		}
+		
+		file.update(changes);
+		updateOverlays(fileName);
+		updateBundles(fileName);
+		updateReferences(fileName);
 	}
 	
 	@Override
@@ -142,10 +583,127 @@ public class SimpleConfigurationManager implements ConfigurationManager {
 			return;
 		}
 		
-		try { file.get().save(file.file()); }
-		catch (IOException exception) {
+		if (file.readOnly()) {
+			getLogger().severe("Cannot save the file " + fileName + " because is read-only.");
+			return;
+		}
+		
+		final long start = metrics == null ? 0 : System.nanoTime();
+		final Object event = FlightEvents.beginFileOperation();
+		// The references are saved as are written, and the resolved values are set again after the save.
+		final Map<String, Object> resolved = references == null
+			 ? Collections.emptyMap()
+			 : references.unresolve(fileName, file.get());
+		boolean success = false;
+		try {
+			write(file);
+			success = true;
+		} catch (IOException exception) {
 			getLogger().severe("Failed to save the file" + fileName + ".");
 			exception.printStackTrace();
+		} finally {
+			if (!resolved.isEmpty()) references.restore(file.get(), resolved);
+		}
+		
+		FlightEvents.commitFileOperation(event, fileName, "save", file.file());
+		if (metrics != null) record(file, Operation.SAVE, start, success);
+	}
+	
+	private void write(YamlFile file) throws IOException {
+		if (emitter != null && file.get().getClass() == YamlConfiguration.class) {
+			try {
+				emitter.write(file.get(), file.file());
+				return;
+			} catch (IllegalArgumentException exception) {
+				// The content has values that only the standard dumper supports.
+			}
+		}
+		
+		file.get().save(file.file());
+	}
+	
+	/**
+	 * Merges again the values of the file at the overlays that contain it.
+	 */
+	private void updateOverlays(String fileName) {
+		if (overlays.isEmpty()) return;
+		
+		final YamlFile file = cachedFiles.get(fileName);
+		for (ConfigurationOverlay overlay : overlays.values()) {
+			if (overlay.contains(fileName)) overlay.update(fileName, file);
+		}
+	}
+	
+	/**
+	 * Merges again the messages of the bundles that use the file.
+	 */
+	private void updateBundles(String fileName) {
+		if (bundles.isEmpty()) return;
+		
+		for (LocaleBundle bundle : bundles.values()) {
+			if (bundle.contains(fileName)) bundle.update(fileName);
 		}
 	}
+	
+	/**
+	 * Returns the file of a locale, building it if isn't built yet and exists at the plugin folder or inside of
+	 * the plugin jar.
+	 */
+	private YamlFile localeFile(String folderName, String fileName) {
+		final YamlFile cached = cachedFiles.get(fileName);
+		if (cached != null) return cached;
+		
+		final String path = folderName.isEmpty() ? fileName : folderName + '/' + fileName;
+		if (!new File(plugin.getDataFolder(), path).exists()) {
+			try (InputStream resource = plugin.getResource(path)) {
+				if (resource == null) return null;
+			} catch (IOException exception) {
+				return null;
+			}
+		}
+		
+		// The resource can be found inside of the jar but not be saved, then the locale is used as without file.
+		try { build(folderName, fileName, false); }
+		catch (IllegalArgumentException exception) {
+			getLogger().severe("Cannot save the file '" + fileName + "' from the plugin jar: "
+				 + exception.getMessage());
+			final YamlFile failed = cachedFiles.remove(fileName);
+			if (failed != null) failed.discard();
+			return null;
+		}
+		
+		return cachedFiles.get(fileName);
+	}
+	
+	/**
+	 * Resolves again the references of the files that depend on the file, directly or through other files.
+	 */
+	private void updateReferences(String fileName) {
+		if (references == null) return;
+		
+		for (String dependent : references.dependents(fileName)) {
+			final YamlFile file = cachedFiles.get(dependent);
+			if (file == null || !file.refreshReferences()) continue;
+			
+			updateOverlays(dependent);
+			updateBundles(dependent);
+		}
+	}
+	
+	/**
+	 * Returns the current value of a path of a file, for the references to other files.
+	 */
+	private Object value(String fileName, String path) {
+		final YamlFile file = cachedFiles.get(fileName);
+		return file == null || file.get() == null ? null : file.get().get(path);
+	}
+	
+	/**
+	 * Records the time since the start given at the metrics of the file, with its current size.
+	 */
+	private void record(YamlFile file, Operation operation, long start, boolean success) {
+		final FileMetrics fileMetrics = metrics.file(file.fileName());
+		fileMetrics.record(operation, System.nanoTime() - start, success);
+		if (file.file() != null) fileMetrics.size(file.file().length());
+	}
 }
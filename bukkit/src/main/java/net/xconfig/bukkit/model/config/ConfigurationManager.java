@@ -1,10 +1,17 @@
 package net.xconfig.bukkit.model.config;
 
+import net.xconfig.bukkit.model.metrics.ConfigurationMetrics;
+import net.xconfig.bukkit.model.metrics.MissingReporter;
+import net.xconfig.bukkit.model.objects.ConfigurationOverlay;
+import net.xconfig.bukkit.model.objects.LocaleBundle;
 import net.xconfig.bukkit.model.objects.YamlFile;
+import net.xconfig.bukkit.model.schema.ValidatedConfiguration;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface model for the Bukkit Configuration Manager.
@@ -97,6 +104,76 @@ public interface ConfigurationManager {
 		}
 	}
 	
+	/**
+	 * Returns the metrics of the files of this manager.
+	 *
+	 * @return The ConfigurationMetrics object, or null if the metrics are disabled.
+	 */
+	default ConfigurationMetrics metrics() {
+		return null;
+	}
+	
+	/**
+	 * Returns the reporter of the files and paths requested that doesn't exist.
+	 *
+	 * @return The MissingReporter object, or null if the missing values are logged every time.
+	 */
+	default MissingReporter missing() {
+		return null;
+	}
+	
+	/**
+	 * Returns the values validated by the schema of a file.
+	 *
+	 * @param fileName Name of file.
+	 * @return The ValidatedConfiguration object, or null if the file hasn't a schema.
+	 */
+	default ValidatedConfiguration validated(String fileName) {
+		return null;
+	}
+	
+	/**
+	 * Returns an overlay of files, with the values of its files merged into a single configuration.
+	 *
+	 * @param name The overlay name.
+	 * @return The ConfigurationOverlay object, or null if the overlay wasn't declared.
+	 */
+	default ConfigurationOverlay overlay(String name) {
+		return null;
+	}
+	
+	/**
+	 * Returns a bundle of messages translated to several locales.
+	 *
+	 * @param baseName The name of the files without the locale.
+	 * @return The LocaleBundle object, or null if the bundle wasn't declared.
+	 */
+	default LocaleBundle bundle(String baseName) {
+		return null;
+	}
+	
+	/**
+	 * Sets the values given at a file, and updates the values cached from the file, such as the chat components,
+	 * the templates, the overlays, the locale bundles, the validated values and the values of the files that
+	 * reference it.
+	 * <p>
+	 * The default implementation only sets the values.
+	 *
+	 * @param fileName Name of file.
+	 * @param changes The paths and their new values, a null value removes the path and a Map value
+	 * creates a section.
+	 */
+	default void update(String fileName, Map<String, Object> changes) {
+		final FileConfiguration configuration = get(fileName);
+		if (configuration == null) return;
+		
+		for (Map.Entry<String, Object> change : changes.entrySet()) {
+			final Object value = change.getValue();
+			if (value instanceof Map) configuration.createSection(change.getKey(), (Map<?, ?>) value);
+			else configuration.set(change.getKey(), value);
+		}
+	}
+	
 	/**
 	 * Returns a FileConfiguration object using the file specified.
 	 *
@@ -117,6 +194,9 @@ public interface ConfigurationManager {
 	 * Creates and load a custom/normal file with/without a folder.
 	 * <p>
 	 * This method allows creates files that is not inside of plugin jar file or make normal configuration files..
+	 * <p>
+	 * The format of the file content is chosen by the file extension, files with an unknown extension are
+	 * handled as YAML.
 	 *
 	 * @param folderName Name of the folder.
 	 * @param fileName Name of file.
@@ -124,6 +204,53 @@ public interface ConfigurationManager {
 	 */
 	void build(String folderName, String fileName, boolean custom);
 	
+	/**
+	 * Creates and load a custom/normal file with/without a folder, that can be loaded as read-only.
+	 * <p>
+	 * The read-only files keeps their content in a compact and immutable tree that takes less memory, their
+	 * values can be read as at any other file, but cannot be modified or saved.
+	 * <p>
+	 * The default implementation only supports the files that aren't read-only.
+	 *
+	 * @param folderName Name of the folder.
+	 * @param fileName Name of file.
+	 * @param custom The file to create will be custom?
+	 * @param readOnly The file will be loaded as read-only?
+	 * @throws UnsupportedOperationException If the file is read-only and this manager doesn't supports them.
+	 */
+	default void build(String folderName, String fileName, boolean custom, boolean readOnly) {
+		if (readOnly) throw new UnsupportedOperationException("This manager doesn't supports read-only files.");
+		
+		build(folderName, fileName, custom);
+	}
+	
+	/**
+	 * Loads a read-only file whose values are read directly from a compiled snapshot mapped in memory,
+	 * without parse it and sharing the memory with the other processes that map the same snapshot.
+	 * <p>
+	 * The default implementation doesn't supports the snapshots.
+	 *
+	 * @param fileName Name of file.
+	 * @param snapshotFile The snapshot written with {@link #snapshot(String, File)}.
+	 * @throws UnsupportedOperationException If this manager doesn't supports the snapshots.
+	 */
+	default void buildSnapshot(String fileName, File snapshotFile) {
+		throw new UnsupportedOperationException("This manager doesn't supports snapshots.");
+	}
+	
+	/**
+	 * Writes a compiled snapshot of the current content of a file.
+	 * <p>
+	 * The default implementation doesn't supports the snapshots.
+	 *
+	 * @param fileName Name of file.
+	 * @param snapshotFile The snapshot file to write.
+	 * @throws UnsupportedOperationException If this manager doesn't supports the snapshots.
+	 */
+	default void snapshot(String fileName, File snapshotFile) {
+		throw new UnsupportedOperationException("This manager doesn't supports snapshots.");
+	}
+	
 	/**
 	 * Delete a file.
 	 *
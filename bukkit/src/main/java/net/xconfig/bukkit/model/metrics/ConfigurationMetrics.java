@@ -0,0 +1,143 @@
+package net.xconfig.bukkit.model.metrics;
+
+import net.xconfig.bukkit.model.metrics.FileMetrics.Operation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.bukkit.Bukkit.getLogger;
+
+/**
+ * Metrics of the files of a configuration manager: the latencies and failures of their builds, reloads and
+ * saves, their sizes and the reads that missed the file or the value.
+ * <p>
+ * The metrics are only recorded while are enabled at the manager, else the operations aren't measured.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see FileMetrics
+ */
+public final class ConfigurationMetrics {
+	private final Map<String, FileMetrics> files;
+	
+	private ScheduledExecutorService reporter;
+	
+	public ConfigurationMetrics() {
+		files = new ConcurrentHashMap<>();
+	}
+	
+	/**
+	 * Returns the metrics of the file given, they are created if the file doesn't have metrics yet.
+	 *
+	 * @param fileName The file name.
+	 * @return The FileMetrics object of the file.
+	 */
+	public FileMetrics file(String fileName) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		
+		final FileMetrics metrics = files.get(fileName);
+		return metrics != null ? metrics : files.computeIfAbsent(fileName, FileMetrics::new);
+	}
+	
+	/**
+	 * Returns the metrics of all the files.
+	 *
+	 * @return An unmodifiable view of the FileMetrics objects.
+	 */
+	public Collection<FileMetrics> files() {
+		return Collections.unmodifiableCollection(files.values());
+	}
+	
+	/**
+	 * Removes the metrics of a file.
+	 *
+	 * @param fileName The file name.
+	 */
+	public void remove(String fileName) {
+		files.remove(fileName);
+	}
+	
+	/**
+	 * Removes the metrics recorded of all the files.
+	 */
+	public void reset() {
+		for (FileMetrics metrics : files.values()) metrics.reset();
+	}
+	
+	/**
+	 * Returns a summary of the metrics, with a line for every file.
+	 *
+	 * @return A list with the lines of the summary, sorted by file name.
+	 */
+	public List<String> summary() {
+		final List<FileMetrics> sortedFiles = new ArrayList<>(files.values());
+		sortedFiles.sort((first, second) -> first.fileName().compareTo(second.fileName()));
+		
+		final List<String> lines = new ArrayList<>(sortedFiles.size());
+		for (FileMetrics metrics : sortedFiles) {
+			final StringBuilder builder = new StringBuilder(metrics.fileName())
+				 .append(": size=").append(metrics.size()).append(" B")
+				 .append(", reads=").append(metrics.reads())
+				 .append(", misses=").append(metrics.misses());
+			
+			for (Operation operation : Operation.values()) {
+				final LatencyHistogram latencies = metrics.latencies(operation);
+				if (latencies.count() == 0) continue;
+				
+				builder.append(", ").append(operation.name().toLowerCase(Locale.ROOT))
+					 .append("={count=").append(latencies.count())
+					 .append(", failures=").append(metrics.failures(operation))
+					 .append(", p50=").append(millis(latencies.percentileNanos(50)))
+					 .append(", p99=").append(millis(latencies.percentileNanos(99)))
+					 .append(", max=").append(millis(latencies.maxNanos()))
+					 .append('}');
+			}
+			lines.add(builder.toString());
+		}
+		
+		return lines;
+	}
+	
+	/**
+	 * Starts to log the summary of the metrics periodically, replacing the previous report if there is one.
+	 *
+	 * @param periodMillis Milliseconds between every summary.
+	 */
+	public synchronized void report(long periodMillis) {
+		checkArgument(periodMillis > 0, "The report period must be positive.");
+		
+		close();
+		reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "XConfig-MetricsReporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		reporter.scheduleAtFixedRate(() -> {
+			for (String line : summary()) getLogger().info("[Metrics] " + line);
+		}, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Stops the periodic report of the summary.
+	 */
+	public synchronized void close() {
+		if (reporter == null) return;
+		
+		reporter.shutdownNow();
+		reporter = null;
+	}
+	
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+	}
+}
@@ -0,0 +1,227 @@
+package net.xconfig.bukkit.model.metrics;
+
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Emits the JDK Flight Recorder events of the file operations and the colorization of texts, so the
+ * recordings of the server show which configuration operation was running at every moment.
+ * <p>
+ * The event types are created at runtime, so the library still runs at the Java versions without the Flight
+ * Recorder, where the events are ignored. Every event has the duration and thread of the operation, and the
+ * colorization events are only recorded if take more than 1 ms by default, the thresholds can be changed at
+ * the recording settings.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class FlightEvents {
+	private static final EventType FILE_OPERATION = EventType.create("net.xconfig.FileOperation",
+		 "Configuration File Operation", "0 ns",
+		 new Field(String.class, "fileName", "File Name", false),
+		 new Field(String.class, "operation", "Operation", false),
+		 new Field(long.class, "bytes", "Size", true));
+	private static final EventType COLORIZE = EventType.create("net.xconfig.Colorize", "Text Colorization", "1 ms",
+		 new Field(int.class, "length", "Text Length", false));
+	
+	private FlightEvents() {}
+	
+	/**
+	 * Starts the event of a file operation.
+	 *
+	 * @return The event, or null if it won't be recorded.
+	 */
+	public static Object beginFileOperation() {
+		return FILE_OPERATION == null ? null : FILE_OPERATION.begin();
+	}
+	
+	/**
+	 * Ends the event of a file operation and records it with the current size of the file.
+	 *
+	 * @param event The event returned by {@link #beginFileOperation()}.
+	 * @param fileName The file name.
+	 * @param operation The name of the operation.
+	 * @param file The file, its size is only taken if the event is recorded.
+	 */
+	public static void commitFileOperation(Object event, String fileName, String operation, File file) {
+		if (event == null || !FILE_OPERATION.end(event)) return;
+		
+		FILE_OPERATION.commit(event, fileName, operation, file == null ? 0L : file.length());
+	}
+	
+	/**
+	 * Ends the event of a file operation and records it.
+	 *
+	 * @param event The event returned by {@link #beginFileOperation()}.
+	 * @param fileName The file name.
+	 * @param operation The name of the operation.
+	 * @param bytes The size of the file.
+	 */
+	public static void commitFileOperation(Object event, String fileName, String operation, long bytes) {
+		if (event == null || !FILE_OPERATION.end(event)) return;
+		
+		FILE_OPERATION.commit(event, fileName, operation, bytes);
+	}
+	
+	/**
+	 * Starts the event of a colorization.
+	 *
+	 * @return The event, or null if it won't be recorded.
+	 */
+	public static Object beginColorize() {
+		return COLORIZE == null ? null : COLORIZE.begin();
+	}
+	
+	/**
+	 * Ends the event of a colorization and records it if took more than the threshold.
+	 *
+	 * @param event The event returned by {@link #beginColorize()}.
+	 * @param length The length of the text colorized.
+	 */
+	public static void commitColorize(Object event, int length) {
+		if (event == null || !COLORIZE.end(event)) return;
+		
+		COLORIZE.commit(event, length);
+	}
+	
+	private static final class Field {
+		private final Class<?> type;
+		private final String name;
+		private final String label;
+		private final boolean bytes;
+		
+		private Field(Class<?> type, String name, String label, boolean bytes) {
+			this.type = type;
+			this.name = name;
+			this.label = label;
+			this.bytes = bytes;
+		}
+	}
+	
+	/**
+	 * An event type created with the EventFactory of the Flight Recorder, whose methods are called through
+	 * method handles.
+	 */
+	private static final class EventType {
+		private final Object type;
+		private final MethodHandle newEvent;
+		private final MethodHandle isEnabled;
+		private final MethodHandle begin;
+		private final MethodHandle end;
+		private final MethodHandle shouldCommit;
+		private final MethodHandle set;
+		private final MethodHandle commit;
+		
+		private EventType(Object factory, Class<?> factoryClass, Class<?> eventClass, Class<?> typeClass)
+			 throws ReflectiveOperationException {
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			type = factoryClass.getMethod("getEventType").invoke(factory);
+			// The handles take and return Object, so they are called with invokeExact without conversions.
+			newEvent = lookup.findVirtual(factoryClass, "newEvent", MethodType.methodType(eventClass))
+				 .bindTo(factory).asType(MethodType.methodType(Object.class));
+			isEnabled = erase(lookup.findVirtual(typeClass, "isEnabled", MethodType.methodType(boolean.class)));
+			begin = erase(lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class)));
+			end = erase(lookup.findVirtual(eventClass, "end", MethodType.methodType(void.class)));
+			shouldCommit = erase(lookup.findVirtual(eventClass, "shouldCommit",
+				 MethodType.methodType(boolean.class)));
+			set = erase(lookup.findVirtual(eventClass, "set",
+				 MethodType.methodType(void.class, int.class, Object.class)));
+			commit = erase(lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class)));
+		}
+		
+		private static MethodHandle erase(MethodHandle handle) {
+			return handle.asType(handle.type().changeParameterType(0, Object.class));
+		}
+		
+		/**
+		 * Creates and registers the event type, or returns null if the Flight Recorder isn't available.
+		 */
+		private static EventType create(String name, String label, String threshold, Field... fields) {
+			try {
+				final ClassLoader loader = ClassLoader.getSystemClassLoader();
+				final Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory", true, loader);
+				final Class<?> annotationClass = Class.forName("jdk.jfr.AnnotationElement", true, loader);
+				final Class<?> descriptorClass = Class.forName("jdk.jfr.ValueDescriptor", true, loader);
+				
+				final List<Object> annotations = Arrays.asList(
+					 annotation(annotationClass, "jdk.jfr.Name", name),
+					 annotation(annotationClass, "jdk.jfr.Label", label),
+					 annotation(annotationClass, "jdk.jfr.Category", new String[] {"XConfig"}),
+					 annotation(annotationClass, "jdk.jfr.Threshold", threshold),
+					 annotation(annotationClass, "jdk.jfr.StackTrace", false));
+				
+				final List<Object> descriptors = new ArrayList<>(fields.length);
+				for (Field field : fields) {
+					final List<Object> fieldAnnotations = new ArrayList<>(2);
+					fieldAnnotations.add(annotation(annotationClass, "jdk.jfr.Label", field.label));
+					if (field.bytes) {
+						fieldAnnotations.add(annotation(annotationClass, "jdk.jfr.DataAmount", "BYTES"));
+					}
+					
+					descriptors.add(descriptorClass.getConstructor(Class.class, String.class, List.class)
+						 .newInstance(field.type, field.name, Collections.unmodifiableList(fieldAnnotations)));
+				}
+				
+				final Object factory = factoryClass.getMethod("create", List.class, List.class)
+					 .invoke(null, annotations, descriptors);
+				return new EventType(factory, factoryClass, Class.forName("jdk.jfr.Event", true, loader),
+					 Class.forName("jdk.jfr.EventType", true, loader));
+			} catch (ReflectiveOperationException | LinkageError | RuntimeException exception) {
+				// The Flight Recorder isn't available at this Java version.
+				return null;
+			}
+		}
+		
+		@SuppressWarnings("unchecked")
+		private static Object annotation(Class<?> annotationClass, String type, Object value)
+			 throws ReflectiveOperationException {
+			final Class<? extends Annotation> annotationType = (Class<? extends Annotation>) Class.forName(type,
+				 true, annotationClass.getClassLoader());
+			return annotationClass.getConstructor(Class.class, Object.class).newInstance(annotationType, value);
+		}
+		
+		/**
+		 * Creates and starts an event, if there is a recording of this type.
+		 */
+		private Object begin() {
+			try {
+				if (!(boolean) isEnabled.invokeExact(type)) return null;
+				
+				final Object event = (Object) newEvent.invokeExact();
+				begin.invokeExact(event);
+				return event;
+			} catch (Throwable throwable) {
+				return null;
+			}
+		}
+		
+		/**
+		 * Ends the event, and returns if must be committed.
+		 */
+		private boolean end(Object event) {
+			try {
+				end.invokeExact(event);
+				return (boolean) shouldCommit.invokeExact(event);
+			} catch (Throwable throwable) {
+				return false;
+			}
+		}
+		
+		private void commit(Object event, Object... values) {
+			try {
+				for (int i = 0 ; i < values.length ; i++) set.invokeExact(event, i, values[i]);
+				commit.invokeExact(event);
+			} catch (Throwable throwable) {
+				// The event is dropped, the operation doesn't depend on it.
+			}
+		}
+	}
+}
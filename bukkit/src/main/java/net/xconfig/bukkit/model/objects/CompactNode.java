@@ -0,0 +1,195 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable and array-based node of a configuration tree.
+ * <p>
+ * The keys are stored sorted next to their values, so a key lookup is a binary search without hashing, and
+ * the original order of the keys is kept in a separated index array for the iteration.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class CompactNode implements ConfigurationNode {
+	private static final CompactNode EMPTY = new CompactNode(new String[0], new Object[0], new int[0]);
+	
+	private final String[] keys;
+	private final Object[] values;
+	private final int[] order;
+	
+	private CompactNode(String[] keys, Object[] values, int[] order) {
+		this.keys = keys;
+		this.values = values;
+		this.order = order;
+	}
+	
+	/**
+	 * Returns an empty node.
+	 *
+	 * @return A CompactNode without keys.
+	 */
+	public static CompactNode empty() {
+		return EMPTY;
+	}
+	
+	/**
+	 * Compiles the section given and all their sub-sections into a CompactNode.
+	 *
+	 * @param section The section to compile.
+	 * @param pool The StringPool for the keys and texts, or null to keep the strings as they are.
+	 * @return The compiled node.
+	 */
+	public static CompactNode compile(ConfigurationSection section, StringPool pool) {
+		return compile(section.getValues(false), pool);
+	}
+	
+	/**
+	 * Compiles the map given and all their sub-maps into a CompactNode.
+	 *
+	 * @param map The map to compile.
+	 * @param pool The StringPool for the keys and texts, or null to keep the strings as they are.
+	 * @return The compiled node.
+	 */
+	public static CompactNode compile(Map<?, ?> map, StringPool pool) {
+		final int size = map.size();
+		if (size == 0) return EMPTY;
+		
+		final String[] fileKeys = new String[size];
+		final Object[] fileValues = new Object[size];
+		
+		int position = 0;
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			final String key = String.valueOf(entry.getKey());
+			
+			fileKeys[position] = pool == null ? key : pool.intern(key);
+			fileValues[position] = compileValue(entry.getValue(), pool);
+			position++;
+		}
+		
+		final Integer[] sorted = new Integer[size];
+		for (int i = 0 ; i < size ; i++) sorted[i] = i;
+		Arrays.sort(sorted, Comparator.comparing(index -> fileKeys[index]));
+		
+		final String[] keys = new String[size];
+		final Object[] values = new Object[size];
+		final int[] order = new int[size];
+		for (int i = 0 ; i < size ; i++) {
+			final int filePosition = sorted[i];
+			
+			keys[i] = fileKeys[filePosition];
+			values[i] = fileValues[filePosition];
+			order[filePosition] = i;
+		}
+		
+		return new CompactNode(keys, values, order);
+	}
+	
+	private static Object compileValue(Object value, StringPool pool) {
+		if (value instanceof ConfigurationSection) return compile((ConfigurationSection) value, pool);
+		if (value instanceof String) return pool == null ? value : pool.intern((String) value);
+		
+		if (value instanceof List) {
+			final List<?> list = (List<?>) value;
+			if (list.isEmpty()) return Collections.emptyList();
+			
+			final Object[] elements = new Object[list.size()];
+			for (int i = 0 ; i < elements.length ; i++) elements[i] = compileElement(list.get(i), pool);
+			
+			return Collections.unmodifiableList(Arrays.asList(elements));
+		}
+		
+		if (value instanceof Map) return compile((Map<?, ?>) value, pool);
+		
+		return value;
+	}
+	
+	private static Object compileElement(Object element, StringPool pool) {
+		if (element instanceof Map) {
+			final Map<?, ?> map = (Map<?, ?>) element;
+			final Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				copy.put(compileElement(entry.getKey(), pool), compileElement(entry.getValue(), pool));
+			}
+			
+			return Collections.unmodifiableMap(copy);
+		}
+		
+		if (element instanceof List) {
+			final List<?> list = (List<?>) element;
+			final List<Object> copy = new ArrayList<>(list.size());
+			for (Object value : list) copy.add(compileElement(value, pool));
+			
+			return Collections.unmodifiableList(copy);
+		}
+		
+		if (element instanceof String) return pool == null ? element : pool.intern((String) element);
+		
+		return element;
+	}
+	
+	@Override
+	public int size() {
+		return keys.length;
+	}
+	
+	@Override
+	public String key(int position) {
+		return keys[order[position]];
+	}
+	
+	@Override
+	public Object value(int position) {
+		return values[order[position]];
+	}
+	
+	@Override
+	public String keyAt(int index) {
+		return keys[index];
+	}
+	
+	@Override
+	public Object valueAt(int index) {
+		return values[index];
+	}
+	
+	@Override
+	public int indexOf(String path, int from, int to) {
+		int low = 0;
+		int high = keys.length - 1;
+		
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int comparison = compare(keys[middle], path, from, to);
+			
+			if (comparison < 0) low = middle + 1;
+			else if (comparison > 0) high = middle - 1;
+			else return middle;
+		}
+		
+		return -1;
+	}
+	
+	private static int compare(String key, String path, int from, int to) {
+		final int keyLength = key.length();
+		final int regionLength = to - from;
+		final int limit = Math.min(keyLength, regionLength);
+		
+		for (int i = 0 ; i < limit ; i++) {
+			final char keyChar = key.charAt(i);
+			final char pathChar = path.charAt(from + i);
+			if (keyChar != pathChar) return keyChar - pathChar;
+		}
+		
+		return keyLength - regionLength;
+	}
+}
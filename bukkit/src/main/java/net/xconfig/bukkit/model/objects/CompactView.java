@@ -0,0 +1,127 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read logic shared by the read-only sections, resolves the paths against a ConfigurationNode and creates
+ * the sub-sections views only when they're requested for first time.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+final class CompactView {
+	private final ConfigurationSection owner;
+	private final ConfigurationNode node;
+	private final ReadOnlySection[] children;
+	
+	CompactView(ConfigurationSection owner, ConfigurationNode node) {
+		this.owner = owner;
+		this.node = node;
+		children = new ReadOnlySection[node.size()];
+	}
+	
+	ConfigurationNode node() {
+		return node;
+	}
+	
+	/**
+	 * Returns the value at the path, walking through the sections by the offsets of the segments of the path,
+	 * without create a substring per segment.
+	 */
+	Object get(String path, Object def, char separator) {
+		if (path.isEmpty()) return owner;
+		
+		CompactView view = this;
+		int from = 0;
+		while (true) {
+			final int to = path.indexOf(separator, from);
+			final int index = view.node.indexOf(path, from, to == -1 ? path.length() : to);
+			if (index == -1) return def;
+			
+			final Object value = view.node.valueAt(index);
+			if (!(value instanceof ConfigurationNode)) return to == -1 ? value : def;
+			
+			final ReadOnlySection child = view.child(index, (ConfigurationNode) value);
+			if (to == -1) return child;
+			
+			view = child.view();
+			from = to + 1;
+		}
+	}
+	
+	/**
+	 * Returns the value at the position given, the sections are returned as ConfigurationSection objects.
+	 */
+	Object value(int position) {
+		final Object value = node.value(position);
+		if (!(value instanceof ConfigurationNode)) return value;
+		
+		final String key = node.key(position);
+		return child(node.indexOf(key, 0, key.length()), (ConfigurationNode) value);
+	}
+	
+	boolean visit(SectionVisitor visitor) {
+		for (int i = 0 ; i < node.size() ; i++) {
+			if (!visitor.visit(node.key(i), value(i))) return false;
+		}
+		
+		return true;
+	}
+	
+	Set<String> keys(boolean deep, char separator) {
+		final Set<String> keys = new LinkedHashSet<>();
+		collectKeys(keys, node, "", deep, separator);
+		return keys;
+	}
+	
+	Map<String, Object> values(boolean deep, char separator) {
+		final Map<String, Object> values = new LinkedHashMap<>();
+		for (int i = 0 ; i < node.size() ; i++) {
+			final String key = node.key(i);
+			final Object value = get(key, null, separator);
+			values.put(key, value);
+			
+			if (deep && value instanceof ConfigurationSection) {
+				for (Map.Entry<String, Object> entry : ((ConfigurationSection) value).getValues(true).entrySet()) {
+					values.put(key + separator + entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		
+		return values;
+	}
+	
+	private ReadOnlySection child(int index, ConfigurationNode childNode) {
+		ReadOnlySection child = children[index];
+		if (child == null) {
+			child = new ReadOnlySection(owner, node.keyAt(index), childNode);
+			children[index] = child;
+		}
+		
+		return child;
+	}
+	
+	private static void collectKeys(
+		 Set<String> keys,
+		 ConfigurationNode node,
+		 String prefix,
+		 boolean deep,
+		 char separator
+	) {
+		for (int i = 0 ; i < node.size() ; i++) {
+			final String key = prefix.isEmpty() ? node.key(i) : prefix + separator + node.key(i);
+			keys.add(key);
+			
+			final Object value = node.value(i);
+			if (deep && value instanceof ConfigurationNode) {
+				collectKeys(keys, (ConfigurationNode) value, key, true, separator);
+			}
+		}
+	}
+}
@@ -0,0 +1,341 @@
+package net.xconfig.bukkit.model.objects;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.FileConfigurationOptions;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled binary form of a parsed file, stored next to the source file to skip the parsing on later loads.
+ * <p>
+ * The cache is tagged with the size, the modification time and the hash of the source. It's used while the
+ * size and the hash match, the hash is skipped only if the modification time matches and the cache was
+ * written at least {@value #MODIFIED_GRANULARITY} milliseconds after it, because a source modified again
+ * within the same tick of the modification time of the file system keeps the same time. The tags are taken
+ * when the cache is read, before the source is parsed, so a source modified while is parsed invalidates the
+ * cache written after. The comments, header and footer of the file are kept.
+ * <p>
+ * Cache layout, the values are stored in file order and decoded in a single pass:
+ * <pre>
+ * header:  int magic, int format, long source size, long source modification time, long source hash,
+ *          comments header, comments footer
+ * section: int size, per key: string key, comments, inline comments, value
+ * value:   byte type, payload
+ * </pre>
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class CompiledCache {
+	private static final int MAGIC = 0x58434343;
+	private static final int FORMAT = 1;
+	private static final String EXTENSION = ".cache";
+	/** The greatest precision of the modification times of the file systems, of 2 seconds at FAT. */
+	private static final long MODIFIED_GRANULARITY = 2000L;
+	
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INT = 2;
+	private static final byte LONG = 3;
+	private static final byte DOUBLE = 4;
+	private static final byte BOOLEAN = 5;
+	private static final byte LIST = 6;
+	private static final byte MAP = 7;
+	private static final byte SECTION = 8;
+	private static final byte BIG_INTEGER = 9;
+	
+	private final File source;
+	private final File cacheFile;
+	private final long size;
+	private final long modified;
+	
+	private long hash;
+	private boolean hashed;
+	
+	public CompiledCache(File source) {
+		this.source = source;
+		cacheFile = cacheFile(source);
+		size = source.length();
+		modified = source.lastModified();
+	}
+	
+	/**
+	 * Returns the cache file of the source given.
+	 *
+	 * @param source The source file.
+	 * @return The File where the compiled cache of the source is stored.
+	 */
+	public static File cacheFile(File source) {
+		return new File(source.getParentFile(), source.getName() + EXTENSION);
+	}
+	
+	/**
+	 * Loads the cached content into the configuration given, if the cache is valid for the source.
+	 *
+	 * @param target The configuration where the content is loaded, their previous content is removed.
+	 * @return True if the content was loaded, or false if there is no valid cache and the source must be parsed.
+	 */
+	public boolean read(FileConfiguration target) {
+		try {
+			if (cacheFile.isFile()) {
+				final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cacheFile.toPath()));
+				if (buffer.remaining() >= 32 && buffer.getInt() == MAGIC && buffer.getInt() == FORMAT) {
+					final long cachedSize = buffer.getLong();
+					final long cachedModified = buffer.getLong();
+					final long cachedHash = buffer.getLong();
+					
+					if (cachedSize == size && (trusted(cachedModified) || cachedHash == hash())) {
+						for (String key : target.getKeys(false)) target.set(key, null);
+						
+						final Decoder decoder = new Decoder(buffer);
+						final FileConfigurationOptions options = target.options();
+						options.setHeader(decoder.comments());
+						options.setFooter(decoder.comments());
+						decoder.section(target);
+						return true;
+					}
+				}
+			}
+			
+			// The hash is taken now, so it belongs to the content that will be parsed.
+			hash();
+		} catch (IOException | RuntimeException exception) {
+			// An unreadable or corrupt cache is replaced after the source is parsed.
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Writes the content given as the cache of the source, tagged with the source state seen at the last
+	 * {@link #read(FileConfiguration)} call.
+	 *
+	 * @param content The parsed content of the source.
+	 * @throws IOException If the cache cannot be written.
+	 * @throws IllegalArgumentException If a value cannot be stored at the cache.
+	 */
+	public void write(FileConfiguration content) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(256, (int) Math.min(size, 1 << 24)));
+		final DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(MAGIC);
+		output.writeInt(FORMAT);
+		output.writeLong(size);
+		output.writeLong(modified);
+		output.writeLong(hash());
+		
+		final FileConfigurationOptions options = content.options();
+		writeComments(output, options.getHeader());
+		writeComments(output, options.getFooter());
+		writeSection(output, content);
+		output.flush();
+		
+		// Every write uses a new temporal file, so the concurrent writes doesn't overwrite the file of each other.
+		final Path temporalFile = Files.createTempFile(cacheFile.getAbsoluteFile().getParentFile().toPath(),
+			 cacheFile.getName(),
+			 ".tmp");
+		try {
+			Files.write(temporalFile, bytes.toByteArray());
+			Files.move(temporalFile, cacheFile.toPath(),
+				 StandardCopyOption.REPLACE_EXISTING,
+				 StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporalFile);
+		}
+	}
+	
+	/**
+	 * Checks if the modification time is enough to know that the source didn't change since the cache was
+	 * written, without compare the hash.
+	 */
+	private boolean trusted(long cachedModified) {
+		return cachedModified == modified && cacheFile.lastModified() - modified >= MODIFIED_GRANULARITY;
+	}
+	
+	private long hash() throws IOException {
+		if (!hashed) {
+			hash = MoreFiles.asByteSource(source.toPath()).hash(Hashing.murmur3_128()).asLong();
+			hashed = true;
+		}
+		
+		return hash;
+	}
+	
+	private static void writeSection(DataOutputStream output, ConfigurationSection section) throws IOException {
+		final Map<String, Object> values = section.getValues(false);
+		output.writeInt(values.size());
+		for (Map.Entry<String, Object> entry : values.entrySet()) {
+			final String key = entry.getKey();
+			
+			writeString(output, key);
+			writeComments(output, section.getComments(key));
+			writeComments(output, section.getInlineComments(key));
+			writeValue(output, entry.getValue());
+		}
+	}
+	
+	private static void writeComments(DataOutputStream output, List<String> comments) throws IOException {
+		if (comments == null) {
+			output.writeInt(0);
+			return;
+		}
+		
+		output.writeInt(comments.size());
+		for (String comment : comments) writeString(output, comment);
+	}
+	
+	private static void writeString(DataOutputStream output, String text) throws IOException {
+		if (text == null) {
+			output.writeInt(-1);
+			return;
+		}
+		
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+	
+	private static void writeValue(DataOutputStream output, Object value) throws IOException {
+		if (value == null) output.writeByte(NULL);
+		else if (value instanceof ConfigurationSection) {
+			output.writeByte(SECTION);
+			writeSection(output, (ConfigurationSection) value);
+		} else if (value instanceof String) {
+			output.writeByte(STRING);
+			writeString(output, (String) value);
+		} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			output.writeByte(INT);
+			output.writeInt(((Number) value).intValue());
+		} else if (value instanceof Long) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+		} else if (value instanceof BigInteger) {
+			output.writeByte(BIG_INTEGER);
+			writeString(output, value.toString());
+		} else if (value instanceof Double || value instanceof Float) {
+			output.writeByte(DOUBLE);
+			output.writeDouble(((Number) value).doubleValue());
+		} else if (value instanceof Boolean) {
+			output.writeByte(BOOLEAN);
+			output.writeBoolean((Boolean) value);
+		} else if (value instanceof List) {
+			final List<?> list = (List<?>) value;
+			output.writeByte(LIST);
+			output.writeInt(list.size());
+			for (Object element : list) writeValue(output, element);
+		} else if (value instanceof Map) {
+			final Map<?, ?> map = (Map<?, ?>) value;
+			output.writeByte(MAP);
+			output.writeInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeString(output, String.valueOf(entry.getKey()));
+				writeValue(output, entry.getValue());
+			}
+		} else if (value instanceof ConfigurationSerializable) {
+			final ConfigurationSerializable serializable = (ConfigurationSerializable) value;
+			final Map<String, Object> map = new LinkedHashMap<>();
+			map.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY,
+				 ConfigurationSerialization.getAlias(serializable.getClass()));
+			map.putAll(serializable.serialize());
+			writeValue(output, map);
+		} else {
+			throw new IllegalArgumentException("Cannot cache a value of type " + value.getClass().getName() + ".");
+		}
+	}
+	
+	/**
+	 * Reads the content of the cache from the array of a heap buffer.
+	 */
+	private static final class Decoder {
+		private final ByteBuffer buffer;
+		private final byte[] array;
+		
+		private Decoder(ByteBuffer buffer) {
+			this.buffer = buffer;
+			array = buffer.array();
+		}
+		
+		private void section(ConfigurationSection section) {
+			final int size = buffer.getInt();
+			for (int i = 0 ; i < size ; i++) {
+				final String key = string();
+				final List<String> comments = comments();
+				final List<String> inlineComments = comments();
+				final byte type = buffer.get();
+				
+				if (type == SECTION) section(section.createSection(key));
+				else section.set(key, value(type));
+				
+				if (!comments.isEmpty()) section.setComments(key, comments);
+				if (!inlineComments.isEmpty()) section.setInlineComments(key, inlineComments);
+			}
+		}
+		
+		private List<String> comments() {
+			final int size = buffer.getInt();
+			if (size == 0) return Collections.emptyList();
+			
+			final List<String> comments = new ArrayList<>(size);
+			for (int i = 0 ; i < size ; i++) comments.add(string());
+			
+			return comments;
+		}
+		
+		private Object value(byte type) {
+			switch (type) {
+				case NULL: return null;
+				case STRING: return string();
+				case INT: return buffer.getInt();
+				case LONG: return buffer.getLong();
+				case DOUBLE: return buffer.getDouble();
+				case BOOLEAN: return buffer.get() != 0;
+				case BIG_INTEGER: return new BigInteger(string());
+				case LIST: {
+					final int size = buffer.getInt();
+					final List<Object> list = new ArrayList<>(size);
+					for (int i = 0 ; i < size ; i++) list.add(value(buffer.get()));
+					
+					return list;
+				}
+				case MAP: {
+					final int size = buffer.getInt();
+					final Map<String, Object> map = new LinkedHashMap<>(size);
+					for (int i = 0 ; i < size ; i++) map.put(string(), value(buffer.get()));
+					
+					return map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)
+						 ? ConfigurationSerialization.deserializeObject(map)
+						 : map;
+				}
+				default: throw new IllegalStateException("Unknown value type " + type + " at the cache.");
+			}
+		}
+		
+		private String string() {
+			final int length = buffer.getInt();
+			if (length == -1) return null;
+			
+			final int position = buffer.position();
+			buffer.position(position + length);
+			return new String(array, position, length, StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package net.xconfig.bukkit.model.objects;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Interface model for the immutable nodes of a read-only configuration tree, their keys can be searched by
+ * a region of a path and iterated in the original order of the file.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see CompactNode
+ * @see MappedNode
+ */
+public interface ConfigurationNode {
+	/**
+	 * Returns the amount of keys of this node.
+	 *
+	 * @return The node size.
+	 */
+	int size();
+	
+	/**
+	 * Returns the key at the position given, following the original order of the file.
+	 *
+	 * @param position Position of the key.
+	 * @return The key.
+	 */
+	String key(int position);
+	
+	/**
+	 * Returns the value at the position given, following the original order of the file.
+	 *
+	 * @param position Position of the value.
+	 * @return The value, a ConfigurationNode if the value is a section.
+	 */
+	Object value(int position);
+	
+	/**
+	 * Returns the key stored at the index given.
+	 *
+	 * @param index Index returned by {@link #indexOf(String, int, int)}.
+	 * @return The key.
+	 */
+	String keyAt(int index);
+	
+	/**
+	 * Returns the value stored at the index given.
+	 *
+	 * @param index Index returned by {@link #indexOf(String, int, int)}.
+	 * @return The value, a ConfigurationNode if the value is a section.
+	 */
+	Object valueAt(int index);
+	
+	/**
+	 * Searches the key contained between the positions given of the path, without creating a new string.
+	 *
+	 * @param path The path that contains the key.
+	 * @param from Start position of the key, inclusive.
+	 * @param to End position of the key, exclusive.
+	 * @return The index of the key, or -1 if this node doesn't contain it.
+	 */
+	int indexOf(String path, int from, int to);
+	
+	/**
+	 * Returns the value at the path given.
+	 *
+	 * @param path The path of the value.
+	 * @param separator The path separator.
+	 * @return The value, a ConfigurationNode if the value is a section, or null if the path doesn't exist.
+	 */
+	default Object get(String path, char separator) {
+		ConfigurationNode node = this;
+		int from = 0;
+		
+		while (true) {
+			final int to = path.indexOf(separator, from);
+			final int index = node.indexOf(path, from, to == -1 ? path.length() : to);
+			if (index == -1) return null;
+			
+			final Object value = node.valueAt(index);
+			if (to == -1) return value;
+			if (!(value instanceof ConfigurationNode)) return null;
+			
+			node = (ConfigurationNode) value;
+			from = to + 1;
+		}
+	}
+	
+	/**
+	 * Converts this node into nested maps that keeps the original order of the keys.
+	 *
+	 * @return A map with the content of this node.
+	 */
+	default Map<String, Object> toMap() {
+		final Map<String, Object> map = new LinkedHashMap<>(size());
+		for (int i = 0 ; i < size() ; i++) {
+			final Object value = value(i);
+			map.put(key(i), value instanceof ConfigurationNode ? ((ConfigurationNode) value).toMap() : value);
+		}
+		
+		return map;
+	}
+}
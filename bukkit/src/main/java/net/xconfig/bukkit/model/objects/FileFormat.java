@@ -0,0 +1,32 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Format of the content of a configuration file.
+ * <p>
+ * The format of a file is chosen by their name when the file is built, so the reads and writes over the
+ * FileConfiguration returned work the same whatever the format of the file.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see YamlFormat
+ * @see JsonFormat
+ */
+public interface FileFormat {
+	/**
+	 * Returns if this format handles the file given.
+	 *
+	 * @param fileName The file name, with its extension.
+	 * @return True if the file is written with this format, else return false.
+	 */
+	boolean supports(String fileName);
+	
+	/**
+	 * Creates an empty FileConfiguration that loads and saves its content with this format.
+	 *
+	 * @return A new FileConfiguration object.
+	 */
+	FileConfiguration create();
+}
@@ -0,0 +1,177 @@
+package net.xconfig.bukkit.model.objects;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FileConfiguration that reads and writes its content as JSON.
+ * <p>
+ * The content is read and written token per token with the Gson streaming API, without build a tree of
+ * JsonElement objects or use reflection. The ConfigurationSerializable objects are stored like at the YAML
+ * files, as an object with their alias at the '==' key.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public class JsonConfiguration extends FileConfiguration {
+	private static final String INDENT = "  ";
+	
+	@Override
+	public String saveToString() {
+		final StringWriter writer = new StringWriter();
+		try (JsonWriter json = new JsonWriter(writer)) {
+			json.setIndent(INDENT);
+			json.setLenient(true);
+			writeSection(json, this);
+		} catch (IOException exception) {
+			throw new IllegalStateException("Cannot write the configuration as JSON.", exception);
+		}
+		
+		return writer.append('\n').toString();
+	}
+	
+	@Override
+	public void loadFromString(String contents) throws InvalidConfigurationException {
+		final Map<String, Object> values;
+		if (contents.trim().isEmpty()) values = new LinkedHashMap<>();
+		else {
+			try (JsonReader json = new JsonReader(new StringReader(contents))) {
+				json.setLenient(true);
+				if (json.peek() != JsonToken.BEGIN_OBJECT) {
+					throw new InvalidConfigurationException("The top level of the JSON content isn't an object.");
+				}
+				
+				values = readObject(json);
+				if (json.peek() != JsonToken.END_DOCUMENT) {
+					throw new InvalidConfigurationException("Unexpected content after the top level object.");
+				}
+			} catch (IOException | IllegalStateException | NumberFormatException exception) {
+				throw new InvalidConfigurationException(exception);
+			}
+		}
+		
+		for (String key : getKeys(false)) set(key, null);
+		convertMapsToSections(values, this);
+	}
+	
+	/**
+	 * Copies the map given into the section, every map is stored as a sub-section.
+	 */
+	private static void convertMapsToSections(Map<?, ?> values, ConfigurationSection section) {
+		for (Map.Entry<?, ?> entry : values.entrySet()) {
+			final String key = entry.getKey().toString();
+			final Object value = entry.getValue();
+			
+			if (value instanceof Map) convertMapsToSections((Map<?, ?>) value, section.createSection(key));
+			else section.set(key, value);
+		}
+	}
+	
+	private static Map<String, Object> readObject(JsonReader json) throws IOException {
+		final Map<String, Object> map = new LinkedHashMap<>();
+		json.beginObject();
+		while (json.hasNext()) map.put(json.nextName(), readValue(json));
+		json.endObject();
+		return map;
+	}
+	
+	private static Object readValue(JsonReader json) throws IOException {
+		switch (json.peek()) {
+			case BEGIN_OBJECT: {
+				final Map<String, Object> map = readObject(json);
+				return map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)
+					 ? ConfigurationSerialization.deserializeObject(map)
+					 : map;
+			}
+			case BEGIN_ARRAY: {
+				final List<Object> list = new ArrayList<>();
+				json.beginArray();
+				while (json.hasNext()) list.add(readValue(json));
+				json.endArray();
+				return list;
+			}
+			case STRING: return json.nextString();
+			case NUMBER: return readNumber(json.nextString());
+			case BOOLEAN: return json.nextBoolean();
+			case NULL: {
+				json.nextNull();
+				return null;
+			}
+			default: throw new IllegalStateException("Unexpected JSON token " + json.peek() + ".");
+		}
+	}
+	
+	/**
+	 * Returns the smallest type that stores the number given, like YamlConfiguration does.
+	 */
+	private static Object readNumber(String text) {
+		if (text.indexOf('.') == -1 && text.indexOf('e') == -1 && text.indexOf('E') == -1) {
+			final BigInteger number = new BigInteger(text);
+			if (number.bitLength() < 32) return number.intValue();
+			if (number.bitLength() < 64) return number.longValue();
+			return number;
+		}
+		
+		return Double.parseDouble(text);
+	}
+	
+	private static void writeSection(JsonWriter json, ConfigurationSection section) throws IOException {
+		json.beginObject();
+		for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+			json.name(entry.getKey());
+			writeValue(json, entry.getValue());
+		}
+		json.endObject();
+	}
+	
+	private static void writeValue(JsonWriter json, Object value) throws IOException {
+		if (value == null) json.nullValue();
+		else if (value instanceof ConfigurationSection) writeSection(json, (ConfigurationSection) value);
+		else if (value instanceof String) json.value((String) value);
+		else if (value instanceof Boolean) json.value((boolean) value);
+		else if (value instanceof Number) json.value((Number) value);
+		else if (value instanceof Collection) {
+			json.beginArray();
+			for (Object element : (Collection<?>) value) writeValue(json, element);
+			json.endArray();
+		} else if (value instanceof Map) {
+			json.beginObject();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				json.name(String.valueOf(entry.getKey()));
+				writeValue(json, entry.getValue());
+			}
+			json.endObject();
+		} else if (value instanceof ConfigurationSerializable) {
+			final ConfigurationSerializable serializable = (ConfigurationSerializable) value;
+			final Map<String, Object> map = new LinkedHashMap<>();
+			map.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY,
+				 ConfigurationSerialization.getAlias(serializable.getClass()));
+			map.putAll(serializable.serialize());
+			writeValue(json, map);
+		} else json.value(value.toString());
+	}
+	
+	/**
+	 * Kept for the FileConfiguration versions where this method is abstract, JSON files don't have header.
+	 */
+	protected String buildHeader() {
+		return "";
+	}
+}
@@ -0,0 +1,22 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Format of the files with the '.json' extension, handled by JsonConfiguration.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class JsonFormat implements FileFormat {
+	@Override
+	public boolean supports(String fileName) {
+		return fileName.endsWith(".json");
+	}
+	
+	@Override
+	public FileConfiguration create() {
+		return new JsonConfiguration();
+	}
+}
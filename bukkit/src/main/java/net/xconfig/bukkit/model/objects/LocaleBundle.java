@@ -0,0 +1,377 @@
+package net.xconfig.bukkit.model.objects;
+
+import net.xconfig.bukkit.TextUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Messages of a plugin translated to several locales, with a file for every locale named like
+ * {@code messages_pt_BR.yml}.
+ * <p>
+ * The messages of a locale are searched through a chain of locales, from the locale requested to its language
+ * and to the default locale, like {@code pt_BR -> pt -> en}. Only the locales whose file exists are part of the
+ * chain, and the locales with the same chain share the same {@link Messages}, so an unknown locale uses the
+ * messages of the default locale. The files of the chain are merged once into the messages at their first
+ * read, so a read of a message is a single lookup. The files of the locales that are never requested aren't
+ * loaded. When a file of the chain is built, reloaded or deleted, the messages that use it are merged again at
+ * their next read.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class LocaleBundle {
+	private static final char SEPARATOR = '_';
+	private static final String EXTENSION = ".yml";
+	/**
+	 * The greatest number of locales remembered as are requested, so the clients cannot fill the memory. The
+	 * locales requested after use the messages of the default locale.
+	 */
+	private static final int MAX_LOCALES = 256;
+	
+	private final String baseName;
+	private final String defaultLocale;
+	private final boolean colorize;
+	private final Function<String, YamlFile> loader;
+	private final Map<String, Messages> locales;
+	private final Map<List<String>, Messages> messages;
+	
+	/**
+	 * Creates a bundle without loaded locales.
+	 *
+	 * @param baseName The name of the files without the locale, such as {@code messages}.
+	 * @param defaultLocale The locale used when a message doesn't exist at the locale requested.
+	 * @param colorize Do you want to colorize the texts once when the files are merged?
+	 * @param loader Function that returns the file with the name given, building it if isn't built yet, or
+	 * null if the file doesn't exist.
+	 */
+	public LocaleBundle(String baseName, String defaultLocale, boolean colorize,
+		 Function<String, YamlFile> loader) {
+		checkNotNull(baseName, "The base name cannot be null.");
+		checkArgument(!baseName.isEmpty(), "The base name is empty.");
+		checkNotNull(defaultLocale, "The default locale cannot be null.");
+		checkArgument(!defaultLocale.isEmpty(), "The default locale is empty.");
+		
+		this.baseName = baseName;
+		this.defaultLocale = normalize(defaultLocale);
+		checkArgument(!this.defaultLocale.isEmpty(), "The default locale hasn't a language.");
+		this.colorize = colorize;
+		this.loader = checkNotNull(loader, "The file loader cannot be null.");
+		locales = new ConcurrentHashMap<>();
+		messages = new HashMap<>();
+	}
+	
+	/**
+	 * Converts a locale to the format of the file names, with the language in lower case and the country in
+	 * upper case, so {@code pt-br}, {@code pt_br} and {@code pt_BR} are the same locale. The empty parts are
+	 * skipped, so a locale without parts, like {@code _}, is normalized to an empty locale that uses the
+	 * messages of the default locale.
+	 *
+	 * @param locale The locale.
+	 * @return The normalized locale, or an empty String if the locale hasn't parts.
+	 */
+	public static String normalize(String locale) {
+		checkNotNull(locale, "The locale cannot be null.");
+		
+		final StringBuilder builder = new StringBuilder(locale.length());
+		for (String part : locale.replace('-', SEPARATOR).split(String.valueOf(SEPARATOR))) {
+			if (part.isEmpty()) continue;
+			
+			if (builder.length() == 0) builder.append(part.toLowerCase(Locale.ROOT));
+			else builder.append(SEPARATOR).append(part.length() == 2 ? part.toUpperCase(Locale.ROOT) : part);
+		}
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * Returns the name of the files without the locale.
+	 *
+	 * @return The base name.
+	 */
+	public String baseName() {
+		return baseName;
+	}
+	
+	/**
+	 * Returns the locale used when a message doesn't exist at the locale requested.
+	 *
+	 * @return The normalized default locale.
+	 */
+	public String defaultLocale() {
+		return defaultLocale;
+	}
+	
+	/**
+	 * Returns the file name of a locale.
+	 *
+	 * @param locale The normalized locale.
+	 * @return The file name, such as {@code messages_pt_BR.yml}.
+	 */
+	public String fileName(String locale) {
+		return baseName + SEPARATOR + locale + EXTENSION;
+	}
+	
+	/**
+	 * Returns the locales where a message is searched, from the locale given to the default locale.
+	 *
+	 * @param locale The locale.
+	 * @return A List with the normalized locales, from the highest to the lowest priority.
+	 */
+	public List<String> chain(String locale) {
+		final Set<String> chain = new LinkedHashSet<>();
+		final String normalized = normalize(locale);
+		if (!normalized.isEmpty()) fallbacks(normalized, chain);
+		fallbacks(defaultLocale, chain);
+		return new ArrayList<>(chain);
+	}
+	
+	/**
+	 * Checks if the file is the file of a locale of this bundle.
+	 *
+	 * @param fileName The file name.
+	 * @return True if the file belongs to this bundle, else return false.
+	 */
+	public boolean contains(String fileName) {
+		return fileName.length() > baseName.length() + EXTENSION.length()
+			 && fileName.charAt(baseName.length()) == SEPARATOR
+			 && fileName.startsWith(baseName)
+			 && fileName.endsWith(EXTENSION);
+	}
+	
+	/**
+	 * Returns the messages of a locale, looking for the files of its chain if the locale wasn't requested yet.
+	 * The files are merged at the first read of a message.
+	 * <p>
+	 * The object returned is the same for the locale after every reload of the files, so it can be kept, for
+	 * example for every player, to read the messages without look for the locale. If a file of a locale is
+	 * created after, the object kept doesn't use it, but the next request of the locale returns the messages
+	 * with the new file.
+	 * <p>
+	 * When the greatest number of locales is remembered, the locales that weren't requested yet use the messages
+	 * of the default locale without look for their files, until the locales are cleared.
+	 *
+	 * @param locale The locale, such as {@code pt_BR}.
+	 * @return The Messages object of the locale.
+	 */
+	public Messages locale(String locale) {
+		final Messages messages = locales.get(locale);
+		if (messages != null) return messages;
+		if (locales.size() < MAX_LOCALES) return register(locale);
+		
+		final Messages defaultMessages = locales.get(defaultLocale);
+		return defaultMessages == null ? register(defaultLocale) : defaultMessages;
+	}
+	
+	/**
+	 * Returns a text of a locale, from the first file of its chain that has the path.
+	 *
+	 * @param locale The locale.
+	 * @param path Path of the text.
+	 * @return The text, colorized if the bundle colorizes, or null if doesn't exist at any file of the chain.
+	 */
+	public String text(String locale, String path) {
+		return locale(locale).text(path);
+	}
+	
+	/**
+	 * Returns a text list of a locale, from the first file of its chain that has the path.
+	 *
+	 * @param locale The locale.
+	 * @param path Path of the text list.
+	 * @return An unmodifiable List, or null if doesn't exist at any file of the chain.
+	 */
+	public List<String> textList(String locale, String path) {
+		return locale(locale).textList(path);
+	}
+	
+	/**
+	 * Merges again, at their next read, the messages of the locales that use the file given, because the file
+	 * was built, reloaded or deleted.
+	 *
+	 * @param fileName The file name.
+	 */
+	public synchronized void update(String fileName) {
+		boolean used = false;
+		for (Messages current : messages.values()) {
+			if (!current.fileNames.contains(fileName)) continue;
+			
+			current.values = null;
+			used = true;
+		}
+		
+		// A file that isn't used can be the new file of a locale, so the chains are searched again.
+		if (!used) locales.clear();
+	}
+	
+	/**
+	 * Removes the messages of every locale, so the files are searched again at the next request of a locale.
+	 * The files already built aren't removed from the manager.
+	 */
+	public synchronized void clear() {
+		locales.clear();
+		messages.clear();
+	}
+	
+	private synchronized Messages register(String locale) {
+		Messages registered = locales.get(locale);
+		if (registered != null) return registered;
+		
+		final String normalized = normalize(locale);
+		registered = locales.get(normalized);
+		if (registered == null) {
+			final List<String> chain = new ArrayList<>();
+			final List<String> fileNames = new ArrayList<>();
+			for (String fallback : chain(normalized)) {
+				final String fileName = fileName(fallback);
+				if (loader.apply(fileName) == null) continue;
+				
+				chain.add(fallback);
+				fileNames.add(fileName);
+			}
+			
+			registered = messages.get(fileNames);
+			if (registered == null) {
+				registered = new Messages(this, chain.isEmpty() ? defaultLocale : chain.get(0), chain, fileNames);
+				messages.put(fileNames, registered);
+			}
+			remember(normalized, registered);
+		}
+		
+		// The locale is stored as is requested too, so the next requests doesn't normalize it again.
+		remember(locale, registered);
+		return registered;
+	}
+	
+	private void remember(String locale, Messages registered) {
+		// The default locale is always remembered, because is used by the locales that aren't remembered.
+		if (locales.size() < MAX_LOCALES || locale.equals(defaultLocale)) locales.put(locale, registered);
+	}
+	
+	private synchronized Map<String, Object> resolve(Messages merged) {
+		if (merged.values != null) return merged.values;
+		
+		// The files are loaded before the merge, because a file built now updates the messages that use it.
+		final YamlFile[] files = new YamlFile[merged.fileNames.size()];
+		for (int i = 0 ; i < files.length ; i++) files[i] = loader.apply(merged.fileNames.get(i));
+		
+		final Map<String, Object> values = new HashMap<>();
+		for (int i = files.length - 1 ; i >= 0 ; i--) {
+			if (files[i] != null && files[i].get() != null) Sections.flatten(files[i].get(), values);
+		}
+		values.replaceAll((path, value) -> convert(value));
+		
+		merged.values = values;
+		return values;
+	}
+	
+	private Object convert(Object value) {
+		if (value instanceof String) return colorize ? TextUtils.colorize((String) value) : value;
+		if (!(value instanceof List)) return value;
+		
+		final List<?> list = (List<?>) value;
+		final List<String> texts = new ArrayList<>(list.size());
+		for (Object element : list) {
+			final String text = String.valueOf(element);
+			texts.add(colorize ? TextUtils.colorize(text) : text);
+		}
+		
+		return Collections.unmodifiableList(texts);
+	}
+	
+	private static void fallbacks(String locale, Set<String> chain) {
+		chain.add(locale);
+		for (int end = locale.lastIndexOf(SEPARATOR) ; end > 0 ; end = locale.lastIndexOf(SEPARATOR, end - 1)) {
+			chain.add(locale.substring(0, end));
+		}
+	}
+	
+	/**
+	 * Messages of the locales with the same chain, merged from the files of the chain. The reads are
+	 * thread-safe.
+	 */
+	public static final class Messages {
+		private final LocaleBundle bundle;
+		private final String locale;
+		private final List<String> chain;
+		private final List<String> fileNames;
+		
+		private volatile Map<String, Object> values;
+		
+		private Messages(LocaleBundle bundle, String locale, List<String> chain, List<String> fileNames) {
+			this.bundle = bundle;
+			this.locale = locale;
+			this.chain = Collections.unmodifiableList(chain);
+			this.fileNames = Collections.unmodifiableList(fileNames);
+		}
+		
+		/**
+		 * Returns the normalized locale of the first file of the chain.
+		 *
+		 * @return The locale, or the default locale if no file of the chain exists.
+		 */
+		public String locale() {
+			return locale;
+		}
+		
+		/**
+		 * Returns the locales whose file exists where the messages are searched, from the highest to the lowest
+		 * priority.
+		 *
+		 * @return An unmodifiable List with the locales.
+		 */
+		public List<String> chain() {
+			return chain;
+		}
+		
+		/**
+		 * Returns a text.
+		 *
+		 * @param path Path of the text.
+		 * @return The text, colorized if the bundle colorizes, or null if doesn't exist or isn't a text.
+		 */
+		public String text(String path) {
+			final Object value = values().get(path);
+			return value instanceof String ? (String) value : null;
+		}
+		
+		/**
+		 * Returns a text list.
+		 *
+		 * @param path Path of the text list.
+		 * @return An unmodifiable List, or null if doesn't exist or isn't a list.
+		 */
+		@SuppressWarnings("unchecked")
+		public List<String> textList(String path) {
+			final Object value = values().get(path);
+			return value instanceof List ? (List<String>) value : null;
+		}
+		
+		/**
+		 * Checks if a message exists at any file of the chain.
+		 *
+		 * @param path Path of the message.
+		 * @return True if the message exists, else return false.
+		 */
+		public boolean contains(String path) {
+			return values().containsKey(path);
+		}
+		
+		private Map<String, Object> values() {
+			final Map<String, Object> current = values;
+			return current == null ? bundle.resolve(this) : current;
+		}
+	}
+}
@@ -0,0 +1,383 @@
+package net.xconfig.bukkit.model.objects;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Node of a compiled configuration snapshot that is read directly from a memory-mapped file.
+ * <p>
+ * The snapshot isn't parsed or copied when is opened, the values are decoded from the mapped file when
+ * they're requested, so all the processes that map the same snapshot share the same pages of memory.
+ * <p>
+ * Snapshot layout, all the offsets are absolute positions at the file:
+ * <pre>
+ * header: int magic, int format, int root node offset
+ * node:   int size, int[size] key offsets, int[size] value offsets, int[size] sorted index by file order
+ * key:    int length, byte[length] UTF-8 text
+ * value:  byte type, payload (a section is stored as the offset of their node)
+ * </pre>
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see ConfigurationNode
+ */
+public final class MappedNode implements ConfigurationNode {
+	private static final int MAGIC = 0x58434d53;
+	private static final int FORMAT = 1;
+	private static final int ROOT_OFFSET = 8;
+	
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INT = 2;
+	private static final byte LONG = 3;
+	private static final byte DOUBLE = 4;
+	private static final byte BOOLEAN = 5;
+	private static final byte LIST = 6;
+	private static final byte MAP = 7;
+	private static final byte NODE = 8;
+	
+	private final ByteBuffer buffer;
+	private final int offset;
+	private final int size;
+	
+	private MappedNode(ByteBuffer buffer, int offset) {
+		this.buffer = buffer;
+		this.offset = offset;
+		size = buffer.getInt(offset);
+	}
+	
+	/**
+	 * Maps the snapshot file given and returns their root node.
+	 *
+	 * @param file The snapshot file.
+	 * @return The root node of the snapshot.
+	 * @throws IOException If the file cannot be mapped or isn't a valid snapshot.
+	 */
+	public static MappedNode open(File file) throws IOException {
+		// The mapping keeps valid after the channel is closed.
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.capacity() < 12 || buffer.getInt(0) != MAGIC) {
+				throw new IOException("The file '" + file.getName() + "' isn't a configuration snapshot.");
+			}
+			
+			final int format = buffer.getInt(4);
+			if (format != FORMAT) throw new IOException("Unsupported snapshot format " + format + ".");
+			
+			return new MappedNode(buffer, buffer.getInt(ROOT_OFFSET));
+		}
+	}
+	
+	/**
+	 * Compiles the node given into a snapshot file.
+	 * <p>
+	 * The snapshot is written into a new temporal file of the same folder that replaces the target at the end,
+	 * so the concurrent writes doesn't overwrite the temporal file of each other. The processes that have mapped
+	 * the previous snapshot keep reading the previous content, they must open the snapshot again to read the new
+	 * content. Some systems, like Windows, doesn't allow replace a file while is mapped, so the replace of a
+	 * snapshot mapped by a reader fails until the reader releases the mapping.
+	 *
+	 * @param node The root node to write.
+	 * @param file The snapshot file.
+	 * @throws IOException If the file cannot be written.
+	 * @throws IllegalArgumentException If a value isn't a text, number, boolean, list or map.
+	 */
+	public static void write(ConfigurationNode node, File file) throws IOException {
+		final Encoder encoder = new Encoder();
+		encoder.putInt(MAGIC);
+		encoder.putInt(FORMAT);
+		encoder.putInt(0);
+		encoder.patchInt(ROOT_OFFSET, encoder.node(node));
+		
+		// The temporal file isn't mapped, so nothing keeps it open when it replaces the target.
+		final Path temporalFile = Files.createTempFile(file.getAbsoluteFile().getParentFile().toPath(),
+			 file.getName(),
+			 ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temporalFile, StandardOpenOption.WRITE)) {
+				final ByteBuffer source = ByteBuffer.wrap(encoder.bytes, 0, encoder.size);
+				while (source.hasRemaining()) channel.write(source);
+				channel.force(true);
+			}
+			
+			Files.move(temporalFile, file.toPath(),
+				 StandardCopyOption.REPLACE_EXISTING,
+				 StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporalFile);
+		}
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public String key(int position) {
+		return keyAt(buffer.getInt(offset + 4 + (size * 8) + (position * 4)));
+	}
+	
+	@Override
+	public Object value(int position) {
+		return valueAt(buffer.getInt(offset + 4 + (size * 8) + (position * 4)));
+	}
+	
+	@Override
+	public String keyAt(int index) {
+		return readString(buffer.getInt(offset + 4 + (index * 4)));
+	}
+	
+	@Override
+	public Object valueAt(int index) {
+		return new Decoder(buffer, buffer.getInt(offset + 4 + (size * 4) + (index * 4))).value();
+	}
+	
+	@Override
+	public int indexOf(String path, int from, int to) {
+		int low = 0;
+		int high = size - 1;
+		
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int comparison = compare(buffer.getInt(offset + 4 + (middle * 4)), path, from, to);
+			
+			if (comparison < 0) low = middle + 1;
+			else if (comparison > 0) high = middle - 1;
+			else return middle;
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Compares the key stored at the position given with the region of the path, the ASCII keys are compared
+	 * byte per byte without decode them.
+	 */
+	private int compare(int keyOffset, String path, int from, int to) {
+		final int length = buffer.getInt(keyOffset);
+		final int start = keyOffset + 4;
+		final int regionLength = to - from;
+		final int limit = Math.min(length, regionLength);
+		
+		for (int i = 0 ; i < limit ; i++) {
+			final byte keyByte = buffer.get(start + i);
+			final char pathChar = path.charAt(from + i);
+			if (keyByte < 0 || pathChar >= 0x80) {
+				return readString(keyOffset).compareTo(path.substring(from, to));
+			}
+			if (keyByte != pathChar) return keyByte - pathChar;
+		}
+		
+		return length - regionLength;
+	}
+	
+	private String readString(int position) {
+		final byte[] bytes = new byte[buffer.getInt(position)];
+		final ByteBuffer source = buffer.duplicate();
+		source.position(position + 4);
+		source.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Reads the values stored from a position of the snapshot.
+	 */
+	private static final class Decoder {
+		private final ByteBuffer buffer;
+		private int position;
+		
+		private Decoder(ByteBuffer buffer, int position) {
+			this.buffer = buffer;
+			this.position = position;
+		}
+		
+		private Object value() {
+			final byte type = buffer.get(position++);
+			switch (type) {
+				case NULL: return null;
+				case STRING: return string();
+				case INT: return integer();
+				case LONG: {
+					final long value = buffer.getLong(position);
+					position += 8;
+					return value;
+				}
+				case DOUBLE: {
+					final double value = buffer.getDouble(position);
+					position += 8;
+					return value;
+				}
+				case BOOLEAN: return buffer.get(position++) != 0;
+				case LIST: {
+					final Object[] elements = new Object[integer()];
+					for (int i = 0 ; i < elements.length ; i++) elements[i] = value();
+					
+					return Collections.unmodifiableList(Arrays.asList(elements));
+				}
+				case MAP: {
+					final int size = integer();
+					final Map<String, Object> map = new LinkedHashMap<>(size);
+					for (int i = 0 ; i < size ; i++) map.put(string(), value());
+					
+					return Collections.unmodifiableMap(map);
+				}
+				case NODE: return new MappedNode(buffer, integer());
+				default: throw new IllegalStateException("Unknown value type " + type + " at the snapshot.");
+			}
+		}
+		
+		private int integer() {
+			final int value = buffer.getInt(position);
+			position += 4;
+			return value;
+		}
+		
+		private String string() {
+			final byte[] bytes = new byte[integer()];
+			final ByteBuffer source = buffer.duplicate();
+			source.position(position);
+			source.get(bytes);
+			position += bytes.length;
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+	
+	/**
+	 * Writes the nodes and values into a growing byte array.
+	 */
+	private static final class Encoder {
+		private byte[] bytes = new byte[4096];
+		private int size;
+		
+		private int node(ConfigurationNode node) {
+			final int nodeSize = node.size();
+			final String[] keys = new String[nodeSize];
+			final int[] keyOffsets = new int[nodeSize];
+			final int[] valueOffsets = new int[nodeSize];
+			
+			for (int i = 0 ; i < nodeSize ; i++) {
+				keys[i] = node.key(i);
+				keyOffsets[i] = size;
+				putString(keys[i]);
+				valueOffsets[i] = value(node.value(i));
+			}
+			
+			final List<Integer> sorted = new ArrayList<>(nodeSize);
+			for (int i = 0 ; i < nodeSize ; i++) sorted.add(i);
+			sorted.sort(Comparator.comparing(position -> keys[position]));
+			
+			final int[] order = new int[nodeSize];
+			for (int i = 0 ; i < nodeSize ; i++) order[sorted.get(i)] = i;
+			
+			final int nodeOffset = size;
+			putInt(nodeSize);
+			for (int position : sorted) putInt(keyOffsets[position]);
+			for (int position : sorted) putInt(valueOffsets[position]);
+			for (int index : order) putInt(index);
+			return nodeOffset;
+		}
+		
+		private int value(Object value) {
+			if (value instanceof ConfigurationNode) {
+				final int childOffset = node((ConfigurationNode) value);
+				final int valueOffset = size;
+				putByte(NODE);
+				putInt(childOffset);
+				return valueOffset;
+			}
+			
+			final int valueOffset = size;
+			inline(value);
+			return valueOffset;
+		}
+		
+		private void inline(Object value) {
+			if (value == null) putByte(NULL);
+			else if (value instanceof String) {
+				putByte(STRING);
+				putString((String) value);
+			} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				putByte(INT);
+				putInt(((Number) value).intValue());
+			} else if (value instanceof Long) {
+				putByte(LONG);
+				ensure(8);
+				ByteBuffer.wrap(bytes, size, 8).putLong((Long) value);
+				size += 8;
+			} else if (value instanceof Number) {
+				putByte(DOUBLE);
+				ensure(8);
+				ByteBuffer.wrap(bytes, size, 8).putDouble(((Number) value).doubleValue());
+				size += 8;
+			} else if (value instanceof Boolean) {
+				putByte(BOOLEAN);
+				putByte((byte) ((Boolean) value ? 1 : 0));
+			} else if (value instanceof List) {
+				final List<?> list = (List<?>) value;
+				putByte(LIST);
+				putInt(list.size());
+				for (Object element : list) inline(element);
+			} else if (value instanceof Map) {
+				final Map<?, ?> map = (Map<?, ?>) value;
+				putByte(MAP);
+				putInt(map.size());
+				for (Map.Entry<?, ?> entry : map.entrySet()) {
+					putString(String.valueOf(entry.getKey()));
+					inline(entry.getValue());
+				}
+			} else {
+				throw new IllegalArgumentException("Cannot write a value of type " + value.getClass().getName()
+					 + " at the snapshot.");
+			}
+		}
+		
+		private void putString(String text) {
+			final byte[] textBytes = text.getBytes(StandardCharsets.UTF_8);
+			putInt(textBytes.length);
+			ensure(textBytes.length);
+			System.arraycopy(textBytes, 0, bytes, size, textBytes.length);
+			size += textBytes.length;
+		}
+		
+		private void putByte(byte value) {
+			ensure(1);
+			bytes[size++] = value;
+		}
+		
+		private void putInt(int value) {
+			ensure(4);
+			patchInt(size, value);
+			size += 4;
+		}
+		
+		private void patchInt(int position, int value) {
+			bytes[position] = (byte) (value >>> 24);
+			bytes[position + 1] = (byte) (value >>> 16);
+			bytes[position + 2] = (byte) (value >>> 8);
+			bytes[position + 3] = (byte) value;
+		}
+		
+		private void ensure(int length) {
+			if (size + length <= bytes.length) return;
+			
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+
+/**
+ * YamlConfiguration that keeps its content in an immutable {@link ConfigurationNode} tree instead of a
+ * LinkedHashMap per section.
+ * <p>
+ * All the getters work like at any other FileConfiguration, but the content can only be replaced loading it
+ * again, any attempt to set a value throws an UnsupportedOperationException. The comments of the file aren't
+ * kept.
+ * <p>
+ * The content is parsed and written with the {@link FileFormat} of the file, YAML by default.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class ReadOnlyConfiguration extends YamlConfiguration {
+	private final StringPool pool;
+	private final FileFormat format;
+	
+	private CompactView view;
+	
+	public ReadOnlyConfiguration(StringPool pool) {
+		this(pool, new YamlFormat());
+	}
+	
+	public ReadOnlyConfiguration(StringPool pool, FileFormat format) {
+		this.pool = pool;
+		this.format = format;
+		view = new CompactView(this, CompactNode.empty());
+	}
+	
+	/**
+	 * Returns the ConfigurationNode that stores the content of this configuration.
+	 *
+	 * @return The ConfigurationNode object.
+	 */
+	public ConfigurationNode node() {
+		return view.node();
+	}
+	
+	/**
+	 * Replaces the content of this configuration with the node given.
+	 *
+	 * @param node The new root node.
+	 */
+	public void load(ConfigurationNode node) {
+		view = new CompactView(this, node);
+	}
+	
+	@Override
+	public void loadFromString(String contents) throws InvalidConfigurationException {
+		final FileConfiguration source = format.create();
+		source.loadFromString(contents);
+		
+		view = new CompactView(this, CompactNode.compile(source, pool));
+	}
+	
+	@Override
+	public String saveToString() {
+		final FileConfiguration target = format.create();
+		for (Map.Entry<String, Object> entry : view.node().toMap().entrySet()) {
+			if (entry.getValue() instanceof Map) target.createSection(entry.getKey(), (Map<?, ?>) entry.getValue());
+			else target.set(entry.getKey(), entry.getValue());
+		}
+		
+		return target.saveToString();
+	}
+	
+	@Override
+	public Object get(String path, Object def) {
+		return view.get(path, def, options().pathSeparator());
+	}
+	
+	/**
+	 * Visits the children of this section without creating their full paths.
+	 *
+	 * @param visitor The visitor of the children.
+	 * @return False if the visitor stopped the visit, else true.
+	 */
+	boolean visit(SectionVisitor visitor) {
+		return view.visit(visitor);
+	}
+	
+	/**
+	 * Returns a spliterator of the children of this section.
+	 *
+	 * @return The Spliterator object.
+	 */
+	Spliterator<Map.Entry<String, Object>> spliterator() {
+		return new SectionSpliterator(view, 0, view.node().size());
+	}
+	
+	@Override
+	public Set<String> getKeys(boolean deep) {
+		return view.keys(deep, options().pathSeparator());
+	}
+	
+	@Override
+	public Map<String, Object> getValues(boolean deep) {
+		return view.values(deep, options().pathSeparator());
+	}
+	
+	@Override
+	public void set(String path, Object value) {
+		throw new UnsupportedOperationException("The configuration is read-only.");
+	}
+	
+	@Override
+	public ConfigurationSection createSection(String path) {
+		throw new UnsupportedOperationException("The configuration is read-only.");
+	}
+	
+	@Override
+	public ConfigurationSection createSection(String path, Map<?, ?> map) {
+		throw new UnsupportedOperationException("The configuration is read-only.");
+	}
+}
@@ -0,0 +1,91 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemorySection;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+
+/**
+ * Read-only sub-section of a {@link ReadOnlyConfiguration}.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class ReadOnlySection extends MemorySection {
+	private final CompactView view;
+	
+	ReadOnlySection(ConfigurationSection parent, String path, ConfigurationNode node) {
+		super(parent, path);
+		view = new CompactView(this, node);
+	}
+	
+	/**
+	 * Returns the ConfigurationNode that stores the content of this section.
+	 *
+	 * @return The ConfigurationNode object.
+	 */
+	public ConfigurationNode node() {
+		return view.node();
+	}
+	
+	/**
+	 * Returns the view that resolves the paths of this section.
+	 *
+	 * @return The CompactView object.
+	 */
+	CompactView view() {
+		return view;
+	}
+	
+	@Override
+	public Object get(String path, Object def) {
+		return view.get(path, def, getRoot().options().pathSeparator());
+	}
+	
+	/**
+	 * Visits the children of this section without creating their full paths.
+	 *
+	 * @param visitor The visitor of the children.
+	 * @return False if the visitor stopped the visit, else true.
+	 */
+	boolean visit(SectionVisitor visitor) {
+		return view.visit(visitor);
+	}
+	
+	/**
+	 * Returns a spliterator of the children of this section.
+	 *
+	 * @return The Spliterator object.
+	 */
+	Spliterator<Map.Entry<String, Object>> spliterator() {
+		return new SectionSpliterator(view, 0, view.node().size());
+	}
+	
+	@Override
+	public Set<String> getKeys(boolean deep) {
+		return view.keys(deep, getRoot().options().pathSeparator());
+	}
+	
+	@Override
+	public Map<String, Object> getValues(boolean deep) {
+		return view.values(deep, getRoot().options().pathSeparator());
+	}
+	
+	@Override
+	public void set(String path, Object value) {
+		throw new UnsupportedOperationException("The section '" + getCurrentPath() + "' is read-only.");
+	}
+	
+	@Override
+	public ConfigurationSection createSection(String path) {
+		throw new UnsupportedOperationException("The section '" + getCurrentPath() + "' is read-only.");
+	}
+	
+	@Override
+	public ConfigurationSection createSection(String path, Map<?, ?> map) {
+		throw new UnsupportedOperationException("The section '" + getCurrentPath() + "' is read-only.");
+	}
+}
@@ -0,0 +1,421 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.bukkit.Bukkit.getLogger;
+
+/**
+ * Resolves the references to other values inside of the texts of the files, like {@code ${settings.prefix}}
+ * for a value of the same file or {@code ${other.yml:settings.prefix}} for a value of other file.
+ * <p>
+ * The references are replaced once when a file is loaded, so the reads return the final values without
+ * substitutions. A value that is only a reference takes the referenced value with its type, such as a number
+ * or a list, the other values are rendered as texts. The referenced values with references are resolved
+ * first, and the cycles are detected. When a file is loaded again, only the values with references of the
+ * files that depend on it are resolved again. The values whose references doesn't exist or have a cycle are
+ * logged and kept as are written.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class ReferenceResolver {
+	private static final String START = "${";
+	private static final char END = '}';
+	private static final char FILE_SEPARATOR = ':';
+	private static final char SEPARATOR = '.';
+	
+	private final BiFunction<String, String, Object> reader;
+	private final Map<String, Map<String, Reference>> references;
+	
+	/**
+	 * Creates a resolver without files.
+	 *
+	 * @param reader Function that returns the current value of a path of a file, by the file name and the path,
+	 * or null if doesn't exist.
+	 */
+	public ReferenceResolver(BiFunction<String, String, Object> reader) {
+		this.reader = checkNotNull(reader, "The value reader cannot be null.");
+		references = new HashMap<>();
+	}
+	
+	/**
+	 * Finds the values with references of the content of a file that was just loaded, and replaces them with
+	 * the resolved values.
+	 *
+	 * @param fileName The file name.
+	 * @param section The loaded content of the file.
+	 */
+	public synchronized void resolve(String fileName, ConfigurationSection section) {
+		checkNotNull(fileName, "The file name cannot be null.");
+		checkNotNull(section, "The section to resolve cannot be null.");
+		
+		final Map<String, Reference> found = new LinkedHashMap<>();
+		scan(section, null, found);
+		if (found.isEmpty()) {
+			references.remove(fileName);
+			return;
+		}
+		
+		references.put(fileName, found);
+		apply(fileName, section, found);
+	}
+	
+	/**
+	 * Resolves the references of a content that can be rejected after, such as a reload that is validated with
+	 * the schema of the file. The references found are kept only if the resolved content is accepted, else the
+	 * file keeps the references of its current content.
+	 *
+	 * @param fileName The file name.
+	 * @param section The loaded content of the file.
+	 * @param acceptor Function that checks if the resolved content is accepted.
+	 * @return True if the content was accepted, else return false.
+	 */
+	public synchronized boolean resolve(String fileName, ConfigurationSection section,
+		 Predicate<ConfigurationSection> acceptor) {
+		checkNotNull(acceptor, "The acceptor cannot be null.");
+		
+		final Map<String, Reference> previous = references.get(fileName);
+		resolve(fileName, section);
+		if (acceptor.test(section)) return true;
+		
+		if (previous == null) references.remove(fileName);
+		else references.put(fileName, previous);
+		return false;
+	}
+	
+	/**
+	 * Resolves again the values with references of a file, because a file that it references changed.
+	 *
+	 * @param fileName The file name.
+	 * @param section The current content of the file.
+	 * @return The paths whose values changed.
+	 */
+	public synchronized List<String> refresh(String fileName, ConfigurationSection section) {
+		checkNotNull(section, "The section to resolve cannot be null.");
+		
+		final Map<String, Reference> found = references.get(fileName);
+		return found == null ? Collections.emptyList() : apply(fileName, section, found);
+	}
+	
+	/**
+	 * Resolves again the values with references of a file after some of its paths were set at runtime. The
+	 * references of the paths set, of the paths inside of them and of the paths that contain them are replaced
+	 * by the references found at their new values, so a value just set isn't replaced by the reference that its
+	 * path had, and a value set with references, like {@code ${settings.prefix}}, is resolved too.
+	 *
+	 * @param fileName The file name.
+	 * @param section The current content of the file, with the new values already set.
+	 * @param changedPaths The paths set.
+	 * @return The paths whose values changed.
+	 */
+	public synchronized List<String> update(String fileName, ConfigurationSection section,
+		 Collection<String> changedPaths) {
+		checkNotNull(section, "The section to resolve cannot be null.");
+		checkNotNull(changedPaths, "The changed paths cannot be null.");
+		
+		final Map<String, Reference> previous = references.get(fileName);
+		final Map<String, Reference> found = previous == null
+			 ? new LinkedHashMap<>()
+			 : new LinkedHashMap<>(previous);
+		found.keySet().removeIf(path -> {
+			for (String changedPath : changedPaths) {
+				if (path.equals(changedPath)
+					 || path.startsWith(changedPath + SEPARATOR)
+					 || changedPath.startsWith(path + SEPARATOR)) return true;
+			}
+			
+			return false;
+		});
+		
+		for (String changedPath : changedPaths) {
+			final Object value = section.get(changedPath);
+			if (value instanceof ConfigurationSection) scan((ConfigurationSection) value, changedPath, found);
+			else if (value instanceof String && ((String) value).contains(START)) {
+				final Reference reference = Reference.parse((String) value);
+				if (reference != null) found.put(changedPath, reference);
+			}
+		}
+		
+		if (found.isEmpty()) {
+			references.remove(fileName);
+			return Collections.emptyList();
+		}
+		
+		references.put(fileName, found);
+		return apply(fileName, section, found);
+	}
+	
+	/**
+	 * Returns the files with values that reference the file given, directly or through other files.
+	 *
+	 * @param fileName The file name.
+	 * @return A List with the names of the dependent files.
+	 */
+	public synchronized List<String> dependents(String fileName) {
+		final Set<String> dependents = new LinkedHashSet<>();
+		final Deque<String> pending = new ArrayDeque<>();
+		pending.add(fileName);
+		while (!pending.isEmpty()) {
+			final String source = pending.poll();
+			for (Map.Entry<String, Map<String, Reference>> entry : references.entrySet()) {
+				final String dependent = entry.getKey();
+				if (dependent.equals(fileName) || dependents.contains(dependent)) continue;
+				
+				for (Reference reference : entry.getValue().values()) {
+					if (!reference.references(source)) continue;
+					
+					dependents.add(dependent);
+					pending.add(dependent);
+					break;
+				}
+			}
+		}
+		
+		return new ArrayList<>(dependents);
+	}
+	
+	/**
+	 * Checks if the file has values with references.
+	 *
+	 * @param fileName The file name.
+	 * @return True if the file has references, else return false.
+	 */
+	public synchronized boolean contains(String fileName) {
+		return references.containsKey(fileName);
+	}
+	
+	/**
+	 * Forgets the references of a file, because was deleted or is loaded without resolve its references.
+	 *
+	 * @param fileName The file name.
+	 */
+	public synchronized void remove(String fileName) {
+		references.remove(fileName);
+	}
+	
+	/**
+	 * Replaces the resolved values of a file with the values as are written, so the file can be saved without
+	 * lose its references. The values modified since were resolved aren't replaced.
+	 *
+	 * @param fileName The file name.
+	 * @param section The current content of the file.
+	 * @return The resolved values replaced by their paths, to set them again with
+	 * {@link #restore(ConfigurationSection, Map)} after the save.
+	 */
+	public synchronized Map<String, Object> unresolve(String fileName, ConfigurationSection section) {
+		checkNotNull(section, "The section to unresolve cannot be null.");
+		
+		final Map<String, Reference> found = references.get(fileName);
+		if (found == null) return Collections.emptyMap();
+		
+		final Map<String, Object> replaced = new HashMap<>();
+		for (Map.Entry<String, Reference> entry : found.entrySet()) {
+			final Reference reference = entry.getValue();
+			final Object current = section.get(entry.getKey());
+			if (current == null || !current.equals(reference.value)) continue;
+			
+			replaced.put(entry.getKey(), current);
+			section.set(entry.getKey(), reference.raw);
+		}
+		
+		return replaced;
+	}
+	
+	/**
+	 * Sets again the resolved values replaced by {@link #unresolve(String, ConfigurationSection)}.
+	 *
+	 * @param section The content of the file.
+	 * @param values The resolved values by their paths.
+	 */
+	public void restore(ConfigurationSection section, Map<String, Object> values) {
+		checkNotNull(section, "The section to restore cannot be null.");
+		
+		values.forEach(section::set);
+	}
+	
+	/**
+	 * Resolves the references given into the section, and returns the paths whose values changed.
+	 */
+	private List<String> apply(String fileName, ConfigurationSection section, Map<String, Reference> found) {
+		final Map<String, Object> resolved = new HashMap<>();
+		final List<String> changed = new ArrayList<>();
+		for (Map.Entry<String, Reference> entry : found.entrySet()) {
+			final String path = entry.getKey();
+			final Reference reference = entry.getValue();
+			
+			Object value;
+			try { value = value(fileName, path, fileName, section, resolved, new ArrayDeque<>()); }
+			catch (IllegalStateException exception) {
+				getLogger().severe("Cannot resolve the path '" + path + "' of the file '" + fileName + "': "
+					 + exception.getMessage());
+				value = reference.raw;
+			}
+			
+			if (Objects.equals(value, reference.value)) continue;
+			
+			reference.value = value;
+			section.set(path, value);
+			changed.add(path);
+		}
+		
+		return changed;
+	}
+	
+	/**
+	 * Returns the resolved value of a path, from the section if is of the file that is resolved, else from the
+	 * reader. The values with references are resolved from the values as are written.
+	 *
+	 * @throws IllegalStateException If a reference doesn't exist or the references have a cycle.
+	 */
+	private Object value(String fileName, String path, String resolving, ConfigurationSection section,
+		 Map<String, Object> resolved, Deque<String> visiting) {
+		final String key = fileName + FILE_SEPARATOR + path;
+		final Object cached = resolved.get(key);
+		if (cached != null) return cached;
+		
+		final Map<String, Reference> found = references.get(fileName);
+		final Reference reference = found == null ? null : found.get(path);
+		if (reference == null) {
+			final Object value = fileName.equals(resolving) ? section.get(path) : reader.apply(fileName, path);
+			return value instanceof ConfigurationSection ? null : value;
+		}
+		
+		if (visiting.contains(key)) {
+			throw new IllegalStateException("The references have a cycle: " + String.join(" -> ", visiting)
+				 + " -> " + key + ".");
+		}
+		
+		visiting.addLast(key);
+		final Object value = reference.render(fileName, (targetFile, targetPath) -> value(targetFile, targetPath,
+			 resolving, section, resolved, visiting));
+		visiting.removeLast();
+		
+		resolved.put(key, value);
+		return value;
+	}
+	
+	private static void scan(ConfigurationSection section, String prefix, Map<String, Reference> found) {
+		Sections.visit(section, (key, value) -> {
+			final String path = prefix == null ? key : prefix + SEPARATOR + key;
+			if (value instanceof ConfigurationSection) scan((ConfigurationSection) value, path, found);
+			else if (value instanceof String && ((String) value).contains(START)) {
+				final Reference reference = Reference.parse((String) value);
+				if (reference != null) found.put(path, reference);
+			}
+			
+			return true;
+		});
+	}
+	
+	/**
+	 * Value as is written, parsed into the literal parts and the referenced paths.
+	 */
+	private static final class Reference {
+		private final String raw;
+		private final String[] literals;
+		private final String[] fileNames;
+		private final String[] paths;
+		
+		private Object value;
+		
+		private Reference(String raw, String[] literals, String[] fileNames, String[] paths) {
+			this.raw = raw;
+			this.literals = literals;
+			this.fileNames = fileNames;
+			this.paths = paths;
+		}
+		
+		/**
+		 * Parses the value, or returns null if hasn't valid references.
+		 */
+		private static Reference parse(String raw) {
+			final List<String> literals = new ArrayList<>();
+			final List<String> fileNames = new ArrayList<>();
+			final List<String> paths = new ArrayList<>();
+			
+			final StringBuilder literal = new StringBuilder();
+			int from = 0;
+			int open;
+			while ((open = raw.indexOf(START, from)) != -1) {
+				final int close = raw.indexOf(END, open + START.length());
+				if (close == -1) break;
+				
+				final String target = raw.substring(open + START.length(), close);
+				final int separator = target.indexOf(FILE_SEPARATOR);
+				final String fileName = separator == -1 ? null : target.substring(0, separator);
+				final String path = separator == -1 ? target : target.substring(separator + 1);
+				if (path.isEmpty() || (fileName != null && fileName.isEmpty())) {
+					literal.append(raw, from, close + 1);
+					from = close + 1;
+					continue;
+				}
+				
+				literals.add(literal.append(raw, from, open).toString());
+				literal.setLength(0);
+				fileNames.add(fileName);
+				paths.add(path);
+				from = close + 1;
+			}
+			
+			if (paths.isEmpty()) return null;
+			
+			literals.add(literal.append(raw, from, raw.length()).toString());
+			return new Reference(raw, literals.toArray(new String[0]), fileNames.toArray(new String[0]),
+				 paths.toArray(new String[0]));
+		}
+		
+		private boolean references(String fileName) {
+			for (String referencedFile : fileNames) {
+				if (fileName.equals(referencedFile)) return true;
+			}
+			
+			return false;
+		}
+		
+		/**
+		 * Renders the value with the referenced values. A value that is only a reference returns the referenced
+		 * value as is.
+		 */
+		private Object render(String fileName, BiFunction<String, String, Object> values) {
+			if (paths.length == 1 && literals[0].isEmpty() && literals[1].isEmpty()) {
+				return referenced(0, fileName, values);
+			}
+			
+			final StringBuilder builder = new StringBuilder(raw.length());
+			for (int i = 0 ; i < paths.length ; i++) {
+				builder.append(literals[i]).append(referenced(i, fileName, values));
+			}
+			
+			return builder.append(literals[paths.length]).toString();
+		}
+		
+		private Object referenced(int index, String fileName, BiFunction<String, String, Object> values) {
+			final String targetFile = fileNames[index] == null ? fileName : fileNames[index];
+			final Object value = values.apply(targetFile, paths[index]);
+			if (value == null) {
+				throw new IllegalStateException("The reference '" + START + (fileNames[index] == null
+					 ? ""
+					 : fileNames[index] + FILE_SEPARATOR) + paths[index] + END + "' doesn't exist.");
+			}
+			
+			return value;
+		}
+	}
+}
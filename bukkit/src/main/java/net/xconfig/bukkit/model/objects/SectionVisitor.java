@@ -0,0 +1,24 @@
+package net.xconfig.bukkit.model.objects;
+
+/**
+ * Receives the keys and values of the children of a section, in the order of the file.
+ * <p>
+ * The keys are the keys of the children, not their full paths, and the children sections are received as
+ * ConfigurationSection objects, so a visitor can visit them too to walk all the tree.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see Sections#visit(org.bukkit.configuration.ConfigurationSection, SectionVisitor)
+ */
+@FunctionalInterface
+public interface SectionVisitor {
+	/**
+	 * Called for every child of the section.
+	 *
+	 * @param key The key of the child.
+	 * @param value The value, a ConfigurationSection if the child is a section.
+	 * @return True to keep visiting the section, false to stop.
+	 */
+	boolean visit(String key, Object value);
+}
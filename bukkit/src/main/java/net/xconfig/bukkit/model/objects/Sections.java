@@ -0,0 +1,170 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemorySection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Visits the children of the configuration sections without the set of keys and the full path of every key
+ * that are created by {@link ConfigurationSection#getKeys(boolean)}.
+ * <p>
+ * The read-only sections are visited over their node tree. The other sections are visited over the map of
+ * the MemorySection, which is read by reflection because isn't exposed by Bukkit, and the values wrapped
+ * with their comments since 1.18.1 are unwrapped. If the map cannot be read the keys are requested with
+ * {@code getKeys(false)}. The default values of the configuration aren't visited.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class Sections {
+	private static final char SEPARATOR = '.';
+	
+	private static final MethodHandle MAP;
+	private static final Class<?> DATA_CLASS;
+	private static final MethodHandle DATA;
+	
+	static {
+		MethodHandle map = null;
+		Class<?> dataClass = null;
+		MethodHandle data = null;
+		try {
+			final Field field = MemorySection.class.getDeclaredField("map");
+			field.setAccessible(true);
+			map = MethodHandles.lookup().unreflectGetter(field)
+				 .asType(MethodType.methodType(Map.class, MemorySection.class));
+			
+			dataClass = Class.forName("org.bukkit.configuration.SectionPathData");
+			final Method method = dataClass.getDeclaredMethod("getData");
+			method.setAccessible(true);
+			data = MethodHandles.lookup().unreflect(method)
+				 .asType(MethodType.methodType(Object.class, Object.class));
+		} catch (ClassNotFoundException | NoSuchMethodException exception) {
+			// Before 1.18.1 the values are stored without wrap.
+			dataClass = null;
+		} catch (ReflectiveOperationException | RuntimeException exception) {
+			map = null;
+		}
+		
+		MAP = map;
+		DATA_CLASS = dataClass;
+		DATA = data;
+	}
+	
+	private Sections() {}
+	
+	/**
+	 * Visits the children of the section given, in the order of the file.
+	 *
+	 * @param section The section to visit.
+	 * @param visitor The visitor of the children.
+	 * @return False if the visitor stopped the visit, else true.
+	 */
+	public static boolean visit(ConfigurationSection section, SectionVisitor visitor) {
+		checkNotNull(section, "The section to visit cannot be null.");
+		checkNotNull(visitor, "The section visitor cannot be null.");
+		
+		if (section instanceof ReadOnlyConfiguration) return ((ReadOnlyConfiguration) section).visit(visitor);
+		if (section instanceof ReadOnlySection) return ((ReadOnlySection) section).visit(visitor);
+		if (MAP != null && section instanceof MemorySection) return visitMap((MemorySection) section, visitor);
+		
+		for (String key : section.getKeys(false)) {
+			if (!visitor.visit(key, section.get(key))) return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Puts the values of the section and its subsections into the map given by their full paths, without the
+	 * sections and the null values. The values of the same path already in the map are replaced.
+	 *
+	 * @param section The section to flatten.
+	 * @param values Map where the values are put.
+	 */
+	public static void flatten(ConfigurationSection section, Map<String, Object> values) {
+		checkNotNull(section, "The section to flatten cannot be null.");
+		checkNotNull(values, "The map of values cannot be null.");
+		
+		flatten(section, null, values);
+	}
+	
+	/**
+	 * Returns a stream of the children of the section given, in the order of the file.
+	 * <p>
+	 * The stream reads an immutable snapshot of the section, so it can be processed in parallel while the
+	 * section is modified. The read-only sections are already immutable and are streamed without copy, the
+	 * other sections are copied to a read-only snapshot when this method is called. The sections of the
+	 * entries are read-only sections of the snapshot.
+	 *
+	 * @param section The section to stream.
+	 * @param parallel Do you want a parallel stream?
+	 * @return A Stream of the entries of the children, with the sections as ConfigurationSection objects.
+	 */
+	public static Stream<Map.Entry<String, Object>> stream(ConfigurationSection section, boolean parallel) {
+		return StreamSupport.stream(spliterator(section), parallel);
+	}
+	
+	/**
+	 * Returns a spliterator of the children of the section given, over the same snapshot of
+	 * {@link #stream(ConfigurationSection, boolean)}. The spliterator knows its exact size and splits the
+	 * children in halves.
+	 *
+	 * @param section The section to split.
+	 * @return A Spliterator of the entries of the children.
+	 */
+	public static Spliterator<Map.Entry<String, Object>> spliterator(ConfigurationSection section) {
+		checkNotNull(section, "The section to split cannot be null.");
+		
+		if (section instanceof ReadOnlyConfiguration) return ((ReadOnlyConfiguration) section).spliterator();
+		if (section instanceof ReadOnlySection) return ((ReadOnlySection) section).spliterator();
+		
+		final ReadOnlyConfiguration snapshot = new ReadOnlyConfiguration(null);
+		snapshot.load(CompactNode.compile(section, null));
+		return snapshot.spliterator();
+	}
+	
+	private static void flatten(ConfigurationSection section, String prefix, Map<String, Object> values) {
+		visit(section, (key, value) -> {
+			final String path = prefix == null ? key : prefix + SEPARATOR + key;
+			if (value instanceof ConfigurationSection) flatten((ConfigurationSection) value, path, values);
+			else if (value != null) values.put(path, value);
+			return true;
+		});
+	}
+	
+	private static boolean visitMap(MemorySection section, SectionVisitor visitor) {
+		final Map<?, ?> map;
+		try { map = (Map<?, ?>) MAP.invokeExact(section); }
+		catch (Throwable throwable) {
+			throw new IllegalStateException("Cannot read the keys of the section '" + section.getCurrentPath()
+				 + "'.", throwable);
+		}
+		
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			if (!visitor.visit((String) entry.getKey(), unwrap(entry.getValue()))) return false;
+		}
+		
+		return true;
+	}
+	
+	private static Object unwrap(Object value) {
+		if (DATA_CLASS == null || !DATA_CLASS.isInstance(value)) return value;
+		
+		try { return (Object) DATA.invokeExact(value); }
+		catch (Throwable throwable) {
+			throw new IllegalStateException("Cannot read the value of a section.", throwable);
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of canonical strings shared by every file of a manager, used to deduplicate the keys and the text
+ * values after a file is loaded.
+ * <p>
+ * The strings are held weakly, so the strings that aren't used by any loaded file anymore, such as the values
+ * replaced by a reload, are released by the garbage collector instead of stay in the pool.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class StringPool {
+	private final Map<String, WeakReference<String>> pool;
+	private final LongAdder hits;
+	private final LongAdder savedBytes;
+	
+	public StringPool() {
+		pool = new WeakHashMap<>();
+		hits = new LongAdder();
+		savedBytes = new LongAdder();
+	}
+	
+	/**
+	 * Returns the canonical instance for the string given, storing it if is the first time that is seen.
+	 *
+	 * @param value The string to intern.
+	 * @return The canonical string, or null if the value is null.
+	 */
+	public String intern(String value) {
+		if (value == null) return null;
+		
+		final String canonical;
+		synchronized (pool) {
+			final WeakReference<String> reference = pool.get(value);
+			canonical = reference == null ? null : reference.get();
+			if (canonical == null) {
+				pool.put(value, new WeakReference<>(value));
+				return value;
+			}
+		}
+		
+		if (canonical != value) {
+			hits.increment();
+			savedBytes.add(estimateSize(value));
+		}
+		return canonical;
+	}
+	
+	/**
+	 * Deduplicates the keys and values of the section given and all their sub-sections.
+	 * <p>
+	 * The keys order, the sub-sections instances and the comments of every key are preserved.
+	 *
+	 * @param section The section to deduplicate.
+	 */
+	public void deduplicate(ConfigurationSection section) {
+		if (section == null) return;
+		
+		final Map<String, Object> values = section.getValues(false);
+		final Map<String, List<String>> comments = new LinkedHashMap<>();
+		final Map<String, List<String>> inlineComments = new LinkedHashMap<>();
+		
+		for (String key : values.keySet()) {
+			comments.put(key, section.getComments(key));
+			inlineComments.put(key, section.getInlineComments(key));
+			section.set(key, null);
+		}
+		
+		for (Map.Entry<String, Object> entry : values.entrySet()) {
+			final String key = intern(entry.getKey());
+			final Object value = entry.getValue();
+			
+			if (value instanceof ConfigurationSection) {
+				deduplicate((ConfigurationSection) value);
+				section.set(key, value);
+			} else section.set(key, internValue(value));
+			
+			final List<String> keyComments = comments.get(entry.getKey());
+			if (keyComments != null && !keyComments.isEmpty()) section.setComments(key, keyComments);
+			
+			final List<String> keyInlineComments = inlineComments.get(entry.getKey());
+			if (keyInlineComments != null && !keyInlineComments.isEmpty()) {
+				section.setInlineComments(key, keyInlineComments);
+			}
+		}
+	}
+	
+	private Object internValue(Object value) {
+		if (value instanceof String) return intern((String) value);
+		
+		if (value instanceof List) {
+			final List<?> list = (List<?>) value;
+			final List<Object> internedList = new ArrayList<>(list.size());
+			for (Object element : list) internedList.add(internValue(element));
+			
+			return internedList;
+		}
+		
+		if (value instanceof Map) {
+			final Map<?, ?> map = (Map<?, ?>) value;
+			final Map<Object, Object> internedMap = new LinkedHashMap<>(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				internedMap.put(internValue(entry.getKey()), internValue(entry.getValue()));
+			}
+			
+			return internedMap;
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Returns an estimation of the heap taken by a String with the length of the value given, counting the
+	 * String object and its backing array.
+	 */
+	private static long estimateSize(String value) {
+		return 24L + ((16L + (value.length() * 2L) + 7L) & ~7L);
+	}
+	
+	/**
+	 * Returns the amount of distinct strings stored in the pool, the strings released by the garbage collector
+	 * are removed from the count after the next operation of the pool.
+	 *
+	 * @return The pool size.
+	 */
+	public int size() {
+		synchronized (pool) {
+			return pool.size();
+		}
+	}
+	
+	/**
+	 * Returns how many duplicated strings were replaced by their canonical instance.
+	 *
+	 * @return The deduplicated strings amount.
+	 */
+	public long hits() {
+		return hits.sum();
+	}
+	
+	/**
+	 * Returns an estimation of the heap bytes released by the deduplication.
+	 *
+	 * @return The estimated bytes saved.
+	 */
+	public long savedBytes() {
+		return savedBytes.sum();
+	}
+	
+	/**
+	 * Removes all the strings from the pool and resets the statistics.
+	 */
+	public void clear() {
+		synchronized (pool) {
+			pool.clear();
+		}
+		hits.reset();
+		savedBytes.reset();
+	}
+}
@@ -0,0 +1,174 @@
+package net.xconfig.bukkit.model.objects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Text with placeholders like {@code {player}}, parsed once into the literal parts and the slots of the
+ * placeholders, so a render appends every part only once into a builder with the final size, without the
+ * intermediate strings of a chain of {@link String#replace(CharSequence, CharSequence)}.
+ * <p>
+ * The names of the placeholders can contain letters, digits, {@code '_'}, {@code '-'} and {@code '.'}, the
+ * braces with other content are kept as text. The placeholders without value are rendered as they are
+ * written. The template is immutable and can be shared between threads.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class TextTemplate {
+	private static final String NAME_SYMBOLS = "_-.";
+	
+	private final String[] literals;
+	private final int[] slots;
+	private final String[] names;
+	private final int literalLength;
+	
+	private TextTemplate(String[] literals, int[] slots, String[] names) {
+		this.literals = literals;
+		this.slots = slots;
+		this.names = names;
+		
+		int length = 0;
+		for (String literal : literals) length += literal.length();
+		literalLength = length;
+	}
+	
+	/**
+	 * Parses the text given, that should be colorized before if is required, because the arguments aren't
+	 * colorized.
+	 *
+	 * @param text The text with the placeholders.
+	 * @return The TextTemplate object.
+	 */
+	public static TextTemplate compile(String text) {
+		checkNotNull(text, "The text to compile cannot be null.");
+		
+		final List<String> literals = new ArrayList<>();
+		final List<Integer> slots = new ArrayList<>();
+		final List<String> names = new ArrayList<>();
+		
+		final StringBuilder literal = new StringBuilder();
+		int from = 0;
+		int open;
+		while ((open = text.indexOf('{', from)) != -1) {
+			final int close = name(text, open + 1);
+			if (close == -1) {
+				literal.append(text, from, open + 1);
+				from = open + 1;
+				continue;
+			}
+			
+			final String name = text.substring(open + 1, close);
+			int slot = names.indexOf(name);
+			if (slot == -1) {
+				slot = names.size();
+				names.add(name);
+			}
+			
+			literals.add(literal.append(text, from, open).toString());
+			literal.setLength(0);
+			slots.add(slot);
+			from = close + 1;
+		}
+		literals.add(literal.append(text, from, text.length()).toString());
+		
+		final int[] slotArray = new int[slots.size()];
+		for (int i = 0 ; i < slotArray.length ; i++) slotArray[i] = slots.get(i);
+		return new TextTemplate(literals.toArray(new String[0]), slotArray, names.toArray(new String[0]));
+	}
+	
+	/**
+	 * Returns the number of different placeholders.
+	 *
+	 * @return The number of placeholders.
+	 */
+	public int placeholders() {
+		return names.length;
+	}
+	
+	/**
+	 * Returns the name of a placeholder, in the order that appear for the first time at the text.
+	 *
+	 * @param index Position of the placeholder.
+	 * @return The name of the placeholder, without braces.
+	 */
+	public String placeholder(int index) {
+		return names[index];
+	}
+	
+	/**
+	 * Renders the text with positional arguments, that replace the placeholders in the order that appear for
+	 * the first time at the text. The same placeholder repeated takes the same argument.
+	 *
+	 * @param arguments The values of the placeholders.
+	 * @return The rendered text.
+	 */
+	public String render(Object... arguments) {
+		if (slots.length == 0) return literals[0];
+		
+		final String[] values = new String[names.length];
+		for (int i = 0 ; i < values.length && i < arguments.length ; i++) {
+			values[i] = String.valueOf(arguments[i]);
+		}
+		
+		return join(values);
+	}
+	
+	/**
+	 * Renders the text with named arguments.
+	 *
+	 * @param arguments The values of the placeholders by their names, without braces.
+	 * @return The rendered text.
+	 */
+	public String render(Map<String, ?> arguments) {
+		checkNotNull(arguments, "The arguments cannot be null.");
+		if (slots.length == 0) return literals[0];
+		
+		final String[] values = new String[names.length];
+		for (int i = 0 ; i < values.length ; i++) {
+			final Object value = arguments.get(names[i]);
+			if (value != null || arguments.containsKey(names[i])) values[i] = String.valueOf(value);
+		}
+		
+		return join(values);
+	}
+	
+	@Override
+	public String toString() {
+		return join(new String[names.length]);
+	}
+	
+	private String join(String[] values) {
+		int length = literalLength;
+		for (int slot : slots) length += values[slot] == null ? names[slot].length() + 2 : values[slot].length();
+		
+		final StringBuilder builder = new StringBuilder(length);
+		for (int i = 0 ; i < slots.length ; i++) {
+			builder.append(literals[i]);
+			
+			final String value = values[slots[i]];
+			if (value != null) builder.append(value);
+			else builder.append('{').append(names[slots[i]]).append('}');
+		}
+		
+		return builder.append(literals[slots.length]).toString();
+	}
+	
+	/**
+	 * Returns the position of the brace that closes the name of the placeholder that starts at the position
+	 * given, or -1 if isn't a valid placeholder.
+	 */
+	private static int name(String text, int start) {
+		for (int i = start ; i < text.length() ; i++) {
+			final char character = text.charAt(i);
+			if (character == '}') return i == start ? -1 : i;
+			if (!Character.isLetterOrDigit(character) && NAME_SYMBOLS.indexOf(character) == -1) return -1;
+		}
+		
+		return -1;
+	}
+}
@@ -1,31 +1,68 @@
 package net.xconfig.bukkit.model.objects;
 
 import com.google.common.base.Preconditions;
+import net.xconfig.bukkit.model.metrics.FlightEvents;
+import net.xconfig.bukkit.model.schema.ValidatedConfiguration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.bukkit.Bukkit.getLogger;
 
 public class YamlFile {
-	private static final StringBuilder BUILDER = new StringBuilder();
-	
 	private final JavaPlugin plugin;
 	private final String folderName;
 	private final String fileName;
+	private final StringPool pool;
+	private final boolean readOnly;
+	private final FileFormat format;
+	private final ComponentCache components;
 	
 	private File file;
 	private FileConfiguration configuration;
+	private boolean snapshot;
+	private boolean cache;
+	private boolean fastParser;
+	private ValidatedConfiguration validated;
+	private ReferenceResolver references;
+	private volatile int revision;
+	private volatile boolean discarded;
 	
 	public YamlFile(JavaPlugin plugin, String folderName, String fileName) {
+		this(plugin, folderName, fileName, null, false);
+	}
+	
+	public YamlFile(JavaPlugin plugin, String folderName, String fileName, StringPool pool) {
+		this(plugin, folderName, fileName, pool, false);
+	}
+	
+	public YamlFile(JavaPlugin plugin, String folderName, String fileName, StringPool pool, boolean readOnly) {
+		this(plugin, folderName, fileName, pool, readOnly, new YamlFormat());
+	}
+	
+	public YamlFile(JavaPlugin plugin, String folderName, String fileName, StringPool pool, boolean readOnly,
+		 FileFormat format) {
 		this.plugin = Objects.requireNonNull(plugin, "The JavaPlugin instance cannot be null.");
 		this.folderName = Objects.requireNonNull(folderName, "The folder name cannot be null.");
 		this.fileName = Objects.requireNonNull(fileName, "The file name cannot be null.");
 		Preconditions.checkArgument(!fileName.isEmpty(), "The file name cannot be empty.");
+		this.pool = pool;
+		this.readOnly = readOnly;
+		this.format = Objects.requireNonNull(format, "The file format cannot be null.");
+		components = new ComponentCache(path -> configuration == null ? null : configuration.getString(path));
 	}
 	
 	/**
@@ -34,7 +71,7 @@ public class YamlFile {
 	public void create() {
 		if (folderName.isEmpty()) file = new File(plugin.getDataFolder(), fileName);
 		else {
-			file = new File(BUILDER.append(plugin.getDataFolder())
+			file = new File(new StringBuilder().append(plugin.getDataFolder())
 				 .append(File.separator)
 				 .append(folderName)
 				 .append(File.separator)
@@ -44,7 +81,10 @@ public class YamlFile {
 		if (!file.exists()) {
 			plugin.saveResource(folderName.isEmpty()
 				 ? fileName
-				 : BUILDER.append(folderName).append(File.separator).append(fileName).toString(), false);
+				 : new StringBuilder().append(folderName)
+					 .append(File.separator)
+					 .append(fileName)
+					 .toString(), false);
 		}
 		
 		load();
@@ -59,7 +99,7 @@ public class YamlFile {
 		
 		if (folderName.isEmpty()) file = new File(dataFolder, fileName);
 		else {
-			file = new File(BUILDER.append(dataFolder)
+			file = new File(new StringBuilder().append(dataFolder)
 				 .append(File.separator)
 				 .append(folderName)
 				 .append(File.separator)
@@ -79,12 +119,442 @@ public class YamlFile {
 	}
 	
 	/**
-	 * Load the file with YamlConfiguration.
+	 * Maps the compiled snapshot given and reads the values directly from it, without parse the content.
+	 *
+	 * @param snapshotFile The snapshot file written by {@link #snapshot(File)}.
+	 * @throws IllegalStateException If the file isn't read-only.
+	 */
+	public void createFromSnapshot(File snapshotFile) {
+		Preconditions.checkState(readOnly, "Only the read-only files can be created from a snapshot.");
+		
+		file = Objects.requireNonNull(snapshotFile, "The snapshot file cannot be null.");
+		snapshot = true;
+		load();
+	}
+	
+	/**
+	 * Writes a compiled snapshot of the current content of this file, that can be mapped by other processes
+	 * with {@link #createFromSnapshot(File)}.
+	 *
+	 * @param snapshotFile The snapshot file to write.
+	 * @throws IOException If the snapshot cannot be written.
+	 */
+	public void snapshot(File snapshotFile) throws IOException {
+		final ConfigurationNode node = configuration instanceof ReadOnlyConfiguration
+			 ? ((ReadOnlyConfiguration) configuration).node()
+			 : CompactNode.compile(configuration, null);
+		MappedNode.write(node, snapshotFile);
+	}
+	
+	/**
+	 * Reads the file from the disk and passes their keys and values to the visitor while the file is parsed,
+	 * without load the content into a FileConfiguration.
+	 * <p>
+	 * The memory used doesn't depend on the file size, and the reading can be stopped or the sections skipped
+	 * from the visitor. The JSON files are read too, as JSON content is valid YAML.
+	 *
+	 * @param visitor The visitor.
+	 * @return True if all the file was visited, or false if the visitor stopped the reading.
+	 * @throws IOException If the file cannot be read.
+	 * @throws InvalidConfigurationException If the file content isn't a valid configuration.
+	 * @throws IllegalStateException If the file wasn't created or is a snapshot.
+	 */
+	public boolean visit(StreamVisitor visitor) throws IOException, InvalidConfigurationException {
+		Objects.requireNonNull(visitor, "The visitor cannot be null.");
+		Preconditions.checkState(file != null, "The file wasn't created yet.");
+		Preconditions.checkState(!snapshot, "The snapshot files cannot be visited.");
+		
+		final char separator = configuration == null ? '.' : configuration.options().pathSeparator();
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			return YamlStream.visit(reader, separator, visitor);
+		} catch (YAMLException | IllegalStateException exception) {
+			throw new InvalidConfigurationException(exception);
+		}
+	}
+	
+	/**
+	 * Load the file with the FileConfiguration of its format, or with ReadOnlyConfiguration if the file is
+	 * read-only.
 	 */
 	private void load() {
 		if (!file.exists()) return;
 		
-		configuration = YamlConfiguration.loadConfiguration(file);
+		final Object event = FlightEvents.beginFileOperation();
+		try {
+			loadFile();
+			validate();
+			loaded();
+		} finally {
+			FlightEvents.commitFileOperation(event, fileName, "load", file);
+		}
+	}
+	
+	private void loadFile() {
+		if (snapshot) {
+			final ReadOnlyConfiguration readOnlyConfiguration = new ReadOnlyConfiguration(pool);
+			try { readOnlyConfiguration.load(MappedNode.open(file)); }
+			catch (IOException exception) {
+				getLogger().severe("Cannot map the snapshot of the file '" + fileName + "'.");
+				exception.printStackTrace();
+			}
+			
+			// The snapshots are compiled, so their references cannot be resolved.
+			if (references != null) references.remove(fileName);
+			configuration = readOnlyConfiguration;
+			return;
+		}
+		
+		final FileConfiguration content = format.create();
+		try { loadContent(content); }
+		catch (InvalidConfigurationException | IOException exception) {
+			getLogger().severe("Cannot load the file '" + fileName + "'.");
+			exception.printStackTrace();
+		}
+		
+		resolve(content);
+		if (readOnly) {
+			final ReadOnlyConfiguration readOnlyConfiguration = new ReadOnlyConfiguration(pool, format);
+			readOnlyConfiguration.load(CompactNode.compile(content, pool));
+			configuration = readOnlyConfiguration;
+			return;
+		}
+		
+		if (pool != null) pool.deduplicate(content);
+		configuration = content;
+	}
+	
+	/**
+	 * Reloads the file content into the current FileConfiguration object.
+	 * <p>
+	 * If the file has a schema, the content is loaded first into a new FileConfiguration object and is copied
+	 * into the current object only if follows the schema, else the current content is kept.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 * @throws InvalidConfigurationException If the file content isn't a valid configuration or doesn't follow
+	 * the schema of the file.
+	 */
+	public void reload() throws IOException, InvalidConfigurationException {
+		final Object event = FlightEvents.beginFileOperation();
+		try {
+			if (validated != null) reloadValidated();
+			else if (snapshot) ((ReadOnlyConfiguration) configuration).load(MappedNode.open(file));
+			else if (readOnly) {
+				final FileConfiguration content = format.create();
+				loadContent(content);
+				resolve(content);
+				((ReadOnlyConfiguration) configuration).load(CompactNode.compile(content, pool));
+			} else {
+				loadContent(configuration);
+				resolve(configuration);
+				if (pool != null) pool.deduplicate(configuration);
+			}
+			
+			loaded();
+		} finally {
+			FlightEvents.commitFileOperation(event, fileName, "reload", file);
+		}
+	}
+	
+	/**
+	 * Updates the revision of the content and the values cached from the previous content.
+	 */
+	private void loaded() {
+		revision++;
+		components.rebuild();
+	}
+	
+	/**
+	 * Resolves the references of the content loaded, if the references are enabled. The content of the
+	 * read-only files is resolved before is compiled, because the compiled content cannot be modified.
+	 */
+	private void resolve(FileConfiguration content) {
+		if (references != null) references.resolve(fileName, content);
+	}
+	
+	/**
+	 * Resolves the references of the content loaded and validates it with the schema of the file. The
+	 * references found are kept only if the content follows the schema, so a rejected reload doesn't change the
+	 * references of the current content.
+	 *
+	 * @return The problems found, or an empty list if the content follows the schema.
+	 */
+	private List<String> resolveValidated(FileConfiguration content) {
+		if (references == null) return validated.load(content);
+		
+		final List<String> problems = new ArrayList<>();
+		references.resolve(fileName, content, resolved -> {
+			problems.addAll(validated.load(resolved));
+			return problems.isEmpty();
+		});
+		return problems;
+	}
+	
+	/**
+	 * Resolves again the references of the current content, because a file that it references changed. The
+	 * read-only content cannot be modified, so is loaded again. The content is validated again with the schema
+	 * of the file, if has one.
+	 *
+	 * @return True if a value changed, else return false.
+	 */
+	public boolean refreshReferences() {
+		if (references == null || snapshot || configuration == null) return false;
+		if (readOnly) {
+			try { reload(); }
+			catch (IOException | InvalidConfigurationException exception) {
+				getLogger().severe("Cannot resolve again the references of the file '" + fileName + "'.");
+				exception.printStackTrace();
+				return false;
+			}
+			
+			return true;
+		}
+		
+		if (references.refresh(fileName, configuration).isEmpty()) return false;
+		
+		validate();
+		loaded();
+		return true;
+	}
+	
+	/**
+	 * Sets the values given at the current content, and updates the revision of the content and the values
+	 * cached from the paths changed. The references of the content are resolved again and the content is
+	 * validated again with the schema of the file, if has one. The references of the paths changed are replaced
+	 * by the references of their new values, so the values set are kept as are set, and the values set with
+	 * references are resolved.
+	 *
+	 * @param changes The paths and their new values, a null value removes the path and a Map value
+	 * creates a section.
+	 * @throws UnsupportedOperationException If the file is read-only.
+	 */
+	public void update(Map<String, Object> changes) {
+		if (configuration instanceof ReadOnlyConfiguration) {
+			throw new UnsupportedOperationException("The file '" + fileName + "' is read-only.");
+		}
+		if (configuration == null) return;
+		
+		for (Map.Entry<String, Object> change : changes.entrySet()) {
+			final Object value = change.getValue();
+			if (value instanceof Map) configuration.createSection(change.getKey(), (Map<?, ?>) value);
+			else configuration.set(change.getKey(), value);
+		}
+		
+		final List<String> resolved = references == null
+			 ? Collections.emptyList()
+			 : references.update(fileName, configuration, changes.keySet());
+		validate();
+		
+		revision++;
+		final char separator = configuration.options().pathSeparator();
+		for (String path : changes.keySet()) components.invalidate(path, separator);
+		for (String path : resolved) components.invalidate(path, separator);
+	}
+	
+	/**
+	 * Sets the value at the path of the current content as is, and updates the revision of the content and the
+	 * values cached from the path. Unlike {@link #update(Map)}, the references aren't resolved again and the
+	 * content isn't validated again.
+	 *
+	 * @param path Path for the value.
+	 * @param value Value to set.
+	 * @throws UnsupportedOperationException If the file is read-only.
+	 */
+	public void write(String path, Object value) {
+		if (configuration instanceof ReadOnlyConfiguration) {
+			throw new UnsupportedOperationException("The file '" + fileName + "' is read-only.");
+		}
+		
+		configuration.set(path, value);
+		revision++;
+		components.invalidate(path, configuration.options().pathSeparator());
+	}
+	
+	private void reloadValidated() throws IOException, InvalidConfigurationException {
+		final FileConfiguration candidate;
+		final List<String> problems;
+		if (snapshot) {
+			final ReadOnlyConfiguration readOnlyConfiguration = new ReadOnlyConfiguration(pool);
+			readOnlyConfiguration.load(MappedNode.open(file));
+			candidate = readOnlyConfiguration;
+			problems = validated.load(candidate);
+		} else {
+			candidate = format.create();
+			loadContent(candidate);
+			problems = resolveValidated(candidate);
+		}
+		
+		if (!problems.isEmpty()) {
+			throw new InvalidConfigurationException("The file '" + fileName + "' doesn't follow its schema: "
+				 + String.join(" ", problems));
+		}
+		
+		if (readOnly) {
+			final ReadOnlyConfiguration target = configuration == null
+				 ? new ReadOnlyConfiguration(pool, format)
+				 : (ReadOnlyConfiguration) configuration;
+			target.load(snapshot
+				 ? ((ReadOnlyConfiguration) candidate).node()
+				 : CompactNode.compile(candidate, pool));
+			configuration = target;
+			return;
+		}
+		
+		if (pool != null) pool.deduplicate(candidate);
+		if (configuration == null) configuration = candidate;
+		else copy(candidate, configuration);
+	}
+	
+	/**
+	 * Replaces the content of the target with the content of the source, with its comments, header and footer.
+	 */
+	private static void copy(FileConfiguration source, FileConfiguration target) {
+		for (String key : target.getKeys(false)) target.set(key, null);
+		copy((ConfigurationSection) source, target);
+		target.options().setHeader(source.options().getHeader());
+		target.options().setFooter(source.options().getFooter());
+	}
+	
+	private static void copy(ConfigurationSection source, ConfigurationSection target) {
+		for (String key : source.getKeys(false)) {
+			final Object value = source.get(key);
+			if (!(value instanceof ConfigurationSection)) target.set(key, value);
+			else copy((ConfigurationSection) value, target.createSection(key));
+			
+			target.setComments(key, source.getComments(key));
+			target.setInlineComments(key, source.getInlineComments(key));
+		}
+	}
+	
+	/**
+	 * Validates the current content with the schema of the file, if has one. The problems found are logged and
+	 * the validated values keep the last content that followed the schema.
+	 *
+	 * @return False if the content doesn't follow the schema, else true.
+	 */
+	public boolean validate() {
+		if (validated == null || configuration == null) return true;
+		
+		final List<String> problems = validated.load(configuration);
+		for (String problem : problems) {
+			getLogger().severe("The file '" + fileName + "' doesn't follow its schema: " + problem);
+		}
+		
+		return problems.isEmpty();
+	}
+	
+	/**
+	 * Loads the file content into the configuration given, from the compiled cache if is enabled and still
+	 * valid, else the file is parsed and the cache is written again.
+	 */
+	private void loadContent(FileConfiguration target) throws IOException, InvalidConfigurationException {
+		if (!cache) {
+			parse(target);
+			return;
+		}
+		
+		final CompiledCache compiledCache = new CompiledCache(file);
+		if (compiledCache.read(target)) return;
+		
+		parse(target);
+		try { compiledCache.write(target); }
+		catch (IOException | IllegalArgumentException exception) {
+			getLogger().warning("Cannot write the compiled cache of the file '" + fileName + "': "
+				 + exception.getMessage());
+		}
+	}
+	
+	/**
+	 * Parses the file into the configuration given, with the fast parser if is enabled and supports the content,
+	 * else with the standard loader of the format.
+	 */
+	private void parse(FileConfiguration target) throws IOException, InvalidConfigurationException {
+		if (!fastParser || !(format instanceof YamlFormat)) {
+			target.load(file);
+			return;
+		}
+		
+		final byte[] content = Files.readAllBytes(file.toPath());
+		if (YamlParser.load(content, target)) return;
+		
+		target.loadFromString(new String(content, StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Enables or disables the compiled cache of this file, that stores a binary form of the parsed content
+	 * next to the file to skip the parsing on the next loads while the file isn't modified.
+	 * <p>
+	 * Must be established before the file is created.
+	 *
+	 * @param cache Do you want to use the compiled cache?
+	 * @see CompiledCache
+	 */
+	public void cache(boolean cache) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * Returns if the compiled cache is enabled for this file.
+	 *
+	 * @return True if the file is loaded through the compiled cache, else return false.
+	 */
+	public boolean cache() {
+		return cache;
+	}
+	
+	/**
+	 * Enables or disables the fast YAML parser for the loads of this file, the content with syntax that the
+	 * parser doesn't support is loaded with the standard loader.
+	 * <p>
+	 * Must be established before the file is created.
+	 *
+	 * @param fastParser Do you want to load the file with the fast parser?
+	 * @see YamlParser
+	 */
+	public void fastParser(boolean fastParser) {
+		this.fastParser = fastParser;
+	}
+	
+	/**
+	 * Returns if the fast YAML parser is enabled for this file.
+	 *
+	 * @return True if the file is loaded with the fast parser when possible, else return false.
+	 */
+	public boolean fastParser() {
+		return fastParser;
+	}
+	
+	/**
+	 * Establishes the validated values of this file, that are checked with their schema every time the file is
+	 * loaded, and reject the reloads that doesn't follow the schema.
+	 * <p>
+	 * Must be established before the file is created, or validated with {@link #validate()} after.
+	 *
+	 * @param validated The ValidatedConfiguration object, or null to load the file without schema.
+	 * @see ValidatedConfiguration
+	 */
+	public void validated(ValidatedConfiguration validated) {
+		this.validated = validated;
+	}
+	
+	/**
+	 * Establishes the resolver of the references to other values inside of the texts of this file.
+	 * <p>
+	 * Must be established before the file is created.
+	 *
+	 * @param references The ReferenceResolver object, or null to load the values as are written.
+	 * @see ReferenceResolver
+	 */
+	public void references(ReferenceResolver references) {
+		this.references = references;
+	}
+	
+	/**
+	 * Returns the validated values of this file.
+	 *
+	 * @return The ValidatedConfiguration object, or null if the file hasn't a schema.
+	 */
+	public ValidatedConfiguration validated() {
+		return validated;
 	}
 	
 	/**
@@ -105,6 +575,69 @@ public class YamlFile {
 		return fileName;
 	}
 	
+	/**
+	 * Returns if the file was loaded as read-only.
+	 *
+	 * @return True if the content is stored as a ReadOnlyConfiguration, else return false.
+	 */
+	public boolean readOnly() {
+		return readOnly;
+	}
+	
+	/**
+	 * Returns the format of the file content.
+	 *
+	 * @return The FileFormat object.
+	 */
+	public FileFormat format() {
+		return format;
+	}
+	
+	/**
+	 * Returns if the content of the file is read from a memory-mapped snapshot.
+	 *
+	 * @return True if the file was created from a snapshot, else return false.
+	 */
+	public boolean snapshot() {
+		return snapshot;
+	}
+	
+	/**
+	 * Returns the number of times that the content of the file was loaded, so the values compiled from the
+	 * content can know if the file was reloaded since were compiled.
+	 *
+	 * @return The revision of the content.
+	 */
+	public int revision() {
+		return revision;
+	}
+	
+	/**
+	 * Returns the cache of the chat components of the messages of this file, that is converted again every
+	 * time the file is reloaded.
+	 *
+	 * @return The ComponentCache object.
+	 */
+	public ComponentCache components() {
+		return components;
+	}
+	
+	/**
+	 * Marks the file as replaced or deleted at the manager, so the views bound to it look for the file again.
+	 */
+	public void discard() {
+		discarded = true;
+	}
+	
+	/**
+	 * Returns if the file was replaced or deleted at the manager.
+	 *
+	 * @return True if the file was discarded, else return false.
+	 */
+	public boolean discarded() {
+		return discarded;
+	}
+	
 	/**
 	 * Returns the File object.
 	 *
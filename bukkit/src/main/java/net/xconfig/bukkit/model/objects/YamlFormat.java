@@ -0,0 +1,23 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Default format of the files, handled by YamlConfiguration.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class YamlFormat implements FileFormat {
+	@Override
+	public boolean supports(String fileName) {
+		return fileName.endsWith(".yml") || fileName.endsWith(".yaml");
+	}
+	
+	@Override
+	public FileConfiguration create() {
+		return new YamlConfiguration();
+	}
+}
@@ -0,0 +1,867 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.FileConfigurationOptions;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fast YAML parser for the subset of YAML used by the configuration files, that reads the content directly from
+ * their UTF-8 bytes without build the event stream and node graph of SnakeYAML.
+ * <p>
+ * Supports block mappings and sequences, plain and quoted scalars written at a single line, literal blocks,
+ * flow sequences of scalars written at a single line, empty flow mappings and comments. The values, comments,
+ * header and footer are loaded like YamlConfiguration does.
+ * <p>
+ * Any other syntax, like anchors, aliases, tags, folded blocks, multi-line scalars or timestamps, makes the
+ * parser give up before the configuration is modified, so the caller can load the content with the standard
+ * loader instead.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class YamlParser {
+	private static final UnsupportedSyntax UNSUPPORTED = new UnsupportedSyntax();
+	private static final int MAX_KEY_LENGTH = 1024;
+	
+	private static final int CLIP = 0;
+	private static final int STRIP = 1;
+	private static final int KEEP = 2;
+	
+	private final byte[] bytes;
+	private final int begin;
+	private final int end;
+	private final char separator;
+	private final boolean parseComments;
+	private final List<String> pending;
+	private final Map<String, List<String>> comments;
+	private final Map<String, List<String>> inlineComments;
+	
+	private int position;
+	private int column;
+	private int inlineColumn;
+	private boolean firstKey;
+	private List<String> header;
+	private List<String> footer;
+	
+	private YamlParser(byte[] bytes, int start, int end, char separator, boolean parseComments) {
+		this.bytes = bytes;
+		begin = start;
+		this.end = end;
+		this.separator = separator;
+		this.parseComments = parseComments;
+		pending = new ArrayList<>();
+		comments = new LinkedHashMap<>();
+		inlineComments = new LinkedHashMap<>();
+		position = start;
+		inlineColumn = -1;
+		firstKey = true;
+		header = Collections.emptyList();
+		footer = Collections.emptyList();
+	}
+	
+	/**
+	 * Parses the content given and replaces with it the content of the configuration.
+	 *
+	 * @param content The UTF-8 bytes of the YAML content.
+	 * @param configuration The configuration to load.
+	 * @return True if the content was loaded, or false if the content has syntax that isn't supported and the
+	 *         configuration wasn't modified.
+	 */
+	public static boolean load(byte[] content, FileConfiguration configuration) {
+		return load(content, 0, content.length, configuration);
+	}
+	
+	/**
+	 * Parses the remaining bytes of the buffer given and replaces with them the content of the configuration.
+	 * The position of the buffer isn't modified.
+	 *
+	 * @param content The UTF-8 bytes of the YAML content.
+	 * @param configuration The configuration to load.
+	 * @return True if the content was loaded, or false if the content has syntax that isn't supported and the
+	 *         configuration wasn't modified.
+	 */
+	public static boolean load(ByteBuffer content, FileConfiguration configuration) {
+		if (content.hasArray()) {
+			final int start = content.arrayOffset() + content.position();
+			return load(content.array(), start, start + content.remaining(), configuration);
+		}
+		
+		final byte[] bytes = new byte[content.remaining()];
+		content.duplicate().get(bytes);
+		return load(bytes, 0, bytes.length, configuration);
+	}
+	
+	private static boolean load(byte[] content, int start, int end, FileConfiguration configuration) {
+		final FileConfigurationOptions options = configuration.options();
+		final YamlParser parser = new YamlParser(content, start, end, options.pathSeparator(),
+			 options.parseComments());
+		
+		final Map<Object, Object> values;
+		try { values = parser.document(); }
+		catch (UnsupportedSyntax | IllegalArgumentException exception) {
+			// The standard loader reports the errors of the objects that cannot be deserialized.
+			return false;
+		}
+		
+		for (String key : configuration.getKeys(false)) configuration.set(key, null);
+		options.setHeader(parser.header);
+		options.setFooter(parser.footer);
+		fill(values, configuration);
+		for (Map.Entry<String, List<String>> entry : parser.comments.entrySet()) {
+			configuration.setComments(entry.getKey(), entry.getValue());
+		}
+		for (Map.Entry<String, List<String>> entry : parser.inlineComments.entrySet()) {
+			configuration.setInlineComments(entry.getKey(), entry.getValue());
+		}
+		return true;
+	}
+	
+	/**
+	 * Copies the values given into the section, every map is stored as a sub-section.
+	 */
+	private static void fill(Map<?, ?> values, ConfigurationSection section) {
+		for (Map.Entry<?, ?> entry : values.entrySet()) {
+			final String key = (String) entry.getKey();
+			final Object value = entry.getValue();
+			
+			if (value instanceof Map) fill((Map<?, ?>) value, section.createSection(key));
+			else section.set(key, value);
+		}
+	}
+	
+	private Map<Object, Object> document() {
+		validate();
+		skipToContent();
+		if (column == 0 && startsWith("---") && isSpaceOrBreak(position + 3)) {
+			position += 3;
+			skipSpaces();
+			if (!isBreak(position)) throw UNSUPPORTED;
+			
+			position = lineEnd(position) + 1;
+			skipToContent();
+		}
+		
+		// The empty documents aren't loaded as a map.
+		if (column == -1) throw UNSUPPORTED;
+		
+		final Map<Object, Object> root = mapping(column, "", true);
+		if (column != -1) throw UNSUPPORTED;
+		
+		if (!pending.isEmpty()) footer = new ArrayList<>(pending);
+		return root;
+	}
+	
+	/**
+	 * Rejects the characters that the YAML reader doesn't accept or handles as line breaks.
+	 */
+	private void validate() {
+		for (int index = position ; index < end ; index++) {
+			final int character = bytes[index] & 0xFF;
+			if (character >= 0x20 && character < 0x7F) continue;
+			
+			switch (character) {
+				case '\t':
+				case '\n': continue;
+				case '\r': {
+					if (index + 1 < end && bytes[index + 1] == '\n') continue;
+					throw UNSUPPORTED;
+				}
+				case 0xC2: {
+					// The C1 control characters, with the next line character.
+					if (index + 1 < end && (bytes[index + 1] & 0xFF) < 0xA0) throw UNSUPPORTED;
+					continue;
+				}
+				case 0xE2: {
+					// The line and paragraph separators.
+					if (index + 2 < end && (bytes[index + 1] & 0xFF) == 0x80
+						 && ((bytes[index + 2] & 0xFF) == 0xA8 || (bytes[index + 2] & 0xFF) == 0xA9)) {
+						throw UNSUPPORTED;
+					}
+					continue;
+				}
+				case 0xEF: {
+					// The byte order mark and the non-characters.
+					final int second = index + 2 < end ? bytes[index + 1] & 0xFF : 0;
+					final int third = index + 2 < end ? bytes[index + 2] & 0xFF : 0;
+					if ((second == 0xBB && third == 0xBF) || (second == 0xBF && third >= 0xBE)) {
+						throw UNSUPPORTED;
+					}
+					continue;
+				}
+				default: {
+					if (character < 0x80) throw UNSUPPORTED;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Parses the entries of a block mapping, from the first key at the current position.
+	 *
+	 * @param indent The column of the keys.
+	 * @param parent The path of the mapping, used only if is a section.
+	 * @param section If the mapping is a section, so their keys are texts and their comments are kept.
+	 */
+	private Map<Object, Object> mapping(int indent, String parent, boolean section) {
+		final Map<Object, Object> map = new LinkedHashMap<>();
+		do {
+			if (isSequenceEntry()) throw UNSUPPORTED;
+			
+			final Object key = section ? String.valueOf(key()) : key();
+			// The duplicated keys are rare enough to be left to the standard loader, like the empty keys that
+			// make ambiguous the paths of the sections.
+			if (map.containsKey(key) || (section && ((String) key).isEmpty())) throw UNSUPPORTED;
+			
+			if (section) {
+				// The YAML loader drops the blank lines above the keys with blanks.
+				final String text = (String) key;
+				if (pending.contains(null) && (text.indexOf(' ') != -1 || text.indexOf('\t') != -1)) {
+					throw UNSUPPORTED;
+				}
+				
+				final String path = parent.isEmpty() ? (String) key : parent + separator + key;
+				attachComments(path);
+				map.put(key, value(indent, path, true));
+			} else {
+				pending.clear();
+				map.put(key, value(indent, null, false));
+			}
+			
+			if (column > indent) throw UNSUPPORTED;
+		} while (column == indent);
+		
+		return map;
+	}
+	
+	/**
+	 * Parses the entries of a block sequence, from the first entry indicator at the current position.
+	 *
+	 * @param indent The column of the entry indicators.
+	 */
+	private List<Object> sequence(int indent) {
+		final List<Object> list = new ArrayList<>();
+		do {
+			// The comments of the sequence entries aren't kept.
+			pending.clear();
+			position++;
+			
+			final int start = position;
+			skipSpaces();
+			if (isBreak(position) || bytes[position] == '#') {
+				position = lineEnd(position) + 1;
+				skipToContent();
+				if (column > indent) list.add(block(column, null, false));
+				else {
+					// The comments after an empty entry are part of the entry for the YAML loader.
+					pending.clear();
+					list.add(null);
+				}
+			} else {
+				column = indent + 1 + position - start;
+				if (isSequenceEntry()) list.add(sequence(column));
+				else if (isKey()) list.add(deserialize(mapping(column, null, false)));
+				else list.add(scalar(indent, null));
+			}
+			
+			if (column > indent) throw UNSUPPORTED;
+		} while (column == indent && isSequenceEntry());
+		
+		return list;
+	}
+	
+	/**
+	 * Parses a mapping or sequence that starts at the current position.
+	 */
+	private Object block(int indent, String path, boolean section) {
+		if (isSequenceEntry()) return sequence(indent);
+		
+		return deserialize(mapping(indent, path, section));
+	}
+	
+	/**
+	 * Parses the value of a key, from the position after the key indicator.
+	 *
+	 * @param indent The column of the key.
+	 * @param path The path of the key if is at a section, else null.
+	 * @param section If the key is at a section.
+	 */
+	private Object value(int indent, String path, boolean section) {
+		skipSpaces();
+		if (isBreak(position) || bytes[position] == '#') {
+			lineTail(path);
+			position = lineEnd(position) + 1;
+			skipToContent();
+			
+			if (column > indent) return block(column, path, section);
+			// A sequence can be at the same column than the key.
+			if (column == indent && isSequenceEntry()) return sequence(column);
+			return null;
+		}
+		
+		return scalar(indent, path);
+	}
+	
+	/**
+	 * Parses a scalar, flow collection or literal block that starts at the current position, and moves to the
+	 * next line with content.
+	 *
+	 * @param indent The column of the parent key or sequence entry.
+	 * @param path The path of the value if is at a section, else null.
+	 */
+	private Object scalar(int indent, String path) {
+		final Object value;
+		switch (bytes[position]) {
+			case '\'': {
+				value = singleQuoted();
+				lineTail(path);
+				break;
+			}
+			case '"': {
+				value = doubleQuoted();
+				lineTail(path);
+				break;
+			}
+			case '[': {
+				// The comments after a flow collection aren't kept, like at YamlConfiguration.
+				value = flowSequence();
+				lineTail(null);
+				break;
+			}
+			case '{': {
+				position++;
+				skipSpaces();
+				if (position == end || bytes[position] != '}') throw UNSUPPORTED;
+				
+				position++;
+				value = new LinkedHashMap<>();
+				lineTail(null);
+				break;
+			}
+			case '|': return literal(indent, path);
+			default: value = plain(path);
+		}
+		
+		position = lineEnd(position) + 1;
+		skipToContent();
+		// A more indented line would be the continuation of a multi-line scalar.
+		if (column > indent) throw UNSUPPORTED;
+		return value;
+	}
+	
+	private Object key() {
+		final Object key;
+		final byte first = bytes[position];
+		if (first == '\'' || first == '"') {
+			// The YAML loader drops the comments of the quoted keys that start like an indicator.
+			final byte second = position + 1 < end ? bytes[position + 1] : 0;
+			if (second == '-' || second == '?') throw UNSUPPORTED;
+			
+			final String text = first == '\'' ? singleQuoted() : doubleQuoted();
+			final int textEnd = position;
+			skipSpaces();
+			if (position == end || bytes[position] != ':') throw UNSUPPORTED;
+			
+			// The YAML loader drops the comments of the keys separated by blanks from the value indicator.
+			if (parseComments && position > textEnd) throw UNSUPPORTED;
+			key = text;
+		} else {
+			if (!isPlainStart(position)) throw UNSUPPORTED;
+			
+			final int start = position;
+			int textEnd = position;
+			while (true) {
+				if (isBreak(position)) throw UNSUPPORTED;
+				
+				final byte character = bytes[position];
+				if (character == ':' && isSpaceOrBreak(position + 1)) break;
+				if (character == ':' && bytes[position + 1] == '\t') throw UNSUPPORTED;
+				if (character == '#' && isBlank(position - 1)) throw UNSUPPORTED;
+				
+				position++;
+				if (!isBlank(position - 1)) textEnd = position;
+			}
+			
+			if (textEnd - start > MAX_KEY_LENGTH) throw UNSUPPORTED;
+			if (parseComments && position > textEnd) throw UNSUPPORTED;
+			key = resolve(text(start, textEnd));
+		}
+		
+		position++;
+		if (!isSpaceOrBreak(position)) throw UNSUPPORTED;
+		return key;
+	}
+	
+	private Object plain(String path) {
+		if (!isPlainStart(position)) throw UNSUPPORTED;
+		
+		final int start = position;
+		int textEnd = position;
+		while (!isBreak(position)) {
+			final byte character = bytes[position];
+			if (character == '#' && isBlank(position - 1)) {
+				inlineComment(path);
+				break;
+			}
+			if (character == ':' && (isSpaceOrBreak(position + 1) || bytes[position + 1] == '\t')) {
+				throw UNSUPPORTED;
+			}
+			
+			position++;
+			if (!isBlank(position - 1)) textEnd = position;
+		}
+		
+		return resolve(text(start, textEnd));
+	}
+	
+	private String singleQuoted() {
+		StringBuilder builder = null;
+		int segment = ++position;
+		while (true) {
+			if (isBreak(position)) throw UNSUPPORTED;
+			
+			if (bytes[position] == '\'') {
+				if (position + 1 == end || bytes[position + 1] != '\'') break;
+				
+				if (builder == null) builder = new StringBuilder();
+				builder.append(text(segment, position + 1));
+				position += 2;
+				segment = position;
+				continue;
+			}
+			
+			position++;
+		}
+		
+		final String text = text(segment, position++);
+		return builder == null ? text : builder.append(text).toString();
+	}
+	
+	private String doubleQuoted() {
+		StringBuilder builder = null;
+		int segment = ++position;
+		while (true) {
+			if (isBreak(position)) throw UNSUPPORTED;
+			
+			final byte character = bytes[position];
+			if (character == '"') break;
+			if (character != '\\') {
+				position++;
+				continue;
+			}
+			
+			if (builder == null) builder = new StringBuilder();
+			builder.append(text(segment, position));
+			position++;
+			if (isBreak(position)) throw UNSUPPORTED;
+			
+			final byte escape = bytes[position++];
+			switch (escape) {
+				case '0': builder.append('\0'); break;
+				case 'a': builder.append('\u0007'); break;
+				case 'b': builder.append('\b'); break;
+				case 't': builder.append('\t'); break;
+				case 'n': builder.append('\n'); break;
+				case 'v': builder.append('\u000B'); break;
+				case 'f': builder.append('\f'); break;
+				case 'r': builder.append('\r'); break;
+				case 'e': builder.append('\u001B'); break;
+				case ' ': builder.append(' '); break;
+				case '"': builder.append('"'); break;
+				case '/': builder.append('/'); break;
+				case '\\': builder.append('\\'); break;
+				case 'N': builder.append('\u0085'); break;
+				case '_': builder.append(' '); break;
+				case 'L': builder.append(' '); break;
+				case 'P': builder.append(' '); break;
+				case 'x': builder.appendCodePoint(hex(2)); break;
+				case 'u': builder.appendCodePoint(hex(4)); break;
+				case 'U': builder.appendCodePoint(hex(8)); break;
+				default: throw UNSUPPORTED;
+			}
+			segment = position;
+		}
+		
+		final String text = text(segment, position++);
+		return builder == null ? text : builder.append(text).toString();
+	}
+	
+	private int hex(int digits) {
+		if (position + digits > end) throw UNSUPPORTED;
+		
+		int value = 0;
+		for (int i = 0 ; i < digits ; i++) {
+			final int digit = Character.digit(bytes[position++], 16);
+			if (digit == -1) throw UNSUPPORTED;
+			
+			value = (value << 4) | digit;
+		}
+		
+		if (!Character.isValidCodePoint(value)) throw UNSUPPORTED;
+		return value;
+	}
+	
+	/**
+	 * Parses a flow sequence of scalars written at a single line.
+	 */
+	private List<Object> flowSequence() {
+		final List<Object> list = new ArrayList<>();
+		position++;
+		skipSpaces();
+		if (position < end && bytes[position] == ']') {
+			position++;
+			return list;
+		}
+		
+		while (true) {
+			skipSpaces();
+			if (isBreak(position)) throw UNSUPPORTED;
+			
+			final byte first = bytes[position];
+			if (first == '\'') list.add(singleQuoted());
+			else if (first == '"') list.add(doubleQuoted());
+			else {
+				// The indicators are handled differently at the flow collections.
+				if (!isPlainStart(position) || first == '?' || first == ':') throw UNSUPPORTED;
+				
+				final int start = position;
+				int textEnd = position;
+				while (!isBreak(position)) {
+					final byte character = bytes[position];
+					if (character == ',' || character == ']') break;
+					if ("?[{}".indexOf(character) != -1) throw UNSUPPORTED;
+					if (character == '#' && isBlank(position - 1)) throw UNSUPPORTED;
+					if (character == ':' && (isSpaceOrBreak(position + 1) || bytes[position + 1] == '\t'
+						 || bytes[position + 1] == ',' || bytes[position + 1] == ']')) {
+						throw UNSUPPORTED;
+					}
+					
+					position++;
+					if (!isBlank(position - 1)) textEnd = position;
+				}
+				
+				list.add(resolve(text(start, textEnd)));
+			}
+			
+			skipSpaces();
+			if (isBreak(position)) throw UNSUPPORTED;
+			
+			final byte next = bytes[position++];
+			if (next == ']') return list;
+			if (next != ',') throw UNSUPPORTED;
+			
+			skipSpaces();
+			if (position < end && bytes[position] == ']') throw UNSUPPORTED;
+		}
+	}
+	
+	/**
+	 * Parses a literal block, from the block indicator to the next line with content.
+	 *
+	 * @param indent The column of the parent key or sequence entry.
+	 * @param path The path of the value if is at a section, else null.
+	 */
+	private String literal(int indent, String path) {
+		position++;
+		int chomping = CLIP;
+		if (position < end && bytes[position] == '-') {
+			chomping = STRIP;
+			position++;
+		} else if (position < end && bytes[position] == '+') {
+			chomping = KEEP;
+			position++;
+		}
+		
+		// The comments after the block indicator aren't kept, like at YamlConfiguration, and the YAML loader
+		// fails with them out of a mapping.
+		final int start = position;
+		skipSpaces();
+		if (!isBreak(position)) {
+			if (path == null || position == start || bytes[position] != '#') throw UNSUPPORTED;
+		}
+		position = lineEnd(position) + 1;
+		
+		final StringBuilder builder = new StringBuilder();
+		int contentIndent = -1;
+		int leadingSpaces = 0;
+		int breaks = 0;
+		boolean content = false;
+		boolean lastBreak = true;
+		while (position < end) {
+			int index = position;
+			while (index < end && bytes[index] == ' ') index++;
+			
+			final int spaces = index - position;
+			final boolean empty = isBreak(index);
+			if (contentIndent == -1) {
+				if (empty) {
+					leadingSpaces = Math.max(leadingSpaces, spaces);
+					breaks++;
+					lastBreak = lineEnd(index) < end;
+					position = lineEnd(index) + 1;
+					continue;
+				}
+				if (spaces <= indent) break;
+				
+				// The leading empty lines cannot be more indented than the content.
+				if (leadingSpaces > spaces) throw UNSUPPORTED;
+				contentIndent = spaces;
+			}
+			
+			if (empty && spaces <= contentIndent) {
+				breaks++;
+				lastBreak = lineEnd(index) < end;
+				position = lineEnd(index) + 1;
+				continue;
+			}
+			if (spaces < contentIndent) break;
+			
+			if (content) builder.append('\n');
+			for (int i = 0 ; i < breaks ; i++) builder.append('\n');
+			
+			final int lineEnd = lineEnd(index);
+			builder.append(text(position + contentIndent, trimBreak(lineEnd)));
+			content = true;
+			breaks = 0;
+			lastBreak = lineEnd < end;
+			position = lineEnd + 1;
+		}
+		
+		// The empty blocks are rare enough to be left to the standard loader.
+		if (!content) throw UNSUPPORTED;
+		
+		trailingComments();
+		
+		if (chomping == KEEP) {
+			if (!lastBreak) throw UNSUPPORTED;
+			for (int i = 0 ; i <= breaks ; i++) builder.append('\n');
+		} else if (chomping == CLIP && (breaks > 0 || lastBreak)) builder.append('\n');
+		
+		skipToContent();
+		if (column > indent) throw UNSUPPORTED;
+		return builder.toString();
+	}
+	
+	/**
+	 * Checks that no indented comment follows a literal block, the YAML loader joins them to the block as
+	 * inline comments with rules that aren't worth to replicate.
+	 */
+	private void trailingComments() {
+		int index = position;
+		while (index < end && bytes[index] == ' ') index++;
+		if (index > position && index < end && bytes[index] == '#') throw UNSUPPORTED;
+	}
+	
+	/**
+	 * Checks that only blanks and a comment follow at the current line.
+	 */
+	private void lineTail(String path) {
+		final int start = position;
+		skipSpaces();
+		if (isBreak(position)) return;
+		if (bytes[position] != '#' || (position == start && !isBlank(position - 1))) throw UNSUPPORTED;
+		
+		inlineComment(path);
+	}
+	
+	/**
+	 * Reads the comment that starts at the current position as inline comment of the path given.
+	 */
+	private void inlineComment(String path) {
+		inlineColumn = 0;
+		for (int index = position ; index > begin && bytes[index - 1] != '\n' ; index--) {
+			// Only the first byte of every UTF-8 character is counted.
+			if ((bytes[index - 1] & 0xC0) != 0x80) inlineColumn++;
+		}
+		
+		if (path != null && parseComments) {
+			inlineComments.put(path, Collections.singletonList(commentText(position + 1)));
+		}
+	}
+	
+	/**
+	 * Stores the pending comments as block comments of the path given. The comments of the first key until
+	 * the last blank line are the header of the file.
+	 */
+	private void attachComments(String path) {
+		if (!firstKey && pending.isEmpty()) return;
+		
+		List<String> lines = new ArrayList<>(pending);
+		pending.clear();
+		if (firstKey) {
+			firstKey = false;
+			
+			final int split = lines.lastIndexOf(null);
+			if (split != -1) {
+				final List<String> headerLines = new ArrayList<>(lines.subList(0, split));
+				while (!headerLines.isEmpty() && headerLines.get(0) == null) headerLines.remove(0);
+				header = headerLines;
+				lines = new ArrayList<>(lines.subList(split + 1, lines.size()));
+			}
+		}
+		
+		if (!lines.isEmpty()) comments.put(path, lines);
+	}
+	
+	/**
+	 * Moves from the start of a line to the first character of the next line with content, collecting the
+	 * blank and comment lines on the way. Sets the column of that character, or -1 at the end of the content.
+	 */
+	private void skipToContent() {
+		while (position < end) {
+			int index = position;
+			while (index < end && bytes[index] == ' ') index++;
+			
+			// The tabs cannot be used as indentation, neither at the blank and comment lines.
+			if (index < end && bytes[index] == '\t') throw UNSUPPORTED;
+			
+			if (isBreak(index)) {
+				if (parseComments) pending.add(null);
+			} else if (bytes[index] == '#') {
+				// The YAML loader continues the inline comment with the lines aligned to it.
+				if (index - position == inlineColumn) throw UNSUPPORTED;
+				
+				inlineColumn = -1;
+				if (parseComments) pending.add(commentText(index + 1));
+			} else {
+				inlineColumn = -1;
+				column = index - position;
+				position = index;
+				return;
+			}
+			
+			position = lineEnd(index) + 1;
+		}
+		
+		column = -1;
+	}
+	
+	private String commentText(int start) {
+		final int textEnd = trimBreak(lineEnd(start));
+		final int textStart = start < textEnd && bytes[start] == ' ' ? start + 1 : start;
+		return text(textStart, textEnd);
+	}
+	
+	/**
+	 * Returns if the line from the current position is an implicit key, followed by the value indicator.
+	 */
+	private boolean isKey() {
+		int index = position;
+		final byte first = bytes[index];
+		if (first == '\'' || first == '"') {
+			index++;
+			while (true) {
+				if (isBreak(index)) return false;
+				
+				final byte character = bytes[index++];
+				if (character == first) {
+					if (first == '\'' && index < end && bytes[index] == '\'') index++;
+					else break;
+				} else if (character == '\\' && first == '"' && !isBreak(index)) index++;
+			}
+			
+			while (index < end && bytes[index] == ' ') index++;
+			return index < end && bytes[index] == ':' && isSpaceOrBreak(index + 1);
+		}
+		
+		if (first == '[' || first == '{') return false;
+		
+		for (; !isBreak(index) ; index++) {
+			final byte character = bytes[index];
+			if (character == ':' && isSpaceOrBreak(index + 1)) return true;
+			if (character == '#' && index > position && isBlank(index - 1)) return false;
+		}
+		
+		return false;
+	}
+	
+	private boolean isSequenceEntry() {
+		return bytes[position] == '-' && isSpaceOrBreak(position + 1);
+	}
+	
+	private boolean isPlainStart(int index) {
+		final byte character = bytes[index];
+		if (",[]{}#&*!|>'\"%@` \t".indexOf(character) != -1) return false;
+		
+		return (character != '-' && character != '?' && character != ':')
+			 || !(isSpaceOrBreak(index + 1) || bytes[index + 1] == '\t');
+	}
+	
+	private boolean startsWith(String text) {
+		if (position + text.length() > end) return false;
+		
+		for (int i = 0 ; i < text.length() ; i++) {
+			if (bytes[position + i] != text.charAt(i)) return false;
+		}
+		
+		return true;
+	}
+	
+	private void skipSpaces() {
+		while (position < end && bytes[position] == ' ') position++;
+	}
+	
+	private boolean isBreak(int index) {
+		return index >= end || bytes[index] == '\n' || bytes[index] == '\r';
+	}
+	
+	private boolean isSpaceOrBreak(int index) {
+		return isBreak(index) || bytes[index] == ' ';
+	}
+	
+	private boolean isBlank(int index) {
+		return bytes[index] == ' ' || bytes[index] == '\t';
+	}
+	
+	private int lineEnd(int from) {
+		int index = from;
+		while (index < end && bytes[index] != '\n') index++;
+		return index;
+	}
+	
+	private int trimBreak(int lineEnd) {
+		return lineEnd > 0 && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+	}
+	
+	private String text(int start, int end) {
+		return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+	}
+	
+	private static Object resolve(String text) {
+		try { return YamlScalars.resolve(text); }
+		catch (IllegalArgumentException exception) {
+			throw UNSUPPORTED;
+		}
+	}
+	
+	/**
+	 * Returns the object serialized at the map given, or the map itself if isn't a serialized object.
+	 */
+	private static Object deserialize(Map<Object, Object> map) {
+		if (!map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)) return map;
+		
+		final Map<String, Object> typed = new LinkedHashMap<>(map.size());
+		for (Map.Entry<Object, Object> entry : map.entrySet()) {
+			typed.put(entry.getKey().toString(), entry.getValue());
+		}
+		return ConfigurationSerialization.deserializeObject(typed);
+	}
+	
+	/**
+	 * Signals that the content has syntax out of the supported subset, without stack trace to fail fast.
+	 */
+	private static final class UnsupportedSyntax extends RuntimeException {
+		private UnsupportedSyntax() {
+			super(null, null, false, false);
+		}
+	}
+}
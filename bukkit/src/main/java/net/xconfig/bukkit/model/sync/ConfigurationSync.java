@@ -0,0 +1,270 @@
+package net.xconfig.bukkit.model.sync;
+
+import net.xconfig.bukkit.model.config.ConfigurationManager;
+import net.xconfig.bukkit.model.objects.YamlFile;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.bukkit.Bukkit.getLogger;
+
+/**
+ * Synchronizes the writes and reloads of the files of a ConfigurationManager with other servers, sharing
+ * only the paths changed through a {@link SyncTransport}.
+ * <p>
+ * Every file has a version number that is greater than every version published or received of the file, and
+ * every path remembers the version and the origin of its last change. The changes are resolved path by path:
+ * a received change is applied only if its version is greater than the version of the last change of the
+ * path, or if both versions are equal and its origin has the greater identifier. So the servers keep the same
+ * value of every path although they receive the deltas in different order, and the changes of a delta that
+ * are older than the current changes of their paths are skipped without discard the rest of the delta. The
+ * paths are compared as are written, a change of a section doesn't conflict with a change of a path inside
+ * of the section.
+ * <p>
+ * The received changes are applied through {@link ConfigurationManager#update(String, Map)}, so the values
+ * cached from the file are updated too.
+ * <p>
+ * The read-only files aren't synchronized, because the received changes cannot be applied over their content.
+ * Their writes are rejected, their reloads aren't published and the deltas received for them are logged and
+ * skipped.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class ConfigurationSync {
+	private final ConfigurationManager manager;
+	private final SyncTransport transport;
+	private final String origin;
+	private final Executor executor;
+	private final Map<String, Clock> clocks;
+	
+	/**
+	 * Creates a synchronizer that applies the received deltas with the executor given.
+	 * <p>
+	 * The configurations aren't thread-safe, so the executor must run the tasks at the thread where the files
+	 * are read and written, for example, at the main thread of the server with
+	 * {@code task -> Bukkit.getScheduler().runTask(plugin, task)}.
+	 *
+	 * @param manager The ConfigurationManager of the files.
+	 * @param transport The transport for the deltas.
+	 * @param origin Unique identifier of this server.
+	 * @param executor Executor where the received deltas will be applied.
+	 */
+	public ConfigurationSync(ConfigurationManager manager, SyncTransport transport, String origin, Executor executor) {
+		this.manager = checkNotNull(manager, "The ConfigurationManager object cannot be null.");
+		this.transport = checkNotNull(transport, "The SyncTransport object cannot be null.");
+		this.origin = checkNotNull(origin, "The origin cannot be null.");
+		this.executor = checkNotNull(executor, "The executor cannot be null.");
+		checkArgument(!origin.isEmpty(), "The origin is empty.");
+		
+		clocks = new HashMap<>();
+		transport.subscribe(this::receive);
+	}
+	
+	/**
+	 * Sets the value at the path of the file and publish the change to the other servers.
+	 *
+	 * @param fileName Name of file.
+	 * @param path Path for the value.
+	 * @param value Value to set, or null to remove the path.
+	 * @throws IllegalArgumentException If the value cannot be synchronized, see
+	 * {@link ConfigurationDelta#supports(Object)}.
+	 * @throws UnsupportedOperationException If the file is read-only.
+	 */
+	public void write(String fileName, String path, Object value) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkArgument(!path.isEmpty(), "The path for the value is empty.");
+		checkArgument(ConfigurationDelta.supports(value), "Cannot synchronize a value of type "
+			 + (value == null ? null : value.getClass().getName()) + ".");
+		
+		final FileConfiguration configuration = manager.get(fileName);
+		if (configuration == null) return;
+		
+		final YamlFile file = manager.file(fileName);
+		if (file.readOnly()) throw new UnsupportedOperationException("The file '" + fileName + "' is read-only.");
+		
+		final Map<String, Object> changes = Collections.singletonMap(path, value);
+		final byte[] payload = stamp(fileName, changes);
+		manager.update(fileName, changes);
+		transport.publish(payload);
+	}
+	
+	/**
+	 * Reloads the file from the disk and publish to the other servers the paths that changed.
+	 * <p>
+	 * The paths whose new values cannot be synchronized are logged and aren't published. The read-only files
+	 * are reloaded without publish their changes.
+	 *
+	 * @param fileName Name of file.
+	 */
+	public void reload(String fileName) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		
+		final YamlFile file = manager.file(fileName);
+		if (file != null && file.readOnly()) {
+			getLogger().severe("Cannot synchronize the file " + fileName + " because is read-only.");
+			manager.reload(fileName);
+			return;
+		}
+		
+		final FileConfiguration configuration = manager.get(fileName);
+		if (configuration == null) return;
+		
+		final Map<String, Object> before = snapshot(configuration);
+		manager.reload(fileName);
+		final Map<String, Object> after = snapshot(manager.get(fileName));
+		
+		final Map<String, Object> changes = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> entry : after.entrySet()) {
+			final Object value = entry.getValue();
+			if (Objects.equals(before.get(entry.getKey()), value)) continue;
+			
+			if (ConfigurationDelta.supports(value)) changes.put(entry.getKey(), value);
+			else {
+				getLogger().severe("Cannot synchronize the path '" + entry.getKey() + "' of the file " + fileName
+					 + " because its value of type " + value.getClass().getName() + " isn't supported.");
+			}
+		}
+		
+		for (String path : before.keySet()) {
+			if (!after.containsKey(path)) changes.put(path, null);
+		}
+		
+		if (!changes.isEmpty()) transport.publish(stamp(fileName, changes));
+	}
+	
+	/**
+	 * Returns the current version of the file.
+	 *
+	 * @param fileName Name of file.
+	 * @return The version, or 0 if the file never was synchronized.
+	 */
+	public synchronized long version(String fileName) {
+		final Clock clock = clocks.get(fileName);
+		return clock == null ? 0L : clock.version;
+	}
+	
+	/**
+	 * Stops receiving deltas and closes the transport.
+	 */
+	public void close() {
+		transport.close();
+		synchronized (this) {
+			clocks.clear();
+		}
+	}
+	
+	/**
+	 * Encodes the local changes with the next version of the file, and records the version at their paths. The
+	 * delta is encoded before the version advances, so a delta that cannot be encoded doesn't use a version.
+	 */
+	private synchronized byte[] stamp(String fileName, Map<String, Object> changes) {
+		final Clock clock = clocks.computeIfAbsent(fileName, name -> new Clock());
+		final long version = clock.version + 1L;
+		final byte[] payload = new ConfigurationDelta(origin, fileName, version, changes).encode();
+		
+		clock.version = version;
+		final Stamp stamp = new Stamp(version, origin);
+		for (String path : changes.keySet()) clock.paths.put(path, stamp);
+		
+		return payload;
+	}
+	
+	private void receive(byte[] payload) {
+		final ConfigurationDelta delta;
+		try { delta = ConfigurationDelta.decode(payload); }
+		catch (IOException exception) {
+			getLogger().severe("Cannot decode a configuration delta.");
+			exception.printStackTrace();
+			return;
+		}
+		
+		if (delta.origin().equals(origin)) return;
+		
+		executor.execute(() -> apply(delta));
+	}
+	
+	private void apply(ConfigurationDelta delta) {
+		final String fileName = delta.fileName();
+		
+		final YamlFile file = manager.file(fileName);
+		if (file == null || file.get() == null) {
+			getLogger().severe("Cannot apply the changes of the file " + fileName + " because isn't loaded.");
+			return;
+		}
+		
+		// The changes aren't accepted, so the stamps of their paths don't advance.
+		if (file.readOnly()) {
+			getLogger().severe("Cannot apply the changes of the file " + fileName + " because is read-only.");
+			return;
+		}
+		
+		final Map<String, Object> changes = accept(delta);
+		if (!changes.isEmpty()) manager.update(fileName, changes);
+	}
+	
+	/**
+	 * Returns the changes of the delta that are newer than the last changes of their paths, and records the
+	 * version of the delta at those paths.
+	 */
+	private synchronized Map<String, Object> accept(ConfigurationDelta delta) {
+		final Clock clock = clocks.computeIfAbsent(delta.fileName(), name -> new Clock());
+		clock.version = Math.max(clock.version, delta.version());
+		
+		final Stamp stamp = new Stamp(delta.version(), delta.origin());
+		final Map<String, Object> accepted = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> change : delta.changes().entrySet()) {
+			final Stamp current = clock.paths.get(change.getKey());
+			if (current != null && !stamp.newer(current)) continue;
+			
+			clock.paths.put(change.getKey(), stamp);
+			accepted.put(change.getKey(), change.getValue());
+		}
+		
+		return accepted;
+	}
+	
+	private static Map<String, Object> snapshot(FileConfiguration configuration) {
+		final Map<String, Object> values = new LinkedHashMap<>();
+		if (configuration == null) return values;
+		
+		for (Map.Entry<String, Object> entry : configuration.getValues(true).entrySet()) {
+			if (!(entry.getValue() instanceof ConfigurationSection)) values.put(entry.getKey(), entry.getValue());
+		}
+		
+		return values;
+	}
+	
+	/**
+	 * Version of a file and the stamps of the last changes of its paths.
+	 */
+	private static final class Clock {
+		private final Map<String, Stamp> paths = new HashMap<>();
+		
+		private long version;
+	}
+	
+	private static final class Stamp {
+		private final long version;
+		private final String origin;
+		
+		private Stamp(long version, String origin) {
+			this.version = version;
+			this.origin = origin;
+		}
+		
+		private boolean newer(Stamp other) {
+			return version > other.version || (version == other.version && origin.compareTo(other.origin) > 0);
+		}
+	}
+}
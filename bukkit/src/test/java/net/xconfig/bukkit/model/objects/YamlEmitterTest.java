@@ -0,0 +1,267 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the content written by the {@link YamlEmitter} is read back by YamlConfiguration with the same
+ * values that were written, and with the same comments, header and footer than the content written by the
+ * standard dumper.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+class YamlEmitterTest {
+	/**
+	 * Texts that the loader can read as other values, or that need quotes or escapes.
+	 */
+	private static final String[] TEXTS = {
+		"text", "yes", "no", "on", "off", "null", "~", "true", "1.5", "0x1F", "1e3", "2020-01-01", "012", ".inf",
+		"-.5", "1_000", "1:20", "#", "a #b", "key: value", "key:", "'", "\"", "\\", "-", "- item", "?", "[", "]",
+		"{", "}", "&anchor", "*alias", "!tag", "|", ">", "%", "@", "`", "---", "...", " padded", "padded ", "",
+		"tab\there", "\u00e1\u00e9\u00ed", "\u0085", "\u2028", "\ufeff", "\u0000", "\u001b[0m",
+		"\ud83d\ude00", "&aColored &lText"
+	};
+	
+	private final YamlEmitter emitter = new YamlEmitter();
+	
+	@Test
+	void writesScalars() throws InvalidConfigurationException {
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.set("text", "Hello world");
+		configuration.set("int", 42);
+		configuration.set("long", 9_000_000_000L);
+		configuration.set("negative", -7);
+		configuration.set("double", 0.1);
+		configuration.set("float", 2.5F);
+		configuration.set("nan", Double.NaN);
+		configuration.set("infinity", Double.NEGATIVE_INFINITY);
+		configuration.set("boolean", true);
+		configuration.set("empty-list", Collections.emptyList());
+		configuration.createSection("empty-section");
+		
+		assertRoundTrip(configuration);
+	}
+	
+	@Test
+	void quotesTextsReadAsOtherValues() throws InvalidConfigurationException {
+		final Map<String, Object> keys = new LinkedHashMap<>();
+		final YamlConfiguration configuration = new YamlConfiguration();
+		for (int i = 0 ; i < TEXTS.length ; i++) {
+			configuration.set("text-" + i, TEXTS[i]);
+			if (!TEXTS[i].isEmpty()) {
+				configuration.set("key-" + i, Collections.singletonMap(key(TEXTS[i]), TEXTS[i]));
+			}
+			keys.put(TEXTS[i], TEXTS[i]);
+		}
+		configuration.set("texts", Arrays.asList(TEXTS));
+		configuration.set("keys", Collections.singletonList(keys));
+		
+		assertRoundTrip(configuration);
+		final YamlConfiguration loaded = load(emitter.emit(configuration));
+		for (int i = 0 ; i < TEXTS.length ; i++) assertEquals(TEXTS[i], loaded.get("text-" + i));
+	}
+	
+	@Test
+	void escapesUnpairedSurrogates() throws InvalidConfigurationException {
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.set("high", "a\ud800b");
+		configuration.set("low", "\udc00");
+		
+		final YamlConfiguration loaded = load(emitter.emit(configuration));
+		assertEquals("a\ud800b", loaded.get("high"));
+		assertEquals("\udc00", loaded.get("low"));
+	}
+	
+	@Test
+	void writesSectionsAndLists() throws InvalidConfigurationException {
+		final Map<String, Object> entry = new LinkedHashMap<>();
+		entry.put("name", "first");
+		entry.put("values", Arrays.asList(1, 2, 3));
+		entry.put("nested", Collections.singletonMap("key", Arrays.asList("a", "b")));
+		
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.set("settings.prefix", "&8[&bXConfig&8]");
+		configuration.set("settings.nested.deep.value", 1);
+		configuration.set("entries", Arrays.asList(entry, Collections.singletonMap("name", "second")));
+		configuration.set("matrix", Arrays.asList(Arrays.asList(1, 2), Collections.emptyList(), "text"));
+		configuration.set("map", entry);
+		
+		assertRoundTrip(configuration);
+	}
+	
+	@Test
+	void writesMultiLineTextsAsLiteralBlocks() throws InvalidConfigurationException {
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.set("lines", "first line\n  indented line\n\nlast line");
+		configuration.set("trailing", "line\n");
+		configuration.set("trailings", "line\n\n\n");
+		configuration.set("leading", "\nline");
+		configuration.set("list", Arrays.asList("a\nb", "c"));
+		
+		final String content = emitter.emit(configuration);
+		assertTrue(content.contains("lines: |-\n"));
+		assertRoundTrip(configuration);
+	}
+	
+	@Test
+	void keepsHeaderAndComments() throws InvalidConfigurationException {
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.options().parseComments(true);
+		configuration.options().setHeader(Arrays.asList("The header.", "Second line."));
+		configuration.options().setFooter(Collections.singletonList("The footer."));
+		configuration.set("settings.prefix", "&8[&bXConfig&8]");
+		configuration.setComments("settings", Collections.singletonList("The settings."));
+		configuration.setComments("settings.prefix", Arrays.asList("The prefix", "of the messages."));
+		configuration.setInlineComments("settings.prefix", Collections.singletonList("inline"));
+		
+		final YamlConfiguration expected = load(configuration.saveToString());
+		final YamlConfiguration actual = load(emitter.emit(configuration));
+		assertEquals(expected.options().getHeader(), actual.options().getHeader());
+		assertEquals(expected.options().getFooter(), actual.options().getFooter());
+		for (String path : expected.getKeys(true)) {
+			assertEquals(expected.getComments(path), actual.getComments(path), path);
+			assertEquals(expected.getInlineComments(path), actual.getInlineComments(path), path);
+		}
+		assertEquals(values(expected), values(actual));
+	}
+	
+	@Test
+	void rejectsUnsupportedValues() {
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.set("value", new Object());
+		assertThrows(IllegalArgumentException.class, () -> emitter.emit(configuration));
+		
+		final YamlConfiguration keys = new YamlConfiguration();
+		keys.set("map", Collections.singletonMap(Collections.singletonList("key"), "value"));
+		assertThrows(IllegalArgumentException.class, () -> emitter.emit(keys));
+	}
+	
+	@Test
+	void readsBackRandomContent() throws InvalidConfigurationException {
+		final Random random = new Random(1_717L);
+		for (int i = 0 ; i < 500 ; i++) {
+			final YamlConfiguration configuration = new YamlConfiguration();
+			fill(configuration, random, 0);
+			assertRoundTrip(configuration);
+		}
+	}
+	
+	private void assertRoundTrip(YamlConfiguration configuration) throws InvalidConfigurationException {
+		final String content = emitter.emit(configuration);
+		assertEquals(values(configuration), values(load(content)), content);
+	}
+	
+	private static YamlConfiguration load(String content) throws InvalidConfigurationException {
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.loadFromString(content);
+		return configuration;
+	}
+	
+	/**
+	 * Returns the values of the configuration by their paths, with the maps as sections and the numbers as are
+	 * read back by the loader, so the values written can be compared with the values read.
+	 */
+	private static Map<String, Object> values(YamlConfiguration configuration) {
+		final Map<String, Object> values = new LinkedHashMap<>();
+		values(configuration.getValues(false), null, values);
+		return values;
+	}
+	
+	private static void values(Map<?, ?> section, String prefix, Map<String, Object> values) {
+		for (Map.Entry<?, ?> entry : section.entrySet()) {
+			final String path = prefix == null ? entry.getKey().toString() : prefix + '.' + entry.getKey();
+			
+			Object value = entry.getValue();
+			if (value instanceof ConfigurationSection) value = ((ConfigurationSection) value).getValues(false);
+			if (!(value instanceof Map)) values.put(path, normalize(value));
+			else if (((Map<?, ?>) value).isEmpty()) values.put(path, "{}");
+			else values((Map<?, ?>) value, path, values);
+		}
+	}
+	
+	private static Object normalize(Object value) {
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).longValue();
+		}
+		if (value instanceof Float) return Double.valueOf(value.toString());
+		if (value instanceof List) {
+			final List<Object> list = new ArrayList<>();
+			for (Object element : (List<?>) value) list.add(normalize(element));
+			return list;
+		}
+		if (value instanceof Map) {
+			final Map<Object, Object> map = new LinkedHashMap<>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				map.put(entry.getKey(), normalize(entry.getValue()));
+			}
+			return map;
+		}
+		
+		return value;
+	}
+	
+	private static void fill(ConfigurationSection section, Random random, int depth) {
+		final int keys = 1 + random.nextInt(5);
+		for (int i = 0 ; i < keys ; i++) {
+			final String key = key(text(random)) + i;
+			if (depth < 3 && random.nextInt(4) == 0) fill(section.createSection(key), random, depth + 1);
+			else section.set(key, value(random, depth));
+		}
+	}
+	
+	private static Object value(Random random, int depth) {
+		switch (random.nextInt(depth < 3 ? 9 : 7)) {
+			case 0: return random.nextInt();
+			case 1: return random.nextLong();
+			case 2: return random.nextDouble() * 1000.0;
+			case 3: return random.nextBoolean();
+			case 4: return text(random) + "\n" + text(random);
+			case 5:
+			case 6: return text(random);
+			case 7: {
+				final List<Object> list = new ArrayList<>();
+				for (int i = random.nextInt(4) ; i > 0 ; i--) list.add(value(random, depth + 1));
+				return list;
+			}
+			default: {
+				final Map<String, Object> map = new LinkedHashMap<>();
+				for (int i = random.nextInt(4) ; i > 0 ; i--) {
+					map.put(key(text(random)) + i, value(random, depth + 1));
+				}
+				return map;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the text without path separators, so it can be used as key of a section.
+	 */
+	private static String key(String text) {
+		return text.replace('.', '_');
+	}
+	
+	/**
+	 * Returns one to three texts of the {@link #TEXTS} joined.
+	 */
+	private static String text(Random random) {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 1 + random.nextInt(3) ; i > 0 ; i--) builder.append(TEXTS[random.nextInt(TEXTS.length)]);
+		return builder.toString();
+	}
+}
@@ -0,0 +1,190 @@
+package net.xconfig.bukkit.model.objects;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the {@link YamlParser} loads the same values, comments, header and footer than YamlConfiguration,
+ * and that gives up with the syntax that isn't supported without modify the configuration.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+class YamlParserTest {
+	/**
+	 * Documents written with the syntax supported by the parser.
+	 */
+	private static final String[] SUPPORTED = {
+		"text: Hello world\nint: 42\nlong: 9000000000\nnegative: -7\ndouble: 0.5\nexponent: 1.0e+3\n"
+			 + "boolean: true\nempty: ''\nsection:\n  null-value: null\n",
+		"a: yes\nb: no\nc: on\nd: off\noctal: 012\nhex: 0x1F\nbinary: 0b101\nunderscores: 1_000\n"
+			 + "infinity: .inf\nnan: .NaN\nsection:\n  tilde: ~\n",
+		"settings:\n  prefix: '&8[&bXConfig&8]'\n  nested:\n    deep:\n      value: 1\n  empty: {}\nlast: 2\n",
+		"list:\n- a\n- 'b'\n- \"c\"\n- 1\nindented:\n  - x\n  - y\nmatrix:\n- - 1\n  - 2\n- []\n",
+		"entries:\n- name: first\n  values:\n  - 1\n  - 2\n- name: second\n  nested:\n    key: value\n",
+		"flow: [a, 'b c', \"d\", 1, true]\nempty-list: []\nempty-map: {}\n",
+		"lines: |\n  first line\n    indented line\n\n  last line\nstrip: |-\n  text\nkeep: |+\n  text\n\n"
+			 + "after: value\n",
+		"single: 'it''s # not a comment'\ndouble: \"tab\\tquote\\\" unicode \\u00e1 \\x41 \\\\\"\n"
+			 + "colon: a:b\nhash: a#b\nspaces: '  padded  '\n",
+		"# The header.\n\n# The comment of the key.\nkey: value # The inline comment.\n"
+			 + "section:\n  # Comment inside.\n  child: 1\n# The footer.\n",
+		"---\nkey: value\n",
+		"'quoted key': 1\n\"double key\": 2\n'1': number\n'true': boolean\nno: key\n2: key\n"
+	};
+	
+	/**
+	 * Documents with syntax that isn't supported by the parser.
+	 */
+	private static final String[] UNSUPPORTED = {
+		"a: &anchor 1\nb: *anchor\n",
+		"a: !!str 1\n",
+		"a: >\n  folded\n  text\n",
+		"a: 2020-01-01\n",
+		"a: 1:20\n",
+		"a: first line\n  second line\n",
+		"a:\n\tb: 1\n",
+		"",
+		"# Only a comment.\n",
+		"a: 1\na: 2\n",
+		"- a\n- b\n"
+	};
+	
+	@Test
+	void loadsTheSameContentThanYamlConfiguration() throws InvalidConfigurationException {
+		for (String content : SUPPORTED) {
+			final YamlConfiguration expected = new YamlConfiguration();
+			expected.loadFromString(content);
+			
+			final YamlConfiguration parsed = new YamlConfiguration();
+			assertTrue(YamlParser.load(content.getBytes(StandardCharsets.UTF_8), parsed), content);
+			assertSameContent(expected, parsed, content);
+		}
+	}
+	
+	@Test
+	void givesUpWithUnsupportedSyntax() {
+		for (String content : UNSUPPORTED) {
+			final YamlConfiguration configuration = new YamlConfiguration();
+			configuration.set("kept", 1);
+			
+			assertFalse(YamlParser.load(content.getBytes(StandardCharsets.UTF_8), configuration), content);
+			assertEquals(1, configuration.get("kept"), content);
+		}
+	}
+	
+	@Test
+	void loadsTheRemainingBytesOfBuffers() {
+		final byte[] content = SUPPORTED[4].getBytes(StandardCharsets.UTF_8);
+		final byte[] padded = new byte[content.length + 8];
+		System.arraycopy(content, 0, padded, 4, content.length);
+		
+		final ByteBuffer heap = ByteBuffer.wrap(padded, 4, content.length);
+		final ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+		direct.put(content).flip();
+		
+		final YamlConfiguration expected = new YamlConfiguration();
+		final YamlConfiguration fromHeap = new YamlConfiguration();
+		final YamlConfiguration fromDirect = new YamlConfiguration();
+		assertTrue(YamlParser.load(content, expected));
+		assertTrue(YamlParser.load(heap, fromHeap));
+		assertTrue(YamlParser.load(direct, fromDirect));
+		assertEquals(values(expected), values(fromHeap));
+		assertEquals(values(expected), values(fromDirect));
+		assertEquals(4, heap.position());
+		assertEquals(0, direct.position());
+	}
+	
+	@Test
+	void loadsRandomContentLikeYamlConfiguration() throws InvalidConfigurationException {
+		final Random random = new Random(3_141L);
+		final YamlEmitter emitter = new YamlEmitter();
+		int loaded = 0;
+		for (int i = 0 ; i < 500 ; i++) {
+			final YamlConfiguration configuration = new YamlConfiguration();
+			fill(configuration, random, 0);
+			
+			final String content = emitter.emit(configuration);
+			final YamlConfiguration parsed = new YamlConfiguration();
+			if (!YamlParser.load(content.getBytes(StandardCharsets.UTF_8), parsed)) continue;
+			
+			loaded++;
+			final YamlConfiguration expected = new YamlConfiguration();
+			expected.loadFromString(content);
+			assertSameContent(expected, parsed, content);
+		}
+		
+		assertTrue(loaded > 250, "Only " + loaded + " of 500 documents were loaded.");
+	}
+	
+	private static void assertSameContent(YamlConfiguration expected, YamlConfiguration actual, String content) {
+		assertEquals(values(expected), values(actual), content);
+		assertEquals(expected.options().getHeader(), actual.options().getHeader(), content);
+		assertEquals(expected.options().getFooter(), actual.options().getFooter(), content);
+		for (String path : expected.getKeys(true)) {
+			assertEquals(expected.getComments(path), actual.getComments(path), content);
+			assertEquals(expected.getInlineComments(path), actual.getInlineComments(path), content);
+		}
+	}
+	
+	/**
+	 * Returns the values of the configuration by their paths, without the sections.
+	 */
+	private static Map<String, Object> values(YamlConfiguration configuration) {
+		final Map<String, Object> values = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> entry : configuration.getValues(true).entrySet()) {
+			final Object value = entry.getValue();
+			if (value instanceof ConfigurationSection) {
+				if (((ConfigurationSection) value).getKeys(false).isEmpty()) values.put(entry.getKey(), "{}");
+			} else values.put(entry.getKey(), value);
+		}
+		
+		return values;
+	}
+	
+	private static void fill(ConfigurationSection section, Random random, int depth) {
+		final int keys = 1 + random.nextInt(5);
+		for (int i = 0 ; i < keys ; i++) {
+			final String key = "key-" + random.nextInt(1000) + '-' + i;
+			if (depth < 3 && random.nextInt(4) == 0) fill(section.createSection(key), random, depth + 1);
+			else section.set(key, value(random, depth));
+		}
+	}
+	
+	private static Object value(Random random, int depth) {
+		switch (random.nextInt(depth < 3 ? 9 : 7)) {
+			case 0: return random.nextInt();
+			case 1: return random.nextLong();
+			case 2: return random.nextDouble() * 1000.0;
+			case 3: return random.nextBoolean();
+			case 4: return "&7Line " + random.nextInt(100) + "\n&fNext line";
+			case 5: return "&aText with spaces " + random.nextInt(100);
+			case 6: return random.nextBoolean() ? "yes" : "'quoted' #" + random.nextInt(100);
+			case 7: {
+				final List<Object> list = new ArrayList<>();
+				for (int i = random.nextInt(4) ; i > 0 ; i--) list.add(value(random, depth + 1));
+				return list;
+			}
+			default: {
+				final Map<String, Object> map = new LinkedHashMap<>();
+				for (int i = random.nextInt(4) ; i > 0 ; i--) map.put("entry-" + i, value(random, depth + 1));
+				return map;
+			}
+		}
+	}
+}
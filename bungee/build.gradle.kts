@@ -13,6 +13,9 @@ repositories {
 
 dependencies {
 	compileOnly("net.md-5:bungeecord-api:1.19-R0.1-SNAPSHOT")
+	
+	testImplementation("net.md-5:bungeecord-api:1.19-R0.1-SNAPSHOT")
+	testImplementation("org.junit.jupiter:junit-jupiter:5.9.1")
 }
 
 publishing {
@@ -36,4 +39,8 @@ tasks {
 	clean {
 		delete("$rootDir/bin/")
 	}
+	
+	test {
+		useJUnitPlatform()
+	}
 }
\ No newline at end of file
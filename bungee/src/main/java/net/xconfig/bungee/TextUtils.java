@@ -2,6 +2,7 @@ package net.xconfig.bungee;
 
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.ProxyServer;
+import net.xconfig.bungee.model.metrics.FlightEvents;
 
 import java.util.List;
 import java.util.regex.Matcher;
@@ -17,7 +18,6 @@ import java.util.stream.Collectors;
  */
 public final class TextUtils {
 	private static final Pattern HEX_PATTERN = Pattern.compile("#[a-fA-F0-9]{6}}");
-	private static final StringBuilder BUILDER = new StringBuilder();
 	@SuppressWarnings("deprecation")
 	private static final int PROTOCOL = ProxyServer.getInstance().getProtocolVersion();
 	
@@ -67,8 +67,17 @@ public final class TextUtils {
 	 * @return Text colorized.
 	 */
 	public static String colorize(String text) {
+		final Object event = FlightEvents.beginColorize();
+		try { return colorizeText(text); }
+		finally {
+			FlightEvents.commitColorize(event, text.length());
+		}
+	}
+	
+	private static String colorizeText(String text) {
 		if (PROTOCOL < 735) return ChatColor.translateAlternateColorCodes('&', text);
 		
+		final StringBuilder builder = new StringBuilder(text.length());
 		final String[] parts = text.split(String.format("((?<=%1$s)|(?=%1$s))", "&"));
 		Matcher matcher = HEX_PATTERN.matcher(text);
 		
@@ -81,15 +90,15 @@ public final class TextUtils {
 				matcher = HEX_PATTERN.matcher(text);
 			}
 			
-			BUILDER.append(text);
-			return BUILDER.toString();
+			builder.append(text);
+			return builder.toString();
 		}
 		
 		for (int i = 0 ; i < parts.length ; i++) {
 			if (parts[i].equals("&")) {
 				i++;
-				if (parts[i].charAt(0) == '#') BUILDER.append(ChatColor.of(parts[i].substring(0, 7)));
-				else BUILDER.append(ChatColor.translateAlternateColorCodes('&', "&" + parts[i]));
+				if (parts[i].charAt(0) == '#') builder.append(ChatColor.of(parts[i].substring(0, 7)));
+				else builder.append(ChatColor.translateAlternateColorCodes('&', "&" + parts[i]));
 			} else {
 				while (matcher.find()) {
 					parts[i] = parts[i].replace(
@@ -99,10 +108,10 @@ public final class TextUtils {
 					matcher = HEX_PATTERN.matcher(text);
 				}
 				
-				BUILDER.append(parts[i]);
+				builder.append(parts[i]);
 			}
 		}
 		
-		return BUILDER.toString();
+		return builder.toString();
 	}
 }
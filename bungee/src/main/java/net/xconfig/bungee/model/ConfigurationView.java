@@ -0,0 +1,504 @@
+package net.xconfig.bungee.model;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.config.Configuration;
+import net.xconfig.bungee.TextUtils;
+import net.xconfig.bungee.model.config.ConfigurationManager;
+import net.xconfig.bungee.model.metrics.AccessSampler;
+import net.xconfig.bungee.model.metrics.AccessSampler.Getter;
+import net.xconfig.bungee.model.metrics.ConfigurationMetrics;
+import net.xconfig.bungee.model.metrics.MissingReporter;
+import net.xconfig.bungee.model.objects.PathSet;
+import net.xconfig.bungee.model.objects.ReadOnlyConfiguration;
+import net.xconfig.bungee.model.objects.SectionVisitor;
+import net.xconfig.bungee.model.objects.Sections;
+import net.xconfig.bungee.model.objects.YamlFile;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static net.md_5.bungee.api.ProxyServer.getInstance;
+
+/**
+ * View of a file, with the same getters of the handler but bound to the file, so the reads doesn't look for the
+ * file at the manager or check if the file exists every time.
+ * <p>
+ * The view keeps the file loaded and reads its current content, so the changes of a reload are seen
+ * automatically. If the file is built again or deleted through the manager the view looks for the file again
+ * at the next read. The files deleted from the disk without the manager are still read from the memory.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see SimpleConfigurationHandler#view(String)
+ */
+public final class ConfigurationView {
+	private final SimpleConfigurationHandler handler;
+	private final ConfigurationManager configuration;
+	private final String fileName;
+	
+	private YamlFile file;
+	
+	ConfigurationView(SimpleConfigurationHandler handler, ConfigurationManager configuration, String fileName) {
+		this.handler = handler;
+		this.configuration = configuration;
+		this.fileName = fileName;
+	}
+	
+	/**
+	 * Returns the name of the file of this view.
+	 *
+	 * @return The file name.
+	 */
+	public String fileName() {
+		return fileName;
+	}
+	
+	/**
+	 * Set an object inside of the file at the specified path.
+	 *
+	 * @param path Path for the value.
+	 * @param value Value to set.
+	 * @throws UnsupportedOperationException If the file is read-only.
+	 */
+	public void write(String path, Object value) {
+		checkArgument(!path.isEmpty(), "The path for the value is empty.");
+		checkNotNull(value, "The value to set can't be null.");
+		
+		final YamlFile file = file();
+		if (file.readOnlyConfiguration() != null) {
+			throw new UnsupportedOperationException("The file '" + fileName + "' is read-only.");
+		}
+		
+		file.write(path, value);
+	}
+	
+	/**
+	 * Returns a String from path requested.
+	 *
+	 * @param path Path required.
+	 * @param colorize Do you want to apply the colors to text content?
+	 * @return A string.
+	 */
+	public String text(String path, boolean colorize) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.TEXT, colorize);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final String text = readOnly == null ? file.get().getString(path) : readOnly.getString(path);
+		if (text == null) {
+			handler.missing(fileName, path, "String");
+			return null;
+		}
+		
+		return colorize ? TextUtils.colorize(text) : text;
+	}
+	
+	/**
+	 * Returns a String from path requested that can return a default value.
+	 *
+	 * @param path Path required.
+	 * @param defaultText Default text if the path not exist.
+	 * @param colorize Do you want to apply the colors to text content?
+	 * @return A text string.
+	 */
+	public String text(String path, String defaultText, boolean colorize) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.TEXT, colorize);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final String text = readOnly == null
+			 ? file.get().getString(path, defaultText)
+			 : readOnly.getString(path, defaultText);
+		return colorize ? TextUtils.colorize(text) : text;
+	}
+	
+	/**
+	 * Returns a number.
+	 *
+	 * @param path Path required.
+	 * @return A number
+	 */
+	public int number(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.NUMBER, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getInt(path) : readOnly.getInt(path);
+	}
+	
+	/**
+	 * Returns an int number or a default value.
+	 *
+	 * @param path Path required.
+	 * @param defaultNumber Default number if the path not exist.
+	 * @return A number
+	 */
+	public int number(String path, int defaultNumber) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.NUMBER, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getInt(path, defaultNumber) : readOnly.getInt(path, defaultNumber);
+	}
+	
+	/**
+	 * Returns an object from the path.
+	 *
+	 * @param path Path required.
+	 * @return An object.
+	 */
+	public Object any(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.ANY, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final Object object = readOnly == null ? file.get().get(path) : readOnly.get(path);
+		if (object == null) {
+			handler.missing(fileName, path, "Object");
+			return null;
+		}
+		
+		return object;
+	}
+	
+	/**
+	 * Returns an object from the path or a default value.
+	 *
+	 * @param path Path required.
+	 * @param defaultObject Default object if the path not exist.
+	 * @return An object.
+	 */
+	public Object any(String path, Object defaultObject) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		checkNotNull(defaultObject, "The default object to return can't be null.");
+		sample(path, Getter.ANY, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().get(path, defaultObject) : readOnly.get(path, defaultObject);
+	}
+	
+	/**
+	 * Returns a list.
+	 *
+	 * @param path Path required.
+	 * @return A list.
+	 */
+	public List<?> list(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.LIST, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final List<?> list = readOnly == null ? file.get().getList(path) : readOnly.getList(path);
+		if (list == null) {
+			handler.missing(fileName, path, "List");
+			return null;
+		}
+		
+		return list;
+	}
+	
+	/**
+	 * Returns a list from the path requested, or a default value if doesn't exist.
+	 *
+	 * @param path Path required.
+	 * @param defaultList Default list if the path not exist.
+	 * @return A list.
+	 */
+	public List<?> list(String path, List<?> defaultList) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		checkNotNull(defaultList, "The default List object to return can't be null.");
+		sample(path, Getter.LIST, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getList(path, defaultList) : readOnly.getList(path, defaultList);
+	}
+	
+	/**
+	 * Returns a text list.
+	 *
+	 * @param path Path required.
+	 * @param colorize Do you want to apply the colors to text content?
+	 * @return A string list.
+	 */
+	public List<String> textList(String path, boolean colorize) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.TEXT_LIST, colorize);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final List<String> stringList = readOnly == null
+			 ? file.get().getStringList(path)
+			 : readOnly.getStringList(path);
+		return colorize ? TextUtils.colorize(stringList) : stringList;
+	}
+	
+	/**
+	 * Returns a boolean.
+	 *
+	 * @param path Path required.
+	 * @return A boolean value.
+	 */
+	public boolean condition(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.CONDITION, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getBoolean(path) : readOnly.getBoolean(path);
+	}
+	
+	/**
+	 * Returns a boolean or a default value if the path doesn't exist.
+	 *
+	 * @param path Path required.
+	 * @param defaultBoolean Default boolean value if the path not exist.
+	 * @return A boolean value.
+	 */
+	public boolean condition(String path, boolean defaultBoolean) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.CONDITION, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null
+			 ? file.get().getBoolean(path, defaultBoolean)
+			 : readOnly.getBoolean(path, defaultBoolean);
+	}
+	
+	/**
+	 * Checks if the file contains the path.
+	 *
+	 * @param path Path required.
+	 * @return A boolean
+	 */
+	public boolean contains(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.CONTAINS, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().contains(path) : readOnly.contains(path);
+	}
+	
+	/**
+	 * Returns a double number.
+	 *
+	 * @param path Path required.
+	 * @return A double.
+	 */
+	public double doubleNumber(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.DOUBLE_NUMBER, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getDouble(path) : readOnly.getDouble(path);
+	}
+	
+	/**
+	 * Returns a double number or a default value if the path doesn't exist.
+	 *
+	 * @param path Path required.
+	 * @param defaultValue Default double value if the path not exist.
+	 * @return A double.
+	 */
+	public double doubleNumber(String path, double defaultValue) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.DOUBLE_NUMBER, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null
+			 ? file.get().getDouble(path, defaultValue)
+			 : readOnly.getDouble(path, defaultValue);
+	}
+	
+	/**
+	 * Returns a char from the path.
+	 *
+	 * @param path Path required.
+	 * @return A char
+	 */
+	public char character(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.CHARACTER, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getChar(path) : readOnly.getChar(path);
+	}
+	
+	/**
+	 * Returns a char from the path or a default value if the path doesn't exist.
+	 *
+	 * @param path Path required.
+	 * @param defaultChar Default value to return.
+	 * @return A char
+	 */
+	public char character(String path, char defaultChar) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.CHARACTER, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getChar(path, defaultChar) : readOnly.getChar(path, defaultChar);
+	}
+	
+	/**
+	 * Visits the keys and values of the children of a section, without create the collection of keys and look
+	 * for every key again.
+	 *
+	 * @param path Path of the section.
+	 * @param visitor The visitor of the children, that can stop the visit.
+	 * @return False if the visitor stopped the visit, else true.
+	 */
+	public boolean visit(String path, SectionVisitor visitor) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		checkNotNull(visitor, "The section visitor cannot be null.");
+		sample(path, Getter.SECTION, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final Object section = readOnly == null ? file.get().get(path) : readOnly.get(path);
+		if (section instanceof ReadOnlyConfiguration) return ((ReadOnlyConfiguration) section).visit(visitor);
+		if (section instanceof Configuration) return Sections.visit((Configuration) section, visitor);
+		
+		handler.missing(fileName, path, "Configuration");
+		return true;
+	}
+	
+	/**
+	 * Returns a stream of the children of a section, over an immutable snapshot of the section that can be
+	 * processed in parallel. The read-only files are streamed without copy.
+	 *
+	 * @param path Path of the section.
+	 * @return A sequential Stream of the entries of the children, or an empty stream if the section doesn't exist.
+	 */
+	public Stream<Map.Entry<String, Object>> stream(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.SECTION, false);
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final Object section = readOnly == null ? file.get().get(path) : readOnly.get(path);
+		if (section instanceof ReadOnlyConfiguration) return ((ReadOnlyConfiguration) section).stream(false);
+		if (section instanceof Configuration) return Sections.stream((Configuration) section, false);
+		
+		handler.missing(fileName, path, "Configuration");
+		return Stream.empty();
+	}
+	
+	/**
+	 * Returns the chat components of the colorized message at the path, that are converted once and again only
+	 * after the file is reloaded.
+	 *
+	 * @param path Path of the message.
+	 * @return The cached array of components, that shouldn't be modified, or null if the message doesn't exist.
+	 */
+	public BaseComponent[] components(String path) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(path, Getter.TEXT, true);
+		
+		final YamlFile file = file();
+		if (file == null) return null;
+		
+		final BaseComponent[] components = file.components().get(path);
+		if (components == null) {
+			handler.missing(fileName, path, "String");
+			return null;
+		}
+		
+		return components;
+	}
+	
+	/**
+	 * Returns a template of the message at the path, whose colors and placeholders are parsed once and again
+	 * only after the file is reloaded.
+	 *
+	 * @param path Path of the message.
+	 * @param colorize Do you want to apply the colors to the message?
+	 * @return The MessageTemplate object, that reads the message the first time that is rendered.
+	 */
+	public MessageTemplate template(String path, boolean colorize) {
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		
+		return new MessageTemplate(this, configuration, path, colorize);
+	}
+	
+	/**
+	 * Returns the values of a set of paths, reading the common sections of the paths only once.
+	 *
+	 * @param paths The paths required.
+	 * @return An array with the values at the same positions of the paths, null for the paths that doesn't exist.
+	 */
+	public Object[] values(PathSet paths) {
+		checkNotNull(paths, "The paths cannot be null.");
+		
+		final Object[] values = new Object[paths.size()];
+		values(paths, values);
+		return values;
+	}
+	
+	/**
+	 * Reads the values of a set of paths into the array given, that can be reused between reads to not allocate
+	 * a new array every time.
+	 *
+	 * @param paths The paths required.
+	 * @param values The array to fill at the same positions of the paths, null for the paths that doesn't exist.
+	 * @throws IllegalArgumentException If the array is smaller than the set.
+	 */
+	public void values(PathSet paths, Object[] values) {
+		checkNotNull(paths, "The paths cannot be null.");
+		checkNotNull(values, "The array of values cannot be null.");
+		
+		final YamlFile file = file();
+		final ReadOnlyConfiguration readOnly = file == null ? null : file.readOnlyConfiguration();
+		if (readOnly != null) paths.read(readOnly, values);
+		else paths.read(file == null ? null : file.get(), values);
+		
+		if (file != null) handler.bulk(fileName, paths, values);
+	}
+	
+	/**
+	 * Returns the file of this view, looking for the file at the manager only if wasn't found before or was
+	 * discarded.
+	 *
+	 * @return The YamlFile object, or null if the file isn't loaded.
+	 */
+	private YamlFile file() {
+		YamlFile current = file;
+		if (current == null || current.discarded()) {
+			current = configuration.file(fileName);
+			file = current;
+		}
+		
+		final ConfigurationMetrics metrics = configuration.metrics();
+		if (metrics != null) metrics.file(fileName).read(current != null);
+		if (current == null) {
+			final MissingReporter reporter = configuration.missing();
+			if (reporter != null) reporter.file(fileName);
+			else {
+				getInstance().getLogger().severe("Cannot get the file '" + fileName + "' because doesn't exist.");
+			}
+		}
+		
+		return current;
+	}
+	
+	private void sample(String path, Getter getter, boolean colorized) {
+		final AccessSampler sampler = handler.sampler();
+		if (sampler != null) sampler.sample(fileName, path, getter, colorized);
+	}
+}
@@ -1,10 +1,23 @@
 package net.xconfig.bungee.model;
 
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.config.Configuration;
 import net.xconfig.bungee.TextUtils;
 import net.xconfig.bungee.model.config.ConfigurationHandler;
 import net.xconfig.bungee.model.config.ConfigurationManager;
+import net.xconfig.bungee.model.metrics.AccessSampler;
+import net.xconfig.bungee.model.metrics.AccessSampler.Getter;
+import net.xconfig.bungee.model.metrics.ConfigurationMetrics;
+import net.xconfig.bungee.model.metrics.MissingReporter;
+import net.xconfig.bungee.model.objects.PathSet;
+import net.xconfig.bungee.model.objects.ReadOnlyConfiguration;
+import net.xconfig.bungee.model.objects.SectionVisitor;
+import net.xconfig.bungee.model.objects.Sections;
+import net.xconfig.bungee.model.objects.YamlFile;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -22,6 +35,8 @@ public final class SimpleConfigurationHandler implements ConfigurationHandler {
 	
 	private final ConfigurationManager configuration;
 	
+	private volatile AccessSampler sampler;
+	
 	private SimpleConfigurationHandler(ConfigurationManager configuration) {
 		this.configuration = configuration;
 	}
@@ -53,23 +68,99 @@ public final class SimpleConfigurationHandler implements ConfigurationHandler {
 		instance = null;
 	}
 	
+	/**
+	 * Enables or disables the sampling of the reads, that counts which values are read more times.
+	 * <p>
+	 * One of every 16 reads is sampled, and up to 1024 values are counted. When is disabled the values counted
+	 * are discarded.
+	 *
+	 * @param enabled Do you want to sample the reads?
+	 * @see AccessSampler
+	 */
+	public synchronized void sampling(boolean enabled) {
+		if (!enabled) sampler = null;
+		else if (sampler == null) sampler = new AccessSampler(16, 1024);
+	}
+	
+	/**
+	 * Enables the sampling of the reads with the rate and capacity given, discarding the values counted before.
+	 *
+	 * @param rate Number of reads for every read sampled.
+	 * @param capacity Number of values that can be counted.
+	 */
+	public synchronized void sampling(int rate, int capacity) {
+		sampler = new AccessSampler(rate, capacity);
+	}
+	
+	/**
+	 * Returns the sampler of the reads.
+	 *
+	 * @return The AccessSampler object, or null if the sampling is disabled.
+	 */
+	public AccessSampler sampler() {
+		return sampler;
+	}
+	
+	@Override
+	public ConfigurationView view(String fileName) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		
+		return new ConfigurationView(this, configuration, fileName);
+	}
+	
+	@Override
+	public BaseComponent[] components(String fileName, String path) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.TEXT, true);
+		
+		final YamlFile file = configuration.file(fileName);
+		if (file == null) {
+			missing(fileName);
+			return null;
+		}
+		
+		final BaseComponent[] components = file.components().get(path);
+		if (components == null) {
+			missing(fileName, path, "String");
+			return null;
+		}
+		
+		return components;
+	}
+	
+	@Override
+	public MessageTemplate template(String fileName, String path, boolean colorize) {
+		return view(fileName).template(path, colorize);
+	}
+	
 	@Override
 	public void write(String fileName, String path, Object value) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path for the value is empty.");
 		checkNotNull(value, "The value to set can't be null.");
 		
-		configuration.get(fileName).set(path, value);
+		final YamlFile file = file(fileName);
+		if (file.readOnlyConfiguration() != null) {
+			throw new UnsupportedOperationException("The file '" + fileName + "' is read-only.");
+		}
+		
+		file.write(path, value);
 	}
 	
 	@Override
 	public String text(String fileName, String path, boolean colorize) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.TEXT, colorize);
 		
-		final String text = configuration.get(fileName).getString(path);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final String text = readOnly == null
+			 ? file.get().getString(path)
+			 : readOnly.getString(path);
 		if (text == null) {
-			getInstance().getLogger().severe("Cannot get the String value because that path doesn't exist!");
+			missing(fileName, path, "String");
 			return null;
 		}
 		
@@ -80,8 +171,13 @@ public final class SimpleConfigurationHandler implements ConfigurationHandler {
 	public String text(String fileName, String path, String defaultText, boolean colorize) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.TEXT, colorize);
 		
-		final String text = configuration.get(fileName).getString(path, defaultText);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final String text = readOnly == null
+			 ? file.get().getString(path, defaultText)
+			 : readOnly.getString(path, defaultText);
 		return colorize ? TextUtils.colorize(text) : text;
 	}
 	
@@ -89,26 +185,39 @@ public final class SimpleConfigurationHandler implements ConfigurationHandler {
 	public int number(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.NUMBER, false);
 		
-		return configuration.get(fileName).getInt(path);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getInt(path) : readOnly.getInt(path);
 	}
 	
 	@Override
 	public int number(String fileName, String path, int defaultNumber) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.NUMBER, false);
 		
-		return configuration.get(fileName).getInt(path, defaultNumber);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null
+			 ? file.get().getInt(path, defaultNumber)
+			 : readOnly.getInt(path, defaultNumber);
 	}
 	
 	@Override
 	public Object any(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.ANY, false);
 		
-		final Object object = configuration.get(fileName).get(path);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final Object object = readOnly == null
+			 ? file.get().get(path)
+			 : readOnly.get(path);
 		if (object == null) {
-			getInstance().getLogger().severe("Cannot get the Object value because that path doesn't exist!");
+			missing(fileName, path, "Object");
 			return null;
 		}
 		
@@ -120,18 +229,28 @@ public final class SimpleConfigurationHandler implements ConfigurationHandler {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
 		checkNotNull(defaultObject, "The default object to return can't be null.");
+		sample(fileName, path, Getter.ANY, false);
 		
-		return configuration.get(fileName).get(path, defaultObject);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null
+			 ? file.get().get(path, defaultObject)
+			 : readOnly.get(path, defaultObject);
 	}
 	
 	@Override
 	public List<?> list(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.LIST, false);
 		
-		final List<?> list = configuration.get(fileName).getList(path);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final List<?> list = readOnly == null
+			 ? file.get().getList(path)
+			 : readOnly.getList(path);
 		if (list == null) {
-			getInstance().getLogger().severe("Cannot get the List value because that path doesn't exist!");
+			missing(fileName, path, "List");
 			return null;
 		}
 		
@@ -143,16 +262,26 @@ public final class SimpleConfigurationHandler implements ConfigurationHandler {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
 		checkNotNull(defaultList, "The default List object to return can't be null.");
+		sample(fileName, path, Getter.LIST, false);
 		
-		return configuration.get(fileName).getList(path, defaultList);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null
+			 ? file.get().getList(path, defaultList)
+			 : readOnly.getList(path, defaultList);
 	}
 	
 	@Override
 	public List<String> textList(String fileName, String path, boolean colorize) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.TEXT_LIST, colorize);
 		
-		final List<String> stringList = configuration.get(fileName).getStringList(path);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final List<String> stringList = readOnly == null
+			 ? file.get().getStringList(path)
+			 : readOnly.getStringList(path);
 		return colorize ? TextUtils.colorize(stringList) : stringList;
 	}
 	
@@ -160,55 +289,197 @@ public final class SimpleConfigurationHandler implements ConfigurationHandler {
 	public boolean condition(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.CONDITION, false);
 		
-		return configuration.get(fileName).getBoolean(path);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getBoolean(path) : readOnly.getBoolean(path);
 	}
 	
 	@Override
 	public boolean condition(String fileName, String path, boolean defaultBoolean) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.CONDITION, false);
 		
-		return configuration.get(fileName).getBoolean(path, defaultBoolean);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null
+			 ? file.get().getBoolean(path, defaultBoolean)
+			 : readOnly.getBoolean(path, defaultBoolean);
 	}
 	
 	@Override
 	public boolean contains(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.CONTAINS, false);
 		
-		return configuration.get(fileName).contains(path);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().contains(path) : readOnly.contains(path);
 	}
 	
 	@Override
 	public double doubleNumber(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.DOUBLE_NUMBER, false);
 		
-		return configuration.get(fileName).getDouble(path);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getDouble(path) : readOnly.getDouble(path);
 	}
 	
 	@Override
 	public double doubleNumber(String fileName, String path, double defaultDoubleNumber) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.DOUBLE_NUMBER, false);
 		
-		return configuration.get(fileName).getDouble(path, defaultDoubleNumber);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null
+			 ? file.get().getDouble(path, defaultDoubleNumber)
+			 : readOnly.getDouble(path, defaultDoubleNumber);
 	}
 	
 	@Override
 	public char character(String fileName, String path) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.CHARACTER, false);
 		
-		return configuration.get(fileName).getChar(path);
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null ? file.get().getChar(path) : readOnly.getChar(path);
 	}
 	
 	@Override
 	public char character(String fileName, String path, char defaultChar) {
 		checkArgument(!fileName.isEmpty(), "The file name is empty.");
 		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.CHARACTER, false);
+		
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		return readOnly == null
+			 ? file.get().getChar(path, defaultChar)
+			 : readOnly.getChar(path, defaultChar);
+	}
+	
+	@Override
+	public boolean visit(String fileName, String path, SectionVisitor visitor) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		checkNotNull(visitor, "The section visitor cannot be null.");
+		sample(fileName, path, Getter.SECTION, false);
+		
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final Object section = readOnly == null ? file.get().get(path) : readOnly.get(path);
+		if (section instanceof ReadOnlyConfiguration) return ((ReadOnlyConfiguration) section).visit(visitor);
+		if (section instanceof Configuration) return Sections.visit((Configuration) section, visitor);
+		
+		missing(fileName, path, "Configuration");
+		return true;
+	}
+	
+	@Override
+	public Stream<Map.Entry<String, Object>> stream(String fileName, String path) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkArgument(!path.isEmpty(), "The path is empty.");
+		sample(fileName, path, Getter.SECTION, false);
+		
+		final YamlFile file = file(fileName);
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		final Object section = readOnly == null ? file.get().get(path) : readOnly.get(path);
+		if (section instanceof ReadOnlyConfiguration) return ((ReadOnlyConfiguration) section).stream(false);
+		if (section instanceof Configuration) return Sections.stream((Configuration) section, false);
+		
+		missing(fileName, path, "Configuration");
+		return Stream.empty();
+	}
+	
+	@Override
+	public Object[] values(String fileName, PathSet paths) {
+		checkArgument(!fileName.isEmpty(), "The file name is empty.");
+		checkNotNull(paths, "The paths cannot be null.");
 		
-		return configuration.get(fileName).getChar(path, defaultChar);
+		final Object[] values = new Object[paths.size()];
+		final YamlFile file = file(fileName);
+		if (file == null) return values;
+		
+		final ReadOnlyConfiguration readOnly = file.readOnlyConfiguration();
+		if (readOnly != null) paths.read(readOnly, values);
+		else paths.read(file.get(), values);
+		
+		bulk(fileName, paths, values);
+		return values;
+	}
+	
+	/**
+	 * Returns the file, with a single lookup at the manager for the read-only and the normal files. The read is
+	 * recorded at the metrics of the file if are enabled, and the file is reported if doesn't exist.
+	 *
+	 * @param fileName Name of file.
+	 * @return The YamlFile object, or null if the file isn't loaded.
+	 */
+	private YamlFile file(String fileName) {
+		final YamlFile file = configuration.file(fileName);
+		final ConfigurationMetrics metrics = configuration.metrics();
+		if (metrics != null) metrics.file(fileName).read(file != null);
+		if (file == null) {
+			final MissingReporter reporter = configuration.missing();
+			if (reporter != null) reporter.file(fileName);
+			else getInstance().getLogger().severe("Cannot get the file '" + fileName + "' because doesn't exist.");
+		}
+		
+		return file;
+	}
+	
+	/**
+	 * Samples a read if the sampling is enabled.
+	 */
+	private void sample(String fileName, String path, Getter getter, boolean colorized) {
+		final AccessSampler current = sampler;
+		if (current != null) current.sample(fileName, path, getter, colorized);
+	}
+	
+	/**
+	 * Samples the paths read in bulk if the sampling is enabled, and reports the paths that doesn't exist.
+	 */
+	void bulk(String fileName, PathSet paths, Object[] values) {
+		for (int i = 0 ; i < paths.size() ; i++) {
+			sample(fileName, paths.path(i), Getter.ANY, false);
+			if (values[i] == null) missing(fileName, paths.path(i), "Object");
+		}
+	}
+	
+	/**
+	 * Records a read of a file that doesn't exist at the metrics if are enabled, and reports it.
+	 */
+	private void missing(String fileName) {
+		final ConfigurationMetrics metrics = configuration.metrics();
+		if (metrics != null) metrics.file(fileName).read(false);
+		
+		final MissingReporter reporter = configuration.missing();
+		if (reporter != null) reporter.file(fileName);
+		else getInstance().getLogger().severe("Cannot get the file '" + fileName + "' because doesn't exist.");
+	}
+	
+	/**
+	 * Records a read that didn't find the value at the metrics of the file if are enabled, and reports it.
+	 */
+	void missing(String fileName, String path, String type) {
+		final ConfigurationMetrics metrics = configuration.metrics();
+		if (metrics != null) metrics.file(fileName).miss();
+		
+		final MissingReporter reporter = configuration.missing();
+		if (reporter != null) reporter.path(fileName, path, type);
+		else {
+			getInstance().getLogger().severe("Cannot get the " + type + " value of the path '" + path
+				 + "' at the file '" + fileName + "' because doesn't exist.");
+		}
 	}
 }
@@ -1,6 +1,18 @@
 package net.xconfig.bungee.model.config;
 
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.config.Configuration;
+import net.xconfig.bungee.model.ConfigurationView;
+import net.xconfig.bungee.model.MessageTemplate;
+import net.xconfig.bungee.model.objects.PathSet;
+import net.xconfig.bungee.model.objects.ReadOnlyConfiguration;
+import net.xconfig.bungee.model.objects.SectionVisitor;
+import net.xconfig.bungee.model.objects.Sections;
+
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Interface for the ConfigurationHandler of Bungee platforms.
@@ -77,7 +89,7 @@ public interface ConfigurationHandler {
 	 * @return An object.
 	 */
 	Object any(String fileName, String path, Object defaultObject);
-
+	
 	/**
 	 * Returns a list.
 	 *
@@ -172,4 +184,102 @@ public interface ConfigurationHandler {
 	 * @return A char
 	 */
 	char character(String fileName, String path, char defaultChar);
+	
+	/**
+	 * Returns a view of the file, that has the same getters of the handler but doesn't look for the file at
+	 * every read. The view follows the reloads of the file, and can be requested before the file is built.
+	 * <p>
+	 * The default implementation doesn't supports the views.
+	 *
+	 * @param fileName Name of file.
+	 * @return A ConfigurationView bound to the file.
+	 * @throws UnsupportedOperationException If this handler doesn't supports the views.
+	 */
+	default ConfigurationView view(String fileName) {
+		throw new UnsupportedOperationException("This handler doesn't supports views.");
+	}
+	
+	/**
+	 * Returns the chat components of the colorized message at the path, that are converted once and cached
+	 * until the file is reloaded, so the sends of the message doesn't parse the text every time.
+	 * <p>
+	 * The default implementation doesn't caches the components, and converts the colorized text returned by
+	 * {@link #text(String, String, boolean)} at every call.
+	 *
+	 * @param fileName Name of file.
+	 * @param path Path of the message.
+	 * @return The cached array of components, that shouldn't be modified, or null if the message doesn't exist.
+	 */
+	default BaseComponent[] components(String fileName, String path) {
+		final String text = text(fileName, path, true);
+		return text == null ? null : TextComponent.fromLegacyText(text);
+	}
+	
+	/**
+	 * Returns a template of a message with placeholders like {@code {player}}, whose colors and placeholders
+	 * are parsed once and again only after the file is reloaded.
+	 * <p>
+	 * The default implementation doesn't supports the templates.
+	 *
+	 * @param fileName Name of file.
+	 * @param path Path of the message.
+	 * @param colorize Do you want to apply the colors to the message?
+	 * @return A MessageTemplate bound to the message.
+	 * @throws UnsupportedOperationException If this handler doesn't supports the templates.
+	 */
+	default MessageTemplate template(String fileName, String path, boolean colorize) {
+		throw new UnsupportedOperationException("This handler doesn't supports templates.");
+	}
+	
+	/**
+	 * Returns the values of a set of paths, reading the file once and the common sections of the paths only
+	 * once.
+	 * <p>
+	 * The default implementation reads every path with {@link #any(String, String)}.
+	 *
+	 * @param fileName Name of file.
+	 * @param paths The paths required.
+	 * @return An array with the values at the same positions of the paths, null for the paths that doesn't exist.
+	 */
+	default Object[] values(String fileName, PathSet paths) {
+		final Object[] values = new Object[paths.size()];
+		for (int i = 0 ; i < values.length ; i++) values[i] = any(fileName, paths.path(i));
+		
+		return values;
+	}
+	
+	/**
+	 * Visits the keys and values of the children of a section, without create the collection of keys and look
+	 * for every key again.
+	 * <p>
+	 * The default implementation visits the section returned by {@link #any(String, String)}.
+	 *
+	 * @param fileName Name of file.
+	 * @param path Path of the section.
+	 * @param visitor The visitor of the children, that can stop the visit.
+	 * @return False if the visitor stopped the visit, else true.
+	 */
+	default boolean visit(String fileName, String path, SectionVisitor visitor) {
+		final Object section = any(fileName, path);
+		if (section instanceof ReadOnlyConfiguration) return ((ReadOnlyConfiguration) section).visit(visitor);
+		
+		return !(section instanceof Configuration) || Sections.visit((Configuration) section, visitor);
+	}
+	
+	/**
+	 * Returns a stream of the children of a section, over an immutable snapshot of the section that can be
+	 * processed in parallel. The read-only files are streamed without copy.
+	 * <p>
+	 * The default implementation streams the section returned by {@link #any(String, String)}.
+	 *
+	 * @param fileName Name of file.
+	 * @param path Path of the section.
+	 * @return A sequential Stream of the entries of the children, or an empty stream if the section doesn't exist.
+	 */
+	default Stream<Map.Entry<String, Object>> stream(String fileName, String path) {
+		final Object section = any(fileName, path);
+		if (section instanceof ReadOnlyConfiguration) return ((ReadOnlyConfiguration) section).stream(false);
+		
+		return section instanceof Configuration ? Sections.stream((Configuration) section, false) : Stream.empty();
+	}
 }
@@ -0,0 +1,252 @@
+package net.xconfig.bungee.model.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Sampler of the reads of the handler, that counts which paths of which files are read more times, with which
+ * getter and if the text was colorized, to know which values deserve to be cached.
+ * <p>
+ * Only one of every {@code rate} reads is recorded, and the values are counted at a table of fixed size
+ * without locks. When the table is full, the values read less times are replaced by the new ones, so the
+ * counts of the values read more times are approximated.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class AccessSampler {
+	private static final int PROBES = 8;
+	
+	private final int rate;
+	private final int mask;
+	private final AtomicReferenceArray<Entry> entries;
+	private final LongAdder samples;
+	
+	/**
+	 * Creates a sampler.
+	 *
+	 * @param rate Number of reads for every read sampled.
+	 * @param capacity Number of values that can be counted, rounded up to a power of two.
+	 * @throws IllegalArgumentException If the rate isn't positive or the capacity is out of range.
+	 */
+	public AccessSampler(int rate, int capacity) {
+		checkArgument(rate > 0, "The sampling rate must be positive.");
+		checkArgument(capacity > 0 && capacity <= 1 << 20, "The capacity must be between 1 and 1048576.");
+		
+		this.rate = rate;
+		final int size = Math.max(PROBES, Integer.highestOneBit(capacity - 1) << 1);
+		mask = size - 1;
+		entries = new AtomicReferenceArray<>(size);
+		samples = new LongAdder();
+	}
+	
+	/**
+	 * Records a read, if is sampled.
+	 *
+	 * @param fileName The file name.
+	 * @param path The path read.
+	 * @param getter The getter of the handler used.
+	 * @param colorized If the text read was colorized.
+	 */
+	public void sample(String fileName, String path, Getter getter, boolean colorized) {
+		if (rate > 1 && ThreadLocalRandom.current().nextInt(rate) != 0) return;
+		
+		samples.increment();
+		final int hash = hash(fileName, path, getter, colorized);
+		int victimIndex = -1;
+		Entry victim = null;
+		for (int probe = 0 ; probe < PROBES ; probe++) {
+			final int index = (hash + probe) & mask;
+			Entry entry = entries.get(index);
+			if (entry == null) {
+				if (entries.compareAndSet(index, null, new Entry(fileName, path, getter, colorized))) return;
+				
+				entry = entries.get(index);
+				if (entry == null) continue;
+			}
+			
+			if (entry.matches(fileName, path, getter, colorized)) {
+				entry.count.incrementAndGet();
+				return;
+			}
+			if (victim == null || entry.count.get() < victim.count.get()) {
+				victim = entry;
+				victimIndex = index;
+			}
+		}
+		
+		// All the entries of the value are used, the least read is aged and replaced when reaches zero.
+		if (victim != null && victim.count.decrementAndGet() <= 0) {
+			entries.compareAndSet(victimIndex, victim, new Entry(fileName, path, getter, colorized));
+		}
+	}
+	
+	/**
+	 * Returns the values read more times.
+	 *
+	 * @param limit Maximum number of values.
+	 * @return A list of the values, sorted from the most read.
+	 */
+	public List<Access> top(int limit) {
+		checkArgument(limit > 0, "The limit must be positive.");
+		
+		final List<Access> accesses = new ArrayList<>();
+		for (int i = 0 ; i < entries.length() ; i++) {
+			final Entry entry = entries.get(i);
+			if (entry == null) continue;
+			
+			final long count = entry.count.get();
+			if (count > 0) {
+				accesses.add(new Access(entry.fileName, entry.path, entry.getter, entry.colorized, count * rate));
+			}
+		}
+		accesses.sort((first, second) -> Long.compare(second.reads, first.reads));
+		
+		return accesses.size() > limit ? new ArrayList<>(accesses.subList(0, limit)) : accesses;
+	}
+	
+	/**
+	 * Returns a report of the values read more times, with a line for every value.
+	 *
+	 * @param limit Maximum number of values.
+	 * @return A list with the lines of the report.
+	 */
+	public List<String> report(int limit) {
+		final List<Access> accesses = top(limit);
+		final List<String> lines = new ArrayList<>(accesses.size());
+		for (Access access : accesses) {
+			lines.add(String.format(Locale.ROOT, "%s:%s via %s%s ~%d reads (%.1f%%)",
+				 access.fileName,
+				 access.path,
+				 access.getter.name().toLowerCase(Locale.ROOT),
+				 access.colorized ? " (colorized)" : "",
+				 access.reads,
+				 totalReads() == 0 ? 0.0 : access.reads * 100.0 / totalReads()));
+		}
+		
+		return lines;
+	}
+	
+	/**
+	 * Returns the number of reads estimated from the samples.
+	 *
+	 * @return The reads sampled multiplied by the rate.
+	 */
+	public long totalReads() {
+		return samples.sum() * rate;
+	}
+	
+	/**
+	 * Returns the number of reads for every read sampled.
+	 *
+	 * @return The sampling rate.
+	 */
+	public int rate() {
+		return rate;
+	}
+	
+	/**
+	 * Removes all the values counted.
+	 */
+	public void reset() {
+		for (int i = 0 ; i < entries.length() ; i++) entries.set(i, null);
+		samples.reset();
+	}
+	
+	private static int hash(String fileName, String path, Getter getter, boolean colorized) {
+		int hash = fileName.hashCode() * 31 + path.hashCode();
+		hash = hash * 31 + getter.ordinal() * 2 + (colorized ? 1 : 0);
+		return hash ^ (hash >>> 16);
+	}
+	
+	/**
+	 * The getters of the handler.
+	 */
+	public enum Getter {
+		TEXT,
+		NUMBER,
+		ANY,
+		LIST,
+		TEXT_LIST,
+		CONDITION,
+		CONTAINS,
+		DOUBLE_NUMBER,
+		CHARACTER,
+		SECTION
+	}
+	
+	/**
+	 * A value read, with the number of reads estimated.
+	 */
+	public static final class Access {
+		private final String fileName;
+		private final String path;
+		private final Getter getter;
+		private final boolean colorized;
+		private final long reads;
+		
+		private Access(String fileName, String path, Getter getter, boolean colorized, long reads) {
+			this.fileName = fileName;
+			this.path = path;
+			this.getter = getter;
+			this.colorized = colorized;
+			this.reads = reads;
+		}
+		
+		public String fileName() {
+			return fileName;
+		}
+		
+		public String path() {
+			return path;
+		}
+		
+		public Getter getter() {
+			return getter;
+		}
+		
+		public boolean colorized() {
+			return colorized;
+		}
+		
+		/**
+		 * Returns the number of reads estimated, that is the reads sampled multiplied by the rate.
+		 *
+		 * @return The reads estimated.
+		 */
+		public long reads() {
+			return reads;
+		}
+	}
+	
+	private static final class Entry {
+		private final String fileName;
+		private final String path;
+		private final Getter getter;
+		private final boolean colorized;
+		private final AtomicLong count;
+		
+		private Entry(String fileName, String path, Getter getter, boolean colorized) {
+			this.fileName = fileName;
+			this.path = path;
+			this.getter = getter;
+			this.colorized = colorized;
+			count = new AtomicLong(1);
+		}
+		
+		private boolean matches(String fileName, String path, Getter getter, boolean colorized) {
+			return this.getter == getter
+				 && this.colorized == colorized
+				 && this.path.equals(path)
+				 && this.fileName.equals(fileName);
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package net.xconfig.bungee.model.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters, size and latencies of the operations of a single file.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see ConfigurationMetrics
+ */
+public final class FileMetrics {
+	private final String fileName;
+	private final Map<Operation, LatencyHistogram> latencies;
+	private final Map<Operation, LongAdder> failures;
+	private final LongAdder reads;
+	private final LongAdder misses;
+	
+	private volatile long size;
+	
+	FileMetrics(String fileName) {
+		this.fileName = fileName;
+		latencies = new EnumMap<>(Operation.class);
+		failures = new EnumMap<>(Operation.class);
+		for (Operation operation : Operation.values()) {
+			latencies.put(operation, new LatencyHistogram());
+			failures.put(operation, new LongAdder());
+		}
+		reads = new LongAdder();
+		misses = new LongAdder();
+	}
+	
+	/**
+	 * Records an operation done over the file.
+	 *
+	 * @param operation The operation.
+	 * @param nanos The time that the operation took, in nanoseconds.
+	 * @param success If the operation was done without errors.
+	 */
+	public void record(Operation operation, long nanos, boolean success) {
+		latencies.get(operation).record(nanos);
+		if (!success) failures.get(operation).increment();
+	}
+	
+	/**
+	 * Records a request of the file.
+	 *
+	 * @param found If the file was found.
+	 */
+	public void read(boolean found) {
+		reads.increment();
+		if (!found) misses.increment();
+	}
+	
+	/**
+	 * Records a read of the file that didn't find the value requested.
+	 */
+	public void miss() {
+		misses.increment();
+	}
+	
+	/**
+	 * Establishes the size of the file at the disk, after it was loaded or saved.
+	 *
+	 * @param size The size in bytes.
+	 */
+	public void size(long size) {
+		this.size = size;
+	}
+	
+	/**
+	 * Returns the file name.
+	 *
+	 * @return The file name.
+	 */
+	public String fileName() {
+		return fileName;
+	}
+	
+	/**
+	 * Returns the number of times that an operation was done over the file.
+	 *
+	 * @param operation The operation.
+	 * @return The count of the operation, with the failed ones.
+	 */
+	public long count(Operation operation) {
+		return latencies.get(operation).count();
+	}
+	
+	/**
+	 * Returns the number of times that an operation failed over the file.
+	 *
+	 * @param operation The operation.
+	 * @return The count of failures.
+	 */
+	public long failures(Operation operation) {
+		return failures.get(operation).sum();
+	}
+	
+	/**
+	 * Returns the histogram of the latencies of an operation.
+	 *
+	 * @param operation The operation.
+	 * @return The LatencyHistogram object.
+	 */
+	public LatencyHistogram latencies(Operation operation) {
+		return latencies.get(operation);
+	}
+	
+	/**
+	 * Returns the number of times that the file was requested.
+	 *
+	 * @return The count of reads.
+	 */
+	public long reads() {
+		return reads.sum();
+	}
+	
+	/**
+	 * Returns the number of requests that didn't find the file, and of reads without default value that didn't
+	 * find the value.
+	 *
+	 * @return The count of misses.
+	 */
+	public long misses() {
+		return misses.sum();
+	}
+	
+	/**
+	 * Returns the size of the file the last time that was loaded or saved.
+	 *
+	 * @return The size in bytes, or 0 if is unknown.
+	 */
+	public long size() {
+		return size;
+	}
+	
+	/**
+	 * Removes all the counters and latencies recorded.
+	 */
+	public void reset() {
+		for (Operation operation : Operation.values()) {
+			latencies.get(operation).reset();
+			failures.get(operation).reset();
+		}
+		reads.reset();
+		misses.reset();
+	}
+	
+	/**
+	 * The operations measured for every file.
+	 */
+	public enum Operation {
+		BUILD,
+		RELOAD,
+		SAVE
+	}
+}
@@ -0,0 +1,142 @@
+package net.xconfig.bungee.model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds with a fixed memory size, that can be recorded from any thread
+ * without locks.
+ * <p>
+ * Every power of two is divided in eight buckets, so the percentiles are accurate to 12.5% of the value.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+	
+	private final AtomicLongArray buckets;
+	private final LongAdder count;
+	private final LongAdder total;
+	private final AtomicLong max;
+	
+	public LatencyHistogram() {
+		buckets = new AtomicLongArray(BUCKETS);
+		count = new LongAdder();
+		total = new LongAdder();
+		max = new AtomicLong();
+	}
+	
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos The latency in nanoseconds, the negative values are recorded as zero.
+	 */
+	public void record(long nanos) {
+		final long value = Math.max(nanos, 0L);
+		buckets.incrementAndGet(bucket(value));
+		count.increment();
+		total.add(value);
+		
+		long currentMax = max.get();
+		while (value > currentMax && !max.compareAndSet(currentMax, value)) currentMax = max.get();
+	}
+	
+	/**
+	 * Returns the number of latencies recorded.
+	 *
+	 * @return The count of latencies.
+	 */
+	public long count() {
+		return count.sum();
+	}
+	
+	/**
+	 * Returns the sum of all the latencies recorded.
+	 *
+	 * @return The total in nanoseconds.
+	 */
+	public long totalNanos() {
+		return total.sum();
+	}
+	
+	/**
+	 * Returns the mean of the latencies recorded.
+	 *
+	 * @return The mean in nanoseconds, or 0 if there are no latencies.
+	 */
+	public long meanNanos() {
+		final long latencies = count.sum();
+		return latencies == 0 ? 0 : total.sum() / latencies;
+	}
+	
+	/**
+	 * Returns the greatest latency recorded.
+	 *
+	 * @return The maximum in nanoseconds, or 0 if there are no latencies.
+	 */
+	public long maxNanos() {
+		return max.get();
+	}
+	
+	/**
+	 * Returns the latency below which are the percentage of latencies given, rounded up to the limit of its
+	 * bucket.
+	 *
+	 * @param percentile The percentile, between 0 and 100.
+	 * @return The latency in nanoseconds, or 0 if there are no latencies.
+	 * @throws IllegalArgumentException If the percentile is out of range.
+	 */
+	public long percentileNanos(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+		}
+		
+		final long[] counts = new long[BUCKETS];
+		long latencies = 0;
+		for (int i = 0 ; i < BUCKETS ; i++) {
+			counts[i] = buckets.get(i);
+			latencies += counts[i];
+		}
+		if (latencies == 0) return 0;
+		
+		final long rank = Math.max(1L, (long) Math.ceil(latencies * percentile / 100));
+		long seen = 0;
+		for (int i = 0 ; i < BUCKETS ; i++) {
+			seen += counts[i];
+			if (seen >= rank) return Math.min(upperBound(i), max.get());
+		}
+		
+		return max.get();
+	}
+	
+	/**
+	 * Removes all the latencies recorded.
+	 */
+	public void reset() {
+		for (int i = 0 ; i < BUCKETS ; i++) buckets.set(i, 0);
+		count.reset();
+		total.reset();
+		max.set(0);
+	}
+	
+	private static int bucket(long value) {
+		if (value < SUB_BUCKETS) return (int) value;
+		
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+	
+	private static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS) return bucket;
+		
+		final int shift = bucket / SUB_BUCKETS - 1;
+		final long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lower + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,191 @@
+package net.xconfig.bungee.model.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static net.md_5.bungee.api.ProxyServer.getInstance;
+
+/**
+ * Reporter of the files and paths requested that doesn't exist.
+ * <p>
+ * Every missing file or path is logged only the first time that is requested, the next requests are counted
+ * without locks and logged together at a summary every period, so a missing path read every tick doesn't
+ * flood the logger. Up to 1024 missing values are remembered, the rest are only counted.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class MissingReporter {
+	private static final int MAX_MISSING = 1024;
+	private static final int SUMMARY_LINES = 10;
+	/** The path of the missing files, that can't be a real path because the paths cannot be empty. */
+	private static final String FILE = "";
+	
+	private final long periodMillis;
+	private final Map<String, Map<String, Missing>> files;
+	private final AtomicInteger size;
+	private final LongAdder overflow;
+	
+	private ScheduledExecutorService flusher;
+	
+	/**
+	 * Creates a reporter.
+	 *
+	 * @param periodMillis Milliseconds between every summary.
+	 */
+	public MissingReporter(long periodMillis) {
+		checkArgument(periodMillis > 0, "The summary period must be positive.");
+		
+		this.periodMillis = periodMillis;
+		files = new ConcurrentHashMap<>();
+		size = new AtomicInteger();
+		overflow = new LongAdder();
+	}
+	
+	/**
+	 * Reports a request of a file that doesn't exist.
+	 *
+	 * @param fileName The file name.
+	 */
+	public void file(String fileName) {
+		report(fileName, FILE, null);
+	}
+	
+	/**
+	 * Reports a read of a path that doesn't exist.
+	 *
+	 * @param fileName The file name.
+	 * @param path The path.
+	 * @param type The type of value requested.
+	 */
+	public void path(String fileName, String path, String type) {
+		report(fileName, path, type);
+	}
+	
+	/**
+	 * Forgets the missing values of a file, so they are logged again the next time that are requested, such as
+	 * after the file is reloaded.
+	 *
+	 * @param fileName The file name.
+	 */
+	public void forget(String fileName) {
+		final Map<String, Missing> paths = files.remove(fileName);
+		if (paths != null) size.addAndGet(-paths.size());
+	}
+	
+	/**
+	 * Logs the summary of the missing values requested again since the last summary.
+	 */
+	public synchronized void flush() {
+		final List<Missing> repeated = new ArrayList<>();
+		long requests = 0;
+		for (Map<String, Missing> paths : files.values()) {
+			for (Missing missing : paths.values()) {
+				missing.last = missing.repeats.sumThenReset();
+				if (missing.last == 0) continue;
+				
+				repeated.add(missing);
+				requests += missing.last;
+			}
+		}
+		
+		final long others = overflow.sumThenReset();
+		if (repeated.isEmpty() && others == 0) return;
+		
+		repeated.sort((first, second) -> Long.compare(second.last, first.last));
+		getInstance().getLogger().severe(repeated.size() + " missing values were requested " + requests
+			 + " times in the last " + periodMillis / 1000 + " seconds:");
+		for (int i = 0 ; i < Math.min(SUMMARY_LINES, repeated.size()) ; i++) {
+			final Missing missing = repeated.get(i);
+			getInstance().getLogger().severe("  " + missing.describe() + ": " + missing.last + " times.");
+		}
+		if (repeated.size() > SUMMARY_LINES) {
+			getInstance().getLogger().severe("  And " + (repeated.size() - SUMMARY_LINES)
+				 + " missing values more.");
+		}
+		if (others > 0) getInstance().getLogger().severe("  And " + others + " requests of other missing values.");
+	}
+	
+	/**
+	 * Stops the periodic summary, logging the last one.
+	 */
+	public synchronized void close() {
+		if (flusher == null) return;
+		
+		flusher.shutdownNow();
+		flusher = null;
+		flush();
+	}
+	
+	private void report(String fileName, String path, String type) {
+		Map<String, Missing> paths = files.get(fileName);
+		if (paths == null) {
+			paths = files.computeIfAbsent(fileName, name -> new ConcurrentHashMap<>());
+		}
+		
+		final Missing missing = paths.get(path);
+		if (missing != null) {
+			missing.repeats.increment();
+			return;
+		}
+		
+		if (size.get() >= MAX_MISSING) {
+			overflow.increment();
+			return;
+		}
+		
+		final Missing created = new Missing(fileName, path, type);
+		final Missing previous = paths.putIfAbsent(path, created);
+		if (previous != null) {
+			previous.repeats.increment();
+			return;
+		}
+		
+		size.incrementAndGet();
+		getInstance().getLogger().severe("Cannot get " + created.describe() + " because doesn't exist.");
+		start();
+	}
+	
+	private synchronized void start() {
+		if (flusher != null) return;
+		
+		flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "XConfig-MissingReporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		flusher.scheduleAtFixedRate(this::flush, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	private static final class Missing {
+		private final String fileName;
+		private final String path;
+		private final String type;
+		private final LongAdder repeats;
+		
+		/** The repeats of the last summary, only used while the summary is logged. */
+		private long last;
+		
+		private Missing(String fileName, String path, String type) {
+			this.fileName = fileName;
+			this.path = path;
+			this.type = type;
+			repeats = new LongAdder();
+		}
+		
+		private String describe() {
+			return path.isEmpty()
+				 ? "the file '" + fileName + "'"
+				 : "the " + type + " value of the path '" + path + "' at the file '" + fileName + "'";
+		}
+	}
+}
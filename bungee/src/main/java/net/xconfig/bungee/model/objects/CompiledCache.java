@@ -0,0 +1,277 @@
+package net.xconfig.bungee.model.objects;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import net.md_5.bungee.config.Configuration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled binary form of a parsed file, stored next to the source file to skip the parsing on later loads.
+ * <p>
+ * The cache is tagged with the size, the modification time and the hash of the source. It's used while the
+ * size and the hash match, the hash is skipped only if the modification time matches and the cache was
+ * written at least {@value #MODIFIED_GRANULARITY} milliseconds after it, because a source modified again
+ * within the same tick of the modification time of the file system keeps the same time. The tags are taken
+ * when the cache is read, before the source is parsed, so a source modified while is parsed invalidates the
+ * cache written after.
+ * <p>
+ * Cache layout, the values are stored in file order and decoded in a single pass:
+ * <pre>
+ * header:  int magic, int format, long source size, long source modification time, long source hash
+ * section: int size, per key: string key, value
+ * value:   byte type, payload
+ * </pre>
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class CompiledCache {
+	private static final int MAGIC = 0x58434343;
+	private static final int FORMAT = 1;
+	private static final String EXTENSION = ".cache";
+	/** The greatest precision of the modification times of the file systems, of 2 seconds at FAT. */
+	private static final long MODIFIED_GRANULARITY = 2000L;
+	
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INT = 2;
+	private static final byte LONG = 3;
+	private static final byte DOUBLE = 4;
+	private static final byte BOOLEAN = 5;
+	private static final byte LIST = 6;
+	private static final byte MAP = 7;
+	private static final byte SECTION = 8;
+	private static final byte BIG_INTEGER = 9;
+	
+	private final File source;
+	private final File cacheFile;
+	private final long size;
+	private final long modified;
+	
+	private long hash;
+	private boolean hashed;
+	
+	public CompiledCache(File source) {
+		this.source = source;
+		cacheFile = cacheFile(source);
+		size = source.length();
+		modified = source.lastModified();
+	}
+	
+	/**
+	 * Returns the cache file of the source given.
+	 *
+	 * @param source The source file.
+	 * @return The File where the compiled cache of the source is stored.
+	 */
+	public static File cacheFile(File source) {
+		return new File(source.getParentFile(), source.getName() + EXTENSION);
+	}
+	
+	/**
+	 * Loads the cached content, if the cache is valid for the source.
+	 *
+	 * @return A Configuration with the cached content, or null if there is no valid cache and the source must
+	 * be parsed.
+	 */
+	public Configuration read() {
+		try {
+			if (cacheFile.isFile()) {
+				final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cacheFile.toPath()));
+				if (buffer.remaining() >= 32 && buffer.getInt() == MAGIC && buffer.getInt() == FORMAT) {
+					final long cachedSize = buffer.getLong();
+					final long cachedModified = buffer.getLong();
+					final long cachedHash = buffer.getLong();
+					
+					if (cachedSize == size && (trusted(cachedModified) || cachedHash == hash())) {
+						final Configuration configuration = new Configuration();
+						for (Map.Entry<String, Object> entry : new Decoder(buffer).section().entrySet()) {
+							configuration.set(entry.getKey(), entry.getValue());
+						}
+						
+						return configuration;
+					}
+				}
+			}
+			
+			// The hash is taken now, so it belongs to the content that will be parsed.
+			hash();
+		} catch (IOException | RuntimeException exception) {
+			// An unreadable or corrupt cache is replaced after the source is parsed.
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Writes the content given as the cache of the source, tagged with the source state seen at the last
+	 * {@link #read()} call.
+	 *
+	 * @param content The parsed content of the source.
+	 * @throws IOException If the cache cannot be written.
+	 * @throws IllegalArgumentException If a value cannot be stored at the cache.
+	 */
+	public void write(Configuration content) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(256, (int) Math.min(size, 1 << 24)));
+		final DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(MAGIC);
+		output.writeInt(FORMAT);
+		output.writeLong(size);
+		output.writeLong(modified);
+		output.writeLong(hash());
+		writeSection(output, content);
+		output.flush();
+		
+		// Every write uses a new temporal file, so the concurrent writes doesn't overwrite the file of each other.
+		final Path temporalFile = Files.createTempFile(cacheFile.getAbsoluteFile().getParentFile().toPath(),
+			 cacheFile.getName(),
+			 ".tmp");
+		try {
+			Files.write(temporalFile, bytes.toByteArray());
+			Files.move(temporalFile, cacheFile.toPath(),
+				 StandardCopyOption.REPLACE_EXISTING,
+				 StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporalFile);
+		}
+	}
+	
+	/**
+	 * Checks if the modification time is enough to know that the source didn't change since the cache was
+	 * written, without compare the hash.
+	 */
+	private boolean trusted(long cachedModified) {
+		return cachedModified == modified && cacheFile.lastModified() - modified >= MODIFIED_GRANULARITY;
+	}
+	
+	private long hash() throws IOException {
+		if (!hashed) {
+			hash = MoreFiles.asByteSource(source.toPath()).hash(Hashing.murmur3_128()).asLong();
+			hashed = true;
+		}
+		
+		return hash;
+	}
+	
+	private static void writeSection(DataOutputStream output, Configuration section) throws IOException {
+		final Collection<String> keys = section.getKeys();
+		output.writeInt(keys.size());
+		for (String key : keys) {
+			writeString(output, key);
+			writeValue(output, section.get(key));
+		}
+	}
+	
+	private static void writeString(DataOutputStream output, String text) throws IOException {
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+	
+	private static void writeValue(DataOutputStream output, Object value) throws IOException {
+		if (value == null) output.writeByte(NULL);
+		else if (value instanceof Configuration) {
+			output.writeByte(SECTION);
+			writeSection(output, (Configuration) value);
+		} else if (value instanceof String) {
+			output.writeByte(STRING);
+			writeString(output, (String) value);
+		} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			output.writeByte(INT);
+			output.writeInt(((Number) value).intValue());
+		} else if (value instanceof Long) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+		} else if (value instanceof BigInteger) {
+			output.writeByte(BIG_INTEGER);
+			writeString(output, value.toString());
+		} else if (value instanceof Double || value instanceof Float) {
+			output.writeByte(DOUBLE);
+			output.writeDouble(((Number) value).doubleValue());
+		} else if (value instanceof Boolean) {
+			output.writeByte(BOOLEAN);
+			output.writeBoolean((Boolean) value);
+		} else if (value instanceof List) {
+			final List<?> list = (List<?>) value;
+			output.writeByte(LIST);
+			output.writeInt(list.size());
+			for (Object element : list) writeValue(output, element);
+		} else if (value instanceof Map) {
+			final Map<?, ?> map = (Map<?, ?>) value;
+			output.writeByte(MAP);
+			output.writeInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeString(output, String.valueOf(entry.getKey()));
+				writeValue(output, entry.getValue());
+			}
+		} else {
+			throw new IllegalArgumentException("Cannot cache a value of type " + value.getClass().getName() + ".");
+		}
+	}
+	
+	/**
+	 * Reads the content of the cache from the array of a heap buffer.
+	 */
+	private static final class Decoder {
+		private final ByteBuffer buffer;
+		private final byte[] array;
+		
+		private Decoder(ByteBuffer buffer) {
+			this.buffer = buffer;
+			array = buffer.array();
+		}
+		
+		private Map<String, Object> section() {
+			final int size = buffer.getInt();
+			final Map<String, Object> section = new LinkedHashMap<>(size);
+			for (int i = 0 ; i < size ; i++) section.put(string(), value(buffer.get()));
+			
+			return section;
+		}
+		
+		private Object value(byte type) {
+			switch (type) {
+				case NULL: return null;
+				case STRING: return string();
+				case INT: return buffer.getInt();
+				case LONG: return buffer.getLong();
+				case DOUBLE: return buffer.getDouble();
+				case BOOLEAN: return buffer.get() != 0;
+				case BIG_INTEGER: return new BigInteger(string());
+				case LIST: {
+					final int size = buffer.getInt();
+					final List<Object> list = new ArrayList<>(size);
+					for (int i = 0 ; i < size ; i++) list.add(value(buffer.get()));
+					
+					return list;
+				}
+				case MAP:
+				case SECTION: return section();
+				default: throw new IllegalStateException("Unknown value type " + type + " at the cache.");
+			}
+		}
+		
+		private String string() {
+			final int length = buffer.getInt();
+			final int position = buffer.position();
+			buffer.position(position + length);
+			return new String(array, position, length, StandardCharsets.UTF_8);
+		}
+	}
+}
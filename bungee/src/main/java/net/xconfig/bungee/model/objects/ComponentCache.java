@@ -0,0 +1,118 @@
+package net.xconfig.bungee.model.objects;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.xconfig.bungee.TextUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Cache of the chat components of the messages of a file, converted from their colorized texts with
+ * {@link TextComponent#fromLegacyText(String)} only once.
+ * <p>
+ * The messages are cached the first time that are requested, and are converted again when the file is
+ * reloaded, so the sends of a message doesn't parse the text every time. The arrays are shared between all
+ * the requests of a message and shouldn't be modified.
+ * <p>
+ * The texts aren't converted when the file is loaded because most of the texts of a file aren't sent as chat
+ * messages, so only the messages requested since the start are converted again by the reloads.
+ * <p>
+ * The values set through {@link net.xconfig.bungee.model.config.ConfigurationManager#update(String,
+ * java.util.Map) ConfigurationManager#update} remove the messages changed from the cache, but the values set
+ * directly at the configuration of the file, as {@code manager.get(fileName).set(path, value)}, aren't noticed,
+ * and their messages keep the previous text until the file is reloaded or updated.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class ComponentCache {
+	/** The path separator, that cannot be changed at the Bungee configurations. */
+	private static final char SEPARATOR = '.';
+	
+	private final Function<String, String> reader;
+	private final Map<String, BaseComponent[]> components;
+	
+	/**
+	 * Creates an empty cache.
+	 *
+	 * @param reader Function that returns the text of a path without colorize, or null if doesn't exist.
+	 */
+	public ComponentCache(Function<String, String> reader) {
+		this.reader = checkNotNull(reader, "The text reader cannot be null.");
+		components = new ConcurrentHashMap<>();
+	}
+	
+	/**
+	 * Returns the components of the message at the path, converting the message if isn't cached.
+	 *
+	 * @param path Path of the message.
+	 * @return The cached array of components, or null if the message doesn't exist.
+	 */
+	public BaseComponent[] get(String path) {
+		final BaseComponent[] cached = components.get(path);
+		if (cached != null) return cached;
+		
+		final String text = reader.apply(path);
+		if (text == null) return null;
+		
+		final BaseComponent[] converted = convert(text);
+		components.put(path, converted);
+		return converted;
+	}
+	
+	/**
+	 * Converts again the cached messages from the new content of the file, the messages that doesn't exist
+	 * anymore are removed.
+	 */
+	public void rebuild() {
+		for (String path : components.keySet()) {
+			final String text = reader.apply(path);
+			if (text == null) components.remove(path);
+			else components.put(path, convert(text));
+		}
+	}
+	
+	/**
+	 * Removes the cached messages at the path, inside of the path or at the parent paths, because a value was
+	 * set at the path.
+	 *
+	 * @param path The path modified.
+	 */
+	public void invalidate(String path) {
+		if (components.isEmpty()) return;
+		
+		components.keySet().removeIf(cachedPath -> cachedPath.equals(path)
+			 || nested(cachedPath, path)
+			 || nested(path, cachedPath));
+	}
+	
+	/**
+	 * Removes all the cached messages.
+	 */
+	public void clear() {
+		components.clear();
+	}
+	
+	/**
+	 * Returns the number of cached messages.
+	 *
+	 * @return The number of messages.
+	 */
+	public int size() {
+		return components.size();
+	}
+	
+	private static BaseComponent[] convert(String text) {
+		return TextComponent.fromLegacyText(TextUtils.colorize(text));
+	}
+	
+	private static boolean nested(String path, String parent) {
+		return path.length() > parent.length() && path.charAt(parent.length()) == SEPARATOR
+			 && path.startsWith(parent);
+	}
+}
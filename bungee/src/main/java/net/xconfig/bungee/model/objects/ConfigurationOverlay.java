@@ -0,0 +1,232 @@
+package net.xconfig.bungee.model.objects;
+
+import net.md_5.bungee.config.Configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Stack of files merged into a single effective configuration, where the values of the later files replace
+ * the values of the previous files at the same paths.
+ * <p>
+ * The files are merged once, so the reads of the effective configuration cost the same as the reads of a
+ * single file. When a file of the stack is built, reloaded or deleted, only the paths of that file are merged
+ * again and only the values that changed are replaced at the effective configuration. A section of a later
+ * file replaces a value of the previous files at the same path, and a value replaces a section.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class ConfigurationOverlay {
+	private static final char SEPARATOR = '.';
+	
+	private final String name;
+	private final List<String> fileNames;
+	private final Layer[] layers;
+	private final Map<String, Object> effective;
+	private final Configuration configuration;
+	
+	/**
+	 * Creates an overlay without content, the content of every file is merged with
+	 * {@link #update(String, YamlFile)}.
+	 *
+	 * @param name The overlay name.
+	 * @param fileNames The names of the files, from the lowest to the highest priority.
+	 * @throws IllegalArgumentException If there are no files or a file is repeated.
+	 */
+	public ConfigurationOverlay(String name, String... fileNames) {
+		checkNotNull(name, "The overlay name cannot be null.");
+		checkNotNull(fileNames, "The file names cannot be null.");
+		checkArgument(fileNames.length > 0, "There are no files to overlay.");
+		checkArgument(new LinkedHashSet<>(Arrays.asList(fileNames)).size() == fileNames.length,
+			 "The overlay '" + name + "' has repeated files.");
+		
+		this.name = name;
+		this.fileNames = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(fileNames)));
+		layers = new Layer[fileNames.length];
+		Arrays.fill(layers, Layer.EMPTY);
+		effective = new HashMap<>();
+		configuration = new Configuration();
+	}
+	
+	/**
+	 * Merges again the content of a file of the overlay, replacing only the values that changed.
+	 *
+	 * @param fileName The file name.
+	 * @param file The file, or null if was deleted.
+	 * @throws IllegalArgumentException If the file isn't part of the overlay.
+	 */
+	public synchronized void update(String fileName, YamlFile file) {
+		final int index = fileNames.indexOf(fileName);
+		checkArgument(index != -1, "The file '" + fileName + "' isn't part of the overlay '" + name + "'.");
+		
+		final Layer previous = layers[index];
+		final Layer current = file == null ? Layer.EMPTY : Layer.of(file);
+		layers[index] = current;
+		
+		final Set<String> paths = new LinkedHashSet<>();
+		for (String path : current.leaves.keySet()) affected(path, paths);
+		for (String path : previous.leaves.keySet()) affected(path, paths);
+		
+		final List<String> removed = new ArrayList<>();
+		final Map<String, Object> changed = new LinkedHashMap<>();
+		for (String path : paths) {
+			final Object value = resolve(path);
+			if (Objects.equals(value, effective.get(path))) continue;
+			
+			if (value == null) removed.add(path);
+			else changed.put(path, value);
+		}
+		
+		// The removals go first, so the values replaced by sections and the sections replaced by values
+		// doesn't exist when the new values are set.
+		for (String path : removed) {
+			effective.remove(path);
+			remove(path);
+		}
+		for (Map.Entry<String, Object> entry : changed.entrySet()) {
+			effective.put(entry.getKey(), entry.getValue());
+			configuration.set(entry.getKey(), entry.getValue());
+		}
+	}
+	
+	/**
+	 * Returns the overlay name.
+	 *
+	 * @return The overlay name.
+	 */
+	public String name() {
+		return name;
+	}
+	
+	/**
+	 * Returns the names of the files, from the lowest to the highest priority.
+	 *
+	 * @return An unmodifiable List with the file names.
+	 */
+	public List<String> fileNames() {
+		return fileNames;
+	}
+	
+	/**
+	 * Checks if the file is part of the overlay.
+	 *
+	 * @param fileName The file name.
+	 * @return True if the file is part of the overlay, else return false.
+	 */
+	public boolean contains(String fileName) {
+		return fileNames.contains(fileName);
+	}
+	
+	/**
+	 * Returns the effective configuration of the overlay.
+	 * <p>
+	 * The configuration shouldn't be modified, because the values modified are replaced when the files are
+	 * merged again.
+	 *
+	 * @return The Configuration object with the merged values.
+	 */
+	public Configuration get() {
+		return configuration;
+	}
+	
+	/**
+	 * Adds the path given and the paths of every file whose value can be replaced or shown by a change at the
+	 * path, that are the values at the parent paths and the values inside of the path.
+	 */
+	private void affected(String path, Set<String> paths) {
+		paths.add(path);
+		
+		for (int end = path.lastIndexOf(SEPARATOR) ; end != -1 ; end = path.lastIndexOf(SEPARATOR, end - 1)) {
+			final String parent = path.substring(0, end);
+			for (Layer layer : layers) {
+				if (layer.leaves.containsKey(parent)) paths.add(parent);
+			}
+		}
+		
+		final String prefix = path + SEPARATOR;
+		for (Layer layer : layers) paths.addAll(layer.paths.subSet(prefix, prefix + Character.MAX_VALUE));
+	}
+	
+	/**
+	 * Returns the effective value of the path, from the file with the highest priority that has the path, or null
+	 * if a file with higher priority has a section at the path or a value at a parent path.
+	 */
+	private Object resolve(String path) {
+		for (int i = layers.length - 1 ; i >= 0 ; i--) {
+			final Layer layer = layers[i];
+			final Object value = layer.leaves.get(path);
+			if (value != null) return value;
+			if (layer.section(path) || layer.parent(path)) return null;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Removes the value of the path and the sections that are empty without it.
+	 */
+	private void remove(String path) {
+		configuration.set(path, null);
+		
+		for (int end = path.lastIndexOf(SEPARATOR) ; end != -1 ; end = path.lastIndexOf(SEPARATOR, end - 1)) {
+			final String parent = path.substring(0, end);
+			final Object section = configuration.get(parent);
+			if (!(section instanceof Configuration) || !((Configuration) section).getKeys().isEmpty()) return;
+			
+			configuration.set(parent, null);
+		}
+	}
+	
+	/**
+	 * Values of a file by their full paths, without the sections.
+	 */
+	private static final class Layer {
+		private static final Layer EMPTY = new Layer(Collections.emptyMap());
+		
+		private final Map<String, Object> leaves;
+		private final NavigableSet<String> paths;
+		
+		private Layer(Map<String, Object> leaves) {
+			this.leaves = leaves;
+			paths = new TreeSet<>(leaves.keySet());
+		}
+		
+		private static Layer of(YamlFile file) {
+			final Map<String, Object> leaves = new LinkedHashMap<>();
+			if (file.readOnlyConfiguration() != null) Sections.flatten(file.readOnlyConfiguration(), leaves);
+			else if (file.get() != null) Sections.flatten(file.get(), leaves);
+			else return EMPTY;
+			
+			return new Layer(leaves);
+		}
+		
+		private boolean section(String path) {
+			final String prefix = path + SEPARATOR;
+			final String next = paths.ceiling(prefix);
+			return next != null && next.startsWith(prefix);
+		}
+		
+		private boolean parent(String path) {
+			for (int end = path.lastIndexOf(SEPARATOR) ; end != -1 ; end = path.lastIndexOf(SEPARATOR, end - 1)) {
+				if (leaves.containsKey(path.substring(0, end))) return true;
+			}
+			
+			return false;
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package net.xconfig.bungee.model.objects;
+
+import net.md_5.bungee.config.Configuration;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Format of the content of a configuration file.
+ * <p>
+ * The format of a file is chosen by their name when the file is built, so the reads and writes over the
+ * Configuration returned work the same whatever the format of the file.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see YamlFormat
+ * @see JsonFormat
+ */
+public interface FileFormat {
+	/**
+	 * Returns if this format handles the file given.
+	 *
+	 * @param fileName The file name, with its extension.
+	 * @return True if the file is written with this format, else return false.
+	 */
+	boolean supports(String fileName);
+	
+	/**
+	 * Reads the content of the file given.
+	 *
+	 * @param file The file to read.
+	 * @return A Configuration object with the file content.
+	 * @throws IOException If the file cannot be read or its content isn't valid.
+	 */
+	Configuration load(File file) throws IOException;
+	
+	/**
+	 * Writes the configuration given into the file.
+	 *
+	 * @param configuration The Configuration to write.
+	 * @param file The target file.
+	 * @throws IOException If the file cannot be written.
+	 */
+	void save(Configuration configuration, File file) throws IOException;
+}
@@ -0,0 +1,171 @@
+package net.xconfig.bungee.model.objects;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import net.md_5.bungee.config.Configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Format of the files with the '.json' extension.
+ * <p>
+ * The content is read and written token per token with the Gson streaming API, without build a tree of
+ * JsonElement objects or use reflection like the JsonConfiguration provider of BungeeCord does.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class JsonFormat implements FileFormat {
+	private static final String INDENT = "  ";
+	
+	@Override
+	public boolean supports(String fileName) {
+		return fileName.endsWith(".json");
+	}
+	
+	@Override
+	public Configuration load(File file) throws IOException {
+		final Configuration configuration = new Configuration();
+		if (file.length() == 0) return configuration;
+		
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			for (Map.Entry<String, Object> entry : read(reader).entrySet()) {
+				configuration.set(entry.getKey(), entry.getValue());
+			}
+		}
+		
+		return configuration;
+	}
+	
+	@Override
+	public void save(Configuration configuration, File file) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			write(configuration, writer);
+			writer.write('\n');
+		}
+	}
+	
+	/**
+	 * Reads a JSON object from the reader given.
+	 *
+	 * @param reader The source of the JSON content.
+	 * @return A map with the object content, the sub-objects are stored as maps.
+	 * @throws IOException If the content cannot be read or the top level isn't an object.
+	 */
+	public static Map<String, Object> read(Reader reader) throws IOException {
+		final JsonReader json = new JsonReader(reader);
+		json.setLenient(true);
+		
+		try {
+			if (json.peek() != JsonToken.BEGIN_OBJECT) {
+				throw new IOException("The top level of the JSON content isn't an object.");
+			}
+			
+			final Map<String, Object> values = readObject(json);
+			if (json.peek() != JsonToken.END_DOCUMENT) {
+				throw new IOException("Unexpected content after the top level object.");
+			}
+			return values;
+		} catch (IllegalStateException | NumberFormatException exception) {
+			throw new IOException(exception);
+		}
+	}
+	
+	/**
+	 * Writes the configuration given as a JSON object.
+	 *
+	 * @param configuration The Configuration to write.
+	 * @param writer The target of the JSON content.
+	 * @throws IOException If the content cannot be written.
+	 */
+	public static void write(Configuration configuration, Writer writer) throws IOException {
+		final JsonWriter json = new JsonWriter(writer);
+		json.setIndent(INDENT);
+		json.setLenient(true);
+		writeValue(json, configuration);
+		json.flush();
+	}
+	
+	private static Map<String, Object> readObject(JsonReader json) throws IOException {
+		final Map<String, Object> map = new LinkedHashMap<>();
+		json.beginObject();
+		while (json.hasNext()) map.put(json.nextName(), readValue(json));
+		json.endObject();
+		return map;
+	}
+	
+	private static Object readValue(JsonReader json) throws IOException {
+		switch (json.peek()) {
+			case BEGIN_OBJECT: return readObject(json);
+			case BEGIN_ARRAY: {
+				final List<Object> list = new ArrayList<>();
+				json.beginArray();
+				while (json.hasNext()) list.add(readValue(json));
+				json.endArray();
+				return list;
+			}
+			case STRING: return json.nextString();
+			case NUMBER: return readNumber(json.nextString());
+			case BOOLEAN: return json.nextBoolean();
+			case NULL: {
+				json.nextNull();
+				return null;
+			}
+			default: throw new IllegalStateException("Unexpected JSON token " + json.peek() + ".");
+		}
+	}
+	
+	/**
+	 * Returns the smallest type that stores the number given, like the YAML provider does.
+	 */
+	private static Object readNumber(String text) {
+		if (text.indexOf('.') == -1 && text.indexOf('e') == -1 && text.indexOf('E') == -1) {
+			final BigInteger number = new BigInteger(text);
+			if (number.bitLength() < 32) return number.intValue();
+			if (number.bitLength() < 64) return number.longValue();
+			return number;
+		}
+		
+		return Double.parseDouble(text);
+	}
+	
+	private static void writeValue(JsonWriter json, Object value) throws IOException {
+		if (value == null) json.nullValue();
+		else if (value instanceof Configuration) {
+			final Configuration section = (Configuration) value;
+			json.beginObject();
+			for (String key : section.getKeys()) {
+				json.name(key);
+				writeValue(json, section.get(key));
+			}
+			json.endObject();
+		} else if (value instanceof String) json.value((String) value);
+		else if (value instanceof Boolean) json.value((boolean) value);
+		else if (value instanceof Number) json.value((Number) value);
+		else if (value instanceof Collection) {
+			json.beginArray();
+			for (Object element : (Collection<?>) value) writeValue(json, element);
+			json.endArray();
+		} else if (value instanceof Map) {
+			json.beginObject();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				json.name(String.valueOf(entry.getKey()));
+				writeValue(json, entry.getValue());
+			}
+			json.endObject();
+		} else json.value(value.toString());
+	}
+}
@@ -0,0 +1,183 @@
+package net.xconfig.bungee.model.objects;
+
+import net.md_5.bungee.config.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Set of paths compiled once to read their values together from a file.
+ * <p>
+ * The paths are split by {@code '.'} into a tree of keys, so the paths with a common prefix share the walk of
+ * their sections: the values of {@code menu.items.first} and {@code menu.items.second} look for the
+ * {@code menu.items} section only once. The set is immutable and can be shared between threads.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class PathSet {
+	private static final char SEPARATOR = '.';
+	
+	private final String[] paths;
+	private final Node root;
+	
+	private PathSet(String[] paths, Node root) {
+		this.paths = paths;
+		this.root = root;
+	}
+	
+	/**
+	 * Compiles the paths given, the values are read in the same order.
+	 *
+	 * @param paths The paths to read.
+	 * @return The PathSet object.
+	 * @throws IllegalArgumentException If there are no paths, or a path is empty or has empty keys.
+	 */
+	public static PathSet compile(String... paths) {
+		checkNotNull(paths, "The paths cannot be null.");
+		checkArgument(paths.length > 0, "There are no paths to compile.");
+		
+		final Builder root = new Builder();
+		for (int i = 0 ; i < paths.length ; i++) {
+			final String path = paths[i];
+			checkNotNull(path, "The path at the position " + i + " is null.");
+			checkArgument(!path.isEmpty(), "The path at the position " + i + " is empty.");
+			
+			Builder builder = root;
+			int from = 0;
+			int to;
+			while ((to = path.indexOf(SEPARATOR, from)) != -1) {
+				builder = builder.section(key(path, from, to));
+				from = to + 1;
+			}
+			builder.leaf(key(path, from, path.length()), i);
+		}
+		
+		return new PathSet(paths.clone(), root.build());
+	}
+	
+	/**
+	 * Returns the number of paths.
+	 *
+	 * @return The number of paths.
+	 */
+	public int size() {
+		return paths.length;
+	}
+	
+	/**
+	 * Returns the path at the position given.
+	 *
+	 * @param index Position of the path.
+	 * @return The path.
+	 */
+	public String path(int index) {
+		return paths[index];
+	}
+	
+	/**
+	 * Reads the values of the paths from the configuration given.
+	 *
+	 * @param configuration The configuration to read, usually the Configuration of a file.
+	 * @param values The array to fill, at the same positions of the paths. The values of the paths that doesn't
+	 * exist are set to null.
+	 * @throws IllegalArgumentException If the array is smaller than the set.
+	 */
+	public void read(Configuration configuration, Object[] values) {
+		checkArgument(values.length >= paths.length, "The array is smaller than the number of paths.");
+		
+		read(root, configuration, values);
+	}
+	
+	/**
+	 * Reads the values of the paths from the read-only configuration given.
+	 *
+	 * @param configuration The ReadOnlyConfiguration to read.
+	 * @param values The array to fill, at the same positions of the paths. The values of the paths that doesn't
+	 * exist are set to null.
+	 * @throws IllegalArgumentException If the array is smaller than the set.
+	 */
+	public void read(ReadOnlyConfiguration configuration, Object[] values) {
+		checkArgument(values.length >= paths.length, "The array is smaller than the number of paths.");
+		
+		read(root, configuration, values);
+	}
+	
+	private static void read(Node node, Configuration section, Object[] values) {
+		for (int i = 0 ; i < node.leaves.length ; i++) {
+			values[node.indexes[i]] = section == null ? null : section.get(node.leaves[i]);
+		}
+		for (int i = 0 ; i < node.keys.length ; i++) {
+			final Object child = section == null ? null : section.get(node.keys[i]);
+			read(node.sections[i], child instanceof Configuration ? (Configuration) child : null, values);
+		}
+	}
+	
+	private static void read(Node node, ReadOnlyConfiguration section, Object[] values) {
+		for (int i = 0 ; i < node.leaves.length ; i++) {
+			values[node.indexes[i]] = section == null ? null : section.get(node.leaves[i]);
+		}
+		for (int i = 0 ; i < node.keys.length ; i++) {
+			final Object child = section == null ? null : section.get(node.keys[i]);
+			final ReadOnlyConfiguration childSection = child instanceof ReadOnlyConfiguration
+				 ? (ReadOnlyConfiguration) child
+				 : null;
+			read(node.sections[i], childSection, values);
+		}
+	}
+	
+	private static String key(String path, int from, int to) {
+		checkArgument(from < to, "The path '" + path + "' has an empty key.");
+		return path.substring(from, to);
+	}
+	
+	/**
+	 * Node of the tree of keys, with the last keys of the paths and the sections of the longer paths.
+	 */
+	private static final class Node {
+		private final String[] leaves;
+		private final int[] indexes;
+		private final String[] keys;
+		private final Node[] sections;
+		
+		private Node(String[] leaves, int[] indexes, String[] keys, Node[] sections) {
+			this.leaves = leaves;
+			this.indexes = indexes;
+			this.keys = keys;
+			this.sections = sections;
+		}
+	}
+	
+	private static final class Builder {
+		private final List<String> leaves = new ArrayList<>();
+		private final List<Integer> indexes = new ArrayList<>();
+		private final Map<String, Builder> sections = new LinkedHashMap<>();
+		
+		private Builder section(String key) {
+			return sections.computeIfAbsent(key, name -> new Builder());
+		}
+		
+		private void leaf(String key, int index) {
+			leaves.add(key);
+			indexes.add(index);
+		}
+		
+		private Node build() {
+			final int[] indexArray = new int[indexes.size()];
+			for (int i = 0 ; i < indexArray.length ; i++) indexArray[i] = indexes.get(i);
+			
+			final Node[] nodes = new Node[sections.size()];
+			int i = 0;
+			for (Builder builder : sections.values()) nodes[i++] = builder.build();
+			
+			return new Node(leaves.toArray(new String[0]), indexArray, sections.keySet().toArray(new String[0]),
+				 nodes);
+		}
+	}
+}
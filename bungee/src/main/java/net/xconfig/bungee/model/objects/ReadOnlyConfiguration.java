@@ -0,0 +1,243 @@
+package net.xconfig.bungee.model.objects;
+
+import net.md_5.bungee.config.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Read-only configuration that keeps its content in an immutable {@link ConfigurationNode} tree instead of a
+ * LinkedHashMap per section.
+ * <p>
+ * The getters behaves like the same getters of the BungeeCord Configuration object.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class ReadOnlyConfiguration {
+	private static final char SEPARATOR = '.';
+	
+	private final ConfigurationNode node;
+	private final ReadOnlyConfiguration[] sections;
+	
+	
+	public ReadOnlyConfiguration(ConfigurationNode node) {
+		this.node = node;
+		sections = new ReadOnlyConfiguration[node.size()];
+	}
+	
+	/**
+	 * Returns the ConfigurationNode that stores the content of this configuration.
+	 *
+	 * @return The ConfigurationNode object.
+	 */
+	public ConfigurationNode node() {
+		return node;
+	}
+	
+	/**
+	 * Returns the value at the path given or the default value if the path doesn't exist.
+	 *
+	 * @param path Path required.
+	 * @param def Default value.
+	 * @param <T> Type of the value.
+	 * @return The value, a ReadOnlyConfiguration if the value is a section.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String path, T def) {
+		// The sections are walked by the offsets of the segments of the path, without a substring per segment.
+		ReadOnlyConfiguration current = this;
+		int from = 0;
+		while (true) {
+			final int to = path.indexOf(SEPARATOR, from);
+			final int index = current.node.indexOf(path, from, to == -1 ? path.length() : to);
+			if (index == -1) return def;
+			
+			final Object value = current.node.valueAt(index);
+			if (!(value instanceof ConfigurationNode)) return to == -1 ? (T) value : def;
+			
+			final ReadOnlyConfiguration section = current.section(index, (ConfigurationNode) value);
+			if (to == -1) return (T) section;
+			
+			current = section;
+			from = to + 1;
+		}
+	}
+	
+	public Object get(String path) {
+		return get(path, null);
+	}
+	
+	public boolean contains(String path) {
+		return get(path, null) != null;
+	}
+	
+	public Collection<String> getKeys() {
+		final Collection<String> keys = new LinkedHashSet<>();
+		for (int i = 0 ; i < node.size() ; i++) keys.add(node.key(i));
+		
+		return keys;
+	}
+	
+	public ReadOnlyConfiguration getSection(String path) {
+		final Object value = get(path, null);
+		return value instanceof ReadOnlyConfiguration
+			 ? (ReadOnlyConfiguration) value
+			 : new ReadOnlyConfiguration(CompactNode.empty());
+	}
+	
+	public int getInt(String path) {
+		return getInt(path, 0);
+	}
+	
+	public int getInt(String path, int def) {
+		final Object value = get(path, null);
+		return value instanceof Number ? ((Number) value).intValue() : def;
+	}
+	
+	public long getLong(String path) {
+		return getLong(path, 0L);
+	}
+	
+	public long getLong(String path, long def) {
+		final Object value = get(path, null);
+		return value instanceof Number ? ((Number) value).longValue() : def;
+	}
+	
+	public double getDouble(String path) {
+		return getDouble(path, 0.0D);
+	}
+	
+	public double getDouble(String path, double def) {
+		final Object value = get(path, null);
+		return value instanceof Number ? ((Number) value).doubleValue() : def;
+	}
+	
+	public boolean getBoolean(String path) {
+		return getBoolean(path, false);
+	}
+	
+	public boolean getBoolean(String path, boolean def) {
+		final Object value = get(path, null);
+		return value instanceof Boolean ? (Boolean) value : def;
+	}
+	
+	public char getChar(String path) {
+		return getChar(path, '\u0000');
+	}
+	
+	public char getChar(String path, char def) {
+		final Object value = get(path, null);
+		return value instanceof Character ? (Character) value : def;
+	}
+	
+	public String getString(String path) {
+		return getString(path, "");
+	}
+	
+	public String getString(String path, String def) {
+		final Object value = get(path, null);
+		return value instanceof String ? (String) value : def;
+	}
+	
+	public List<?> getList(String path) {
+		return getList(path, Collections.emptyList());
+	}
+	
+	public List<?> getList(String path, List<?> def) {
+		final Object value = get(path, null);
+		return value instanceof List ? (List<?>) value : def;
+	}
+	
+	public List<String> getStringList(String path) {
+		final List<?> list = getList(path);
+		final List<String> result = new ArrayList<>(list.size());
+		for (Object object : list) {
+			if (object instanceof String) result.add((String) object);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Visits the children of this configuration in the order of the file, without create the collection of
+	 * keys of {@link #getKeys()}.
+	 *
+	 * @param visitor The visitor of the children, the sections are received as ReadOnlyConfiguration objects.
+	 * @return False if the visitor stopped the visit, else true.
+	 */
+	public boolean visit(SectionVisitor visitor) {
+		for (int i = 0 ; i < node.size() ; i++) {
+			if (!visitor.visit(node.key(i), value(i))) return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns a stream of the children of this configuration in the order of the file, that can be processed
+	 * in parallel because the configuration is immutable.
+	 *
+	 * @param parallel Do you want a parallel stream?
+	 * @return A Stream of the entries of the children, with the sections as ReadOnlyConfiguration objects.
+	 */
+	public Stream<Map.Entry<String, Object>> stream(boolean parallel) {
+		return StreamSupport.stream(spliterator(), parallel);
+	}
+	
+	/**
+	 * Returns a spliterator of the children of this configuration, that knows its exact size and splits the
+	 * children in halves.
+	 *
+	 * @return A Spliterator of the entries of the children.
+	 */
+	public Spliterator<Map.Entry<String, Object>> spliterator() {
+		return new SectionSpliterator(this, 0, node.size());
+	}
+	
+	/**
+	 * Returns the value at the position given, the sections are returned as ReadOnlyConfiguration objects.
+	 */
+	Object value(int position) {
+		final Object value = node.value(position);
+		if (!(value instanceof ConfigurationNode)) return value;
+		
+		final String key = node.key(position);
+		return section(node.indexOf(key, 0, key.length()), (ConfigurationNode) value);
+	}
+	
+	/**
+	 * Creates a new BungeeCord Configuration object with a copy of the content of this configuration.
+	 * <p>
+	 * The content is copied on every call and the copy isn't cached, so the changes made over the copy aren't
+	 * applied to this configuration and aren't seen by other callers.
+	 *
+	 * @return A mutable Configuration object detached of this configuration.
+	 */
+	public Configuration toConfiguration() {
+		final Configuration configuration = new Configuration();
+		for (Map.Entry<String, Object> entry : node.toMap().entrySet()) {
+			configuration.set(entry.getKey(), entry.getValue());
+		}
+		
+		return configuration;
+	}
+	
+	private ReadOnlyConfiguration section(int index, ConfigurationNode sectionNode) {
+		ReadOnlyConfiguration section = sections[index];
+		if (section == null) {
+			section = new ReadOnlyConfiguration(sectionNode);
+			sections[index] = section;
+		}
+		
+		return section;
+	}
+}
@@ -0,0 +1,70 @@
+package net.xconfig.bungee.model.objects;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator of the children of a read-only configuration, that splits the positions of the node in halves, so
+ * the parallel streams split the configuration evenly between the threads.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+final class SectionSpliterator implements Spliterator<Map.Entry<String, Object>> {
+	private static final int CHARACTERISTICS = ORDERED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+	
+	private final ReadOnlyConfiguration configuration;
+	private final int to;
+	
+	private int from;
+	
+	SectionSpliterator(ReadOnlyConfiguration configuration, int from, int to) {
+		this.configuration = configuration;
+		this.from = from;
+		this.to = to;
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super Map.Entry<String, Object>> action) {
+		if (from >= to) return false;
+		
+		action.accept(entry(from++));
+		return true;
+	}
+	
+	@Override
+	public void forEachRemaining(Consumer<? super Map.Entry<String, Object>> action) {
+		final int end = to;
+		int position = from;
+		from = end;
+		for ( ; position < end ; position++) action.accept(entry(position));
+	}
+	
+	@Override
+	public Spliterator<Map.Entry<String, Object>> trySplit() {
+		final int middle = (from + to) >>> 1;
+		if (middle <= from) return null;
+		
+		final SectionSpliterator prefix = new SectionSpliterator(configuration, from, middle);
+		from = middle;
+		return prefix;
+	}
+	
+	@Override
+	public long estimateSize() {
+		return to - from;
+	}
+	
+	@Override
+	public int characteristics() {
+		return CHARACTERISTICS;
+	}
+	
+	private Map.Entry<String, Object> entry(int position) {
+		return new AbstractMap.SimpleImmutableEntry<>(configuration.node().key(position),
+			 configuration.value(position));
+	}
+}
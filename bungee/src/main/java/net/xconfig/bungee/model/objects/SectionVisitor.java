@@ -0,0 +1,25 @@
+package net.xconfig.bungee.model.objects;
+
+/**
+ * Receives the keys and values of the children of a section, in the order of the file.
+ * <p>
+ * The keys are the keys of the children, not their full paths, and the children sections are received as
+ * Configuration or ReadOnlyConfiguration objects, so a visitor can visit them too to walk all the tree.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see Sections#visit(net.md_5.bungee.config.Configuration, SectionVisitor)
+ * @see ReadOnlyConfiguration#visit(SectionVisitor)
+ */
+@FunctionalInterface
+public interface SectionVisitor {
+	/**
+	 * Called for every child of the section.
+	 *
+	 * @param key The key of the child.
+	 * @param value The value, a Configuration or ReadOnlyConfiguration if the child is a section.
+	 * @return True to keep visiting the section, false to stop.
+	 */
+	boolean visit(String key, Object value);
+}
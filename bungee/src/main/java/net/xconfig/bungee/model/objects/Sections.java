@@ -0,0 +1,138 @@
+package net.xconfig.bungee.model.objects;
+
+import net.md_5.bungee.config.Configuration;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Visits the children of the BungeeCord configuration sections without the collection of keys created by
+ * {@link Configuration#getKeys()} and the lookup of every key.
+ * <p>
+ * The sections are visited over the map of the Configuration object, which is read by reflection because
+ * isn't exposed by BungeeCord. If the map cannot be read the keys are requested with {@code getKeys()}. The
+ * default values of the configuration aren't visited. The read-only configurations are visited with
+ * {@link ReadOnlyConfiguration#visit(SectionVisitor)}.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class Sections {
+	private static final char SEPARATOR = '.';
+	
+	private static final MethodHandle MAP;
+	
+	static {
+		MethodHandle map = null;
+		try {
+			final Field field = Configuration.class.getDeclaredField("self");
+			field.setAccessible(true);
+			map = MethodHandles.lookup().unreflectGetter(field)
+				 .asType(MethodType.methodType(Map.class, Configuration.class));
+		} catch (ReflectiveOperationException | RuntimeException exception) {
+			map = null;
+		}
+		
+		MAP = map;
+	}
+	
+	private Sections() {}
+	
+	/**
+	 * Visits the children of the configuration given, in the order of the file.
+	 *
+	 * @param configuration The configuration to visit.
+	 * @param visitor The visitor of the children.
+	 * @return False if the visitor stopped the visit, else true.
+	 */
+	public static boolean visit(Configuration configuration, SectionVisitor visitor) {
+		checkNotNull(configuration, "The configuration to visit cannot be null.");
+		checkNotNull(visitor, "The section visitor cannot be null.");
+		
+		if (MAP == null) {
+			for (String key : configuration.getKeys()) {
+				if (!visitor.visit(key, configuration.get(key))) return false;
+			}
+			
+			return true;
+		}
+		
+		final Map<?, ?> map;
+		try { map = (Map<?, ?>) MAP.invokeExact(configuration); }
+		catch (Throwable throwable) {
+			throw new IllegalStateException("Cannot read the keys of the configuration.", throwable);
+		}
+		
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			if (!visitor.visit((String) entry.getKey(), entry.getValue())) return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Puts the values of the configuration and its subsections into the map given by their full paths, without
+	 * the sections and the null values. The values of the same path already in the map are replaced.
+	 *
+	 * @param configuration The configuration to flatten.
+	 * @param values Map where the values are put.
+	 */
+	public static void flatten(Configuration configuration, Map<String, Object> values) {
+		checkNotNull(configuration, "The configuration to flatten cannot be null.");
+		checkNotNull(values, "The map of values cannot be null.");
+		
+		flatten(configuration, null, values);
+	}
+	
+	/**
+	 * Puts the values of the read-only configuration and its subsections into the map given by their full
+	 * paths, like {@link #flatten(Configuration, Map)}.
+	 *
+	 * @param configuration The read-only configuration to flatten.
+	 * @param values Map where the values are put.
+	 */
+	public static void flatten(ReadOnlyConfiguration configuration, Map<String, Object> values) {
+		checkNotNull(configuration, "The configuration to flatten cannot be null.");
+		checkNotNull(values, "The map of values cannot be null.");
+		
+		flatten(configuration, null, values);
+	}
+	
+	/**
+	 * Returns a stream of the children of the configuration given, in the order of the file.
+	 * <p>
+	 * The stream reads an immutable snapshot of the configuration, that is copied when this method is called,
+	 * so it can be processed in parallel while the configuration is modified. The sections of the entries are
+	 * ReadOnlyConfiguration objects of the snapshot. The read-only configurations are streamed without copy
+	 * with {@link ReadOnlyConfiguration#stream(boolean)}.
+	 *
+	 * @param configuration The configuration to stream.
+	 * @param parallel Do you want a parallel stream?
+	 * @return A Stream of the entries of the children.
+	 */
+	public static Stream<Map.Entry<String, Object>> stream(Configuration configuration, boolean parallel) {
+		checkNotNull(configuration, "The configuration to stream cannot be null.");
+		
+		return new ReadOnlyConfiguration(CompactNode.compile(configuration, null)).stream(parallel);
+	}
+	
+	private static void flatten(Object section, String prefix, Map<String, Object> values) {
+		final SectionVisitor visitor = (key, value) -> {
+			final String path = prefix == null ? key : prefix + SEPARATOR + key;
+			if (value instanceof Configuration || value instanceof ReadOnlyConfiguration) {
+				flatten(value, path, values);
+			} else if (value != null) values.put(path, value);
+			return true;
+		};
+		
+		if (section instanceof ReadOnlyConfiguration) ((ReadOnlyConfiguration) section).visit(visitor);
+		else visit((Configuration) section, visitor);
+	}
+}
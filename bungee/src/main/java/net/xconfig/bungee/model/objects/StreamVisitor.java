@@ -0,0 +1,55 @@
+package net.xconfig.bungee.model.objects;
+
+/**
+ * Receives the keys and values of a file while the file is parsed, without build the configuration tree.
+ * <p>
+ * The paths are the full paths of every key, like at the Configuration getters. The lists are received
+ * complete as a single value, the maps inside of a list are received as LinkedHashMap objects.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see YamlStream
+ */
+public interface StreamVisitor {
+	/**
+	 * The action to take after a key is visited.
+	 */
+	enum Action {
+		/** Keep reading the file. */
+		CONTINUE,
+		/** Don't read the content of the section that starts, the values are discarded while are parsed. */
+		SKIP,
+		/** Stop reading the file. */
+		STOP
+	}
+	
+	/**
+	 * Called when a section starts, before their keys are visited.
+	 *
+	 * @param path The section path.
+	 * @return The action to take, {@link Action#SKIP} avoids visit the content of the section.
+	 */
+	default Action section(String path) {
+		return Action.CONTINUE;
+	}
+	
+	/**
+	 * Called when all the keys of a section were visited.
+	 *
+	 * @param path The section path.
+	 * @return The action to take, {@link Action#SKIP} works like {@link Action#CONTINUE}.
+	 */
+	default Action sectionEnd(String path) {
+		return Action.CONTINUE;
+	}
+	
+	/**
+	 * Called for every key that isn't a section.
+	 *
+	 * @param path The key path.
+	 * @param value The value, that can be null.
+	 * @return The action to take, {@link Action#SKIP} works like {@link Action#CONTINUE}.
+	 */
+	Action value(String path, Object value);
+}
@@ -0,0 +1,352 @@
+package net.xconfig.bungee.model.objects;
+
+import net.md_5.bungee.config.Configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Fast YAML writer for the subset of YAML used by the configuration files: sections, maps, lists, scalars and
+ * multi-line texts as literal blocks.
+ * <p>
+ * The content is written into a buffer reused between saves, without build a node graph like the SnakeYAML
+ * dumper does. The texts are written plain only if the loader reads them back as the same text, else are
+ * quoted. The output is read back by the YamlConfiguration provider with the same values.
+ * <p>
+ * The values that aren't supported throw an IllegalArgumentException before anything is written, so the
+ * caller can use the standard YamlConfiguration provider instead.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class YamlEmitter {
+	private static final int INDENT = 2;
+	private static final int MAX_KEY_LENGTH = 1024;
+	
+	private final StringBuilder builder;
+	private final char[] chunk;
+	
+	public YamlEmitter() {
+		builder = new StringBuilder(8192);
+		chunk = new char[8192];
+	}
+	
+	/**
+	 * Writes the configuration given as YAML text.
+	 *
+	 * @param configuration The configuration to write.
+	 * @return The YAML text.
+	 * @throws IllegalArgumentException If the configuration has a value that isn't supported.
+	 */
+	public synchronized String emit(Configuration configuration) {
+		document(configuration);
+		return builder.toString();
+	}
+	
+	/**
+	 * Writes the configuration given into the file, with the UTF-8 charset.
+	 *
+	 * @param configuration The configuration to write.
+	 * @param file The target file, their parent folders are created if don't exist.
+	 * @throws IOException If the file cannot be written.
+	 * @throws IllegalArgumentException If the configuration has a value that isn't supported, the file isn't
+	 * modified in that case.
+	 */
+	public synchronized void write(Configuration configuration, File file) throws IOException {
+		document(configuration);
+		
+		final File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) Files.createDirectories(parent.toPath());
+		
+		try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+			final int length = builder.length();
+			for (int start = 0 ; start < length ; start += chunk.length) {
+				final int end = Math.min(length, start + chunk.length);
+				builder.getChars(start, end, chunk, 0);
+				writer.write(chunk, 0, end - start);
+			}
+		}
+	}
+	
+	private void document(Configuration configuration) {
+		builder.setLength(0);
+		section(configuration, 0);
+	}
+	
+	private void section(Configuration section, int indent) {
+		for (String key : section.getKeys()) {
+			final Object value = section.get(key);
+			
+			indent(indent);
+			key(key);
+			builder.append(':');
+			
+			if (value instanceof Configuration) {
+				final Configuration child = (Configuration) value;
+				if (child.getKeys().isEmpty()) {
+					builder.append(" {}\n");
+					continue;
+				}
+				
+				builder.append('\n');
+				section(child, indent + INDENT);
+				continue;
+			}
+			
+			if (isBlock(value)) {
+				builder.append('\n');
+				block(value, value instanceof Map ? indent + INDENT : indent, false);
+				continue;
+			}
+			
+			builder.append(' ');
+			scalar(value, indent + INDENT);
+		}
+	}
+	
+	private static boolean isBlock(Object value) {
+		if (value instanceof Collection) return !((Collection<?>) value).isEmpty();
+		return value instanceof Map && !((Map<?, ?>) value).isEmpty();
+	}
+	
+	/**
+	 * Writes a non-empty list or map.
+	 *
+	 * @param indent The indentation of the entries.
+	 * @param inline If the first entry is written at the current line, after a list indicator.
+	 */
+	private void block(Object value, int indent, boolean inline) {
+		if (value instanceof Collection) {
+			boolean first = inline;
+			for (Object element : (Collection<?>) value) {
+				if (!first) indent(indent);
+				first = false;
+				
+				builder.append("- ");
+				entry(element, indent + INDENT);
+			}
+			return;
+		}
+		
+		boolean first = inline;
+		for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+			if (!first) indent(indent);
+			first = false;
+			
+			key(entry.getKey());
+			builder.append(':');
+			
+			final Object element = entry.getValue();
+			if (isBlock(element)) {
+				builder.append('\n');
+				block(element, element instanceof Map ? indent + INDENT : indent, false);
+			} else {
+				builder.append(' ');
+				scalar(element, indent + INDENT);
+			}
+		}
+	}
+	
+	/**
+	 * Writes a list element after their indicator.
+	 */
+	private void entry(Object element, int indent) {
+		if (isBlock(element)) block(element, indent, true);
+		else scalar(element, indent);
+	}
+	
+	private void key(Object key) {
+		final int start = builder.length();
+		if (key instanceof String) {
+			final String text = (String) key;
+			if (isPlain(text)) builder.append(text);
+			else if (isSingleQuoted(text)) singleQuoted(text);
+			else doubleQuoted(text);
+		} else if (isBlock(key) || key instanceof Configuration) {
+			throw new IllegalArgumentException("Only the scalar keys are supported.");
+		} else scalar(key, 0, false);
+		
+		if (builder.length() - start > MAX_KEY_LENGTH) {
+			throw new IllegalArgumentException("The key is too long for an implicit key.");
+		}
+	}
+	
+	private void scalar(Object value, int indent) {
+		scalar(value, indent, true);
+		builder.append('\n');
+	}
+	
+	/**
+	 * Writes a scalar value, a text with line breaks is written as a literal block if allowed.
+	 *
+	 * @param indent The indentation of the literal block lines.
+	 */
+	private void scalar(Object value, int indent, boolean literal) {
+		if (value == null) builder.append("null");
+		else if (value instanceof String) {
+			final String text = (String) value;
+			if (isPlain(text)) builder.append(text);
+			else if (literal && isLiteral(text)) {
+				literal(text, indent);
+				return;
+			} else if (isSingleQuoted(text)) singleQuoted(text);
+			else doubleQuoted(text);
+		} else if (value instanceof Boolean) builder.append(((Boolean) value).booleanValue());
+		else if (value instanceof Integer || value instanceof Long || value instanceof Short
+			 || value instanceof Byte || value instanceof BigInteger) {
+			builder.append(value);
+		} else if (value instanceof Double || value instanceof Float) {
+			final double number = ((Number) value).doubleValue();
+			if (Double.isNaN(number)) builder.append(".nan");
+			else if (Double.isInfinite(number)) builder.append(number > 0 ? ".inf" : "-.inf");
+			else builder.append(value);
+		} else if (value instanceof Collection) builder.append("[]");
+		else if (value instanceof Map) builder.append("{}");
+		else throw new IllegalArgumentException("Cannot emit a value of type " + value.getClass().getName() + ".");
+	}
+	
+	/**
+	 * Returns if the text can be written without quotes and is read back as the same text.
+	 */
+	private boolean isPlain(String text) {
+		final int length = text.length();
+		if (length == 0 || text.startsWith("...")) return false;
+		
+		final char first = text.charAt(0);
+		if (" -?:,[]{}#&*!|>'\"%@`".indexOf(first) != -1 || text.charAt(length - 1) == ' ') return false;
+		
+		for (int i = 0 ; i < length ; i++) {
+			final char character = text.charAt(i);
+			if (character == ':' && (i + 1 == length || text.charAt(i + 1) == ' ')) return false;
+			if (character == '#' && text.charAt(i - 1) == ' ') return false;
+			if (!isPrintable(text, i)) return false;
+			if (Character.isHighSurrogate(character)) i++;
+		}
+		
+		return YamlScalars.isText(text);
+	}
+	
+	private static boolean isSingleQuoted(String text) {
+		final int length = text.length();
+		for (int i = 0 ; i < length ; i++) {
+			if (!isPrintable(text, i)) return false;
+			if (Character.isHighSurrogate(text.charAt(i))) i++;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns if the text can be written as a literal block, keeping all their line breaks and spaces.
+	 */
+	private static boolean isLiteral(String text) {
+		final int length = text.length();
+		if (text.indexOf('\n') == -1 || text.charAt(0) == ' ' || text.charAt(0) == '\n') return false;
+		
+		for (int i = 0 ; i < length ; i++) {
+			final char character = text.charAt(i);
+			if (character != '\n' && character != '\t' && !isPrintable(text, i)) return false;
+			if (Character.isHighSurrogate(character)) i++;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns if the character at the position given can be written as it is at a single-line text.
+	 */
+	private static boolean isPrintable(String text, int index) {
+		final char character = text.charAt(index);
+		if (character >= 0x20 && character <= 0x7E) return true;
+		if (character < 0xA0 || character == 0x2028 || character == 0x2029 || character == 0xFEFF) return false;
+		if (Character.isHighSurrogate(character)) {
+			return index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1));
+		}
+		
+		return !Character.isLowSurrogate(character) && character <= 0xFFFD;
+	}
+	
+	private void literal(String text, int indent) {
+		int trailingBreaks = 0;
+		for (int i = text.length() - 1 ; i >= 0 && text.charAt(i) == '\n' ; i--) trailingBreaks++;
+		
+		builder.append('|');
+		if (trailingBreaks == 0) builder.append('-');
+		else if (trailingBreaks > 1) builder.append('+');
+		builder.append('\n');
+		
+		// The line break of the last line is written by the caller.
+		final int contentEnd = text.length() - trailingBreaks;
+		int lineStart = 0;
+		while (true) {
+			int lineEnd = text.indexOf('\n', lineStart);
+			if (lineEnd == -1 || lineEnd > contentEnd) lineEnd = contentEnd;
+			
+			if (lineEnd > lineStart) {
+				indent(indent);
+				builder.append(text, lineStart, lineEnd);
+			}
+			if (lineEnd == contentEnd) break;
+			
+			builder.append('\n');
+			lineStart = lineEnd + 1;
+		}
+		
+		for (int i = 1 ; i < trailingBreaks ; i++) builder.append('\n');
+	}
+	
+	private void singleQuoted(String text) {
+		builder.append('\'');
+		
+		final int length = text.length();
+		for (int i = 0 ; i < length ; i++) {
+			final char character = text.charAt(i);
+			if (character == '\'') builder.append('\'');
+			builder.append(character);
+		}
+		
+		builder.append('\'');
+	}
+	
+	private void doubleQuoted(String text) {
+		builder.append('"');
+		
+		final int length = text.length();
+		for (int i = 0 ; i < length ; i++) {
+			final char character = text.charAt(i);
+			switch (character) {
+				case '"': builder.append("\\\""); continue;
+				case '\\': builder.append("\\\\"); continue;
+				case '\n': builder.append("\\n"); continue;
+				case '\t': builder.append("\\t"); continue;
+				case '\r': builder.append("\\r"); continue;
+				default: break;
+			}
+			
+			if (isPrintable(text, i)) {
+				builder.append(character);
+				if (Character.isHighSurrogate(character)) builder.append(text.charAt(++i));
+				continue;
+			}
+			
+			final String hex = Integer.toHexString(character);
+			builder.append("\\u");
+			for (int padding = hex.length() ; padding < 4 ; padding++) builder.append('0');
+			builder.append(hex);
+		}
+		
+		builder.append('"');
+	}
+	
+	private void indent(int indent) {
+		for (int i = 0 ; i < indent ; i++) builder.append(' ');
+	}
+}
@@ -1,34 +1,67 @@
 package net.xconfig.bungee.model.objects;
 
 import com.google.common.base.Preconditions;
+import net.xconfig.bungee.model.metrics.FlightEvents;
+import net.xconfig.bungee.model.schema.ValidatedConfiguration;
 import net.md_5.bungee.api.plugin.Plugin;
 import net.md_5.bungee.config.Configuration;
-import net.md_5.bungee.config.ConfigurationProvider;
-import net.md_5.bungee.config.YamlConfiguration;
+import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static net.md_5.bungee.api.ProxyServer.getInstance;
 
 public class YamlFile {
-	private static final StringBuilder BUILDER = new StringBuilder();
-	
 	private final Plugin plugin;
 	private final String folderName;
 	private final String fileName;
+	private final StringPool pool;
+	private final boolean readOnly;
+	private final FileFormat format;
+	private final ComponentCache components;
 	
 	private File file;
 	private Configuration configuration;
+	private ReadOnlyConfiguration readOnlyConfiguration;
+	private boolean snapshot;
+	private boolean cache;
+	private boolean fastParser;
+	private ValidatedConfiguration validated;
+	private ReferenceResolver references;
+	private volatile int revision;
+	private volatile boolean discarded;
 	
 	public YamlFile(Plugin plugin, String folderName, String fileName) {
+		this(plugin, folderName, fileName, null, false);
+	}
+	
+	public YamlFile(Plugin plugin, String folderName, String fileName, StringPool pool) {
+		this(plugin, folderName, fileName, pool, false);
+	}
+	
+	public YamlFile(Plugin plugin, String folderName, String fileName, StringPool pool, boolean readOnly) {
+		this(plugin, folderName, fileName, pool, readOnly, new YamlFormat());
+	}
+	
+	public YamlFile(Plugin plugin, String folderName, String fileName, StringPool pool, boolean readOnly,
+		 FileFormat format) {
 		this.plugin = Objects.requireNonNull(plugin, "The Plugin instance cannot be null.");
 		this.folderName = Objects.requireNonNull(folderName, "The folder name cannot be null.");
 		this.fileName = Objects.requireNonNull(fileName, "The file name cannot be null.");
 		Preconditions.checkArgument(!fileName.isEmpty(), "The file name cannot be empty.");
+		this.pool = pool;
+		this.readOnly = readOnly;
+		this.format = Objects.requireNonNull(format, "The file format cannot be null.");
+		components = new ComponentCache(this::text);
 	}
 	
 	/**
@@ -37,7 +70,7 @@ public class YamlFile {
 	public void create() {
 		if (folderName.isEmpty()) file = new File(plugin.getDataFolder(), fileName);
 		else {
-			file = new File(BUILDER.append(plugin.getDataFolder())
+			file = new File(new StringBuilder().append(plugin.getDataFolder())
 				 .append(File.separator)
 				 .append(folderName)
 				 .append(File.separator)
@@ -48,7 +81,7 @@ public class YamlFile {
 			InputStream inputFile;
 			if (folderName.isEmpty()) inputFile = plugin.getResourceAsStream(fileName);
 			else {
-				inputFile = plugin.getResourceAsStream(BUILDER.append(folderName)
+				inputFile = plugin.getResourceAsStream(new StringBuilder().append(folderName)
 					 .append(File.separator)
 					 .append(fileName)
 					 .toString());
@@ -79,7 +112,7 @@ public class YamlFile {
 		
 		if (folderName.isEmpty()) file = new File(dataFolder, fileName);
 		else {
-			file = new File(BUILDER.append(dataFolder)
+			file = new File(new StringBuilder().append(dataFolder)
 				 .append(File.separator)
 				 .append(folderName)
 				 .append(File.separator)
@@ -99,19 +132,366 @@ public class YamlFile {
 	}
 	
 	/**
-	 * Load the file with YamlConfiguration.
+	 * Maps the compiled snapshot given and reads the values directly from it, without parse the content.
+	 *
+	 * @param snapshotFile The snapshot file written by {@link #snapshot(File)}.
+	 * @throws IllegalStateException If the file isn't read-only.
+	 */
+	public void createFromSnapshot(File snapshotFile) {
+		Preconditions.checkState(readOnly, "Only the read-only files can be created from a snapshot.");
+		
+		file = Objects.requireNonNull(snapshotFile, "The snapshot file cannot be null.");
+		snapshot = true;
+		load();
+	}
+	
+	/**
+	 * Writes a compiled snapshot of the current content of this file, that can be mapped by other processes
+	 * with {@link #createFromSnapshot(File)}.
+	 *
+	 * @param snapshotFile The snapshot file to write.
+	 * @throws IOException If the snapshot cannot be written.
+	 */
+	public void snapshot(File snapshotFile) throws IOException {
+		final ConfigurationNode node = readOnly
+			 ? readOnlyConfiguration.node()
+			 : CompactNode.compile(configuration, null);
+		MappedNode.write(node, snapshotFile);
+	}
+	
+	/**
+	 * Reads the file from the disk and passes their keys and values to the visitor while the file is parsed,
+	 * without load the content into a Configuration.
+	 * <p>
+	 * The memory used doesn't depend on the file size, and the reading can be stopped or the sections skipped
+	 * from the visitor. The JSON files are read too, as JSON content is valid YAML.
+	 *
+	 * @param visitor The visitor.
+	 * @return True if all the file was visited, or false if the visitor stopped the reading.
+	 * @throws IOException If the file cannot be read or its content isn't valid.
+	 * @throws IllegalStateException If the file wasn't created or is a snapshot.
+	 */
+	public boolean visit(StreamVisitor visitor) throws IOException {
+		Objects.requireNonNull(visitor, "The visitor cannot be null.");
+		Preconditions.checkState(file != null, "The file wasn't created yet.");
+		Preconditions.checkState(!snapshot, "The snapshot files cannot be visited.");
+		
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			return YamlStream.visit(reader, '.', visitor);
+		} catch (YAMLException | IllegalStateException exception) {
+			throw new IOException("Cannot read the file '" + fileName + "'.", exception);
+		}
+	}
+	
+	/**
+	 * Load the file with its format, if the file is read-only the content is compiled into a
+	 * ReadOnlyConfiguration.
 	 */
 	public void load() {
 		if (!file.exists()) return;
 		
+		final Object event = FlightEvents.beginFileOperation();
+		try {
+			if (loadFile(false)) loaded();
+		} finally {
+			FlightEvents.commitFileOperation(event, fileName, "load", file);
+		}
+	}
+	
+	/**
+	 * Loads again the file content, like {@link #load()}.
+	 * <p>
+	 * If the file has a schema and the new content doesn't follow it, the reload is rejected and the current
+	 * content is kept.
+	 *
+	 * @return True if the content was loaded, false if cannot be read or doesn't follow the schema.
+	 */
+	public boolean reload() {
+		if (!file.exists()) return false;
+		
+		final Object event = FlightEvents.beginFileOperation();
+		try {
+			final boolean accepted = loadFile(true);
+			if (accepted) loaded();
+			return accepted;
+		} finally {
+			FlightEvents.commitFileOperation(event, fileName, "reload", file);
+		}
+	}
+	
+	/**
+	 * Updates the revision of the content and the values cached from the previous content.
+	 */
+	private void loaded() {
+		revision++;
+		components.rebuild();
+	}
+	
+	/**
+	 * Resolves again the references of the current content, because a file that it references changed. The
+	 * read-only content cannot be modified, so is loaded again. The content is validated again with the schema
+	 * of the file, if has one.
+	 *
+	 * @return True if a value changed, else return false.
+	 */
+	public boolean refreshReferences() {
+		if (references == null || snapshot) return false;
+		if (readOnlyConfiguration != null) return reload();
+		if (configuration == null || references.refresh(fileName, configuration).isEmpty()) return false;
+		
+		validate();
+		loaded();
+		return true;
+	}
+	
+	/**
+	 * Sets the values given at the current content, and updates the revision of the content and the values
+	 * cached from the paths changed. The references of the content are resolved again and the content is
+	 * validated again with the schema of the file, if has one. The references of the paths changed are replaced
+	 * by the references of their new values, so the values set are kept as are set, and the values set with
+	 * references are resolved.
+	 *
+	 * @param changes The paths and their new values, a null value removes the path.
+	 * @throws UnsupportedOperationException If the file is read-only.
+	 */
+	public void update(Map<String, Object> changes) {
+		if (readOnlyConfiguration != null) {
+			throw new UnsupportedOperationException("The file '" + fileName + "' is read-only.");
+		}
+		if (configuration == null) return;
+		
+		for (Map.Entry<String, Object> change : changes.entrySet()) {
+			configuration.set(change.getKey(), change.getValue());
+		}
+		
+		final List<String> resolved = references == null
+			 ? Collections.emptyList()
+			 : references.update(fileName, configuration, changes.keySet());
+		validate();
+		
+		revision++;
+		for (String path : changes.keySet()) components.invalidate(path);
+		for (String path : resolved) components.invalidate(path);
+	}
+	
+	/**
+	 * Sets the value at the path of the current content as is, and updates the revision of the content and the
+	 * values cached from the path. Unlike {@link #update(Map)}, the references aren't resolved again and the
+	 * content isn't validated again.
+	 *
+	 * @param path Path for the value.
+	 * @param value Value to set.
+	 * @throws UnsupportedOperationException If the file is read-only.
+	 */
+	public void write(String path, Object value) {
+		if (readOnlyConfiguration != null) {
+			throw new UnsupportedOperationException("The file '" + fileName + "' is read-only.");
+		}
+		
+		configuration.set(path, value);
+		revision++;
+		components.invalidate(path);
+	}
+	
+	/**
+	 * Returns the text of the path from the current content, or null if doesn't exist.
+	 */
+	private String text(String path) {
+		if (readOnlyConfiguration != null) return readOnlyConfiguration.getString(path);
+		return configuration == null ? null : configuration.getString(path);
+	}
+	
+	private boolean loadFile(boolean reload) {
+		if (snapshot) {
+			final ReadOnlyConfiguration mappedConfiguration;
+			try { mappedConfiguration = new ReadOnlyConfiguration(MappedNode.open(file)); }
+			catch (IOException exception) {
+				getInstance().getLogger().severe("Cannot map the snapshot of the file '" + fileName + "'.");
+				exception.printStackTrace();
+				return false;
+			}
+			
+			if (validated != null && !accept(validated.load(mappedConfiguration), reload)) return false;
+			readOnlyConfiguration = mappedConfiguration;
+			return true;
+		}
+		
 		try {
-			configuration = ConfigurationProvider.getProvider(YamlConfiguration.class).load(file);
+			final Configuration loadedConfiguration = loadContent();
+			if (!accept(loadedConfiguration, reload)) return false;
+			if (readOnly) {
+				readOnlyConfiguration = new ReadOnlyConfiguration(CompactNode.compile(loadedConfiguration, pool));
+				return true;
+			}
+			
+			configuration = loadedConfiguration;
+			if (pool != null) pool.deduplicate(configuration);
+			return true;
 		} catch (IOException exception) {
 			getInstance().getLogger().severe("Cannot load the file '" + fileName + "'.");
 			exception.printStackTrace();
+			return false;
 		}
 	}
 	
+	/**
+	 * Resolves the references of the content loaded and checks it with the schema of the file, if has one. The
+	 * references found are kept only if the content is accepted, so a rejected reload doesn't change the
+	 * references of the current content.
+	 */
+	private boolean accept(Configuration loadedConfiguration, boolean reload) {
+		if (validated == null) {
+			if (references != null) references.resolve(fileName, loadedConfiguration);
+			return true;
+		}
+		
+		if (references == null) return accept(validated.load(loadedConfiguration), reload);
+		return references.resolve(fileName, loadedConfiguration,
+			 resolved -> accept(validated.load(resolved), reload));
+	}
+	
+	/**
+	 * Logs the problems found by the schema. The first load of the file is accepted with the problems, so the
+	 * file can be read without schema, but the reloads are rejected.
+	 */
+	private boolean accept(List<String> problems, boolean reload) {
+		if (problems.isEmpty()) return true;
+		
+		for (String problem : problems) {
+			getInstance().getLogger().severe("The file '" + fileName + "' doesn't follow its schema: " + problem);
+		}
+		if (reload) getInstance().getLogger().severe("The reload of the file '" + fileName + "' was rejected.");
+		return !reload;
+	}
+	
+	/**
+	 * Validates the current content with the schema of the file, if has one. The problems found are logged and
+	 * the validated values keep the last content that followed the schema.
+	 *
+	 * @return False if the content doesn't follow the schema, else true.
+	 */
+	public boolean validate() {
+		if (validated == null) return true;
+		
+		final List<String> problems;
+		if (readOnlyConfiguration != null) problems = validated.load(readOnlyConfiguration);
+		else if (configuration != null) problems = validated.load(configuration);
+		else return true;
+		
+		return accept(problems, false);
+	}
+	
+	/**
+	 * Loads the file content from the compiled cache if is enabled and still valid, else the file is parsed
+	 * and the cache is written again.
+	 */
+	private Configuration loadContent() throws IOException {
+		if (!cache) return parse();
+		
+		final CompiledCache compiledCache = new CompiledCache(file);
+		final Configuration cachedConfiguration = compiledCache.read();
+		if (cachedConfiguration != null) return cachedConfiguration;
+		
+		final Configuration loadedConfiguration = parse();
+		try { compiledCache.write(loadedConfiguration); }
+		catch (IOException | IllegalArgumentException exception) {
+			getInstance().getLogger().warning("Cannot write the compiled cache of the file '" + fileName + "': "
+				 + exception.getMessage());
+		}
+		
+		return loadedConfiguration;
+	}
+	
+	/**
+	 * Parses the file with the fast parser if is enabled and supports the content, else with the provider of the
+	 * format.
+	 */
+	private Configuration parse() throws IOException {
+		if (!fastParser || !(format instanceof YamlFormat)) return format.load(file);
+		
+		final byte[] content = Files.readAllBytes(file.toPath());
+		final Configuration parsedConfiguration = YamlParser.load(content);
+		return parsedConfiguration == null ? format.load(file) : parsedConfiguration;
+	}
+	
+	/**
+	 * Enables or disables the compiled cache of this file, that stores a binary form of the parsed content
+	 * next to the file to skip the parsing on the next loads while the file isn't modified.
+	 * <p>
+	 * Must be established before the file is created.
+	 *
+	 * @param cache Do you want to use the compiled cache?
+	 * @see CompiledCache
+	 */
+	public void cache(boolean cache) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * Returns if the compiled cache is enabled for this file.
+	 *
+	 * @return True if the file is loaded through the compiled cache, else return false.
+	 */
+	public boolean cache() {
+		return cache;
+	}
+	
+	/**
+	 * Enables or disables the fast YAML parser for the loads of this file, the content with syntax that the
+	 * parser doesn't support is loaded with the standard provider.
+	 * <p>
+	 * Must be established before the file is created.
+	 *
+	 * @param fastParser Do you want to load the file with the fast parser?
+	 * @see YamlParser
+	 */
+	public void fastParser(boolean fastParser) {
+		this.fastParser = fastParser;
+	}
+	
+	/**
+	 * Returns if the fast YAML parser is enabled for this file.
+	 *
+	 * @return True if the file is loaded with the fast parser when possible, else return false.
+	 */
+	public boolean fastParser() {
+		return fastParser;
+	}
+	
+	/**
+	 * Establishes the validated values of this file, that are checked with their schema every time the file is
+	 * loaded, and reject the reloads that doesn't follow the schema.
+	 * <p>
+	 * Must be established before the file is created, or validated with {@link #validate()} after.
+	 *
+	 * @param validated The ValidatedConfiguration object, or null to load the file without schema.
+	 * @see ValidatedConfiguration
+	 */
+	public void validated(ValidatedConfiguration validated) {
+		this.validated = validated;
+	}
+	
+	/**
+	 * Establishes the resolver of the references to other values inside of the texts of this file.
+	 * <p>
+	 * Must be established before the file is created.
+	 *
+	 * @param references The ReferenceResolver object, or null to load the values as are written.
+	 * @see ReferenceResolver
+	 */
+	public void references(ReferenceResolver references) {
+		this.references = references;
+	}
+	
+	/**
+	 * Returns the validated values of this file.
+	 *
+	 * @return The ValidatedConfiguration object, or null if the file hasn't a schema.
+	 */
+	public ValidatedConfiguration validated() {
+		return validated;
+	}
+	
 	/**
 	 * Returns the folder name.
 	 *
@@ -130,6 +510,78 @@ public class YamlFile {
 		return fileName;
 	}
 	
+	/**
+	 * Returns if the file was loaded as read-only.
+	 *
+	 * @return True if the content is stored as a ReadOnlyConfiguration, else return false.
+	 */
+	public boolean readOnly() {
+		return readOnly;
+	}
+	
+	/**
+	 * Returns the format of the file content.
+	 *
+	 * @return The FileFormat object.
+	 */
+	public FileFormat format() {
+		return format;
+	}
+	
+	/**
+	 * Returns the ReadOnlyConfiguration object for this file.
+	 *
+	 * @return The ReadOnlyConfiguration object, or null if the file isn't read-only.
+	 */
+	public ReadOnlyConfiguration readOnlyConfiguration() {
+		return readOnlyConfiguration;
+	}
+	
+	/**
+	 * Returns if the content of the file is read from a memory-mapped snapshot.
+	 *
+	 * @return True if the file was created from a snapshot, else return false.
+	 */
+	public boolean snapshot() {
+		return snapshot;
+	}
+	
+	/**
+	 * Returns the number of times that the content of the file was loaded, so the values compiled from the
+	 * content can know if the file was reloaded since were compiled.
+	 *
+	 * @return The revision of the content.
+	 */
+	public int revision() {
+		return revision;
+	}
+	
+	/**
+	 * Returns the cache of the chat components of the messages of this file, that is converted again every
+	 * time the file is reloaded.
+	 *
+	 * @return The ComponentCache object.
+	 */
+	public ComponentCache components() {
+		return components;
+	}
+	
+	/**
+	 * Marks the file as replaced or deleted at the manager, so the views bound to it look for the file again.
+	 */
+	public void discard() {
+		discarded = true;
+	}
+	
+	/**
+	 * Returns if the file was replaced or deleted at the manager.
+	 *
+	 * @return True if the file was discarded, else return false.
+	 */
+	public boolean discarded() {
+		return discarded;
+	}
+	
 	/**
 	 * Returns the File object.
 	 *
@@ -141,8 +593,11 @@ public class YamlFile {
 	
 	/**
 	 * Returns the Configuration object for this file.
+	 * <p>
+	 * The read-only files haven't a Configuration object, their content is read through
+	 * {@link #readOnlyConfiguration()}.
 	 *
-	 * @return The Configuration object.
+	 * @return The Configuration object, or null if the file isn't loaded or is read-only.
 	 */
 	public Configuration get() {
 		return configuration;
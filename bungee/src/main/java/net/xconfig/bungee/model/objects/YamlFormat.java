@@ -0,0 +1,32 @@
+package net.xconfig.bungee.model.objects;
+
+import net.md_5.bungee.config.Configuration;
+import net.md_5.bungee.config.ConfigurationProvider;
+import net.md_5.bungee.config.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Default format of the files, handled by the YamlConfiguration provider of BungeeCord.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class YamlFormat implements FileFormat {
+	@Override
+	public boolean supports(String fileName) {
+		return fileName.endsWith(".yml") || fileName.endsWith(".yaml");
+	}
+	
+	@Override
+	public Configuration load(File file) throws IOException {
+		return ConfigurationProvider.getProvider(YamlConfiguration.class).load(file);
+	}
+	
+	@Override
+	public void save(Configuration configuration, File file) throws IOException {
+		ConfigurationProvider.getProvider(YamlConfiguration.class).save(configuration, file);
+	}
+}
@@ -0,0 +1,95 @@
+package net.xconfig.bungee.model.objects;
+
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.math.BigInteger;
+
+/**
+ * Resolves the plain scalars of YAML to the same values that the YAML loader constructs.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+final class YamlScalars {
+	/** Only the plain scalars that start with one of these characters can be resolved to other type than text. */
+	private static final String RESOLVED_FIRST_CHARS = "yYnNtTfFoO-+0123456789.<~=!&*";
+	private static final Resolver RESOLVER = new Resolver();
+	
+	private YamlScalars() {}
+	
+	/**
+	 * Returns if the plain scalar given is read as a text by the YAML loader.
+	 *
+	 * @param text The scalar text.
+	 * @return True if the scalar is resolved as a text, else return false.
+	 */
+	static boolean isText(String text) {
+		return !text.isEmpty()
+			 && (RESOLVED_FIRST_CHARS.indexOf(text.charAt(0)) == -1
+			 || Tag.STR.equals(RESOLVER.resolve(NodeId.scalar, text, true)));
+	}
+	
+	/**
+	 * Resolves the plain scalar given to a text, null, boolean, integer or decimal value.
+	 *
+	 * @param text The scalar text.
+	 * @return The value of the scalar.
+	 * @throws IllegalArgumentException If the scalar is resolved to other type, like a timestamp or a
+	 *                                  sexagesimal number.
+	 */
+	static Object resolve(String text) {
+		if (!text.isEmpty() && RESOLVED_FIRST_CHARS.indexOf(text.charAt(0)) == -1) return text;
+		
+		final Tag tag = RESOLVER.resolve(NodeId.scalar, text, true);
+		if (Tag.STR.equals(tag)) return text;
+		if (Tag.NULL.equals(tag)) return null;
+		if (Tag.BOOL.equals(tag)) {
+			final String lowerText = text.toLowerCase();
+			return lowerText.equals("true") || lowerText.equals("yes") || lowerText.equals("on");
+		}
+		if (Tag.INT.equals(tag)) return integer(text);
+		if (Tag.FLOAT.equals(tag)) return decimal(text);
+		
+		throw new IllegalArgumentException("The scalar '" + text + "' is resolved as " + tag + ".");
+	}
+	
+	private static Object integer(String text) {
+		String digits = text.replace("_", "");
+		
+		String sign = "";
+		if (digits.charAt(0) == '-' || digits.charAt(0) == '+') {
+			if (digits.charAt(0) == '-') sign = "-";
+			digits = digits.substring(1);
+		}
+		
+		int radix = 10;
+		if (digits.startsWith("0b")) {
+			radix = 2;
+			digits = digits.substring(2);
+		} else if (digits.startsWith("0x")) {
+			radix = 16;
+			digits = digits.substring(2);
+		} else if (digits.length() > 1 && digits.charAt(0) == '0') {
+			radix = 8;
+			digits = digits.substring(1);
+		}
+		
+		final BigInteger number = new BigInteger(sign + digits, radix);
+		if (number.bitLength() < 32) return number.intValue();
+		if (number.bitLength() < 64) return number.longValue();
+		return number;
+	}
+	
+	private static Object decimal(String text) {
+		final String number = text.replace("_", "").toLowerCase();
+		if (number.endsWith(".inf")) {
+			return number.charAt(0) == '-' ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		}
+		if (number.equals(".nan")) return Double.NaN;
+		
+		return Double.valueOf(number);
+	}
+}
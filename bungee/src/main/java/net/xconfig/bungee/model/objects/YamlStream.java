@@ -0,0 +1,180 @@
+package net.xconfig.bungee.model.objects;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Walks the content of a YAML file event per event and passes their keys and values to a StreamVisitor.
+ * <p>
+ * Only the path of the current key and the value being read are kept in memory, so the memory used doesn't
+ * depend on the file size. The scalars are resolved to the same types that the YAML loader returns, except
+ * the timestamps that are kept as text. An alias is resolved only if its anchor isn't a section.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see StreamVisitor
+ */
+public final class YamlStream {
+	private final Iterator<Event> events;
+	private final char separator;
+	private final StreamVisitor visitor;
+	private final StringBuilder path;
+	private final Map<String, Object> anchors;
+	
+	private YamlStream(Reader reader, char separator, StreamVisitor visitor) {
+		events = createYaml().parse(reader).iterator();
+		this.separator = separator;
+		this.visitor = visitor;
+		path = new StringBuilder();
+		anchors = new HashMap<>();
+	}
+	
+	/**
+	 * Reads the content given and passes their keys and values to the visitor.
+	 *
+	 * @param reader The source of the content, isn't closed by this method.
+	 * @param separator The separator of the paths.
+	 * @param visitor The visitor.
+	 * @return True if all the content was visited, or false if the visitor stopped the reading.
+	 * @throws org.yaml.snakeyaml.error.YAMLException If the content isn't valid YAML.
+	 * @throws IllegalStateException If the top level of the content isn't a map.
+	 */
+	public static boolean visit(Reader reader, char separator, StreamVisitor visitor) {
+		return new YamlStream(reader, separator, visitor).walk();
+	}
+	
+	private static Yaml createYaml() {
+		final LoaderOptions options = new LoaderOptions();
+		// The streamed files can be larger than the default limit of the document size.
+		try { options.setCodePointLimit(Integer.MAX_VALUE); }
+		catch (NoSuchMethodError error) {
+			// The SnakeYAML versions without that limit don't have this option.
+		}
+		
+		return new Yaml(options);
+	}
+	
+	private boolean walk() {
+		while (events.hasNext()) {
+			final Event event = events.next();
+			
+			if (event instanceof MappingStartEvent) return section(0);
+			if (event instanceof ScalarEvent && ((ScalarEvent) event).getValue().isEmpty()) return true;
+			if (event instanceof NodeEvent) {
+				throw new IllegalStateException("The top level of the file isn't a map.");
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Visits the keys of the section that starts, until their end.
+	 *
+	 * @param pathLength The length of the section path.
+	 * @return False if the visitor stopped the reading.
+	 */
+	private boolean section(int pathLength) {
+		while (true) {
+			final Event keyEvent = events.next();
+			if (keyEvent instanceof MappingEndEvent) return true;
+			if (!(keyEvent instanceof ScalarEvent)) {
+				throw new IllegalStateException("Only the text keys are supported.");
+			}
+			
+			path.setLength(pathLength);
+			if (pathLength > 0) path.append(separator);
+			path.append(((ScalarEvent) keyEvent).getValue());
+			
+			final String keyPath = path.toString();
+			final Event valueEvent = events.next();
+			
+			if (!(valueEvent instanceof MappingStartEvent)) {
+				if (visitor.value(keyPath, value(valueEvent)) == StreamVisitor.Action.STOP) return false;
+				continue;
+			}
+			
+			final StreamVisitor.Action action = visitor.section(keyPath);
+			if (action == StreamVisitor.Action.STOP) return false;
+			if (action == StreamVisitor.Action.SKIP) {
+				skip();
+				continue;
+			}
+			
+			if (!section(path.length())) return false;
+			if (visitor.sectionEnd(keyPath) == StreamVisitor.Action.STOP) return false;
+		}
+	}
+	
+	private void skip() {
+		int depth = 1;
+		while (depth > 0) {
+			final Event event = events.next();
+			if (event instanceof CollectionStartEvent) depth++;
+			else if (event instanceof CollectionEndEvent) depth--;
+		}
+	}
+	
+	/**
+	 * Reads the value that starts with the event given.
+	 */
+	private Object value(Event event) {
+		if (event instanceof AliasEvent) return anchors.get(((AliasEvent) event).getAnchor());
+		
+		final Object value;
+		if (event instanceof ScalarEvent) value = scalar((ScalarEvent) event);
+		else if (event instanceof SequenceStartEvent) {
+			final List<Object> list = new ArrayList<>();
+			Event element = events.next();
+			while (!(element instanceof SequenceEndEvent)) {
+				list.add(value(element));
+				element = events.next();
+			}
+			
+			value = list;
+		} else if (event instanceof MappingStartEvent) {
+			final Map<Object, Object> map = new LinkedHashMap<>();
+			Event key = events.next();
+			while (!(key instanceof MappingEndEvent)) {
+				map.put(value(key), value(events.next()));
+				key = events.next();
+			}
+			
+			value = map;
+		} else throw new IllegalStateException("Unexpected event " + event + ".");
+		
+		final String anchor = ((NodeEvent) event).getAnchor();
+		if (anchor != null) anchors.put(anchor, value);
+		return value;
+	}
+	
+	private Object scalar(ScalarEvent event) {
+		final String text = event.getValue();
+		if (!event.getImplicit().canOmitTagInPlainScalar()) return text;
+		
+		try { return YamlScalars.resolve(text); }
+		catch (IllegalArgumentException exception) {
+			// The timestamps and the sexagesimal numbers are kept as text.
+			return text;
+		}
+	}
+}
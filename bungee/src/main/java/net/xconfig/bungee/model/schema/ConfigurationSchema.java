@@ -0,0 +1,349 @@
+package net.xconfig.bungee.model.schema;
+
+import net.xconfig.bungee.TextUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Schema of a file, with the type, range, default value and if is required of every path.
+ * <p>
+ * The schema is checked once every time the file is built or reloaded, and the values are converted to the
+ * type of their paths, so the reads of a {@link ValidatedConfiguration} return the values without check them
+ * again. The texts that are colorized by the schema are colorized only at the validation.
+ * <p>
+ * The paths are defined with the methods of every type, that return the same schema:
+ * <pre>
+ * final ConfigurationSchema schema = new ConfigurationSchema()
+ *      .requireText("database.url", false)
+ *      .text("messages.prefix", "&amp;8[Shop] ", true)
+ *      .number("shop.size", 9, 54, 27)
+ *      .doubleNumber("shop.tax", 0.0, 1.0, 0.05);
+ * </pre>
+ * The schema shouldn't be modified after is registered for a file.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class ConfigurationSchema {
+	private final Map<String, Rule> rules;
+	
+	/**
+	 * Creates an empty schema.
+	 */
+	public ConfigurationSchema() {
+		rules = new LinkedHashMap<>();
+	}
+	
+	/**
+	 * Defines a required text.
+	 *
+	 * @param path Path of the text.
+	 * @param colorize Do you want to apply the colors to the text at the validation?
+	 * @return This schema.
+	 */
+	public ConfigurationSchema requireText(String path, boolean colorize) {
+		return define(new Rule(path, Type.TEXT, null, 0, 0, colorize));
+	}
+	
+	/**
+	 * Defines a text with a default value if the path doesn't exist.
+	 *
+	 * @param path Path of the text.
+	 * @param defaultText Default text.
+	 * @param colorize Do you want to apply the colors to the text at the validation?
+	 * @return This schema.
+	 */
+	public ConfigurationSchema text(String path, String defaultText, boolean colorize) {
+		checkNotNull(defaultText, "The default text cannot be null.");
+		
+		return define(new Rule(path, Type.TEXT, defaultText, 0, 0, colorize));
+	}
+	
+	/**
+	 * Defines a required int number between the range given.
+	 *
+	 * @param path Path of the number.
+	 * @param min Minimum value, inclusive.
+	 * @param max Maximum value, inclusive.
+	 * @return This schema.
+	 */
+	public ConfigurationSchema requireNumber(String path, int min, int max) {
+		checkArgument(min <= max, "The minimum value is greater than the maximum value.");
+		
+		return define(new Rule(path, Type.NUMBER, null, min, max, false));
+	}
+	
+	/**
+	 * Defines an int number between the range given, with a default value if the path doesn't exist.
+	 *
+	 * @param path Path of the number.
+	 * @param min Minimum value, inclusive.
+	 * @param max Maximum value, inclusive.
+	 * @param defaultNumber Default number.
+	 * @return This schema.
+	 */
+	public ConfigurationSchema number(String path, int min, int max, int defaultNumber) {
+		checkArgument(min <= max, "The minimum value is greater than the maximum value.");
+		checkArgument(defaultNumber >= min && defaultNumber <= max, "The default number is out of the range.");
+		
+		return define(new Rule(path, Type.NUMBER, defaultNumber, min, max, false));
+	}
+	
+	/**
+	 * Defines a required double number between the range given.
+	 *
+	 * @param path Path of the number.
+	 * @param min Minimum value, inclusive.
+	 * @param max Maximum value, inclusive.
+	 * @return This schema.
+	 */
+	public ConfigurationSchema requireDoubleNumber(String path, double min, double max) {
+		checkArgument(min <= max, "The minimum value is greater than the maximum value.");
+		
+		return define(new Rule(path, Type.DOUBLE_NUMBER, null, min, max, false));
+	}
+	
+	/**
+	 * Defines a double number between the range given, with a default value if the path doesn't exist.
+	 *
+	 * @param path Path of the number.
+	 * @param min Minimum value, inclusive.
+	 * @param max Maximum value, inclusive.
+	 * @param defaultNumber Default number.
+	 * @return This schema.
+	 */
+	public ConfigurationSchema doubleNumber(String path, double min, double max, double defaultNumber) {
+		checkArgument(min <= max, "The minimum value is greater than the maximum value.");
+		checkArgument(defaultNumber >= min && defaultNumber <= max, "The default number is out of the range.");
+		
+		return define(new Rule(path, Type.DOUBLE_NUMBER, defaultNumber, min, max, false));
+	}
+	
+	/**
+	 * Defines a required boolean.
+	 *
+	 * @param path Path of the boolean.
+	 * @return This schema.
+	 */
+	public ConfigurationSchema requireCondition(String path) {
+		return define(new Rule(path, Type.CONDITION, null, 0, 0, false));
+	}
+	
+	/**
+	 * Defines a boolean with a default value if the path doesn't exist.
+	 *
+	 * @param path Path of the boolean.
+	 * @param defaultBoolean Default boolean value.
+	 * @return This schema.
+	 */
+	public ConfigurationSchema condition(String path, boolean defaultBoolean) {
+		return define(new Rule(path, Type.CONDITION, defaultBoolean, 0, 0, false));
+	}
+	
+	/**
+	 * Defines a required text list.
+	 *
+	 * @param path Path of the list.
+	 * @param colorize Do you want to apply the colors to the texts at the validation?
+	 * @return This schema.
+	 */
+	public ConfigurationSchema requireTextList(String path, boolean colorize) {
+		return define(new Rule(path, Type.TEXT_LIST, null, 0, 0, colorize));
+	}
+	
+	/**
+	 * Defines a text list with a default value if the path doesn't exist.
+	 *
+	 * @param path Path of the list.
+	 * @param defaultList Default list.
+	 * @param colorize Do you want to apply the colors to the texts at the validation?
+	 * @return This schema.
+	 */
+	public ConfigurationSchema textList(String path, List<String> defaultList, boolean colorize) {
+		checkNotNull(defaultList, "The default list cannot be null.");
+		
+		return define(new Rule(path, Type.TEXT_LIST, new ArrayList<>(defaultList), 0, 0, colorize));
+	}
+	
+	/**
+	 * Returns the number of paths defined.
+	 *
+	 * @return The number of paths.
+	 */
+	public int size() {
+		return rules.size();
+	}
+	
+	/**
+	 * Returns a copy of the paths defined, with their positions at the validated values.
+	 */
+	Map<String, Rule> rules() {
+		final Map<String, Rule> copy = new LinkedHashMap<>();
+		int index = 0;
+		for (Rule rule : rules.values()) copy.put(rule.path, rule.at(index++));
+		return copy;
+	}
+	
+	private ConfigurationSchema define(Rule rule) {
+		checkArgument(!rules.containsKey(rule.path), "The path '" + rule.path + "' is already defined.");
+		
+		rules.put(rule.path, rule);
+		return this;
+	}
+	
+	/**
+	 * Validates the values read from a file with the rules given, converting them to the type of their paths.
+	 *
+	 * @param rules The rules returned by {@link #rules()}.
+	 * @param reader Function that returns the value of a path, or null if the path doesn't exist.
+	 * @param values The array to fill at the positions of the rules.
+	 * @return The problems found, empty if the values follow the schema.
+	 */
+	static List<String> validate(Map<String, Rule> rules, Function<String, Object> reader, Object[] values) {
+		final List<String> problems = new ArrayList<>();
+		for (Rule rule : rules.values()) {
+			final Object value = reader.apply(rule.path);
+			if (value == null) {
+				if (rule.defaultValue == null) problems.add("The path '" + rule.path + "' is required.");
+				else values[rule.index] = rule.colorize(rule.defaultValue);
+				continue;
+			}
+			
+			final Object converted = rule.convert(value);
+			if (converted == null) {
+				problems.add("The path '" + rule.path + "' must be " + rule.describe() + ", but is '" + value
+					 + "'.");
+				continue;
+			}
+			
+			values[rule.index] = rule.colorize(converted);
+		}
+		
+		return problems;
+	}
+	
+	/**
+	 * Types of the values of a schema.
+	 */
+	enum Type {
+		TEXT("a text"),
+		NUMBER("an int number"),
+		DOUBLE_NUMBER("a double number"),
+		CONDITION("a boolean"),
+		TEXT_LIST("a text list");
+		
+		private final String description;
+		
+		Type(String description) {
+			this.description = description;
+		}
+	}
+	
+	/**
+	 * Definition of a path, with its position at the validated values.
+	 */
+	static final class Rule {
+		final String path;
+		final Type type;
+		final int index;
+		
+		private final Object defaultValue;
+		private final double min;
+		private final double max;
+		private final boolean colorize;
+		
+		private Rule(String path, Type type, Object defaultValue, double min, double max, boolean colorize) {
+			this(path, type, -1, defaultValue, min, max, colorize);
+		}
+		
+		private Rule(String path, Type type, int index, Object defaultValue, double min, double max,
+			 boolean colorize) {
+			checkNotNull(path, "The path cannot be null.");
+			checkArgument(!path.isEmpty(), "The path is empty.");
+			
+			this.path = path;
+			this.type = type;
+			this.index = index;
+			this.defaultValue = defaultValue;
+			this.min = min;
+			this.max = max;
+			this.colorize = colorize;
+		}
+		
+		private Rule at(int index) {
+			return new Rule(path, type, index, defaultValue, min, max, colorize);
+		}
+		
+		/**
+		 * Converts the value to the type of the rule, or returns null if cannot be converted or is out of the
+		 * range.
+		 */
+		private Object convert(Object value) {
+			switch (type) {
+				case TEXT:
+					return scalar(value) ? value.toString() : null;
+				case NUMBER:
+					final Double number = toDouble(value);
+					if (number == null || number != Math.rint(number) || number < min || number > max) return null;
+					return number.intValue();
+				case DOUBLE_NUMBER:
+					final Double doubleNumber = toDouble(value);
+					if (doubleNumber == null || doubleNumber.isNaN()) return null;
+					return doubleNumber < min || doubleNumber > max ? null : doubleNumber;
+				case CONDITION:
+					if (value instanceof Boolean) return value;
+					if ("true".equalsIgnoreCase(value.toString())) return Boolean.TRUE;
+					if ("false".equalsIgnoreCase(value.toString())) return Boolean.FALSE;
+					return null;
+				default:
+					if (!(value instanceof List)) return null;
+					
+					final List<String> texts = new ArrayList<>();
+					for (Object element : (List<?>) value) {
+						if (!scalar(element)) return null;
+						texts.add(element.toString());
+					}
+					return texts;
+			}
+		}
+		
+		@SuppressWarnings("unchecked")
+		private Object colorize(Object value) {
+			if (type == Type.TEXT_LIST) {
+				final List<String> texts = (List<String>) value;
+				return Collections.unmodifiableList(colorize ? TextUtils.colorize(texts) : new ArrayList<>(texts));
+			}
+			
+			return colorize ? TextUtils.colorize((String) value) : value;
+		}
+		
+		private String describe() {
+			if (type == Type.NUMBER) return type.description + " between " + (int) min + " and " + (int) max;
+			if (type == Type.DOUBLE_NUMBER) return type.description + " between " + min + " and " + max;
+			return type.description;
+		}
+		
+		private static boolean scalar(Object value) {
+			return value instanceof String || value instanceof Number || value instanceof Boolean;
+		}
+		
+		private static Double toDouble(Object value) {
+			if (value instanceof Number) return ((Number) value).doubleValue();
+			if (!(value instanceof String)) return null;
+			
+			try { return Double.parseDouble(((String) value).trim()); }
+			catch (NumberFormatException exception) {
+				return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package net.xconfig.bungee.model.schema;
+
+import net.md_5.bungee.config.Configuration;
+import net.xconfig.bungee.model.objects.ReadOnlyConfiguration;
+import net.xconfig.bungee.model.schema.ConfigurationSchema.Rule;
+import net.xconfig.bungee.model.schema.ConfigurationSchema.Type;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Values of a file validated and converted by its {@link ConfigurationSchema}.
+ * <p>
+ * The values are checked and converted once when the file is built or reloaded, so the getters only look for
+ * the position of the path and return the value, without type checks, default values or logging. The view is
+ * the same object after every reload or build of the file and always returns the last values that followed
+ * the schema, because the reloads that doesn't follow the schema are rejected. The reads are thread-safe.
+ * <p>
+ * The build of a file whose content doesn't follow the schema only logs the problems, so the getters throw an
+ * IllegalStateException until a reload follows the schema. Check {@link #loaded()} before the reads if the file
+ * can be built with a wrong content.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see net.xconfig.bungee.model.SimpleConfigurationManager#schema(String, ConfigurationSchema)
+ */
+public final class ValidatedConfiguration {
+	private final String fileName;
+	private final Map<String, Rule> rules;
+	
+	private volatile Object[] values;
+	
+	/**
+	 * Creates the validated values of a file, that are empty until the first {@link #load(Configuration)}.
+	 *
+	 * @param fileName The file name.
+	 * @param schema The schema of the file.
+	 */
+	public ValidatedConfiguration(String fileName, ConfigurationSchema schema) {
+		checkNotNull(fileName, "The file name cannot be null.");
+		checkNotNull(schema, "The schema cannot be null.");
+		
+		this.fileName = fileName;
+		rules = schema.rules();
+	}
+	
+	/**
+	 * Validates the content given with the schema, and if follows the schema replaces the current values with
+	 * the new values converted.
+	 *
+	 * @param configuration The content of the file.
+	 * @return The problems found, or an empty list if the values were replaced.
+	 */
+	public List<String> load(Configuration configuration) {
+		checkNotNull(configuration, "The configuration to validate cannot be null.");
+		
+		return load(configuration::get);
+	}
+	
+	/**
+	 * Validates the content of a read-only file, like {@link #load(Configuration)}.
+	 *
+	 * @param configuration The content of the file.
+	 * @return The problems found, or an empty list if the values were replaced.
+	 */
+	public List<String> load(ReadOnlyConfiguration configuration) {
+		checkNotNull(configuration, "The configuration to validate cannot be null.");
+		
+		return load(configuration::get);
+	}
+	
+	private List<String> load(Function<String, Object> reader) {
+		final Object[] loadedValues = new Object[rules.size()];
+		final List<String> problems = ConfigurationSchema.validate(rules, reader, loadedValues);
+		if (problems.isEmpty()) values = loadedValues;
+		return problems;
+	}
+	
+	/**
+	 * Returns the name of the file of these values.
+	 *
+	 * @return The file name.
+	 */
+	public String fileName() {
+		return fileName;
+	}
+	
+	/**
+	 * Returns if the file content followed the schema at least once.
+	 *
+	 * @return True if there are values to read, else return false.
+	 */
+	public boolean loaded() {
+		return values != null;
+	}
+	
+	/**
+	 * Returns a text.
+	 *
+	 * @param path Path defined as text at the schema.
+	 * @return The text, colorized if the schema colorizes it.
+	 * @throws IllegalStateException If the file content never followed the schema.
+	 */
+	public String text(String path) {
+		return (String) value(path, Type.TEXT);
+	}
+	
+	/**
+	 * Returns an int number.
+	 *
+	 * @param path Path defined as int number at the schema.
+	 * @return The number.
+	 * @throws IllegalStateException If the file content never followed the schema.
+	 */
+	public int number(String path) {
+		return (Integer) value(path, Type.NUMBER);
+	}
+	
+	/**
+	 * Returns a double number.
+	 *
+	 * @param path Path defined as double number at the schema.
+	 * @return The double.
+	 * @throws IllegalStateException If the file content never followed the schema.
+	 */
+	public double doubleNumber(String path) {
+		return (Double) value(path, Type.DOUBLE_NUMBER);
+	}
+	
+	/**
+	 * Returns a boolean.
+	 *
+	 * @param path Path defined as boolean at the schema.
+	 * @return The boolean value.
+	 * @throws IllegalStateException If the file content never followed the schema.
+	 */
+	public boolean condition(String path) {
+		return (Boolean) value(path, Type.CONDITION);
+	}
+	
+	/**
+	 * Returns a text list.
+	 *
+	 * @param path Path defined as text list at the schema.
+	 * @return An unmodifiable list, colorized if the schema colorizes it.
+	 * @throws IllegalStateException If the file content never followed the schema.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<String> textList(String path) {
+		return (List<String>) value(path, Type.TEXT_LIST);
+	}
+	
+	/**
+	 * Returns the value of the path.
+	 *
+	 * @throws IllegalArgumentException If the path isn't defined at the schema with the type given.
+	 * @throws IllegalStateException If the file content never followed the schema.
+	 */
+	private Object value(String path, Type type) {
+		final Rule rule = rules.get(path);
+		checkArgument(rule != null && rule.type == type, "The path '%s' isn't defined as %s at the schema.", path,
+			 type);
+		
+		final Object[] current = values;
+		checkState(current != null, "The file '%s' doesn't follow its schema.", fileName);
+		return current[rule.index];
+	}
+}
@@ -0,0 +1,253 @@
+package net.xconfig.bungee.model.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Set of changes made over a file by a server, identified by the server that made them and a version number
+ * of the file.
+ * <p>
+ * Every change is a path and their new value, a null value means that the path was removed.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public final class ConfigurationDelta {
+	private static final int MAGIC = 0x58434453;
+	private static final byte FORMAT = 1;
+	
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INT = 2;
+	private static final byte LONG = 3;
+	private static final byte DOUBLE = 4;
+	private static final byte BOOLEAN = 5;
+	private static final byte LIST = 6;
+	private static final byte MAP = 7;
+	private static final byte FLOAT = 8;
+	
+	private final String origin;
+	private final String fileName;
+	private final long version;
+	private final Map<String, Object> changes;
+	
+	public ConfigurationDelta(String origin, String fileName, long version, Map<String, Object> changes) {
+		this.origin = checkNotNull(origin, "The origin cannot be null.");
+		this.fileName = checkNotNull(fileName, "The file name cannot be null.");
+		this.version = version;
+		checkNotNull(changes, "The changes cannot be null.");
+		this.changes = Collections.unmodifiableMap(new LinkedHashMap<>(changes));
+	}
+	
+	/**
+	 * Decodes a delta from the bytes given.
+	 *
+	 * @param payload The bytes created by {@link #encode()}.
+	 * @return The decoded delta.
+	 * @throws IOException If the payload isn't a valid delta or was encoded with a newer format.
+	 */
+	public static ConfigurationDelta decode(byte[] payload) throws IOException {
+		final DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+		if (input.readInt() != MAGIC) throw new IOException("The payload isn't a configuration delta.");
+		
+		final byte format = input.readByte();
+		if (format != FORMAT) throw new IOException("Unsupported delta format " + format + ".");
+		
+		final String origin = readString(input);
+		final String fileName = readString(input);
+		final long version = input.readLong();
+		
+		final int size = input.readInt();
+		final Map<String, Object> changes = new LinkedHashMap<>(size);
+		for (int i = 0 ; i < size ; i++) changes.put(readString(input), readValue(input));
+		
+		return new ConfigurationDelta(origin, fileName, version, changes);
+	}
+	
+	/**
+	 * Checks if a value can be encoded into a delta, so the changes can be checked before they're applied.
+	 *
+	 * @param value The value, or null for a removed path.
+	 * @return True if the value is null, a text, a number, a boolean, or a list or map of these values, else
+	 * return false.
+	 */
+	public static boolean supports(Object value) {
+		if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+			return true;
+		}
+		
+		if (value instanceof List) {
+			for (Object element : (List<?>) value) {
+				if (!supports(element)) return false;
+			}
+			
+			return true;
+		}
+		
+		if (value instanceof Map) {
+			for (Object element : ((Map<?, ?>) value).values()) {
+				if (!supports(element)) return false;
+			}
+			
+			return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Encodes this delta into a compact binary form.
+	 *
+	 * @return The encoded delta.
+	 * @throws IllegalArgumentException If a value isn't supported, see {@link #supports(Object)}.
+	 */
+	public byte[] encode() {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream output = new DataOutputStream(bytes);
+		
+		try {
+			output.writeInt(MAGIC);
+			output.writeByte(FORMAT);
+			writeString(output, origin);
+			writeString(output, fileName);
+			output.writeLong(version);
+			
+			output.writeInt(changes.size());
+			for (Map.Entry<String, Object> change : changes.entrySet()) {
+				writeString(output, change.getKey());
+				writeValue(output, change.getValue());
+			}
+		} catch (IOException exception) {
+			// A ByteArrayOutputStream never throws an IOException.
+			throw new IllegalStateException(exception);
+		}
+		
+		return bytes.toByteArray();
+	}
+	
+	private static void writeString(DataOutputStream output, String text) throws IOException {
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+	
+	private static String readString(DataInputStream input) throws IOException {
+		final byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private static void writeValue(DataOutputStream output, Object value) throws IOException {
+		if (value == null) output.writeByte(NULL);
+		else if (value instanceof String) {
+			output.writeByte(STRING);
+			writeString(output, (String) value);
+		} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			output.writeByte(INT);
+			output.writeInt(((Number) value).intValue());
+		} else if (value instanceof Long) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+		} else if (value instanceof Float) {
+			output.writeByte(FLOAT);
+			output.writeFloat((Float) value);
+		} else if (value instanceof Number) {
+			output.writeByte(DOUBLE);
+			output.writeDouble(((Number) value).doubleValue());
+		} else if (value instanceof Boolean) {
+			output.writeByte(BOOLEAN);
+			output.writeBoolean((Boolean) value);
+		} else if (value instanceof List) {
+			final List<?> list = (List<?>) value;
+			output.writeByte(LIST);
+			output.writeInt(list.size());
+			for (Object element : list) writeValue(output, element);
+		} else if (value instanceof Map) {
+			final Map<?, ?> map = (Map<?, ?>) value;
+			output.writeByte(MAP);
+			output.writeInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeString(output, String.valueOf(entry.getKey()));
+				writeValue(output, entry.getValue());
+			}
+		} else {
+			throw new IllegalArgumentException("Cannot synchronize a value of type " + value.getClass().getName() + ".");
+		}
+	}
+	
+	private static Object readValue(DataInputStream input) throws IOException {
+		final byte type = input.readByte();
+		switch (type) {
+			case NULL: return null;
+			case STRING: return readString(input);
+			case INT: return input.readInt();
+			case LONG: return input.readLong();
+			case FLOAT: return input.readFloat();
+			case DOUBLE: return input.readDouble();
+			case BOOLEAN: return input.readBoolean();
+			case LIST: {
+				final int size = input.readInt();
+				final List<Object> list = new ArrayList<>(size);
+				for (int i = 0 ; i < size ; i++) list.add(readValue(input));
+				
+				return list;
+			}
+			case MAP: {
+				final int size = input.readInt();
+				final Map<String, Object> map = new LinkedHashMap<>(size);
+				for (int i = 0 ; i < size ; i++) map.put(readString(input), readValue(input));
+				
+				return map;
+			}
+			default: throw new IOException("Unknown value type " + type + ".");
+		}
+	}
+	
+	/**
+	 * Returns the identifier of the server that made the changes.
+	 *
+	 * @return The origin identifier.
+	 */
+	public String origin() {
+		return origin;
+	}
+	
+	/**
+	 * Returns the name of the file changed.
+	 *
+	 * @return The file name.
+	 */
+	public String fileName() {
+		return fileName;
+	}
+	
+	/**
+	 * Returns the version of the file after apply these changes.
+	 *
+	 * @return The file version.
+	 */
+	public long version() {
+		return version;
+	}
+	
+	/**
+	 * Returns the changes of this delta.
+	 *
+	 * @return An unmodifiable map with the paths and their new values.
+	 */
+	public Map<String, Object> changes() {
+		return changes;
+	}
+}
@@ -0,0 +1,190 @@
+package net.xconfig.bungee.model.sync;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static net.md_5.bungee.api.ProxyServer.getInstance;
+
+/**
+ * Transport that shares the payloads through a folder accessible by all the servers, every payload is
+ * written as a new file and the folder is checked periodically for the files of the other servers.
+ * <p>
+ * The files older than the retention time are deleted by any of the servers that uses the folder, after be
+ * delivered if this server didn't read them yet. The files deleted by other server before this server reads
+ * them, for example while this server was paused for longer than the retention time, are detected by the gaps
+ * of the sequence numbers of their origins and logged, because their changes are lost for this server.
+ * <p>
+ * The files that exists when the transport is created are skipped, so the changes published while the server
+ * was stopped aren't received, and the synchronized files must be reloaded from their source of truth when the
+ * server starts.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see SyncTransport
+ */
+public final class FileTransport implements SyncTransport {
+	private static final String EXTENSION = ".delta";
+	
+	private final File folder;
+	private final String origin;
+	private final long retentionMillis;
+	private final List<Consumer<byte[]>> listeners;
+	private final Set<String> processedFiles;
+	private final Map<String, Long> sequences;
+	private final AtomicLong sequence;
+	private final ScheduledExecutorService poller;
+	
+	/**
+	 * Creates a transport over the folder given.
+	 *
+	 * @param folder Shared folder for the payloads.
+	 * @param origin Unique identifier of this server, used for the files names.
+	 * @param pollMillis Milliseconds between every check of the folder.
+	 * @param retentionMillis Milliseconds that a payload file is kept before be deleted.
+	 */
+	public FileTransport(File folder, String origin, long pollMillis, long retentionMillis) {
+		this.folder = checkNotNull(folder, "The folder cannot be null.");
+		this.origin = checkNotNull(origin, "The origin cannot be null.");
+		checkArgument(!origin.isEmpty(), "The origin is empty.");
+		checkArgument(pollMillis > 0, "The poll interval must be positive.");
+		checkArgument(retentionMillis > pollMillis, "The retention must be greater than the poll interval.");
+		
+		this.retentionMillis = retentionMillis;
+		listeners = new CopyOnWriteArrayList<>();
+		processedFiles = ConcurrentHashMap.newKeySet();
+		sequences = new HashMap<>();
+		sequence = new AtomicLong();
+		
+		if (!folder.exists()) folder.mkdirs();
+		
+		// The files that already exists are from before of this server start.
+		final File[] existingFiles = folder.listFiles((dir, name) -> name.endsWith(EXTENSION));
+		if (existingFiles != null && existingFiles.length > 0) {
+			Arrays.sort(existingFiles, (first, second) -> first.getName().compareTo(second.getName()));
+			for (File existingFile : existingFiles) {
+				processedFiles.add(existingFile.getName());
+				track(existingFile.getName(), false);
+			}
+			
+			getInstance().getLogger().warning("Skipped " + existingFiles.length
+				 + " delta files published before the start of this server, the synchronized files must be"
+				 + " reloaded from their source.");
+		}
+		
+		poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "XConfig-FileTransport");
+			thread.setDaemon(true);
+			return thread;
+		});
+		poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	@Override
+	public void publish(byte[] payload) {
+		checkNotNull(payload, "The payload cannot be null.");
+		
+		// The sequence is padded, so the files published at the same millisecond are sorted by their sequence.
+		final String name = System.currentTimeMillis() + "-" + origin + "-"
+			 + String.format("%019d", sequence.incrementAndGet()) + EXTENSION;
+		final File temporalFile = new File(folder, name + ".tmp");
+		
+		try {
+			Files.write(temporalFile.toPath(), payload);
+			Files.move(temporalFile.toPath(), new File(folder, name).toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException exception) {
+			getInstance().getLogger().severe("Cannot publish the delta file '" + name + "'.");
+			exception.printStackTrace();
+			return;
+		}
+		
+		processedFiles.add(name);
+		for (Consumer<byte[]> listener : listeners) listener.accept(payload);
+	}
+	
+	@Override
+	public void subscribe(Consumer<byte[]> listener) {
+		checkNotNull(listener, "The listener cannot be null.");
+		
+		listeners.add(listener);
+	}
+	
+	@Override
+	public void close() {
+		poller.shutdownNow();
+		listeners.clear();
+	}
+	
+	private void poll() {
+		final File[] files = folder.listFiles((dir, name) -> name.endsWith(EXTENSION));
+		if (files == null) return;
+		
+		// The names starts with the publish time, so the files are delivered in the order that were published.
+		Arrays.sort(files, (first, second) -> first.getName().compareTo(second.getName()));
+		
+		final long now = System.currentTimeMillis();
+		for (File file : files) {
+			final String name = file.getName();
+			
+			// The files are delivered before be deleted, although they expired while this server was paused.
+			if (processedFiles.add(name)) deliver(file);
+			
+			if (now - file.lastModified() > retentionMillis && (file.delete() || !file.exists())) {
+				processedFiles.remove(name);
+			}
+		}
+	}
+	
+	private void deliver(File file) {
+		final String name = file.getName();
+		
+		final byte[] payload;
+		try { payload = Files.readAllBytes(file.toPath()); }
+		catch (IOException exception) {
+			getInstance().getLogger().severe("Cannot read the delta file '" + name + "'.");
+			exception.printStackTrace();
+			return;
+		}
+		
+		track(name, true);
+		for (Consumer<byte[]> listener : listeners) listener.accept(payload);
+	}
+	
+	/**
+	 * Records the sequence number of the file name for its origin, and logs the files of the origin that were
+	 * deleted before be read. A sequence lower than the last one means that the origin was restarted.
+	 */
+	private void track(String name, boolean report) {
+		final int originStart = name.indexOf('-');
+		final int originEnd = name.lastIndexOf('-');
+		if (originStart < 0 || originEnd <= originStart) return;
+		
+		final String sender = name.substring(originStart + 1, originEnd);
+		final long number;
+		try { number = Long.parseLong(name.substring(originEnd + 1, name.length() - EXTENSION.length())); }
+		catch (NumberFormatException exception) { return; }
+		
+		final Long previous = sequences.put(sender, number);
+		if (report && previous != null && number > previous + 1L) {
+			getInstance().getLogger().severe("Lost " + (number - previous - 1L) + " delta files of the server '"
+				 + sender + "' that were deleted before be read, the synchronized files must be reloaded from"
+				 + " their source.");
+		}
+	}
+}
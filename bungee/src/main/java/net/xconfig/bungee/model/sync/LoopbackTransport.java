@@ -0,0 +1,43 @@
+package net.xconfig.bungee.model.sync;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Transport that delivers the payloads to the subscribers of the same instance, in the same thread that
+ * publish them. Useful to test the synchronization without any network or shared folder.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ * @see SyncTransport
+ */
+public final class LoopbackTransport implements SyncTransport {
+	private final List<Consumer<byte[]>> listeners;
+	
+	public LoopbackTransport() {
+		listeners = new CopyOnWriteArrayList<>();
+	}
+	
+	@Override
+	public void publish(byte[] payload) {
+		checkNotNull(payload, "The payload cannot be null.");
+		
+		for (Consumer<byte[]> listener : listeners) listener.accept(payload);
+	}
+	
+	@Override
+	public void subscribe(Consumer<byte[]> listener) {
+		checkNotNull(listener, "The listener cannot be null.");
+		
+		listeners.add(listener);
+	}
+	
+	@Override
+	public void close() {
+		listeners.clear();
+	}
+}
@@ -0,0 +1,32 @@
+package net.xconfig.bungee.model.sync;
+
+import java.util.function.Consumer;
+
+/**
+ * Interface model for the channels used by {@link ConfigurationSync} to share the configuration deltas
+ * between servers.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+public interface SyncTransport {
+	/**
+	 * Sends the payload given to all the subscribers of this transport.
+	 *
+	 * @param payload The encoded delta.
+	 */
+	void publish(byte[] payload);
+	
+	/**
+	 * Registers a listener that will receive every payload published through this transport.
+	 *
+	 * @param listener The payload listener.
+	 */
+	void subscribe(Consumer<byte[]> listener);
+	
+	/**
+	 * Closes the transport and releases their resources.
+	 */
+	void close();
+}
@@ -0,0 +1,177 @@
+package net.xconfig.bungee.model.objects;
+
+import net.md_5.bungee.config.Configuration;
+import net.md_5.bungee.config.ConfigurationProvider;
+import net.md_5.bungee.config.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the {@link YamlParser} loads the same values than the YamlConfiguration provider, and that gives
+ * up with the syntax that isn't supported.
+ *
+ * @author InitSync
+ * @version 1.1.7
+ * @since 1.1.7
+ */
+class YamlParserTest {
+	/**
+	 * Documents written with the syntax supported by the parser.
+	 */
+	private static final String[] SUPPORTED = {
+		"text: Hello world\nint: 42\nlong: 9000000000\nnegative: -7\ndouble: 0.5\nexponent: 1.0e+3\n"
+			 + "boolean: true\nempty: ''\nsection:\n  null-value: null\n",
+		"a: yes\nb: no\nc: on\nd: off\noctal: 012\nhex: 0x1F\nbinary: 0b101\nunderscores: 1_000\n"
+			 + "infinity: .inf\nnan: .NaN\nsection:\n  tilde: ~\n",
+		"settings:\n  prefix: '&8[&bXConfig&8]'\n  nested:\n    deep:\n      value: 1\n  empty: {}\nlast: 2\n",
+		"list:\n- a\n- 'b'\n- \"c\"\n- 1\nindented:\n  - x\n  - y\nmatrix:\n- - 1\n  - 2\n- []\n",
+		"entries:\n- name: first\n  values:\n  - 1\n  - 2\n- name: second\n  nested:\n    key: value\n",
+		"flow: [a, 'b c', \"d\", 1, true]\nempty-list: []\nempty-map: {}\n",
+		"lines: |\n  first line\n    indented line\n\n  last line\nstrip: |-\n  text\nkeep: |+\n  text\n\n"
+			 + "after: value\n",
+		"single: 'it''s # not a comment'\ndouble: \"tab\\tquote\\\" unicode \\u00e1 \\x41 \\\\\"\n"
+			 + "colon: a:b\nhash: a#b\nspaces: '  padded  '\n",
+		"# The header.\n\n# The comment of the key.\nkey: value # The inline comment.\n"
+			 + "section:\n  # Comment inside.\n  child: 1\n# The footer.\n",
+		"---\nkey: value\n",
+		"'quoted key': 1\n\"double key\": 2\n'1': number\n'true': boolean\nno: key\n2: key\n"
+	};
+	
+	/**
+	 * Documents with syntax that isn't supported by the parser.
+	 */
+	private static final String[] UNSUPPORTED = {
+		"a: &anchor 1\nb: *anchor\n",
+		"a: !!str 1\n",
+		"a: >\n  folded\n  text\n",
+		"a: 2020-01-01\n",
+		"a: 1:20\n",
+		"a: first line\n  second line\n",
+		"a:\n\tb: 1\n",
+		"",
+		"# Only a comment.\n",
+		"a.b: 1\n",
+		"a: 1\na: 2\n",
+		"- a\n- b\n"
+	};
+	
+	private final ConfigurationProvider provider = ConfigurationProvider.getProvider(YamlConfiguration.class);
+	
+	@Test
+	void loadsTheSameValuesThanTheProvider() {
+		for (String content : SUPPORTED) {
+			final Configuration parsed = YamlParser.load(content.getBytes(StandardCharsets.UTF_8));
+			assertNotNull(parsed, content);
+			assertEquals(values(provider.load(content)), values(parsed), content);
+		}
+	}
+	
+	@Test
+	void givesUpWithUnsupportedSyntax() {
+		for (String content : UNSUPPORTED) {
+			assertNull(YamlParser.load(content.getBytes(StandardCharsets.UTF_8)), content);
+		}
+	}
+	
+	@Test
+	void loadsTheRemainingBytesOfBuffers() {
+		final byte[] content = SUPPORTED[4].getBytes(StandardCharsets.UTF_8);
+		final byte[] padded = new byte[content.length + 8];
+		System.arraycopy(content, 0, padded, 4, content.length);
+		
+		final ByteBuffer heap = ByteBuffer.wrap(padded, 4, content.length);
+		final ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+		direct.put(content).flip();
+		
+		final Map<String, Object> expected = values(YamlParser.load(content));
+		assertEquals(expected, values(YamlParser.load(heap)));
+		assertEquals(expected, values(YamlParser.load(direct)));
+		assertEquals(4, heap.position());
+		assertEquals(0, direct.position());
+	}
+	
+	@Test
+	void loadsRandomContentLikeTheProvider() {
+		final Random random = new Random(3_141L);
+		final YamlEmitter emitter = new YamlEmitter();
+		int loaded = 0;
+		for (int i = 0 ; i < 500 ; i++) {
+			final Configuration configuration = new Configuration();
+			fill(configuration, random, 0);
+			
+			final String content = emitter.emit(configuration);
+			final Configuration parsed = YamlParser.load(content.getBytes(StandardCharsets.UTF_8));
+			if (parsed == null) continue;
+			
+			loaded++;
+			assertEquals(values(provider.load(content)), values(parsed), content);
+		}
+		
+		assertTrue(loaded > 250, "Only " + loaded + " of 500 documents were loaded.");
+	}
+	
+	/**
+	 * Returns the values of the configuration by their paths, without the sections.
+	 */
+	private static Map<String, Object> values(Configuration configuration) {
+		final Map<String, Object> values = new LinkedHashMap<>();
+		values(configuration, null, values);
+		return values;
+	}
+	
+	private static void values(Configuration section, String prefix, Map<String, Object> values) {
+		for (String key : section.getKeys()) {
+			final String path = prefix == null ? key : prefix + '.' + key;
+			final Object value = section.get(key);
+			if (!(value instanceof Configuration)) values.put(path, value);
+			else if (((Configuration) value).getKeys().isEmpty()) values.put(path, "{}");
+			else values((Configuration) value, path, values);
+		}
+	}
+	
+	private static void fill(Configuration section, Random random, int depth) {
+		final int keys = 1 + random.nextInt(5);
+		for (int i = 0 ; i < keys ; i++) {
+			final String key = "key-" + random.nextInt(1000) + '-' + i;
+			if (depth < 3 && random.nextInt(4) == 0) {
+				final Configuration child = new Configuration();
+				fill(child, random, depth + 1);
+				section.set(key, child);
+			} else section.set(key, value(random, depth));
+		}
+	}
+	
+	private static Object value(Random random, int depth) {
+		switch (random.nextInt(depth < 3 ? 9 : 7)) {
+			case 0: return random.nextInt();
+			case 1: return random.nextLong();
+			case 2: return random.nextDouble() * 1000.0;
+			case 3: return random.nextBoolean();
+			case 4: return "&7Line " + random.nextInt(100) + "\n&fNext line";
+			case 5: return "&aText with spaces " + random.nextInt(100);
+			case 6: return random.nextBoolean() ? "yes" : "'quoted' #" + random.nextInt(100);
+			case 7: {
+				final List<Object> list = new ArrayList<>();
+				for (int i = random.nextInt(4) ; i > 0 ; i--) list.add(value(random, depth + 1));
+				return list;
+			}
+			default: {
+				final Map<String, Object> map = new LinkedHashMap<>();
+				for (int i = random.nextInt(4) ; i > 0 ; i--) map.put("entry-" + i, value(random, depth + 1));
+				return map;
+			}
+		}
+	}
+}
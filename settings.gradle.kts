@@ -1,2 +1,2 @@
 rootProject.name = "XConfig"
-include("bungee", "bukkit")
\ No newline at end of file
+include("bungee", "bukkit", "benchmarks")
\ No newline at end of file